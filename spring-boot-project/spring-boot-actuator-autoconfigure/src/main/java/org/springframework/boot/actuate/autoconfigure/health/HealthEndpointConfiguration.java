@@ -16,12 +16,18 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointProperties.Parallel;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointProperties.Snapshot;
 import org.springframework.boot.actuate.health.CompositeHealthIndicator;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.SnapshotHealthIndicatorRegistry;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnSingleCandidate;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,6 +36,7 @@ import org.springframework.context.annotation.Configuration;
  * Configuration for {@link HealthEndpoint}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 @Configuration
 @ConditionalOnSingleCandidate(HealthIndicatorRegistry.class)
@@ -39,9 +46,43 @@ class HealthEndpointConfiguration {
 	@ConditionalOnMissingBean
 	@ConditionalOnEnabledEndpoint
 	public HealthEndpoint healthEndpoint(HealthAggregator healthAggregator,
-			HealthIndicatorRegistry registry) {
+			HealthIndicatorRegistry registry, HealthEndpointProperties properties,
+			@Qualifier("healthIndicatorExecutor") ObjectProvider<HealthIndicatorExecutor> executor,
+			ObjectProvider<HealthSnapshotScheduler> snapshotScheduler) {
+		HealthSnapshotScheduler scheduler = snapshotScheduler.getIfAvailable();
+		if (scheduler != null) {
+			Snapshot snapshot = properties.getSnapshot();
+			registry = new SnapshotHealthIndicatorRegistry(registry,
+					scheduler.getScheduledExecutorService(),
+					scheduler.getExecutorService(), snapshot.getTimeout(),
+					snapshot.getMaxAge(),
+					(name) -> snapshot.getIntervals().getOrDefault(name,
+							snapshot.getInterval()));
+		}
+		HealthIndicatorExecutor parallelExecutor = executor.getIfAvailable();
+		if (parallelExecutor != null) {
+			return new HealthEndpoint(new CompositeHealthIndicator(healthAggregator,
+					registry, parallelExecutor.getExecutorService(),
+					properties.getParallel().getTimeout()));
+		}
 		return new HealthEndpoint(
 				new CompositeHealthIndicator(healthAggregator, registry));
 	}
 
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(prefix = "management.endpoint.health.parallel", name = "enabled")
+	public HealthIndicatorExecutor healthIndicatorExecutor(
+			HealthEndpointProperties properties) {
+		Parallel parallel = properties.getParallel();
+		return new HealthIndicatorExecutor("health-", parallel.getPoolSize(),
+				parallel.getQueueCapacity());
+	}
+
+	@Bean(destroyMethod = "shutdown")
+	@ConditionalOnProperty(prefix = "management.endpoint.health.snapshot", name = "enabled")
+	public HealthSnapshotScheduler healthSnapshotScheduler(
+			HealthEndpointProperties properties) {
+		return new HealthSnapshotScheduler(properties.getSnapshot().getPoolSize());
+	}
+
 }
@@ -16,7 +16,10 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.actuate.health.HealthEndpoint;
@@ -27,6 +30,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * Configuration properties for {@link HealthEndpoint}.
  *
  * @author Phillip Webb
+ * @author Jonas Berg
  */
 @ConfigurationProperties("management.endpoint.health")
 public class HealthEndpointProperties {
@@ -42,6 +46,12 @@ public class HealthEndpointProperties {
 	 */
 	private Set<String> roles = new HashSet<>();
 
+	private final Parallel parallel = new Parallel();
+
+	private final Snapshot snapshot = new Snapshot();
+
+	private final Reactive reactive = new Reactive();
+
 	public ShowDetails getShowDetails() {
 		return this.showDetails;
 	}
@@ -58,4 +68,267 @@ public class HealthEndpointProperties {
 		this.roles = roles;
 	}
 
+	public Parallel getParallel() {
+		return this.parallel;
+	}
+
+	public Snapshot getSnapshot() {
+		return this.snapshot;
+	}
+
+	public Reactive getReactive() {
+		return this.reactive;
+	}
+
+	/**
+	 * Concurrent invocation of the health indicators.
+	 */
+	public static class Parallel {
+
+		/**
+		 * Whether to invoke the health indicators concurrently.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of threads used to invoke the health indicators.
+		 */
+		private int poolSize = 4;
+
+		/**
+		 * Maximum number of health indicator invocations waiting for a thread. Further
+		 * invocations are reported as down without invoking the health indicator.
+		 */
+		private int queueCapacity = 100;
+
+		/**
+		 * Maximum time to wait for a health indicator to respond before reporting it as
+		 * down.
+		 */
+		private Duration timeout = Duration.ofSeconds(10);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getPoolSize() {
+			return this.poolSize;
+		}
+
+		public void setPoolSize(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+	}
+
+	/**
+	 * Health snapshots that are refreshed in the background.
+	 */
+	public static class Snapshot {
+
+		/**
+		 * Whether to serve the latest snapshot of each health indicator, refreshed in the
+		 * background, rather than invoking the indicators for each request.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Delay between two refreshes of a health indicator's snapshot.
+		 */
+		private Duration interval = Duration.ofSeconds(10);
+
+		/**
+		 * Delay between two refreshes of the snapshot of specific health indicators,
+		 * keyed by indicator name.
+		 */
+		private final Map<String, Duration> intervals = new LinkedHashMap<>();
+
+		/**
+		 * Maximum age of a snapshot before the health indicator is reported as down.
+		 */
+		private Duration maxAge = Duration.ofMinutes(1);
+
+		/**
+		 * Maximum number of threads used to refresh the snapshots.
+		 */
+		private int poolSize = 2;
+
+		/**
+		 * Maximum time to wait for a health indicator to respond before recording a down
+		 * snapshot.
+		 */
+		private Duration timeout = Duration.ofSeconds(10);
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public Duration getInterval() {
+			return this.interval;
+		}
+
+		public void setInterval(Duration interval) {
+			this.interval = interval;
+		}
+
+		public Map<String, Duration> getIntervals() {
+			return this.intervals;
+		}
+
+		public Duration getMaxAge() {
+			return this.maxAge;
+		}
+
+		public void setMaxAge(Duration maxAge) {
+			this.maxAge = maxAge;
+		}
+
+		public int getPoolSize() {
+			return this.poolSize;
+		}
+
+		public void setPoolSize(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+	}
+
+	/**
+	 * Invocation of the health indicators on the reactive stack.
+	 */
+	public static class Reactive {
+
+		/**
+		 * Maximum number of threads used to invoke the blocking health indicators.
+		 */
+		private int poolSize = 10;
+
+		/**
+		 * Maximum number of blocking health indicator invocations waiting for a thread.
+		 * Further invocations are reported as down without invoking the health indicator.
+		 */
+		private int queueCapacity = 100;
+
+		/**
+		 * Maximum time to wait for a health indicator to respond before using the
+		 * fallback status. By default, health indicators are waited for indefinitely.
+		 */
+		private Duration timeout;
+
+		/**
+		 * Status of a health indicator that did not respond within its timeout.
+		 */
+		private String fallbackStatus = "UNKNOWN";
+
+		/**
+		 * Timeout and fallback status of specific health indicators, keyed by indicator
+		 * name.
+		 */
+		private final Map<String, Indicator> indicators = new LinkedHashMap<>();
+
+		public int getPoolSize() {
+			return this.poolSize;
+		}
+
+		public void setPoolSize(int poolSize) {
+			this.poolSize = poolSize;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+		public Duration getTimeout() {
+			return this.timeout;
+		}
+
+		public void setTimeout(Duration timeout) {
+			this.timeout = timeout;
+		}
+
+		public String getFallbackStatus() {
+			return this.fallbackStatus;
+		}
+
+		public void setFallbackStatus(String fallbackStatus) {
+			this.fallbackStatus = fallbackStatus;
+		}
+
+		public Map<String, Indicator> getIndicators() {
+			return this.indicators;
+		}
+
+		/**
+		 * Timeout of a specific health indicator.
+		 */
+		public static class Indicator {
+
+			/**
+			 * Maximum time to wait for the health indicator to respond before using the
+			 * fallback status.
+			 */
+			private Duration timeout;
+
+			/**
+			 * Status of the health indicator if it did not respond within its timeout.
+			 * Defaults to the status used for all health indicators.
+			 */
+			private String fallbackStatus;
+
+			public Duration getTimeout() {
+				return this.timeout;
+			}
+
+			public void setTimeout(Duration timeout) {
+				this.timeout = timeout;
+			}
+
+			public String getFallbackStatus() {
+				return this.fallbackStatus;
+			}
+
+			public void setFallbackStatus(String fallbackStatus) {
+				this.fallbackStatus = fallbackStatus;
+			}
+
+		}
+
+	}
+
 }
@@ -16,9 +16,14 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnEnabledEndpoint;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointProperties.Reactive;
 import org.springframework.boot.actuate.health.CompositeReactiveHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthEndpointWebExtension;
@@ -36,11 +41,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplicat
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
 
 /**
  * Configuration for health endpoint web extensions.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 @Configuration
 @EnableConfigurationProperties(HealthIndicatorProperties.class)
@@ -71,13 +78,45 @@ class HealthEndpointWebExtensionConfiguration {
 	@ConditionalOnSingleCandidate(ReactiveHealthIndicatorRegistry.class)
 	static class ReactiveWebHealthConfiguration {
 
+		private static final String METER_REGISTRY_CLASS = "io.micrometer.core.instrument.MeterRegistry";
+
 		private final ReactiveHealthIndicator reactiveHealthIndicator;
 
 		ReactiveWebHealthConfiguration(ObjectProvider<HealthAggregator> healthAggregator,
-				ReactiveHealthIndicatorRegistry registry) {
-			this.reactiveHealthIndicator = new CompositeReactiveHealthIndicator(
+				ReactiveHealthIndicatorRegistry registry,
+				HealthEndpointProperties properties, BeanFactory beanFactory) {
+			CompositeReactiveHealthIndicator indicator = new CompositeReactiveHealthIndicator(
 					healthAggregator.getIfAvailable(OrderedHealthAggregator::new),
 					registry);
+			configureTimeouts(indicator, properties.getReactive());
+			if (ClassUtils.isPresent(METER_REGISTRY_CLASS, getClass().getClassLoader())) {
+				indicator.timingListener(new HealthIndicatorTimingRecorder(beanFactory));
+			}
+			this.reactiveHealthIndicator = indicator;
+		}
+
+		private void configureTimeouts(CompositeReactiveHealthIndicator indicator,
+				Reactive reactive) {
+			if (reactive.getTimeout() != null) {
+				indicator.timeoutStrategy(reactive.getTimeout().toMillis(),
+						getTimeoutHealth(reactive.getFallbackStatus(),
+								reactive.getTimeout()));
+			}
+			reactive.getIndicators().forEach((name, properties) -> {
+				if (properties.getTimeout() != null) {
+					String fallbackStatus = (properties.getFallbackStatus() != null)
+							? properties.getFallbackStatus()
+							: reactive.getFallbackStatus();
+					indicator.timeoutStrategy(name, properties.getTimeout().toMillis(),
+							getTimeoutHealth(fallbackStatus, properties.getTimeout()));
+				}
+			});
+		}
+
+		private Health getTimeoutHealth(String status, Duration timeout) {
+			return Health.status(status)
+					.withDetail("error", "Timed out after " + timeout.toMillis() + "ms")
+					.build();
 		}
 
 		@Bean
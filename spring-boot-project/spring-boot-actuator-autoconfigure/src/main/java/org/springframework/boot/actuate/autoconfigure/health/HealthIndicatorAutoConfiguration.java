@@ -20,11 +20,15 @@ import java.util.Collections;
 import java.util.Map;
 
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.autoconfigure.health.HealthEndpointProperties.Reactive;
 import org.springframework.boot.actuate.health.ApplicationHealthIndicator;
 import org.springframework.boot.actuate.health.HealthAggregator;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorNameFactory;
 import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
 import org.springframework.boot.actuate.health.OrderedHealthAggregator;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
@@ -34,9 +38,11 @@ import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for {@link HealthIndicator}s.
@@ -45,6 +51,7 @@ import org.springframework.context.annotation.Configuration;
  * @author Stephane Nicoll
  * @author Phillip Webb
  * @author Vedran Pavic
+ * @author Jonas Berg
  * @since 2.0.0
  */
 @Configuration
@@ -88,12 +95,26 @@ public class HealthIndicatorAutoConfiguration {
 		@ConditionalOnMissingBean
 		public ReactiveHealthIndicatorRegistry reactiveHealthIndicatorRegistry(
 				ObjectProvider<Map<String, ReactiveHealthIndicator>> reactiveHealthIndicators,
-				ObjectProvider<Map<String, HealthIndicator>> healthIndicators) {
-			return new ReactiveHealthIndicatorRegistryFactory()
-					.createReactiveHealthIndicatorRegistry(
-							reactiveHealthIndicators
-									.getIfAvailable(Collections::emptyMap),
-							healthIndicators.getIfAvailable(Collections::emptyMap));
+				ObjectProvider<Map<String, HealthIndicator>> healthIndicators,
+				@Qualifier("healthReactiveIndicatorExecutor") HealthIndicatorExecutor executor) {
+			return new ReactiveHealthIndicatorRegistryFactory(
+					new HealthIndicatorNameFactory(),
+					Schedulers.fromExecutorService(executor.getExecutorService()))
+							.createReactiveHealthIndicatorRegistry(
+									reactiveHealthIndicators
+											.getIfAvailable(Collections::emptyMap),
+									healthIndicators
+											.getIfAvailable(Collections::emptyMap));
+		}
+
+		@Bean(destroyMethod = "shutdown")
+		public HealthIndicatorExecutor healthReactiveIndicatorExecutor(
+				Environment environment) {
+			Reactive reactive = Binder.get(environment)
+					.bind("management.endpoint.health.reactive", Reactive.class)
+					.orElseGet(Reactive::new);
+			return new HealthIndicatorExecutor("health-reactive-", reactive.getPoolSize(),
+					reactive.getQueueCapacity());
 		}
 
 	}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Bounded pool of daemon threads used to invoke health indicators. Tasks submitted while
+ * every thread is busy and the queue is full are rejected. The pool is registered as a
+ * bean in its own right, rather than as an {@link Executor}, so that it is shut down with
+ * the application context without being mistaken for the application's task executor.
+ *
+ * @author Jonas Berg
+ */
+class HealthIndicatorExecutor {
+
+	private final ThreadPoolExecutor executor;
+
+	HealthIndicatorExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				threadNamePrefix);
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory);
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	ExecutorService getExecutorService() {
+		return this.executor;
+	}
+
+	void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Records the time taken by each health indicator in a {@code health.indicator}
+ * {@link Timer}, tagged with the name of the indicator. The {@link MeterRegistry} is
+ * resolved lazily so that it does not have to be available when the health indicators are
+ * configured.
+ *
+ * @author Jonas Berg
+ */
+class HealthIndicatorTimingRecorder implements BiConsumer<String, Duration> {
+
+	private static final String METRIC_NAME = "health.indicator";
+
+	private final ObjectProvider<MeterRegistry> meterRegistry;
+
+	HealthIndicatorTimingRecorder(BeanFactory beanFactory) {
+		this.meterRegistry = beanFactory.getBeanProvider(MeterRegistry.class);
+	}
+
+	@Override
+	public void accept(String name, Duration duration) {
+		MeterRegistry registry = this.meterRegistry.getIfUnique();
+		if (registry != null) {
+			Timer.builder(METRIC_NAME).tag("name", name)
+					.description("Time taken by the health indicator").register(registry)
+					.record(duration.toNanos(), TimeUnit.NANOSECONDS);
+		}
+	}
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.autoconfigure.health;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Pools of daemon threads used to refresh the health snapshots. The scheduler triggers
+ * each refresh and waits, up to a timeout, for the health indicator to respond on a
+ * thread of the executor. The executor is not bounded: a health indicator is not invoked
+ * again while a previous invocation is in progress, so it holds at most one thread per
+ * health indicator and an indicator that hangs never delays the others. Like
+ * {@link HealthIndicatorExecutor}, the pools are registered as a bean in their own right
+ * so that they do not stand in for the application's task scheduler or executor.
+ *
+ * @author Jonas Berg
+ */
+class HealthSnapshotScheduler {
+
+	private final ScheduledThreadPoolExecutor scheduler;
+
+	private final ThreadPoolExecutor executor;
+
+	HealthSnapshotScheduler(int poolSize) {
+		this.scheduler = new ScheduledThreadPoolExecutor(poolSize,
+				createThreadFactory("health-snapshot-"));
+		this.scheduler.setRemoveOnCancelPolicy(true);
+		this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60,
+				TimeUnit.SECONDS, new SynchronousQueue<>(),
+				createThreadFactory("health-snapshot-invoker-"));
+	}
+
+	private CustomizableThreadFactory createThreadFactory(String threadNamePrefix) {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				threadNamePrefix);
+		threadFactory.setDaemon(true);
+		return threadFactory;
+	}
+
+	ScheduledExecutorService getScheduledExecutorService() {
+		return this.scheduler;
+	}
+
+	ExecutorService getExecutorService() {
+		return this.executor;
+	}
+
+	void shutdown() {
+		this.scheduler.shutdownNow();
+		this.executor.shutdownNow();
+	}
+
+}
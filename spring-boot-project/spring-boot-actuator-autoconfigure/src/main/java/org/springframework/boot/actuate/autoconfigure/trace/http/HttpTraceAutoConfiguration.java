@@ -16,12 +16,23 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import java.util.Collections;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProperties.Sampling;
+import org.springframework.boot.actuate.metrics.trace.HttpTraceRepositoryMetrics;
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
+import org.springframework.boot.actuate.trace.http.ConfigurableHttpExchangeSampler;
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.InMemoryHttpTraceRepository;
 import org.springframework.boot.actuate.web.trace.reactive.HttpTraceWebFilter;
 import org.springframework.boot.actuate.web.trace.servlet.HttpTraceFilter;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
@@ -54,6 +65,51 @@ public class HttpTraceAutoConfiguration {
 		return new HttpExchangeTracer(traceProperties.getInclude());
 	}
 
+	@Bean
+	@ConditionalOnMissingBean
+	public HttpExchangeSampler httpExchangeSampler(HttpTraceProperties traceProperties) {
+		Sampling properties = traceProperties.getSampling();
+		ConfigurableHttpExchangeSampler sampler = new ConfigurableHttpExchangeSampler();
+		sampler.setRate(properties.getRate());
+		sampler.setPathRates(properties.getPathRates());
+		sampler.setErrorsOnly(properties.isErrorsOnly());
+		sampler.setSlowThreshold(properties.getSlowThreshold());
+		return sampler;
+	}
+
+	@Configuration
+	@ConditionalOnProperty(prefix = "management.trace.http.async", name = "enabled")
+	static class AsyncTraceRepositoryConfiguration {
+
+		@Bean
+		@ConditionalOnMissingBean(HttpTraceRepository.class)
+		public AsyncHttpTraceRepository asyncTraceRepository(
+				HttpTraceProperties traceProperties) {
+			return new AsyncHttpTraceRepository(new InMemoryHttpTraceRepository(),
+					traceProperties.getAsync().getQueueCapacity());
+		}
+
+		@Configuration
+		@ConditionalOnClass(MeterBinder.class)
+		static class AsyncTraceRepositoryMetricsConfiguration {
+
+			@Bean
+			public MeterBinder httpTraceRepositoryMetrics(
+					ObjectProvider<HttpTraceRepository> repository) {
+				return (registry) -> {
+					HttpTraceRepository candidate = repository.getIfUnique();
+					if (candidate instanceof AsyncHttpTraceRepository) {
+						new HttpTraceRepositoryMetrics(
+								(AsyncHttpTraceRepository) candidate,
+								Collections.emptyList()).bindTo(registry);
+					}
+				};
+			}
+
+		}
+
+	}
+
 	@Configuration
 	@ConditionalOnWebApplication(type = Type.SERVLET)
 	static class ServletTraceFilterConfiguration {
@@ -61,8 +117,10 @@ public class HttpTraceAutoConfiguration {
 		@Bean
 		@ConditionalOnMissingBean
 		public HttpTraceFilter httpTraceFilter(HttpTraceRepository repository,
-				HttpExchangeTracer tracer) {
-			return new HttpTraceFilter(repository, tracer);
+				HttpExchangeTracer tracer, HttpExchangeSampler sampler) {
+			HttpTraceFilter filter = new HttpTraceFilter(repository, tracer);
+			filter.setSampler(sampler);
+			return filter;
 		}
 
 	}
@@ -74,9 +132,12 @@ public class HttpTraceAutoConfiguration {
 		@Bean
 		@ConditionalOnMissingBean
 		public HttpTraceWebFilter httpTraceWebFilter(HttpTraceRepository repository,
-				HttpExchangeTracer tracer, HttpTraceProperties traceProperties) {
-			return new HttpTraceWebFilter(repository, tracer,
+				HttpExchangeTracer tracer, HttpExchangeSampler sampler,
+				HttpTraceProperties traceProperties) {
+			HttpTraceWebFilter filter = new HttpTraceWebFilter(repository, tracer,
 					traceProperties.getInclude());
+			filter.setSampler(sampler);
+			return filter;
 		}
 
 	}
@@ -16,7 +16,10 @@
 
 package org.springframework.boot.actuate.autoconfigure.trace.http;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.boot.actuate.trace.http.Include;
@@ -42,6 +45,10 @@ public class HttpTraceProperties {
 	 */
 	private Set<Include> include = new HashSet<>(Include.defaultIncludes());
 
+	private final Sampling sampling = new Sampling();
+
+	private final Async async = new Async();
+
 	public Set<Include> getInclude() {
 		return this.include;
 	}
@@ -50,4 +57,108 @@ public class HttpTraceProperties {
 		this.include = include;
 	}
 
+	public Sampling getSampling() {
+		return this.sampling;
+	}
+
+	public Async getAsync() {
+		return this.async;
+	}
+
+	/**
+	 * Sampling properties.
+	 */
+	public static class Sampling {
+
+		/**
+		 * Rate, between 0.0 and 1.0, at which exchanges are traced.
+		 */
+		private double rate = 1.0;
+
+		/**
+		 * Sampling rates, keyed by Ant-style path pattern, that override the default rate
+		 * for matching request paths.
+		 */
+		private Map<String, Double> pathRates = new LinkedHashMap<>();
+
+		/**
+		 * Whether to only trace exchanges with a client or server error response.
+		 */
+		private boolean errorsOnly;
+
+		/**
+		 * Minimum time taken for an exchange to be traced. When combined with
+		 * errors-only, exchanges that are either slow or failed are traced.
+		 */
+		private Duration slowThreshold;
+
+		public double getRate() {
+			return this.rate;
+		}
+
+		public void setRate(double rate) {
+			this.rate = rate;
+		}
+
+		public Map<String, Double> getPathRates() {
+			return this.pathRates;
+		}
+
+		public void setPathRates(Map<String, Double> pathRates) {
+			this.pathRates = pathRates;
+		}
+
+		public boolean isErrorsOnly() {
+			return this.errorsOnly;
+		}
+
+		public void setErrorsOnly(boolean errorsOnly) {
+			this.errorsOnly = errorsOnly;
+		}
+
+		public Duration getSlowThreshold() {
+			return this.slowThreshold;
+		}
+
+		public void setSlowThreshold(Duration slowThreshold) {
+			this.slowThreshold = slowThreshold;
+		}
+
+	}
+
+	/**
+	 * Asynchronous storage properties.
+	 */
+	public static class Async {
+
+		/**
+		 * Whether the auto-configured trace repository should store traces on a
+		 * background thread rather than on the request thread.
+		 */
+		private boolean enabled;
+
+		/**
+		 * Maximum number of traces waiting to be stored. Further traces are dropped until
+		 * the queue has capacity.
+		 */
+		private int queueCapacity = 1000;
+
+		public boolean isEnabled() {
+			return this.enabled;
+		}
+
+		public void setEnabled(boolean enabled) {
+			this.enabled = enabled;
+		}
+
+		public int getQueueCapacity() {
+			return this.queueCapacity;
+		}
+
+		public void setQueueCapacity(int queueCapacity) {
+			this.queueCapacity = queueCapacity;
+		}
+
+	}
+
 }
@@ -28,6 +28,8 @@ import static org.springframework.restdocs.operation.preprocess.Preprocessors.pr
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
 import static org.springframework.restdocs.payload.PayloadDocumentation.subsectionWithPath;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -36,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * {@link ConfigurationPropertiesReportEndpoint}.
  *
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 public class ConfigurationPropertiesReportEndpointDocumentationTests
 		extends MockMvcEndpointDocumentationTests {
@@ -59,6 +62,35 @@ public class ConfigurationPropertiesReportEndpointDocumentationTests
 								parentIdField())));
 	}
 
+	@Test
+	public void filteredConfigProps() throws Exception {
+		this.mockMvc
+				.perform(get("/actuator/configprops").param("prefix", "spring.jackson")
+						.param("page", "0").param("size", "10"))
+				.andExpect(status().isOk())
+				.andDo(MockMvcRestDocumentation.document("configprops/filtered",
+						preprocessResponse(limit("contexts",
+								getApplicationContext().getId(), "beans")),
+						requestParameters(parameterWithName("prefix").description(
+								"Prefix that the prefix of the reported beans must start with.")
+								.optional(),
+								parameterWithName("bean")
+										.description("Name of the bean to report.")
+										.optional(),
+								parameterWithName("page").description(
+										"Zero-based index of the page of beans to report. Defaults to 0.")
+										.optional(),
+								parameterWithName("size").description(
+										"Maximum number of beans to report. By default, all beans are reported.")
+										.optional()),
+						responseFields(
+								fieldWithPath("contexts")
+										.description("Application contexts keyed by id."),
+								subsectionWithPath("contexts.*.beans").description(
+										"`@ConfigurationProperties` beans keyed by bean name."),
+								parentIdField())));
+	}
+
 	@Configuration
 	@Import(BaseDocumentationConfiguration.class)
 	static class TestConfiguration {
@@ -47,6 +47,8 @@ import static org.springframework.restdocs.operation.preprocess.Preprocessors.pr
 import static org.springframework.restdocs.operation.preprocess.Preprocessors.replacePattern;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -54,6 +56,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests for generating documentation describing the {@link EnvironmentEndpoint}.
  *
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 @TestPropertySource(properties = "spring.config.location=classpath:/org/springframework/boot/actuate/autoconfigure/endpoint/web/documentation/")
 public class EnvironmentEndpointDocumentationTests
@@ -86,6 +89,22 @@ public class EnvironmentEndpointDocumentationTests
 										.optional())));
 	}
 
+	@Test
+	public void filteredEnv() throws Exception {
+		this.mockMvc.perform(get("/actuator/env").param("prefix", "com.example."))
+				.andExpect(status().isOk())
+				.andDo(document("env/filtered",
+						preprocessResponse(replacePattern(Pattern.compile(
+								"org/springframework/boot/actuate/autoconfigure/endpoint/web/documentation/"),
+								""), filterProperties()),
+						requestParameters(parameterWithName("prefix").description(
+								"Prefix of the names of the properties to include.")
+								.optional(),
+								parameterWithName("pattern").description(
+										"Regular expression that the names of the properties to include must match.")
+										.optional())));
+	}
+
 	@Test
 	public void singlePropertyFromEnv() throws Exception {
 		this.mockMvc.perform(get("/actuator/env/com.example.cache.max-size"))
@@ -38,6 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Tests for generating documentation describing the {@link MetricsEndpoint}.
  *
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 public class MetricsEndpointDocumentationTests extends MockMvcEndpointDocumentationTests {
 
@@ -48,6 +49,21 @@ public class MetricsEndpointDocumentationTests extends MockMvcEndpointDocumentat
 						.description("Names of the known metrics."))));
 	}
 
+	@Test
+	public void changedMetricNames() throws Exception {
+		this.mockMvc.perform(get("/actuator/metrics").param("since", "0"))
+				.andExpect(status().isOk())
+				.andDo(document("metrics/changed-names",
+						requestParameters(parameterWithName("since").description(
+								"Cursor returned by a previous request, or `0` to start.")),
+						responseFields(fieldWithPath("names").description(
+								"Names of the metrics that were added or changed after the cursor."),
+								fieldWithPath("removedNames").description(
+										"Names of the metrics that were removed after the cursor."),
+								fieldWithPath("cursor").description(
+										"Cursor to use for the next request."))));
+	}
+
 	@Test
 	public void metric() throws Exception {
 		this.mockMvc.perform(get("/actuator/metrics/jvm.memory.max"))
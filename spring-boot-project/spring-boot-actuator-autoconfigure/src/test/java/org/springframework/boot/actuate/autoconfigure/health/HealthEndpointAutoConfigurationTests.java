@@ -16,12 +16,15 @@
 
 package org.springframework.boot.actuate.autoconfigure.health;
 
+import java.util.function.Supplier;
+
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicatorRegistry;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
@@ -41,6 +44,7 @@ import static org.mockito.Mockito.verify;
  *
  * @author Stephane Nicoll
  * @author Phillip Webb
+ * @author Jonas Berg
  */
 public class HealthEndpointAutoConfigurationTests {
 
@@ -102,6 +106,78 @@ public class HealthEndpointAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void healthEndpointInvokesIndicatorsConcurrentlyWhenParallelIsEnabled() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.parallel.enabled=true",
+						"management.endpoint.health.parallel.timeout=50ms")
+				.withUserConfiguration(HealthIndicatorConfiguration.class,
+						SlowHealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context).hasBean("healthIndicatorExecutor");
+					Health health = context.getBean(HealthEndpoint.class).health();
+					assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+					assertThat(health.getDetails()).containsEntry("simple",
+							Health.up().build());
+					assertThat(health.getDetails()).containsEntry("slow", Health.down()
+							.withDetail("error", "Timed out after 50ms").build());
+				});
+	}
+
+	@Test
+	public void healthEndpointServesSnapshotsWhenSnapshotIsEnabled() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.snapshot.enabled=true",
+						"management.endpoint.health.snapshot.interval=1h")
+				.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					HealthIndicator indicator = context.getBean("simpleHealthIndicator",
+							HealthIndicator.class);
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					Health simple = awaitSnapshot(() -> (Health) endpoint.health()
+							.getDetails().get("simple"));
+					assertThat(simple.getStatus()).isEqualTo(Status.UP);
+					assertThat(endpoint.health().getStatus()).isEqualTo(Status.UP);
+					assertThat(simple.getDetails()).containsKey("snapshotAge");
+					endpoint.health();
+					verify(indicator, times(1)).health();
+				});
+	}
+
+	@Test
+	public void healthEndpointServesSnapshotsOfIndicatorsRegisteredAtRuntime() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.snapshot.enabled=true",
+						"management.endpoint.health.snapshot.interval=1h")
+				.withUserConfiguration(HealthIndicatorConfiguration.class)
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HealthSnapshotScheduler.class);
+					HealthEndpoint endpoint = context.getBean(HealthEndpoint.class);
+					HealthIndicatorRegistry registry = context
+							.getBean(HealthIndicatorRegistry.class);
+					registry.register("runtime", () -> Health.down().build());
+					Health health = endpoint.health();
+					assertThat(health.getDetails()).containsOnlyKeys("simple", "runtime");
+					Health runtime = awaitSnapshot(
+							() -> endpoint.healthForComponent("runtime"));
+					assertThat(runtime.getStatus()).isEqualTo(Status.DOWN);
+					assertThat(runtime.getDetails()).containsKey("snapshotAge");
+					registry.unregister("runtime");
+					assertThat(endpoint.health().getDetails()).containsOnlyKeys("simple");
+				});
+	}
+
+	private Health awaitSnapshot(Supplier<Health> health) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		Health result = health.get();
+		while (Status.UNKNOWN.equals(result.getStatus())
+				&& System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+			result = health.get();
+		}
+		return result;
+	}
+
 	@Configuration
 	static class HealthIndicatorConfiguration {
 
@@ -114,6 +190,24 @@ public class HealthEndpointAutoConfigurationTests {
 
 	}
 
+	@Configuration
+	static class SlowHealthIndicatorConfiguration {
+
+		@Bean
+		public HealthIndicator slowHealthIndicator() {
+			return () -> {
+				try {
+					Thread.sleep(5000);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				return Health.up().build();
+			};
+		}
+
+	}
+
 	@Configuration
 	static class ReactiveHealthIndicatorConfiguration {
 
@@ -18,6 +18,7 @@ package org.springframework.boot.actuate.autoconfigure.health;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.junit.Test;
 
@@ -39,6 +40,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  *
  * @author Phillip Webb
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public class HealthIndicatorAutoConfigurationTests {
 
@@ -46,6 +48,22 @@ public class HealthIndicatorAutoConfigurationTests {
 			.withConfiguration(
 					AutoConfigurations.of(HealthIndicatorAutoConfiguration.class));
 
+	@Test
+	public void runShouldCreateBoundedReactiveHealthIndicatorExecutor() {
+		this.contextRunner
+				.withPropertyValues("management.endpoint.health.reactive.pool-size=3",
+						"management.endpoint.health.reactive.queue-capacity=5")
+				.run((context) -> {
+					assertThat(context).doesNotHaveBean(HealthEndpointProperties.class);
+					ThreadPoolExecutor executor = (ThreadPoolExecutor) context
+							.getBean("healthReactiveIndicatorExecutor",
+									HealthIndicatorExecutor.class)
+							.getExecutorService();
+					assertThat(executor.getMaximumPoolSize()).isEqualTo(3);
+					assertThat(executor.getQueue().remainingCapacity()).isEqualTo(5);
+				});
+	}
+
 	@Test
 	public void runWhenNoOtherIndicatorsShouldCreateDefaultApplicationHealthIndicator() {
 		this.contextRunner
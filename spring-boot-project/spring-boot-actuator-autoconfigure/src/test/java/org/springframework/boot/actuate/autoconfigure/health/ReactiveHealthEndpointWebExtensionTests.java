@@ -18,6 +18,8 @@ package org.springframework.boot.actuate.autoconfigure.health;
 
 import java.security.Principal;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Test;
 import reactor.core.publisher.Mono;
 
@@ -29,6 +31,7 @@ import org.springframework.boot.actuate.health.HealthWebEndpointResponseMapper;
 import org.springframework.boot.actuate.health.ReactiveHealthEndpointWebExtension;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
 import org.springframework.boot.actuate.health.ReactiveHealthIndicatorRegistry;
+import org.springframework.boot.actuate.health.Status;
 import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +47,7 @@ import static org.mockito.Mockito.mock;
  * @author Andy Wilkinson
  * @author Stephane Nicoll
  * @author Phillip Webb
+ * @author Jonas Berg
  */
 public class ReactiveHealthEndpointWebExtensionTests {
 
@@ -235,6 +239,52 @@ public class ReactiveHealthEndpointWebExtensionTests {
 				});
 	}
 
+	@Test
+	public void blockingHealthIndicatorsAreInvokedOnDedicatedThreads() {
+		this.contextRunner.withUserConfiguration(ThreadHealthIndicatorConfiguration.class)
+				.withPropertyValues("management.endpoint.health.show-details=always")
+				.run((context) -> {
+					ReactiveHealthEndpointWebExtension extension = context
+							.getBean(ReactiveHealthEndpointWebExtension.class);
+					Health health = (Health) extension.health(null).block().getBody()
+							.getDetails().get("thread");
+					assertThat((String) health.getDetails().get("name"))
+							.startsWith("health-reactive-");
+				});
+	}
+
+	@Test
+	public void indicatorTimeoutUsesFallbackStatus() {
+		this.contextRunner.withUserConfiguration(SlowHealthIndicatorConfiguration.class)
+				.withPropertyValues("management.endpoint.health.show-details=always",
+						"management.endpoint.health.reactive.timeout=10s",
+						"management.endpoint.health.reactive.indicators.slow.timeout=100ms",
+						"management.endpoint.health.reactive.indicators.slow.fallback-status=DOWN")
+				.run((context) -> {
+					ReactiveHealthEndpointWebExtension extension = context
+							.getBean(ReactiveHealthEndpointWebExtension.class);
+					Health health = extension.health(null).block().getBody();
+					assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+					assertThat(health.getDetails()).containsEntry("slow", Health.down()
+							.withDetail("error", "Timed out after 100ms").build());
+				});
+	}
+
+	@Test
+	public void healthIndicatorTimingsAreRecorded() {
+		this.contextRunner.withUserConfiguration(HealthIndicatorsConfiguration.class,
+				MeterRegistryConfiguration.class).run((context) -> {
+					ReactiveHealthEndpointWebExtension extension = context
+							.getBean(ReactiveHealthEndpointWebExtension.class);
+					extension.health(null).block();
+					MeterRegistry registry = context.getBean(MeterRegistry.class);
+					assertThat(registry.get("health.indicator").tag("name", "first")
+							.timer().count()).isEqualTo(1);
+					assertThat(registry.get("health.indicator").tag("name", "second")
+							.timer().count()).isEqualTo(1);
+				});
+	}
+
 	@Configuration
 	static class HealthIndicatorsConfiguration {
 
@@ -250,4 +300,35 @@ public class ReactiveHealthEndpointWebExtensionTests {
 
 	}
 
+	@Configuration
+	static class ThreadHealthIndicatorConfiguration {
+
+		@Bean
+		public HealthIndicator threadHealthIndicator() {
+			return () -> Health.up().withDetail("name", Thread.currentThread().getName())
+					.build();
+		}
+
+	}
+
+	@Configuration
+	static class SlowHealthIndicatorConfiguration {
+
+		@Bean
+		public ReactiveHealthIndicator slowHealthIndicator() {
+			return Mono::never;
+		}
+
+	}
+
+	@Configuration
+	static class MeterRegistryConfiguration {
+
+		@Bean
+		public MeterRegistry meterRegistry() {
+			return new SimpleMeterRegistry();
+		}
+
+	}
+
 }
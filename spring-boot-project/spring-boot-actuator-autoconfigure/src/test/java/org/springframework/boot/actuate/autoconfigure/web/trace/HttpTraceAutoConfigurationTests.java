@@ -19,10 +19,13 @@ package org.springframework.boot.actuate.autoconfigure.web.trace;
 import java.util.List;
 import java.util.Set;
 
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.Test;
 
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceAutoConfiguration;
 import org.springframework.boot.actuate.autoconfigure.trace.http.HttpTraceProperties;
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
@@ -110,6 +113,37 @@ public class HttpTraceAutoConfigurationTests {
 				});
 	}
 
+	@Test
+	public void asyncRepositoryIsAutoConfigured() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withPropertyValues("management.trace.http.async.enabled=true")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HttpTraceRepository.class);
+					assertThat(context.getBean(HttpTraceRepository.class))
+							.isInstanceOf(AsyncHttpTraceRepository.class);
+					SimpleMeterRegistry registry = new SimpleMeterRegistry();
+					context.getBean("httpTraceRepositoryMetrics", MeterBinder.class)
+							.bindTo(registry);
+					assertThat(registry.find("http.trace.pending").gauge()).isNotNull();
+				});
+	}
+
+	@Test
+	public void asyncDoesNotWrapUserProvidedRepository() {
+		new WebApplicationContextRunner()
+				.withConfiguration(
+						AutoConfigurations.of(HttpTraceAutoConfiguration.class))
+				.withUserConfiguration(CustomRepositoryConfiguration.class)
+				.withPropertyValues("management.trace.http.async.enabled=true")
+				.run((context) -> {
+					assertThat(context).hasSingleBean(HttpTraceRepository.class);
+					assertThat(context).hasSingleBean(CustomHttpTraceRepository.class);
+					assertThat(context).doesNotHaveBean(AsyncHttpTraceRepository.class);
+				});
+	}
+
 	@Test
 	public void configuresServletFilter() {
 		new WebApplicationContextRunner()
@@ -20,8 +20,10 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.core.JsonGenerator;
@@ -45,6 +47,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.beans.BeansException;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
 import org.springframework.boot.actuate.endpoint.Sanitizer;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
 import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
@@ -52,6 +55,7 @@ import org.springframework.boot.context.properties.ConfigurationBeanFactoryMetad
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 
@@ -65,9 +69,16 @@ import org.springframework.util.StringUtils;
  * Configure property names by using {@code endpoints.configprops.keys_to_sanitize} in
  * your Spring Boot application configuration.
  *
+ * <p>
+ * The report can be restricted to the beans whose prefix starts with a given
+ * {@code prefix} or to a given {@code bean}, and split in pages of {@code size} beans.
+ * Beans are filtered before they are serialized, so that a restricted report only pays
+ * for the beans that it contains.
+ *
  * @author Christian Dupuis
  * @author Dave Syer
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 @Endpoint(id = "configprops")
@@ -79,7 +90,7 @@ public class ConfigurationPropertiesReportEndpoint implements ApplicationContext
 
 	private ApplicationContext context;
 
-	private ObjectMapper objectMapper;
+	private volatile ObjectMapper objectMapper;
 
 	@Override
 	public void setApplicationContext(ApplicationContext context) throws BeansException {
@@ -90,33 +101,57 @@ public class ConfigurationPropertiesReportEndpoint implements ApplicationContext
 		this.sanitizer.setKeysToSanitize(keysToSanitize);
 	}
 
-	@ReadOperation
 	public ApplicationConfigurationProperties configurationProperties() {
-		return extract(this.context);
+		return configurationProperties(null, null, null, null);
 	}
 
-	private ApplicationConfigurationProperties extract(ApplicationContext context) {
+	/**
+	 * Return the {@link ConfigurationProperties} beans of the application, optionally
+	 * restricted to some of them. Beans are ordered by name within each context, starting
+	 * with the current context.
+	 * @param prefix if not {@code null}, only report the beans whose prefix starts with
+	 * this value
+	 * @param bean if not {@code null}, only report the bean with this name
+	 * @param page the zero-based index of the page to report, {@code 0} if {@code null}
+	 * @param size if not {@code null}, the maximum number of beans to report
+	 * @return the configuration properties report
+	 * @since 2.2.0
+	 */
+	@ReadOperation
+	public ApplicationConfigurationProperties configurationProperties(
+			@Nullable String prefix, @Nullable String bean, @Nullable Integer page,
+			@Nullable Integer size) {
+		Page beansPage = new Page((page != null) ? page : 0, size);
 		Map<String, ContextConfigurationProperties> contextProperties = new HashMap<>();
-		ApplicationContext target = context;
+		ApplicationContext target = this.context;
 		while (target != null) {
-			contextProperties.put(target.getId(),
-					describeConfigurationProperties(target, getObjectMapper()));
+			contextProperties.put(target.getId(), describeConfigurationProperties(target,
+					getObjectMapper(), prefix, bean, beansPage));
 			target = target.getParent();
 		}
 		return new ApplicationConfigurationProperties(contextProperties);
 	}
 
 	private ContextConfigurationProperties describeConfigurationProperties(
-			ApplicationContext context, ObjectMapper mapper) {
+			ApplicationContext context, ObjectMapper mapper, String prefixFilter,
+			String beanFilter, Page page) {
 		ConfigurationBeanFactoryMetadata beanFactoryMetadata = getBeanFactoryMetadata(
 				context);
 		Map<String, Object> beans = getConfigurationPropertiesBeans(context,
 				beanFactoryMetadata);
-		Map<String, ConfigurationPropertiesBeanDescriptor> beanDescriptors = new HashMap<>();
+		Map<String, ConfigurationPropertiesBeanDescriptor> beanDescriptors = new LinkedHashMap<>();
 		beans.forEach((beanName, bean) -> {
+			if (beanFilter != null && !beanFilter.equals(beanName)) {
+				return;
+			}
 			String prefix = extractPrefix(context, beanFactoryMetadata, beanName);
-			beanDescriptors.put(beanName, new ConfigurationPropertiesBeanDescriptor(
-					prefix, sanitize(prefix, safeSerialize(mapper, bean, prefix))));
+			if (prefixFilter != null && !prefix.startsWith(prefixFilter)) {
+				return;
+			}
+			if (page.include()) {
+				beanDescriptors.put(beanName, new ConfigurationPropertiesBeanDescriptor(
+						prefix, sanitize(prefix, safeSerialize(mapper, bean, prefix))));
+			}
 		});
 		return new ContextConfigurationProperties(beanDescriptors,
 				(context.getParent() != null) ? context.getParent().getId() : null);
@@ -135,7 +170,7 @@ public class ConfigurationPropertiesReportEndpoint implements ApplicationContext
 	private Map<String, Object> getConfigurationPropertiesBeans(
 			ApplicationContext context,
 			ConfigurationBeanFactoryMetadata beanFactoryMetadata) {
-		Map<String, Object> beans = new HashMap<>();
+		Map<String, Object> beans = new TreeMap<>();
 		beans.putAll(context.getBeansWithAnnotation(ConfigurationProperties.class));
 		if (beanFactoryMetadata != null) {
 			beans.putAll(beanFactoryMetadata
@@ -178,11 +213,13 @@ public class ConfigurationPropertiesReportEndpoint implements ApplicationContext
 	}
 
 	private ObjectMapper getObjectMapper() {
-		if (this.objectMapper == null) {
-			this.objectMapper = new ObjectMapper();
-			configureObjectMapper(this.objectMapper);
+		ObjectMapper objectMapper = this.objectMapper;
+		if (objectMapper == null) {
+			objectMapper = new ObjectMapper();
+			configureObjectMapper(objectMapper);
+			this.objectMapper = objectMapper;
 		}
-		return this.objectMapper;
+		return objectMapper;
 	}
 
 	/**
@@ -269,6 +306,47 @@ public class ConfigurationPropertiesReportEndpoint implements ApplicationContext
 		return sanitized;
 	}
 
+	/**
+	 * A page of the beans that match the filters of the report, spanning all contexts.
+	 */
+	private static final class Page {
+
+		private int skip;
+
+		private int remaining;
+
+		private Page(int page, Integer size) {
+			if (page < 0) {
+				throw new InvalidEndpointRequestException(
+						"Page must not be negative: " + page, "Invalid page");
+			}
+			if (size != null && size <= 0) {
+				throw new InvalidEndpointRequestException(
+						"Size must be positive: " + size, "Invalid size");
+			}
+			this.skip = (size != null)
+					? (int) Math.min((long) page * size, Integer.MAX_VALUE) : 0;
+			this.remaining = (size != null) ? size : Integer.MAX_VALUE;
+		}
+
+		/**
+		 * Return whether the next matching bean belongs to the page.
+		 * @return {@code true} if the bean should be reported
+		 */
+		private boolean include() {
+			if (this.skip > 0) {
+				this.skip--;
+				return false;
+			}
+			if (this.remaining > 0) {
+				this.remaining--;
+				return true;
+			}
+			return false;
+		}
+
+	}
+
 	/**
 	 * Extension to {@link JacksonAnnotationIntrospector} to suppress CGLIB generated bean
 	 * properties.
@@ -16,26 +16,39 @@
 
 package org.springframework.boot.actuate.endpoint;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Strategy that should be used by endpoint implementations to sanitize potentially
  * sensitive keys.
+ * <p>
+ * Keys are matched with literal suffix and infix comparisons where the keys to sanitize
+ * allow it, falling back to regular expressions otherwise. Decisions are cached per key
+ * and shared by all sanitizers configured with the same keys to sanitize.
  *
  * @author Christian Dupuis
  * @author Toshiaki Maki
  * @author Phillip Webb
  * @author Nicolas Lejeune
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 public class Sanitizer {
 
 	private static final String[] REGEX_PARTS = { "*", "$", "^", "+" };
 
-	private Pattern[] keysToSanitize;
+	private static final Map<List<String>, KeyMatcher> keyMatchers = new ConcurrentReferenceHashMap<>();
+
+	private KeyMatcher keyMatcher;
 
 	public Sanitizer() {
 		this("password", "secret", "key", "token", ".*credentials.*", "vcap_services",
@@ -53,26 +66,8 @@ public class Sanitizer {
 	 */
 	public void setKeysToSanitize(String... keysToSanitize) {
 		Assert.notNull(keysToSanitize, "KeysToSanitize must not be null");
-		this.keysToSanitize = new Pattern[keysToSanitize.length];
-		for (int i = 0; i < keysToSanitize.length; i++) {
-			this.keysToSanitize[i] = getPattern(keysToSanitize[i]);
-		}
-	}
-
-	private Pattern getPattern(String value) {
-		if (isRegex(value)) {
-			return Pattern.compile(value, Pattern.CASE_INSENSITIVE);
-		}
-		return Pattern.compile(".*" + value + "$", Pattern.CASE_INSENSITIVE);
-	}
-
-	private boolean isRegex(String value) {
-		for (String part : REGEX_PARTS) {
-			if (value.contains(part)) {
-				return true;
-			}
-		}
-		return false;
+		this.keyMatcher = keyMatchers
+				.computeIfAbsent(Arrays.asList(keysToSanitize.clone()), KeyMatcher::new);
 	}
 
 	/**
@@ -85,12 +80,162 @@ public class Sanitizer {
 		if (value == null) {
 			return null;
 		}
-		for (Pattern pattern : this.keysToSanitize) {
-			if (pattern.matcher(key).matches()) {
-				return "******";
-			}
+		if (this.keyMatcher.matches(key)) {
+			return "******";
 		}
 		return value;
 	}
 
+	/**
+	 * Matcher for the keys to sanitize. Simple keys and {@code .*value.*} expressions
+	 * made of letters, digits, {@code -}, {@code _} and {@code .} are matched without
+	 * regular expressions, with {@code .} matching any character as it would in the
+	 * equivalent pattern. Keys that the literal matching cannot handle exactly, such as
+	 * keys with non-ASCII characters or line terminators, are always matched using the
+	 * patterns.
+	 */
+	private static final class KeyMatcher {
+
+		private static final int MAX_CACHED_DECISIONS = 4096;
+
+		private static final Pattern LITERAL = Pattern.compile("[A-Za-z0-9_.\\-]*");
+
+		private final Pattern[] patterns;
+
+		private final List<String> suffixes = new ArrayList<>();
+
+		private final List<String> infixes = new ArrayList<>();
+
+		private final List<Pattern> otherPatterns = new ArrayList<>();
+
+		private final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+		KeyMatcher(List<String> keysToSanitize) {
+			this.patterns = new Pattern[keysToSanitize.size()];
+			for (int i = 0; i < this.patterns.length; i++) {
+				String value = keysToSanitize.get(i);
+				this.patterns[i] = getPattern(value);
+				if (!isRegex(value) && isLiteral(value)) {
+					this.suffixes.add(toLowerCase(value));
+				}
+				else if (isInfixRegex(value)) {
+					this.infixes.add(toLowerCase(value.substring(2, value.length() - 2)));
+				}
+				else {
+					this.otherPatterns.add(this.patterns[i]);
+				}
+			}
+		}
+
+		private Pattern getPattern(String value) {
+			if (isRegex(value)) {
+				return Pattern.compile(value, Pattern.CASE_INSENSITIVE);
+			}
+			return Pattern.compile(".*" + value + "$", Pattern.CASE_INSENSITIVE);
+		}
+
+		private boolean isRegex(String value) {
+			for (String part : REGEX_PARTS) {
+				if (value.contains(part)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isInfixRegex(String value) {
+			if (value.length() < 4 || !value.startsWith(".*") || !value.endsWith(".*")) {
+				return false;
+			}
+			return isLiteral(value.substring(2, value.length() - 2));
+		}
+
+		private boolean isLiteral(String value) {
+			return LITERAL.matcher(value).matches();
+		}
+
+		boolean matches(String key) {
+			Boolean decision = this.decisions.get(key);
+			if (decision == null) {
+				decision = canMatchLiterally(key) ? matchesLiterally(key)
+						: matchesPatterns(key);
+				if (this.decisions.size() >= MAX_CACHED_DECISIONS) {
+					this.decisions.clear();
+				}
+				this.decisions.put(key, decision);
+			}
+			return decision;
+		}
+
+		private boolean matchesPatterns(String key) {
+			for (Pattern pattern : this.patterns) {
+				if (pattern.matcher(key).matches()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean matchesLiterally(String key) {
+			String candidate = toLowerCase(key);
+			for (String suffix : this.suffixes) {
+				if (regionMatches(candidate, candidate.length() - suffix.length(),
+						suffix)) {
+					return true;
+				}
+			}
+			for (String infix : this.infixes) {
+				for (int i = 0; i <= candidate.length() - infix.length(); i++) {
+					if (regionMatches(candidate, i, infix)) {
+						return true;
+					}
+				}
+			}
+			for (Pattern pattern : this.otherPatterns) {
+				if (pattern.matcher(key).matches()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean regionMatches(String candidate, int offset, String literal) {
+			if (offset < 0) {
+				return false;
+			}
+			for (int i = 0; i < literal.length(); i++) {
+				char ch = literal.charAt(i);
+				if (ch != '.' && ch != candidate.charAt(offset + i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private boolean canMatchLiterally(String key) {
+			for (int i = 0; i < key.length(); i++) {
+				char ch = key.charAt(i);
+				if (ch >= 0x80 || ch == '\n' || ch == '\r') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static String toLowerCase(String value) {
+			char[] chars = null;
+			for (int i = 0; i < value.length(); i++) {
+				char ch = value.charAt(i);
+				if (ch >= 'A' && ch <= 'Z') {
+					if (chars == null) {
+						chars = value.toCharArray();
+					}
+					chars[i] = (char) (ch + ('a' - 'A'));
+				}
+			}
+			return (chars != null) ? new String(chars) : value;
+		}
+
+	}
+
 }
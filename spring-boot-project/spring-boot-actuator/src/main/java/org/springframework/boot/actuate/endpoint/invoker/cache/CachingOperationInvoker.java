@@ -16,8 +16,14 @@
 
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
+import java.security.Principal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
 import org.springframework.boot.actuate.endpoint.InvocationContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
@@ -26,18 +32,40 @@ import org.springframework.util.ObjectUtils;
 
 /**
  * An {@link OperationInvoker} that caches the response of an operation with a
- * configurable time to live.
+ * configurable time to live. Responses are cached per combination of the non-null
+ * arguments of the operation and of the {@link Principal}, if any, with which it was
+ * invoked. Principals are compared using their {@code equals} method so that, for
+ * instance, a Spring Security {@code Authentication} only shares a response with another
+ * that has the same authorities. Concurrent invocations with the same arguments and
+ * principal share the response of a single invocation of the target operation. When more
+ * than {@link #MAX_CACHED_RESPONSES} responses are cached, the least recently used one is
+ * evicted.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 public class CachingOperationInvoker implements OperationInvoker {
 
+	/**
+	 * The maximum number of responses that are cached.
+	 */
+	static final int MAX_CACHED_RESPONSES = 128;
+
 	private final OperationInvoker invoker;
 
 	private final long timeToLive;
 
-	private volatile CachedResponse cachedResponse;
+	private final Map<CacheKey, CachedResponse> cachedResponses = Collections
+			.synchronizedMap(new LinkedHashMap<CacheKey, CachedResponse>(16, 0.75f, true) {
+
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<CacheKey, CachedResponse> eldest) {
+					return size() > MAX_CACHED_RESPONSES;
+				}
+
+			});
 
 	/**
 	 * Create a new instance with the target {@link OperationInvoker} to use to compute
@@ -61,28 +89,31 @@ public class CachingOperationInvoker implements OperationInvoker {
 
 	@Override
 	public Object invoke(InvocationContext context) {
-		if (hasInput(context)) {
-			return this.invoker.invoke(context);
-		}
-		long accessTime = System.currentTimeMillis();
-		CachedResponse cached = this.cachedResponse;
-		if (cached == null || cached.isStale(accessTime, this.timeToLive)) {
-			Object response = this.invoker.invoke(context);
-			this.cachedResponse = new CachedResponse(response, accessTime);
-			return response;
+		CacheKey key = new CacheKey(context);
+		while (true) {
+			long accessTime = System.currentTimeMillis();
+			CachedResponse cached = this.cachedResponses.get(key);
+			if (cached != null && !cached.isStale(accessTime, this.timeToLive)) {
+				return cached.getResponse();
+			}
+			CachedResponse loading = new CachedResponse(
+					() -> this.invoker.invoke(context), accessTime);
+			if ((cached != null) ? this.cachedResponses.replace(key, cached, loading)
+					: this.cachedResponses.putIfAbsent(key, loading) == null) {
+				return load(key, loading);
+			}
 		}
-		return cached.getResponse();
 	}
 
-	private boolean hasInput(InvocationContext context) {
-		if (context.getSecurityContext().getPrincipal() != null) {
-			return true;
+	private Object load(CacheKey key, CachedResponse loading) {
+		try {
+			loading.load();
+			return loading.getResponse();
 		}
-		Map<String, Object> arguments = context.getArguments();
-		if (!ObjectUtils.isEmpty(arguments)) {
-			return arguments.values().stream().anyMatch(Objects::nonNull);
+		catch (RuntimeException | Error ex) {
+			this.cachedResponses.remove(key, loading);
+			throw ex;
 		}
-		return false;
 	}
 
 	/**
@@ -101,25 +132,117 @@ public class CachingOperationInvoker implements OperationInvoker {
 
 	/**
 	 * A cached response that encapsulates the response itself and the time at which it
-	 * was created.
+	 * was created. The response is loaded once, by the thread that created the cached
+	 * response, while other threads wait for it to be available.
 	 */
 	static class CachedResponse {
 
-		private final Object response;
+		private final FutureTask<Object> response;
 
 		private final long creationTime;
 
-		CachedResponse(Object response, long creationTime) {
-			this.response = response;
+		CachedResponse(Callable<Object> loader, long creationTime) {
+			this.response = new FutureTask<>(loader);
 			this.creationTime = creationTime;
 		}
 
+		void load() {
+			this.response.run();
+		}
+
 		public boolean isStale(long accessTime, long timeToLive) {
 			return (accessTime - this.creationTime) >= timeToLive;
 		}
 
 		public Object getResponse() {
-			return this.response;
+			boolean interrupted = false;
+			try {
+				while (true) {
+					try {
+						return this.response.get();
+					}
+					catch (InterruptedException ex) {
+						interrupted = true;
+					}
+				}
+			}
+			catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				if (cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				if (cause instanceof Error) {
+					throw (Error) cause;
+				}
+				throw new IllegalStateException(cause);
+			}
+			finally {
+				if (interrupted) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * The key of a cached response, made of the principal and of the non-null arguments
+	 * of an invocation.
+	 */
+	private static final class CacheKey {
+
+		private final Principal principal;
+
+		private final Map<String, Object> arguments;
+
+		private CacheKey(InvocationContext context) {
+			this.principal = context.getSecurityContext().getPrincipal();
+			this.arguments = getArguments(context.getArguments());
+		}
+
+		private static Map<String, Object> getArguments(Map<String, Object> arguments) {
+			if (ObjectUtils.isEmpty(arguments)) {
+				return Collections.emptyMap();
+			}
+			Map<String, Object> nonNullArguments = new TreeMap<>();
+			arguments.forEach((name, value) -> {
+				if (value != null) {
+					nonNullArguments.put(name, value);
+				}
+			});
+			return nonNullArguments;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			if (!ObjectUtils.nullSafeEquals(this.principal, other.principal)
+					|| !this.arguments.keySet().equals(other.arguments.keySet())) {
+				return false;
+			}
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				if (!ObjectUtils.nullSafeEquals(entry.getValue(),
+						other.arguments.get(entry.getKey()))) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = ObjectUtils.nullSafeHashCode(this.principal);
+			for (Map.Entry<String, Object> entry : this.arguments.entrySet()) {
+				result = 31 * result + entry.getKey().hashCode();
+				result = 31 * result + ObjectUtils.nullSafeHashCode(entry.getValue());
+			}
+			return result;
 		}
 
 	}
@@ -20,14 +20,13 @@ import java.util.function.Function;
 
 import org.springframework.boot.actuate.endpoint.EndpointId;
 import org.springframework.boot.actuate.endpoint.OperationType;
-import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvokerAdvisor;
-import org.springframework.boot.actuate.endpoint.invoke.OperationParameter;
 import org.springframework.boot.actuate.endpoint.invoke.OperationParameters;
 
 /**
- * {@link OperationInvokerAdvisor} to optionally provide result caching support.
+ * {@link OperationInvokerAdvisor} to optionally provide result caching support. Read
+ * operations are cached per combination of their arguments.
  *
  * @author Stephane Nicoll
  * @since 2.0.0
@@ -44,7 +43,7 @@ public class CachingOperationInvokerAdvisor implements OperationInvokerAdvisor {
 	@Override
 	public OperationInvoker apply(EndpointId endpointId, OperationType operationType,
 			OperationParameters parameters, OperationInvoker invoker) {
-		if (operationType == OperationType.READ && !hasMandatoryParameter(parameters)) {
+		if (operationType == OperationType.READ) {
 			Long timeToLive = this.endpointIdTimeToLive.apply(endpointId);
 			if (timeToLive != null && timeToLive > 0) {
 				return new CachingOperationInvoker(invoker, timeToLive);
@@ -53,14 +52,4 @@ public class CachingOperationInvokerAdvisor implements OperationInvokerAdvisor {
 		return invoker;
 	}
 
-	private boolean hasMandatoryParameter(OperationParameters parameters) {
-		for (OperationParameter parameter : parameters) {
-			if (parameter.isMandatory()
-					&& !SecurityContext.class.isAssignableFrom(parameter.getType())) {
-				return true;
-			}
-		}
-		return false;
-	}
-
 }
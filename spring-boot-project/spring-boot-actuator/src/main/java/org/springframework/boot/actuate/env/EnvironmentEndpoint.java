@@ -56,6 +56,7 @@ import org.springframework.util.SystemPropertyUtils;
  * @author Christian Dupuis
  * @author Madhura Bhave
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 @Endpoint(id = "env")
@@ -63,6 +64,8 @@ public class EnvironmentEndpoint {
 
 	private final Sanitizer sanitizer = new Sanitizer();
 
+	private final PropertyNameIndex propertyNameIndex = new PropertyNameIndex();
+
 	private final Environment environment;
 
 	public EnvironmentEndpoint(Environment environment) {
@@ -73,12 +76,27 @@ public class EnvironmentEndpoint {
 		this.sanitizer.setKeysToSanitize(keysToSanitize);
 	}
 
-	@ReadOperation
 	public EnvironmentDescriptor environment(@Nullable String pattern) {
-		if (StringUtils.hasText(pattern)) {
-			return getEnvironmentDescriptor(Pattern.compile(pattern).asPredicate());
-		}
-		return getEnvironmentDescriptor((name) -> true);
+		return environment(pattern, null);
+	}
+
+	/**
+	 * Describe the environment, restricted to the properties whose name starts with the
+	 * given {@code prefix} and matches the given {@code pattern}, if any. Properties with
+	 * a prefix are looked up in an index of the property names rather than by testing
+	 * every name.
+	 * @param pattern the pattern that the property names must match or {@code null}
+	 * @param prefix the prefix of the property names or {@code null}
+	 * @return the description of the environment
+	 * @since 2.2.0
+	 */
+	@ReadOperation
+	public EnvironmentDescriptor environment(@Nullable String pattern,
+			@Nullable String prefix) {
+		Predicate<String> predicate = (StringUtils.hasText(pattern)
+				? Pattern.compile(pattern).asPredicate() : (name) -> true);
+		return getEnvironmentDescriptor(predicate,
+				StringUtils.hasLength(prefix) ? prefix : null);
 	}
 
 	@ReadOperation
@@ -87,16 +105,20 @@ public class EnvironmentEndpoint {
 	}
 
 	private EnvironmentDescriptor getEnvironmentDescriptor(
-			Predicate<String> propertyNamePredicate) {
+			Predicate<String> propertyNamePredicate, String prefix) {
 		PlaceholdersResolver resolver = getResolver();
 		List<PropertySourceDescriptor> propertySources = new ArrayList<>();
-		getPropertySourcesAsMap().forEach((sourceName, source) -> {
+		Map<String, PropertySource<?>> sources = getPropertySourcesAsMap();
+		sources.forEach((sourceName, source) -> {
 			if (source instanceof EnumerablePropertySource) {
 				propertySources.add(
 						describeSource(sourceName, (EnumerablePropertySource<?>) source,
-								resolver, propertyNamePredicate));
+								resolver, propertyNamePredicate, prefix));
 			}
 		});
+		if (prefix != null) {
+			this.propertyNameIndex.retain(sources.keySet());
+		}
 		return new EnvironmentDescriptor(
 				Arrays.asList(this.environment.getActiveProfiles()), propertySources);
 	}
@@ -142,9 +164,12 @@ public class EnvironmentEndpoint {
 
 	private PropertySourceDescriptor describeSource(String sourceName,
 			EnumerablePropertySource<?> source, PlaceholdersResolver resolver,
-			Predicate<String> namePredicate) {
+			Predicate<String> namePredicate, String prefix) {
 		Map<String, PropertyValueDescriptor> properties = new LinkedHashMap<>();
-		Stream.of(source.getPropertyNames()).filter(namePredicate).forEach(
+		String[] names = (prefix != null)
+				? this.propertyNameIndex.getPropertyNames(sourceName, source, prefix)
+				: source.getPropertyNames();
+		Stream.of(names).filter(namePredicate).forEach(
 				(name) -> properties.put(name, describeValueOf(name, source, resolver)));
 		return new PropertySourceDescriptor(sourceName, properties);
 	}
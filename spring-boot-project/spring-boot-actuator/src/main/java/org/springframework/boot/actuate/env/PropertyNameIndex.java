@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.env;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.env.ChangeTrackingPropertySource;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+/**
+ * Index of the property names of {@link EnumerablePropertySource property sources},
+ * sorted so that the names starting with a given prefix can be found without testing
+ * every name. Only sources whose names are known not to have changed without reading
+ * them are indexed: sources that implement {@link ChangeTrackingPropertySource}, whose
+ * version tells when the index must be rebuilt, immutable
+ * {@link OriginTrackedMapPropertySource OriginTrackedMapPropertySources}, such as those
+ * loaded from {@code application.properties} or {@code application.yml}, and the system
+ * environment. An index is only used for the source instance from which it was built. The
+ * names of other sources are filtered one by one.
+ *
+ * @author Jonas Berg
+ */
+class PropertyNameIndex {
+
+	private static final long NOT_INDEXED = -1;
+
+	private final Map<String, SortedNames> sources = new ConcurrentHashMap<>();
+
+	/**
+	 * Return the names of the given source that start with the given prefix, in the order
+	 * of the source.
+	 * @param sourceName the name under which the source is indexed
+	 * @param source the source
+	 * @param prefix the prefix of the names
+	 * @return the matching names
+	 */
+	String[] getPropertyNames(String sourceName, EnumerablePropertySource<?> source,
+			String prefix) {
+		long version = getPropertyNamesVersion(source);
+		if (version == NOT_INDEXED) {
+			return Arrays.stream(source.getPropertyNames())
+					.filter((name) -> name.startsWith(prefix)).toArray(String[]::new);
+		}
+		SortedNames sortedNames = this.sources.get(sourceName);
+		if (sortedNames == null || !sortedNames.isFor(source, version)) {
+			sortedNames = new SortedNames(source, version, source.getPropertyNames());
+			this.sources.put(sourceName, sortedNames);
+		}
+		return sortedNames.startingWith(prefix);
+	}
+
+	private long getPropertyNamesVersion(EnumerablePropertySource<?> source) {
+		if (source instanceof ChangeTrackingPropertySource) {
+			return ((ChangeTrackingPropertySource) source).getPropertyNamesVersion();
+		}
+		return isImmutable(source) ? 0 : NOT_INDEXED;
+	}
+
+	private boolean isImmutable(EnumerablePropertySource<?> source) {
+		if (source instanceof OriginTrackedMapPropertySource) {
+			return ((OriginTrackedMapPropertySource) source).isImmutable();
+		}
+		if (source instanceof SystemEnvironmentPropertySource) {
+			return ((SystemEnvironmentPropertySource) source).getSource() == System
+					.getenv();
+		}
+		return false;
+	}
+
+	/**
+	 * Discard the index of any source whose name is not in the given names.
+	 * @param sourceNames the names of the sources to retain
+	 */
+	void retain(Collection<String> sourceNames) {
+		this.sources.keySet().retainAll(sourceNames);
+	}
+
+	/**
+	 * The names of a source along with their positions sorted by name.
+	 */
+	private static final class SortedNames {
+
+		private final EnumerablePropertySource<?> source;
+
+		private final long version;
+
+		private final String[] names;
+
+		private final String[] sorted;
+
+		private final int[] positions;
+
+		SortedNames(EnumerablePropertySource<?> source, long version, String[] names) {
+			this.source = source;
+			this.version = version;
+			Integer[] order = new Integer[names.length];
+			for (int i = 0; i < names.length; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, Comparator.comparing((i) -> names[i]));
+			this.names = names;
+			this.sorted = new String[names.length];
+			this.positions = new int[names.length];
+			for (int i = 0; i < order.length; i++) {
+				this.sorted[i] = names[order[i]];
+				this.positions[i] = order[i];
+			}
+		}
+
+		boolean isFor(EnumerablePropertySource<?> source, long version) {
+			return this.source == source && this.version == version;
+		}
+
+		String[] startingWith(String prefix) {
+			int start = Arrays.binarySearch(this.sorted, prefix);
+			start = (start < 0) ? -start - 1 : start;
+			int end = start;
+			while (end < this.sorted.length && this.sorted[end].startsWith(prefix)) {
+				end++;
+			}
+			int[] matches = Arrays.copyOfRange(this.positions, start, end);
+			Arrays.sort(matches);
+			String[] result = new String[matches.length];
+			for (int i = 0; i < matches.length; i++) {
+				result[i] = this.names[matches[i]];
+			}
+			return result;
+		}
+
+	}
+
+}
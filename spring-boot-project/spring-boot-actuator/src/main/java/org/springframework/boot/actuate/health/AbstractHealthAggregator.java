@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +28,7 @@ import java.util.stream.Collectors;
  *
  * @author Christian Dupuis
  * @author Vedran Pavic
+ * @author Jonas Berg
  * @since 1.1.0
  */
 public abstract class AbstractHealthAggregator implements HealthAggregator {
@@ -40,6 +42,11 @@ public abstract class AbstractHealthAggregator implements HealthAggregator {
 		return new Health.Builder(status, details).build();
 	}
 
+	@Override
+	public final Status aggregateStatus(Map<String, Status> statuses) {
+		return aggregateStatus(new ArrayList<>(statuses.values()));
+	}
+
 	/**
 	 * Return the single 'aggregate' status that should be used from the specified
 	 * candidates.
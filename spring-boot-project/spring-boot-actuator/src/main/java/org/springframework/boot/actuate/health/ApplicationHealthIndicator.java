@@ -34,4 +34,9 @@ public class ApplicationHealthIndicator extends AbstractHealthIndicator {
 		builder.up();
 	}
 
+	@Override
+	public Status status() {
+		return Status.UP;
+	}
+
 }
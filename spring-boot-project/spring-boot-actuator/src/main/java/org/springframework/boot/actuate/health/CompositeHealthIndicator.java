@@ -16,15 +16,29 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
 
 /**
  * {@link HealthIndicator} that returns health indications from all registered delegates.
+ * The delegates are invoked sequentially unless an {@link Executor} is provided, in which
+ * case they are invoked concurrently and a delegate that does not respond in time, or
+ * that the executor rejects, is reported as {@link Status#DOWN down}.
  *
  * @author Tyler J. Frederick
  * @author Phillip Webb
  * @author Christian Dupuis
+ * @author Jonas Berg
  * @since 1.1.0
  */
 public class CompositeHealthIndicator implements HealthIndicator {
@@ -33,6 +47,10 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	private final HealthAggregator aggregator;
 
+	private final Executor executor;
+
+	private final Duration timeout;
+
 	/**
 	 * Create a new {@link CompositeHealthIndicator}.
 	 * @param healthAggregator the health aggregator
@@ -65,6 +83,31 @@ public class CompositeHealthIndicator implements HealthIndicator {
 			HealthIndicatorRegistry registry) {
 		this.aggregator = healthAggregator;
 		this.registry = registry;
+		this.executor = null;
+		this.timeout = null;
+	}
+
+	/**
+	 * Create a new {@link CompositeHealthIndicator} from the indicators in the given
+	 * {@code registry} that invokes the indicators concurrently using the given
+	 * {@code executor}. An indicator that has not responded within the given
+	 * {@code timeout}, or whose invocation is rejected by the executor, is reported as
+	 * {@link Status#DOWN down} rather than being invoked on the calling thread.
+	 * @param healthAggregator the health aggregator
+	 * @param registry the registry of {@link HealthIndicator HealthIndicators}.
+	 * @param executor the executor used to invoke the indicators
+	 * @param timeout the maximum time to wait for an indicator to respond
+	 * @since 2.2.0
+	 */
+	public CompositeHealthIndicator(HealthAggregator healthAggregator,
+			HealthIndicatorRegistry registry, Executor executor, Duration timeout) {
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(timeout != null && !timeout.isNegative() && !timeout.isZero(),
+				"Timeout must be strictly positive");
+		this.aggregator = healthAggregator;
+		this.registry = registry;
+		this.executor = executor;
+		this.timeout = timeout;
 	}
 
 	/**
@@ -92,12 +135,92 @@ public class CompositeHealthIndicator implements HealthIndicator {
 
 	@Override
 	public Health health() {
-		Map<String, Health> healths = new LinkedHashMap<>();
+		return this.aggregator
+				.aggregate(invoke(HealthIndicator::health, Function.identity()));
+	}
+
+	/**
+	 * Return the aggregated {@link Status} of the registered delegates, as provided by
+	 * their {@link HealthIndicator#status() status}, without building the aggregated
+	 * details.
+	 * @return the aggregated status
+	 */
+	@Override
+	public Status status() {
+		return this.aggregator
+				.aggregateStatus(invoke(HealthIndicator::status, Health::getStatus));
+	}
+
+	private <T> Map<String, T> invoke(Function<HealthIndicator, T> invocation,
+			Function<Health, T> failure) {
+		if (this.executor != null) {
+			return invokeConcurrently(invocation, failure);
+		}
+		Map<String, T> results = new LinkedHashMap<>();
 		for (Map.Entry<String, HealthIndicator> entry : this.registry.getAll()
 				.entrySet()) {
-			healths.put(entry.getKey(), entry.getValue().health());
+			results.put(entry.getKey(), invocation.apply(entry.getValue()));
+		}
+		return results;
+	}
+
+	private <T> Map<String, T> invokeConcurrently(Function<HealthIndicator, T> invocation,
+			Function<Health, T> failure) {
+		long deadline = System.nanoTime() + this.timeout.toNanos();
+		Map<String, T> results = new LinkedHashMap<>();
+		Map<String, FutureTask<T>> tasks = new LinkedHashMap<>();
+		this.registry.getAll().forEach((name, indicator) -> {
+			FutureTask<T> task = new FutureTask<>(() -> invocation.apply(indicator));
+			results.put(name, null);
+			if (execute(task)) {
+				tasks.put(name, task);
+			}
+			else {
+				results.put(name,
+						failure.apply(Health.down().withDetail("error",
+								"Health indicator invocation rejected by the executor")
+								.build()));
+			}
+		});
+		tasks.forEach(
+				(name, task) -> results.put(name, getResult(task, deadline, failure)));
+		return results;
+	}
+
+	private boolean execute(FutureTask<?> task) {
+		try {
+			this.executor.execute(task);
+			return true;
+		}
+		catch (RejectedExecutionException ex) {
+			return false;
+		}
+	}
+
+	private <T> T getResult(FutureTask<T> task, long deadline,
+			Function<Health, T> failure) {
+		try {
+			return task.get(Math.max(deadline - System.nanoTime(), 0),
+					TimeUnit.NANOSECONDS);
+		}
+		catch (TimeoutException ex) {
+			task.cancel(true);
+			return failure
+					.apply(Health.down()
+							.withDetail("error",
+									"Timed out after " + this.timeout.toMillis() + "ms")
+							.build());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			task.cancel(true);
+			return failure.apply(Health.down(ex).build());
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			return failure.apply(Health.down((cause instanceof Exception)
+					? (Exception) cause : new IllegalStateException(cause)).build());
 		}
-		return this.aggregator.aggregate(healths);
 	}
 
 }
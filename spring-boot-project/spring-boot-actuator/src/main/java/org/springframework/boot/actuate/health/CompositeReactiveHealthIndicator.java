@@ -19,7 +19,9 @@ package org.springframework.boot.actuate.health;
 import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -28,9 +30,12 @@ import reactor.util.function.Tuple2;
 /**
  * {@link ReactiveHealthIndicator} that returns health indications from all registered
  * delegates. Provides an alternative {@link Health} for a delegate that reaches a
- * configurable timeout.
+ * configurable timeout, either for all delegates or for a specific one. The time taken by
+ * each delegate can be recorded using a {@link #timingListener(BiConsumer) timing
+ * listener}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 public class CompositeReactiveHealthIndicator implements ReactiveHealthIndicator {
@@ -39,11 +44,11 @@ public class CompositeReactiveHealthIndicator implements ReactiveHealthIndicator
 
 	private final HealthAggregator healthAggregator;
 
-	private Long timeout;
+	private TimeoutStrategy timeoutStrategy;
 
-	private Health timeoutHealth;
+	private final Map<String, TimeoutStrategy> timeoutStrategies = new ConcurrentHashMap<>();
 
-	private final Function<Mono<Health>, Mono<Health>> timeoutCompose;
+	private BiConsumer<String, Duration> timingListener;
 
 	/**
 	 * Create a new {@link CompositeReactiveHealthIndicator}.
@@ -82,8 +87,6 @@ public class CompositeReactiveHealthIndicator implements ReactiveHealthIndicator
 			ReactiveHealthIndicatorRegistry registry) {
 		this.registry = registry;
 		this.healthAggregator = healthAggregator;
-		this.timeoutCompose = (mono) -> (this.timeout != null) ? mono.timeout(
-				Duration.ofMillis(this.timeout), Mono.just(this.timeoutHealth)) : mono;
 	}
 
 	/**
@@ -114,9 +117,40 @@ public class CompositeReactiveHealthIndicator implements ReactiveHealthIndicator
 	 */
 	public CompositeReactiveHealthIndicator timeoutStrategy(long timeout,
 			Health timeoutHealth) {
-		this.timeout = timeout;
-		this.timeoutHealth = (timeoutHealth != null) ? timeoutHealth
-				: Health.unknown().build();
+		this.timeoutStrategy = new TimeoutStrategy(timeout, timeoutHealth);
+		return this;
+	}
+
+	/**
+	 * Specify an alternative timeout {@link Health} if the {@link HealthIndicator} with
+	 * the specified {@code name} failed to reply after specified {@code timeout}. Takes
+	 * precedence over the {@link #timeoutStrategy(long, Health) timeout strategy} that
+	 * applies to all indicators.
+	 * @param name the name of the health indicator
+	 * @param timeout number of milliseconds to wait before using the
+	 * {@code timeoutHealth}
+	 * @param timeoutHealth the {@link Health} to use if the health indicator reached the
+	 * {@code timeout}
+	 * @return this instance
+	 * @since 2.2.0
+	 */
+	public CompositeReactiveHealthIndicator timeoutStrategy(String name, long timeout,
+			Health timeoutHealth) {
+		this.timeoutStrategies.put(name, new TimeoutStrategy(timeout, timeoutHealth));
+		return this;
+	}
+
+	/**
+	 * Specify a listener that is notified of the time taken by each health indicator,
+	 * including the time spent waiting for a timeout.
+	 * @param timingListener the listener, called with the name of the health indicator
+	 * and the time that it took
+	 * @return this instance
+	 * @since 2.2.0
+	 */
+	public CompositeReactiveHealthIndicator timingListener(
+			BiConsumer<String, Duration> timingListener) {
+		this.timingListener = timingListener;
 		return this;
 	}
 
@@ -124,9 +158,87 @@ public class CompositeReactiveHealthIndicator implements ReactiveHealthIndicator
 	public Mono<Health> health() {
 		return Flux.fromIterable(this.registry.getAll().entrySet())
 				.flatMap((entry) -> Mono.zip(Mono.just(entry.getKey()),
-						entry.getValue().health().compose(this.timeoutCompose)))
+						health(entry.getKey(), entry.getValue())))
 				.collectMap(Tuple2::getT1, Tuple2::getT2)
 				.map(this.healthAggregator::aggregate);
 	}
 
+	/**
+	 * Provide the aggregated {@link Status} of the registered delegates, as provided by
+	 * their {@link ReactiveHealthIndicator#status() status}, without building the
+	 * aggregated details.
+	 * @return a {@link Mono} that provides the aggregated status
+	 */
+	@Override
+	public Mono<Status> status() {
+		return Flux.fromIterable(this.registry.getAll().entrySet())
+				.flatMap((entry) -> Mono.zip(Mono.just(entry.getKey()),
+						status(entry.getKey(), entry.getValue())))
+				.collectMap(Tuple2::getT1, Tuple2::getT2)
+				.map(this.healthAggregator::aggregateStatus);
+	}
+
+	private Mono<Health> health(String name, ReactiveHealthIndicator indicator) {
+		TimeoutStrategy timeoutStrategy = getTimeoutStrategy(name);
+		Mono<Health> health = (timeoutStrategy != null)
+				? timeoutStrategy.apply(indicator.health()) : indicator.health();
+		return withTimingListener(name, health);
+	}
+
+	private Mono<Status> status(String name, ReactiveHealthIndicator indicator) {
+		TimeoutStrategy timeoutStrategy = getTimeoutStrategy(name);
+		Mono<Status> status = (timeoutStrategy != null)
+				? timeoutStrategy.applyToStatus(indicator.status()) : indicator.status();
+		return withTimingListener(name, status);
+	}
+
+	private TimeoutStrategy getTimeoutStrategy(String name) {
+		return this.timeoutStrategies.getOrDefault(name, this.timeoutStrategy);
+	}
+
+	private <T> Mono<T> withTimingListener(String name, Mono<T> result) {
+		BiConsumer<String, Duration> timingListener = this.timingListener;
+		if (timingListener == null) {
+			return result;
+		}
+		return Mono.defer(() -> {
+			long startTime = System.nanoTime();
+			AtomicBoolean recorded = new AtomicBoolean();
+			Runnable record = () -> {
+				if (recorded.compareAndSet(false, true)) {
+					timingListener.accept(name,
+							Duration.ofNanos(System.nanoTime() - startTime));
+				}
+			};
+			return result.doOnSuccess((value) -> record.run())
+					.doOnError((ex) -> record.run()).doOnCancel(record);
+		});
+	}
+
+	/**
+	 * The {@link Health} to use when a health indicator reaches a timeout.
+	 */
+	private static final class TimeoutStrategy {
+
+		private final Duration timeout;
+
+		private final Health timeoutHealth;
+
+		private TimeoutStrategy(long timeout, Health timeoutHealth) {
+			this.timeout = Duration.ofMillis(timeout);
+			this.timeoutHealth = (timeoutHealth != null) ? timeoutHealth
+					: Health.unknown().build();
+		}
+
+		private Mono<Health> apply(Mono<Health> health) {
+			return health.timeout(this.timeout, Mono.just(this.timeoutHealth));
+		}
+
+		private Mono<Status> applyToStatus(Mono<Status> status) {
+			return status.timeout(this.timeout,
+					Mono.just(this.timeoutHealth.getStatus()));
+		}
+
+	}
+
 }
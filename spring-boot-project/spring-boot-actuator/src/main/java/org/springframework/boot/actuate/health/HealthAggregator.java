@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -43,4 +44,19 @@ public interface HealthAggregator {
 	 */
 	Health aggregate(Map<String, Health> healths);
 
+	/**
+	 * Aggregate the given {@link Status} instances into the status that
+	 * {@link #aggregate(Map)} would return for healths with these statuses, without
+	 * building the aggregated details.
+	 * @param statuses the statuses to aggregate, keyed by health name
+	 * @return the aggregated status
+	 * @since 2.2.0
+	 */
+	default Status aggregateStatus(Map<String, Status> statuses) {
+		Map<String, Health> healths = new LinkedHashMap<>();
+		statuses.forEach(
+				(name, status) -> healths.put(name, Health.status(status).build()));
+		return aggregate(healths).getStatus();
+	}
+
 }
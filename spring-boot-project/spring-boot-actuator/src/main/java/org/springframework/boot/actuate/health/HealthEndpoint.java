@@ -28,6 +28,7 @@ import org.springframework.util.Assert;
  * @author Christian Dupuis
  * @author Andy Wilkinson
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 @Endpoint(id = "health")
@@ -50,6 +51,16 @@ public class HealthEndpoint {
 		return this.healthIndicator.health();
 	}
 
+	/**
+	 * Return the {@link Status} of the application's health, without building the
+	 * aggregated details.
+	 * @return the status of the application's health
+	 * @since 2.2.0
+	 */
+	public Status status() {
+		return this.healthIndicator.status();
+	}
+
 	/**
 	 * Return the {@link Health} of a particular component or {@code null} if such
 	 * component does not exist.
@@ -76,6 +87,9 @@ public class HealthEndpoint {
 			@Selector String instance) {
 		HealthIndicator indicator = getNestedHealthIndicator(this.healthIndicator,
 				component);
+		if (indicator instanceof SnapshotHealthIndicator) {
+			return ((SnapshotHealthIndicator) indicator).getNestedHealth(instance);
+		}
 		HealthIndicator nestedIndicator = getNestedHealthIndicator(indicator, instance);
 		return (nestedIndicator != null) ? nestedIndicator.health() : null;
 	}
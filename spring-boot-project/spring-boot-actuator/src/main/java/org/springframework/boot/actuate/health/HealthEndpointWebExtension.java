@@ -34,6 +34,7 @@ import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExten
  * @author Eddú Meléndez
  * @author Madhura Bhave
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 @EndpointWebExtension(endpoint = HealthEndpoint.class)
@@ -51,6 +52,9 @@ public class HealthEndpointWebExtension {
 
 	@ReadOperation
 	public WebEndpointResponse<Health> health(SecurityContext securityContext) {
+		if (!this.responseMapper.canSeeDetails(securityContext)) {
+			return this.responseMapper.mapStatus(this.delegate.status());
+		}
 		return this.responseMapper.map(this.delegate.health(), securityContext);
 	}
 
@@ -72,6 +76,9 @@ public class HealthEndpointWebExtension {
 
 	public WebEndpointResponse<Health> getHealth(SecurityContext securityContext,
 			ShowDetails showDetails) {
+		if (!this.responseMapper.canSeeDetails(securityContext, showDetails)) {
+			return this.responseMapper.mapStatus(this.delegate.status());
+		}
 		return this.responseMapper.map(this.delegate.health(), securityContext,
 				showDetails);
 	}
@@ -31,4 +31,15 @@ public interface HealthIndicator {
 	 */
 	Health health();
 
+	/**
+	 * Return the {@link Status} of the health. The default implementation calls
+	 * {@link #health()} and discards its details. Implementations that can determine
+	 * their status more cheaply than their full health should override this method.
+	 * @return the status of the health
+	 * @since 2.2.0
+	 */
+	default Status status() {
+		return health().getStatus();
+	}
+
 }
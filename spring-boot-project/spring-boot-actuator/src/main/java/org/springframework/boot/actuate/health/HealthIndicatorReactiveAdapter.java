@@ -16,37 +16,80 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 import org.springframework.util.Assert;
 
 /**
  * Adapts a {@link HealthIndicator} to a {@link ReactiveHealthIndicator} so that it can be
- * safely invoked in a reactive environment.
+ * safely invoked in a reactive environment. The delegate is invoked on a
+ * {@link Scheduler} suitable for blocking calls, {@link Schedulers#elastic()} by default.
+ * Cancelling the returned {@link Mono}, for instance when a timeout is reached, cancels
+ * the pending invocation. If the scheduler rejects the invocation, for instance because
+ * its queue is full, the delegate is reported as {@link Status#DOWN down} without being
+ * invoked.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 public class HealthIndicatorReactiveAdapter implements ReactiveHealthIndicator {
 
 	private final HealthIndicator delegate;
 
+	private final Scheduler scheduler;
+
 	public HealthIndicatorReactiveAdapter(HealthIndicator delegate) {
+		this(delegate, Schedulers.elastic());
+	}
+
+	/**
+	 * Create a new {@link HealthIndicatorReactiveAdapter} that invokes the delegate on
+	 * the given {@link Scheduler}.
+	 * @param delegate the health indicator to adapt
+	 * @param scheduler the scheduler used to invoke the delegate
+	 * @since 2.2.0
+	 */
+	public HealthIndicatorReactiveAdapter(HealthIndicator delegate, Scheduler scheduler) {
 		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
 		this.delegate = delegate;
+		this.scheduler = scheduler;
 	}
 
 	@Override
 	public Mono<Health> health() {
-		return Mono.create((sink) -> Schedulers.elastic().schedule(() -> invoke(sink)));
+		return invoke(this.delegate::health,
+				(ex) -> Health.down(ex).build());
+	}
+
+	@Override
+	public Mono<Status> status() {
+		return invoke(this.delegate::status, (ex) -> Status.DOWN);
+	}
+
+	private <T> Mono<T> invoke(Supplier<T> supplier,
+			Function<RejectedExecutionException, T> rejectedResult) {
+		return Mono.create((sink) -> {
+			try {
+				sink.onCancel(this.scheduler.schedule(() -> invoke(supplier, sink)));
+			}
+			catch (RejectedExecutionException ex) {
+				sink.success(rejectedResult.apply(ex));
+			}
+		});
 	}
 
-	private void invoke(MonoSink<Health> sink) {
+	private <T> void invoke(Supplier<T> supplier, MonoSink<T> sink) {
 		try {
-			Health health = this.delegate.health();
-			sink.success(health);
+			sink.success(supplier.get());
 		}
 		catch (Exception ex) {
 			sink.error(ex);
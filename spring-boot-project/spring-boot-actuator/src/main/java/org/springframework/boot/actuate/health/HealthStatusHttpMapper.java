@@ -19,6 +19,7 @@ package org.springframework.boot.actuate.health;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
 import org.springframework.util.Assert;
@@ -27,12 +28,17 @@ import org.springframework.util.Assert;
  * Map a {@link Status} to an HTTP status code.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 public class HealthStatusHttpMapper {
 
+	private static final int MAX_CACHED_STATUS_CODES = 32;
+
 	private Map<String, Integer> statusMapping = new HashMap<>();
 
+	private final Map<String, Integer> httpStatusCache = new ConcurrentHashMap<>();
+
 	/**
 	 * Create a new instance.
 	 */
@@ -53,6 +59,7 @@ public class HealthStatusHttpMapper {
 	public void setStatusMapping(Map<String, Integer> statusMapping) {
 		Assert.notNull(statusMapping, "StatusMapping must not be null");
 		this.statusMapping = new HashMap<>(statusMapping);
+		this.httpStatusCache.clear();
 	}
 
 	/**
@@ -62,6 +69,7 @@ public class HealthStatusHttpMapper {
 	public void addStatusMapping(Map<String, Integer> statusMapping) {
 		Assert.notNull(statusMapping, "StatusMapping must not be null");
 		this.statusMapping.putAll(statusMapping);
+		this.httpStatusCache.clear();
 	}
 
 	/**
@@ -84,6 +92,7 @@ public class HealthStatusHttpMapper {
 		Assert.notNull(statusCode, "StatusCode must not be null");
 		Assert.notNull(httpStatus, "HttpStatus must not be null");
 		this.statusMapping.put(statusCode, httpStatus);
+		this.httpStatusCache.clear();
 	}
 
 	/**
@@ -100,14 +109,25 @@ public class HealthStatusHttpMapper {
 	 * @return the corresponding HTTP status code
 	 */
 	public int mapStatus(Status status) {
-		String code = getUniformValue(status.getCode());
-		if (code != null) {
-			return this.statusMapping.keySet().stream()
-					.filter((key) -> code.equals(getUniformValue(key)))
-					.map(this.statusMapping::get).findFirst()
-					.orElse(WebEndpointResponse.STATUS_OK);
+		String code = status.getCode();
+		if (code == null) {
+			return WebEndpointResponse.STATUS_OK;
 		}
-		return WebEndpointResponse.STATUS_OK;
+		Integer httpStatus = this.httpStatusCache.get(code);
+		if (httpStatus == null) {
+			httpStatus = getHttpStatus(getUniformValue(code));
+			if (this.httpStatusCache.size() < MAX_CACHED_STATUS_CODES) {
+				this.httpStatusCache.put(code, httpStatus);
+			}
+		}
+		return httpStatus;
+	}
+
+	private int getHttpStatus(String code) {
+		return this.statusMapping.keySet().stream()
+				.filter((key) -> code.equals(getUniformValue(key)))
+				.map(this.statusMapping::get).findFirst()
+				.orElse(WebEndpointResponse.STATUS_OK);
 	}
 
 	private String getUniformValue(String code) {
@@ -27,6 +27,7 @@ import org.springframework.util.CollectionUtils;
  * Maps a {@link Health} to a {@link WebEndpointResponse}.
  *
  * @author Andy Wilkinson
+ * @author Jonas Berg
  * @since 2.0.0
  */
 public class HealthWebEndpointResponseMapper {
@@ -92,17 +93,49 @@ public class HealthWebEndpointResponseMapper {
 				|| (showDetails == ShowDetails.WHEN_AUTHORIZED
 						&& (securityContext.getPrincipal() == null
 								|| !isUserInRole(securityContext)))) {
-			health = Health.status(health.getStatus()).build();
+			return mapStatus(health.getStatus());
 		}
 		return createWebEndpointResponse(health);
 	}
 
+	/**
+	 * Maps the given {@code status} to a {@link WebEndpointResponse} whose body only
+	 * holds the status.
+	 * @param status the status to map
+	 * @return the mapped response
+	 * @since 2.2.0
+	 */
+	public WebEndpointResponse<Health> mapStatus(Status status) {
+		return createWebEndpointResponse(Health.status(status).build());
+	}
+
+	/**
+	 * Return whether the details of the health can be shown, honouring the mapper's
+	 * default {@link ShowDetails} using the given {@code securityContext}. When they
+	 * cannot, the response can be created using {@link #mapStatus(Status)}.
+	 * @param securityContext the security context
+	 * @return {@code true} if the details of the health can be shown
+	 * @since 2.2.0
+	 */
+	public boolean canSeeDetails(SecurityContext securityContext) {
+		return canSeeDetails(securityContext, this.showDetails);
+	}
+
 	private WebEndpointResponse<Health> createWebEndpointResponse(Health health) {
 		Integer status = this.statusHttpMapper.mapStatus(health.getStatus());
 		return new WebEndpointResponse<>(health, status);
 	}
 
-	private boolean canSeeDetails(SecurityContext securityContext,
+	/**
+	 * Return whether the details of the health can be shown, honouring the given
+	 * {@code showDetails} using the given {@code securityContext}. When they cannot, the
+	 * response can be created using {@link #mapStatus(Status)}.
+	 * @param securityContext the security context
+	 * @param showDetails when to show details in the response
+	 * @return {@code true} if the details of the health can be shown
+	 * @since 2.2.0
+	 */
+	public boolean canSeeDetails(SecurityContext securityContext,
 			ShowDetails showDetails) {
 		if (showDetails == ShowDetails.NEVER
 				|| (showDetails == ShowDetails.WHEN_AUTHORIZED
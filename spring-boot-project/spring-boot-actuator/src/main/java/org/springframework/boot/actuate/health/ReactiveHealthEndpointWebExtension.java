@@ -27,6 +27,7 @@ import org.springframework.boot.actuate.endpoint.web.annotation.EndpointWebExten
  * Reactive {@link EndpointWebExtension} for the {@link HealthEndpoint}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.0.0
  */
 @EndpointWebExtension(endpoint = HealthEndpoint.class)
@@ -44,12 +45,18 @@ public class ReactiveHealthEndpointWebExtension {
 
 	@ReadOperation
 	public Mono<WebEndpointResponse<Health>> health(SecurityContext securityContext) {
+		if (!this.responseMapper.canSeeDetails(securityContext)) {
+			return this.delegate.status().map(this.responseMapper::mapStatus);
+		}
 		return this.delegate.health()
 				.map((health) -> this.responseMapper.map(health, securityContext));
 	}
 
 	public Mono<WebEndpointResponse<Health>> health(SecurityContext securityContext,
 			ShowDetails showDetails) {
+		if (!this.responseMapper.canSeeDetails(securityContext, showDetails)) {
+			return this.delegate.status().map(this.responseMapper::mapStatus);
+		}
 		return this.delegate.health().map((health) -> this.responseMapper.map(health,
 				securityContext, showDetails));
 	}
@@ -37,4 +37,15 @@ public interface ReactiveHealthIndicator {
 	 */
 	Mono<Health> health();
 
+	/**
+	 * Provide the {@link Status} of the health. The default implementation calls
+	 * {@link #health()} and discards its details. Implementations that can determine
+	 * their status more cheaply than their full health should override this method.
+	 * @return a {@link Mono} that provides the {@link Status}
+	 * @since 2.2.0
+	 */
+	default Mono<Status> status() {
+		return health().map(Health::getStatus);
+	}
+
 }
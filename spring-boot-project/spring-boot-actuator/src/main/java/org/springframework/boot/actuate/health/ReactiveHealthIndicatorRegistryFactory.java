@@ -20,6 +20,9 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -27,15 +30,32 @@ import org.springframework.util.ObjectUtils;
  * Factory to create a {@link HealthIndicatorRegistry}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  * @since 2.1.0
  */
 public class ReactiveHealthIndicatorRegistryFactory {
 
 	private final Function<String, String> healthIndicatorNameFactory;
 
+	private final Scheduler scheduler;
+
 	public ReactiveHealthIndicatorRegistryFactory(
 			Function<String, String> healthIndicatorNameFactory) {
+		this(healthIndicatorNameFactory, Schedulers.elastic());
+	}
+
+	/**
+	 * Create a new {@link ReactiveHealthIndicatorRegistryFactory} that invokes the
+	 * adapted {@link HealthIndicator HealthIndicators} on the given {@link Scheduler}.
+	 * @param healthIndicatorNameFactory the factory of health indicator names
+	 * @param scheduler the scheduler used to invoke the adapted health indicators
+	 * @since 2.2.0
+	 */
+	public ReactiveHealthIndicatorRegistryFactory(
+			Function<String, String> healthIndicatorNameFactory, Scheduler scheduler) {
+		Assert.notNull(scheduler, "Scheduler must not be null");
 		this.healthIndicatorNameFactory = healthIndicatorNameFactory;
+		this.scheduler = scheduler;
 	}
 
 	public ReactiveHealthIndicatorRegistryFactory() {
@@ -85,7 +105,7 @@ public class ReactiveHealthIndicatorRegistryFactory {
 		healthIndicators.forEach((beanName, indicator) -> {
 			String name = this.healthIndicatorNameFactory.apply(beanName);
 			allIndicators.computeIfAbsent(name,
-					(n) -> new HealthIndicatorReactiveAdapter(indicator));
+					(n) -> new HealthIndicatorReactiveAdapter(indicator, this.scheduler));
 		});
 		return allIndicators;
 	}
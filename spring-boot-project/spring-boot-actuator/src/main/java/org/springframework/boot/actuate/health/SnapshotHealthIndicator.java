@@ -0,0 +1,254 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicator} that returns the latest snapshot of the health of a delegate
+ * {@link HealthIndicator}. The snapshot is typically refreshed in the background, see
+ * {@link #schedule(ScheduledExecutorService, Duration)}, so that returning the health
+ * does not involve any call to the checked system. The age of the snapshot is reported in
+ * a {@code snapshotAge} detail. A snapshot older than the configured maximum age is
+ * reported as {@link Status#DOWN down} and, until the first snapshot has been taken, the
+ * health is {@link Status#UNKNOWN unknown}.
+ * <p>
+ * When created with an {@link ExecutorService}, the delegate is invoked using that
+ * executor and a refresh that does not complete within the timeout records a
+ * {@link Status#DOWN down} snapshot, so that a delegate that hangs does not hold the
+ * thread that refreshes the snapshots. The delegate is not invoked again while an
+ * invocation that timed out is still in progress.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public class SnapshotHealthIndicator implements HealthIndicator {
+
+	private static final Health NO_SNAPSHOT = Health.unknown()
+			.withDetail("reason", "No health snapshot yet").build();
+
+	private final HealthIndicator delegate;
+
+	private final Duration maxAge;
+
+	private final ExecutorService executor;
+
+	private final Duration timeout;
+
+	private final Clock clock;
+
+	private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+	private volatile Future<Health> invocation;
+
+	/**
+	 * Create a new {@link SnapshotHealthIndicator} instance.
+	 * @param delegate the health indicator whose health is captured
+	 * @param maxAge the maximum age of a snapshot before it is considered stale
+	 */
+	public SnapshotHealthIndicator(HealthIndicator delegate, Duration maxAge) {
+		this(delegate, maxAge, null, null, Clock.systemUTC());
+	}
+
+	/**
+	 * Create a new {@link SnapshotHealthIndicator} instance that invokes the delegate
+	 * using the given executor.
+	 * @param delegate the health indicator whose health is captured
+	 * @param maxAge the maximum age of a snapshot before it is considered stale
+	 * @param executor the executor used to invoke the delegate
+	 * @param timeout the maximum time to wait for the delegate to respond before
+	 * reporting it as down
+	 */
+	public SnapshotHealthIndicator(HealthIndicator delegate, Duration maxAge,
+			ExecutorService executor, Duration timeout) {
+		this(delegate, maxAge, executor, timeout, Clock.systemUTC());
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.notNull(timeout, "Timeout must not be null");
+	}
+
+	SnapshotHealthIndicator(HealthIndicator delegate, Duration maxAge,
+			ExecutorService executor, Duration timeout, Clock clock) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.notNull(maxAge, "MaxAge must not be null");
+		this.delegate = delegate;
+		this.maxAge = maxAge;
+		this.executor = executor;
+		this.timeout = timeout;
+		this.clock = clock;
+	}
+
+	/**
+	 * Return the health indicator whose health is captured.
+	 * @return the delegate health indicator
+	 */
+	public HealthIndicator getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Schedule the refresh of the snapshot, starting immediately and then with the given
+	 * delay between the end of a refresh and the start of the next.
+	 * @param scheduler the scheduler to use
+	 * @param interval the delay between two refreshes
+	 * @return the scheduled refresh
+	 */
+	public ScheduledFuture<?> schedule(ScheduledExecutorService scheduler,
+			Duration interval) {
+		return scheduler.scheduleWithFixedDelay(this::refresh, 0, interval.toMillis(),
+				TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Refresh the snapshot by invoking the delegate health indicator.
+	 */
+	public void refresh() {
+		long time = this.clock.millis();
+		Snapshot snapshot = new Snapshot(invokeDelegate(), time);
+		this.snapshot.accumulateAndGet(snapshot, Snapshot::latest);
+	}
+
+	private Health invokeDelegate() {
+		if (this.executor == null) {
+			return invoke();
+		}
+		try {
+			Future<Health> invocation = this.invocation;
+			if (invocation == null || invocation.isDone()) {
+				invocation = this.executor.submit(this::invoke);
+				this.invocation = invocation;
+			}
+			return invocation.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		catch (TimeoutException ex) {
+			return Health.down().withDetail("error",
+					"Timed out after " + this.timeout.toMillis() + "ms").build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return Health.down(ex).build();
+		}
+		catch (ExecutionException ex) {
+			return Health.down(ex.getCause()).build();
+		}
+		catch (RejectedExecutionException ex) {
+			return Health.down(ex).build();
+		}
+	}
+
+	private Health invoke() {
+		try {
+			return this.delegate.health();
+		}
+		catch (Exception ex) {
+			return Health.down(ex).build();
+		}
+	}
+
+	@Override
+	public Health health() {
+		Snapshot snapshot = this.snapshot.get();
+		if (snapshot == null) {
+			return NO_SNAPSHOT;
+		}
+		Duration age = getAge(snapshot);
+		String snapshotAge = age.toMillis() + "ms";
+		if (age.compareTo(this.maxAge) > 0) {
+			return Health.down().withDetail("error", "Health snapshot is stale")
+					.withDetail("snapshotAge", snapshotAge).build();
+		}
+		return Health.status(snapshot.health.getStatus())
+				.withDetails(snapshot.health.getDetails())
+				.withDetail("snapshotAge", snapshotAge).build();
+	}
+
+	/**
+	 * Return the {@link Health} of a component of the delegate, as captured by the latest
+	 * snapshot, or {@code null} if the delegate is not a {@link CompositeHealthIndicator}
+	 * or if such component does not exist. A stale snapshot is reported as
+	 * {@link Status#DOWN down} and the health is {@link Status#UNKNOWN unknown} until the
+	 * first snapshot has been taken.
+	 * @param name the name of the component
+	 * @return the {@link Health} of the component or {@code null}
+	 */
+	public Health getNestedHealth(String name) {
+		if (!(this.delegate instanceof CompositeHealthIndicator)) {
+			return null;
+		}
+		Snapshot snapshot = this.snapshot.get();
+		if (snapshot == null) {
+			return NO_SNAPSHOT;
+		}
+		Object component = snapshot.health.getDetails().get(name);
+		if (!(component instanceof Health)) {
+			return null;
+		}
+		Duration age = getAge(snapshot);
+		if (age.compareTo(this.maxAge) > 0) {
+			return Health.down().withDetail("error", "Health snapshot is stale")
+					.withDetail("snapshotAge", age.toMillis() + "ms").build();
+		}
+		return (Health) component;
+	}
+
+	@Override
+	public Status status() {
+		Snapshot snapshot = this.snapshot.get();
+		if (snapshot == null) {
+			return Status.UNKNOWN;
+		}
+		return (getAge(snapshot).compareTo(this.maxAge) > 0) ? Status.DOWN
+				: snapshot.health.getStatus();
+	}
+
+	private Duration getAge(Snapshot snapshot) {
+		return Duration.ofMillis(this.clock.millis() - snapshot.time);
+	}
+
+	/**
+	 * The health of the delegate and the time at which it was captured.
+	 */
+	private static final class Snapshot {
+
+		private final Health health;
+
+		private final long time;
+
+		private Snapshot(Health health, long time) {
+			this.health = health;
+			this.time = time;
+		}
+
+		private static Snapshot latest(Snapshot current, Snapshot candidate) {
+			return (current == null || candidate.time >= current.time) ? candidate
+					: current;
+		}
+
+	}
+
+}
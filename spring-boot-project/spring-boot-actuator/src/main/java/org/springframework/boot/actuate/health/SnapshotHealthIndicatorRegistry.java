@@ -0,0 +1,205 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link HealthIndicatorRegistry} that exposes a {@link SnapshotHealthIndicator} for each
+ * {@link HealthIndicator} of another registry. Registrations are delegated to that
+ * registry and the snapshots follow its content: a snapshot is scheduled for each newly
+ * registered indicator and the refresh of the snapshot of an unregistered indicator is
+ * cancelled.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public class SnapshotHealthIndicatorRegistry implements HealthIndicatorRegistry {
+
+	private final HealthIndicatorRegistry registry;
+
+	private final ScheduledExecutorService scheduler;
+
+	private final ExecutorService executor;
+
+	private final Duration timeout;
+
+	private final Duration maxAge;
+
+	private final Function<String, Duration> intervals;
+
+	private final Map<String, ScheduledSnapshot> snapshots = new HashMap<>();
+
+	/**
+	 * Create a new {@link SnapshotHealthIndicatorRegistry} instance.
+	 * @param registry the registry holding the health indicators
+	 * @param scheduler the scheduler used to refresh the snapshots
+	 * @param maxAge the maximum age of a snapshot before it is considered stale
+	 * @param intervals the delay between two refreshes of the snapshot of a health
+	 * indicator, by indicator name
+	 */
+	public SnapshotHealthIndicatorRegistry(HealthIndicatorRegistry registry,
+			ScheduledExecutorService scheduler, Duration maxAge,
+			Function<String, Duration> intervals) {
+		this(registry, scheduler, null, null, maxAge, intervals);
+	}
+
+	/**
+	 * Create a new {@link SnapshotHealthIndicatorRegistry} instance that invokes the
+	 * health indicators using the given executor.
+	 * @param registry the registry holding the health indicators
+	 * @param scheduler the scheduler used to refresh the snapshots
+	 * @param executor the executor used to invoke the health indicators
+	 * @param timeout the maximum time to wait for a health indicator to respond before
+	 * reporting it as down
+	 * @param maxAge the maximum age of a snapshot before it is considered stale
+	 * @param intervals the delay between two refreshes of the snapshot of a health
+	 * indicator, by indicator name
+	 * @see SnapshotHealthIndicator#SnapshotHealthIndicator(HealthIndicator, Duration,
+	 * ExecutorService, Duration)
+	 */
+	public SnapshotHealthIndicatorRegistry(HealthIndicatorRegistry registry,
+			ScheduledExecutorService scheduler, ExecutorService executor,
+			Duration timeout, Duration maxAge, Function<String, Duration> intervals) {
+		Assert.notNull(registry, "Registry must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		Assert.notNull(maxAge, "MaxAge must not be null");
+		Assert.notNull(intervals, "Intervals must not be null");
+		Assert.isTrue(executor == null || timeout != null,
+				"Timeout must not be null when an executor is used");
+		this.registry = registry;
+		this.scheduler = scheduler;
+		this.executor = executor;
+		this.timeout = timeout;
+		this.maxAge = maxAge;
+		this.intervals = intervals;
+		updateSnapshots();
+	}
+
+	@Override
+	public void register(String name, HealthIndicator healthIndicator) {
+		this.registry.register(name, healthIndicator);
+	}
+
+	@Override
+	public HealthIndicator unregister(String name) {
+		HealthIndicator healthIndicator = this.registry.unregister(name);
+		synchronized (this.snapshots) {
+			cancel(this.snapshots.remove(name));
+		}
+		return healthIndicator;
+	}
+
+	@Override
+	public HealthIndicator get(String name) {
+		HealthIndicator healthIndicator = this.registry.get(name);
+		synchronized (this.snapshots) {
+			if (healthIndicator == null) {
+				cancel(this.snapshots.remove(name));
+				return null;
+			}
+			return getSnapshot(name, healthIndicator);
+		}
+	}
+
+	@Override
+	public Map<String, HealthIndicator> getAll() {
+		return updateSnapshots();
+	}
+
+	private Map<String, HealthIndicator> updateSnapshots() {
+		Map<String, HealthIndicator> healthIndicators = this.registry.getAll();
+		Map<String, HealthIndicator> result = new LinkedHashMap<>();
+		synchronized (this.snapshots) {
+			Iterator<Map.Entry<String, ScheduledSnapshot>> iterator = this.snapshots
+					.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<String, ScheduledSnapshot> entry = iterator.next();
+				if (!healthIndicators.containsKey(entry.getKey())) {
+					cancel(entry.getValue());
+					iterator.remove();
+				}
+			}
+			healthIndicators.forEach((name, healthIndicator) -> result.put(name,
+					getSnapshot(name, healthIndicator)));
+		}
+		return Collections.unmodifiableMap(result);
+	}
+
+	private SnapshotHealthIndicator getSnapshot(String name,
+			HealthIndicator healthIndicator) {
+		ScheduledSnapshot snapshot = this.snapshots.get(name);
+		if (snapshot == null || snapshot.indicator.getDelegate() != healthIndicator) {
+			cancel(snapshot);
+			snapshot = new ScheduledSnapshot(createSnapshot(healthIndicator));
+			snapshot.schedule(this.scheduler, this.intervals.apply(name));
+			this.snapshots.put(name, snapshot);
+		}
+		return snapshot.indicator;
+	}
+
+	private SnapshotHealthIndicator createSnapshot(HealthIndicator healthIndicator) {
+		if (this.executor != null) {
+			return new SnapshotHealthIndicator(healthIndicator, this.maxAge,
+					this.executor, this.timeout);
+		}
+		return new SnapshotHealthIndicator(healthIndicator, this.maxAge);
+	}
+
+	private void cancel(ScheduledSnapshot snapshot) {
+		if (snapshot != null) {
+			snapshot.cancel();
+		}
+	}
+
+	/**
+	 * A {@link SnapshotHealthIndicator} and its scheduled refresh.
+	 */
+	private static final class ScheduledSnapshot {
+
+		private final SnapshotHealthIndicator indicator;
+
+		private ScheduledFuture<?> refresh;
+
+		private ScheduledSnapshot(SnapshotHealthIndicator indicator) {
+			this.indicator = indicator;
+		}
+
+		private void schedule(ScheduledExecutorService scheduler, Duration interval) {
+			this.refresh = this.indicator.schedule(scheduler, interval);
+		}
+
+		private void cancel() {
+			if (this.refresh != null) {
+				this.refresh.cancel(false);
+			}
+		}
+
+	}
+
+}
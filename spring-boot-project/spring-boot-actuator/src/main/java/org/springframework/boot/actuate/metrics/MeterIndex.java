@@ -0,0 +1,279 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * Index of the meters of a {@link MeterRegistry} by name, kept up to date using the meter
+ * added and removed listeners of the registry. Each registry that is not a
+ * {@link CompositeMeterRegistry} is indexed separately, the first time it is found in the
+ * registry. Every change is assigned an increasing sequence number so that the names of
+ * the meters that changed after a given cursor can be found. A cursor combines the
+ * sequence number with an epoch that is unique to the index, so that cursors returned by
+ * another index, for example before a restart, are not mistaken for known ones.
+ *
+ * @author Jonas Berg
+ */
+class MeterIndex {
+
+	private static final String START_CURSOR = "0";
+
+	private final MeterRegistry registry;
+
+	private final String epoch = Long.toHexString(System.currentTimeMillis())
+			+ Long.toHexString(ThreadLocalRandom.current().nextLong());
+
+	private final Map<MeterRegistry, RegistryIndex> indexes = new ConcurrentHashMap<>();
+
+	private final Object monitor = new Object();
+
+	private long sequence;
+
+	MeterIndex(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Return the names of all the meters.
+	 * @return the names of the meters
+	 */
+	Set<String> getNames() {
+		Set<String> names = new LinkedHashSet<>();
+		for (RegistryIndex index : getIndexes()) {
+			index.entries.forEach((name, entry) -> {
+				if (!entry.meters.isEmpty()) {
+					names.add(name);
+				}
+			});
+		}
+		return names;
+	}
+
+	/**
+	 * Return the names of the meters that have been added or removed after the given
+	 * cursor, along with the cursor to use for the next call. When the cursor is
+	 * {@code "0"} or was not returned by this index, the names of all the meters are
+	 * returned instead.
+	 * @param cursor the cursor returned by a previous call or {@code "0"}
+	 * @return the changes
+	 * @throws IllegalArgumentException if the cursor is malformed
+	 */
+	Changes getChanges(String cursor) {
+		long since = getSequence(cursor);
+		List<RegistryIndex> indexes = getIndexes();
+		long sequence;
+		synchronized (this.monitor) {
+			sequence = this.sequence;
+		}
+		String nextCursor = this.epoch + "-" + sequence;
+		if (since < 0 || since > sequence) {
+			return new Changes(getNames(), Collections.emptySet(), nextCursor);
+		}
+		Set<String> changedNames = new LinkedHashSet<>();
+		for (RegistryIndex index : indexes) {
+			index.entries.forEach((name, entry) -> {
+				if (entry.modified > since) {
+					changedNames.add(name);
+				}
+			});
+		}
+		Set<String> names = new LinkedHashSet<>();
+		Set<String> removedNames = new LinkedHashSet<>();
+		for (String name : changedNames) {
+			(hasMeters(indexes, name) ? names : removedNames).add(name);
+		}
+		return new Changes(names, removedNames, nextCursor);
+	}
+
+	private boolean hasMeters(List<RegistryIndex> indexes, String name) {
+		for (RegistryIndex index : indexes) {
+			Entry entry = index.entries.get(name);
+			if (entry != null && !entry.meters.isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Return the sequence number of the given cursor or {@code -1} if it was not returned
+	 * by this index.
+	 * @param cursor the cursor
+	 * @return the sequence number or {@code -1}
+	 */
+	private long getSequence(String cursor) {
+		if (START_CURSOR.equals(cursor)) {
+			return -1;
+		}
+		int separator = cursor.lastIndexOf('-');
+		long sequence = (separator > 0) ? parseSequence(cursor.substring(separator + 1))
+				: -1;
+		if (sequence < 0) {
+			throw new IllegalArgumentException("Malformed cursor '" + cursor + "'");
+		}
+		return this.epoch.equals(cursor.substring(0, separator)) ? sequence : -1;
+	}
+
+	private long parseSequence(String sequence) {
+		try {
+			return Long.parseLong(sequence);
+		}
+		catch (NumberFormatException ex) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Return the meters with the given name and tags from the first registry that has
+	 * any.
+	 * @param name the name of the meters
+	 * @param tags the tags that the meters must have
+	 * @return the matching meters
+	 */
+	Collection<Meter> findFirstMatchingMeters(String name, List<Tag> tags) {
+		for (RegistryIndex index : getIndexes()) {
+			Entry entry = index.entries.get(name);
+			if (entry != null) {
+				List<Meter> meters = entry.meters.stream()
+						.filter((meter) -> meter.getId().getTags().containsAll(tags))
+						.collect(Collectors.toList());
+				if (!meters.isEmpty()) {
+					return meters;
+				}
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	private List<RegistryIndex> getIndexes() {
+		List<RegistryIndex> indexes = new ArrayList<>();
+		collectIndexes(indexes, this.registry);
+		return indexes;
+	}
+
+	private void collectIndexes(List<RegistryIndex> indexes, MeterRegistry registry) {
+		if (registry instanceof CompositeMeterRegistry) {
+			((CompositeMeterRegistry) registry).getRegistries()
+					.forEach((member) -> collectIndexes(indexes, member));
+		}
+		else {
+			indexes.add(this.indexes.computeIfAbsent(registry, RegistryIndex::new));
+		}
+	}
+
+	/**
+	 * The names of the meters that changed after a cursor.
+	 */
+	static final class Changes {
+
+		private final Set<String> names;
+
+		private final Set<String> removedNames;
+
+		private final String cursor;
+
+		private Changes(Set<String> names, Set<String> removedNames, String cursor) {
+			this.names = names;
+			this.removedNames = removedNames;
+			this.cursor = cursor;
+		}
+
+		/**
+		 * Return the names that have meters and changed after the cursor.
+		 * @return the added or changed names
+		 */
+		Set<String> getNames() {
+			return this.names;
+		}
+
+		/**
+		 * Return the names that no longer have any meters.
+		 * @return the removed names
+		 */
+		Set<String> getRemovedNames() {
+			return this.removedNames;
+		}
+
+		String getCursor() {
+			return this.cursor;
+		}
+
+	}
+
+	/**
+	 * Index of the meters of a single registry.
+	 */
+	private final class RegistryIndex {
+
+		private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+		RegistryIndex(MeterRegistry registry) {
+			synchronized (MeterIndex.this.monitor) {
+				registry.config().onMeterAdded(this::add);
+				registry.config().onMeterRemoved(this::remove);
+				registry.getMeters().forEach(this::add);
+			}
+		}
+
+		private void add(Meter meter) {
+			synchronized (MeterIndex.this.monitor) {
+				Entry entry = this.entries.computeIfAbsent(meter.getId().getName(),
+						(name) -> new Entry());
+				if (entry.meters.add(meter)) {
+					entry.modified = ++MeterIndex.this.sequence;
+				}
+			}
+		}
+
+		private void remove(Meter meter) {
+			synchronized (MeterIndex.this.monitor) {
+				Entry entry = this.entries.get(meter.getId().getName());
+				if (entry != null && entry.meters.remove(meter)) {
+					entry.modified = ++MeterIndex.this.sequence;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * The meters with a given name.
+	 */
+	private static final class Entry {
+
+		private final Set<Meter> meters = ConcurrentHashMap.newKeySet();
+
+		private volatile long modified;
+
+	}
+
+}
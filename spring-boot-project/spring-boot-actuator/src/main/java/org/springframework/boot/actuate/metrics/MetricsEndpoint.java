@@ -21,18 +21,17 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Statistic;
 import io.micrometer.core.instrument.Tag;
-import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
 
 import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
 import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
@@ -45,44 +44,56 @@ import org.springframework.lang.Nullable;
  *
  * @author Jon Schneider
  * @author Phillip Webb
+ * @author Jonas Berg
  * @since 2.0.0
  */
 @Endpoint(id = "metrics")
 public class MetricsEndpoint {
 
-	private final MeterRegistry registry;
+	private final MeterIndex index;
 
 	public MetricsEndpoint(MeterRegistry registry) {
-		this.registry = registry;
+		this.index = new MeterIndex(registry);
 	}
 
-	@ReadOperation
 	public ListNamesResponse listNames() {
-		Set<String> names = new LinkedHashSet<>();
-		collectNames(names, this.registry);
-		return new ListNamesResponse(names);
+		return listNames(null);
 	}
 
-	private void collectNames(Set<String> names, MeterRegistry registry) {
-		if (registry instanceof CompositeMeterRegistry) {
-			((CompositeMeterRegistry) registry).getRegistries()
-					.forEach((member) -> collectNames(names, member));
+	/**
+	 * List the names of the meters. When a {@code since} cursor is given, only the names
+	 * of the meters that have been added or removed after the cursor are listed, with the
+	 * names that no longer have any meters listed separately, along with the cursor to
+	 * use for the next request. A cursor of {@code 0} or one that is unknown, for example
+	 * one returned before a restart, lists all the names.
+	 * @param since the cursor returned by a previous request, {@code 0} to start, or
+	 * {@code null} to list all the names without a cursor
+	 * @return the names of the meters
+	 * @since 2.2.0
+	 */
+	@ReadOperation
+	public ListNamesResponse listNames(@Nullable String since) {
+		if (since == null) {
+			return new ListNamesResponse(this.index.getNames());
 		}
-		else {
-			registry.getMeters().stream().map(this::getName).forEach(names::add);
+		try {
+			MeterIndex.Changes changes = this.index.getChanges(since);
+			return new ListNamesResponse(changes.getNames(), changes.getRemovedNames(),
+					changes.getCursor());
+		}
+		catch (IllegalArgumentException ex) {
+			throw new InvalidEndpointRequestException(
+					"The since parameter is not a valid cursor: " + since,
+					"The since parameter is not a valid cursor");
 		}
-	}
-
-	private String getName(Meter meter) {
-		return meter.getId().getName();
 	}
 
 	@ReadOperation
 	public MetricResponse metric(@Selector String requiredMetricName,
 			@Nullable List<String> tag) {
 		List<Tag> tags = parseTags(tag);
-		Collection<Meter> meters = findFirstMatchingMeters(this.registry,
-				requiredMetricName, tags);
+		Collection<Meter> meters = this.index.findFirstMatchingMeters(requiredMetricName,
+				tags);
 		if (meters.isEmpty()) {
 			return null;
 		}
@@ -112,22 +123,6 @@ public class MetricsEndpoint {
 		return Tag.of(parts[0], parts[1]);
 	}
 
-	private Collection<Meter> findFirstMatchingMeters(MeterRegistry registry, String name,
-			Iterable<Tag> tags) {
-		if (registry instanceof CompositeMeterRegistry) {
-			return findFirstMatchingMeters((CompositeMeterRegistry) registry, name, tags);
-		}
-		return registry.find(name).tags(tags).meters();
-	}
-
-	private Collection<Meter> findFirstMatchingMeters(CompositeMeterRegistry composite,
-			String name, Iterable<Tag> tags) {
-		return composite.getRegistries().stream()
-				.map((registry) -> findFirstMatchingMeters(registry, name, tags))
-				.filter((matching) -> !matching.isEmpty()).findFirst()
-				.orElse(Collections.emptyList());
-	}
-
 	private Map<Statistic, Double> getSamples(Collection<Meter> meters) {
 		Map<Statistic, Double> samples = new LinkedHashMap<>();
 		meters.forEach((meter) -> mergeMeasurements(samples, meter));
@@ -172,18 +167,49 @@ public class MetricsEndpoint {
 	/**
 	 * Response payload for a metric name listing.
 	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
 	public static final class ListNamesResponse {
 
 		private final Set<String> names;
 
+		private final Set<String> removedNames;
+
+		private final String cursor;
+
 		ListNamesResponse(Set<String> names) {
+			this(names, null, null);
+		}
+
+		ListNamesResponse(Set<String> names, Set<String> removedNames, String cursor) {
 			this.names = names;
+			this.removedNames = removedNames;
+			this.cursor = cursor;
 		}
 
 		public Set<String> getNames() {
 			return this.names;
 		}
 
+		/**
+		 * Return the names that no longer have any meters, or {@code null} if no cursor
+		 * was requested.
+		 * @return the removed names or {@code null}
+		 * @since 2.2.0
+		 */
+		public Set<String> getRemovedNames() {
+			return this.removedNames;
+		}
+
+		/**
+		 * Return the cursor to use to list the names that change after this listing, or
+		 * {@code null} if no cursor was requested.
+		 * @return the cursor or {@code null}
+		 * @since 2.2.0
+		 */
+		public String getCursor() {
+			return this.cursor;
+		}
+
 	}
 
 	/**
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.metrics.trace;
+
+import java.util.Collections;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import org.springframework.boot.actuate.trace.http.AsyncHttpTraceRepository;
+import org.springframework.util.Assert;
+
+/**
+ * A {@link MeterBinder} for an {@link AsyncHttpTraceRepository}.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public class HttpTraceRepositoryMetrics implements MeterBinder {
+
+	private final AsyncHttpTraceRepository repository;
+
+	private final Iterable<Tag> tags;
+
+	/**
+	 * Create a new meter binder recording the specified {@code repository}.
+	 * @param repository the repository to instrument
+	 * @param tags tags to apply to all recorded metrics
+	 */
+	public HttpTraceRepositoryMetrics(AsyncHttpTraceRepository repository,
+			Iterable<Tag> tags) {
+		Assert.notNull(repository, "Repository must not be null");
+		this.repository = repository;
+		this.tags = (tags != null) ? tags : Collections.emptyList();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter
+				.builder("http.trace.dropped", this.repository,
+						AsyncHttpTraceRepository::getDroppedCount)
+				.tags(this.tags)
+				.description("Number of HTTP traces dropped because the queue was full")
+				.register(registry);
+		Gauge.builder("http.trace.pending", this.repository,
+				AsyncHttpTraceRepository::getPendingCount).tags(this.tags)
+				.description("Number of HTTP traces waiting to be stored")
+				.register(registry);
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link HttpTraceRepository} that hands traces off to a delegate repository on a single
+ * background thread. Traces are buffered in a bounded queue and are dropped, rather than
+ * blocking the request thread, when the queue is full.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public class AsyncHttpTraceRepository implements HttpTraceRepository, DisposableBean {
+
+	private final HttpTraceRepository delegate;
+
+	private final ThreadPoolExecutor executor;
+
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Create a new {@link AsyncHttpTraceRepository} instance.
+	 * @param delegate the repository to which traces are added
+	 * @param queueCapacity the maximum number of traces that may be waiting to be added
+	 */
+	public AsyncHttpTraceRepository(HttpTraceRepository delegate, int queueCapacity) {
+		Assert.notNull(delegate, "Delegate must not be null");
+		Assert.isTrue(queueCapacity > 0, "QueueCapacity must be greater than 0");
+		this.delegate = delegate;
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(
+				"http-trace-");
+		threadFactory.setDaemon(true);
+		this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+				(runnable, executor) -> this.dropped.incrementAndGet());
+	}
+
+	@Override
+	public List<HttpTrace> findAll() {
+		return this.delegate.findAll();
+	}
+
+	@Override
+	public void add(HttpTrace trace) {
+		this.executor.execute(() -> this.delegate.add(trace));
+	}
+
+	/**
+	 * Return the repository to which traces are added.
+	 * @return the delegate repository
+	 */
+	public HttpTraceRepository getDelegate() {
+		return this.delegate;
+	}
+
+	/**
+	 * Return the number of traces that have been dropped because the queue was full.
+	 * @return the number of dropped traces
+	 */
+	public long getDroppedCount() {
+		return this.dropped.get();
+	}
+
+	/**
+	 * Return the number of traces that are waiting to be added to the delegate.
+	 * @return the number of pending traces
+	 */
+	public int getPendingCount() {
+		return this.executor.getQueue().size();
+	}
+
+	@Override
+	public void destroy() {
+		this.executor.shutdown();
+	}
+
+}
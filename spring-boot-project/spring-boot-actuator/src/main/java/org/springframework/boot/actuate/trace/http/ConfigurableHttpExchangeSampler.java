@@ -0,0 +1,126 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
+import org.springframework.util.PathMatcher;
+
+/**
+ * {@link HttpExchangeSampler} that samples exchanges at a fixed or per-path rate,
+ * optionally restricted to failed or slow exchanges. When both {@code errorsOnly} and a
+ * {@code slowThreshold} are configured, an exchange is of interest if it failed
+ * <em>or</em> was slow.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public class ConfigurableHttpExchangeSampler implements HttpExchangeSampler {
+
+	private static final PathMatcher pathMatcher = new AntPathMatcher();
+
+	private double rate = 1.0;
+
+	private Map<String, Double> pathRates = new LinkedHashMap<>();
+
+	private boolean errorsOnly;
+
+	private Duration slowThreshold;
+
+	/**
+	 * Set the rate, between 0.0 and 1.0, at which exchanges whose path does not match any
+	 * of the {@link #setPathRates(Map) path rates} are sampled.
+	 * @param rate the rate (default 1.0)
+	 */
+	public void setRate(double rate) {
+		assertValidRate(rate);
+		this.rate = rate;
+	}
+
+	/**
+	 * Set the sampling rates to use for specific paths, keyed by Ant-style path pattern.
+	 * Patterns are considered in iteration order with the first match winning.
+	 * @param pathRates the path rates
+	 */
+	public void setPathRates(Map<String, Double> pathRates) {
+		Assert.notNull(pathRates, "PathRates must not be null");
+		pathRates.values().forEach(this::assertValidRate);
+		this.pathRates = new LinkedHashMap<>(pathRates);
+	}
+
+	/**
+	 * Set whether only exchanges with a client or server error response should be
+	 * sampled.
+	 * @param errorsOnly flag value (default false)
+	 */
+	public void setErrorsOnly(boolean errorsOnly) {
+		this.errorsOnly = errorsOnly;
+	}
+
+	/**
+	 * Set the threshold above which an exchange is considered slow. When set, only slow
+	 * exchanges are sampled.
+	 * @param slowThreshold the threshold or {@code null}
+	 */
+	public void setSlowThreshold(Duration slowThreshold) {
+		this.slowThreshold = slowThreshold;
+	}
+
+	@Override
+	public boolean isSampled(TraceableRequest request, TraceableResponse response,
+			long timeTaken) {
+		if (!isOfInterest(response, timeTaken)) {
+			return false;
+		}
+		double rate = getRate(request);
+		return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+	}
+
+	private boolean isOfInterest(TraceableResponse response, long timeTaken) {
+		if (!this.errorsOnly && this.slowThreshold == null) {
+			return true;
+		}
+		if (this.errorsOnly && response.getStatus() >= 400) {
+			return true;
+		}
+		return this.slowThreshold != null && timeTaken >= this.slowThreshold.toMillis();
+	}
+
+	private double getRate(TraceableRequest request) {
+		if (this.pathRates.isEmpty()) {
+			return this.rate;
+		}
+		String path = request.getUri().getPath();
+		for (Map.Entry<String, Double> entry : this.pathRates.entrySet()) {
+			if (pathMatcher.match(entry.getKey(), path)) {
+				return entry.getValue();
+			}
+		}
+		return this.rate;
+	}
+
+	private void assertValidRate(Double rate) {
+		Assert.isTrue(rate != null && rate >= 0.0 && rate <= 1.0,
+				"Rate must be between 0.0 and 1.0");
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+/**
+ * Strategy used to decide whether or not a completed HTTP request-response exchange
+ * should be traced. Exchanges that are not sampled are never turned into an
+ * {@link HttpTrace} so their headers are not copied.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ * @see ConfigurableHttpExchangeSampler
+ */
+@FunctionalInterface
+public interface HttpExchangeSampler {
+
+	/**
+	 * An {@link HttpExchangeSampler} that samples every exchange.
+	 */
+	HttpExchangeSampler ALWAYS = (request, response, timeTaken) -> true;
+
+	/**
+	 * Return whether the given exchange should be traced.
+	 * @param request the request
+	 * @param response the response
+	 * @param timeTaken the time taken, in milliseconds, to complete the exchange
+	 * @return {@code true} if the exchange should be traced
+	 */
+	boolean isSampled(TraceableRequest request, TraceableResponse response,
+			long timeTaken);
+
+}
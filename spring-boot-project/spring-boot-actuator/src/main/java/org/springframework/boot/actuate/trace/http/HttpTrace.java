@@ -70,8 +70,12 @@ public final class HttpTrace {
 	}
 
 	HttpTrace(TraceableRequest request) {
+		this(request, Instant.now());
+	}
+
+	HttpTrace(TraceableRequest request, Instant timestamp) {
 		this.request = new Request(request);
-		this.timestamp = Instant.now();
+		this.timestamp = timestamp;
 	}
 
 	public Instant getTimestamp() {
@@ -18,11 +18,16 @@ package org.springframework.boot.actuate.trace.http;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
 
 /**
- * In-memory implementation of {@link HttpTraceRepository}.
+ * In-memory implementation of {@link HttpTraceRepository}. Traces are held in a bounded,
+ * lock-free ring buffer so that concurrent request threads never contend on a shared
+ * monitor when adding a trace.
  *
  * @author Dave Syer
  * @author Olivier Bourgain
@@ -30,52 +35,97 @@ import java.util.List;
  */
 public class InMemoryHttpTraceRepository implements HttpTraceRepository {
 
-	private int capacity = 100;
+	private static final int DEFAULT_CAPACITY = 100;
 
-	private boolean reverse = true;
+	private volatile boolean reverse = true;
 
-	private final List<HttpTrace> traces = new LinkedList<>();
+	private volatile RingBuffer traces = new RingBuffer(DEFAULT_CAPACITY);
 
 	/**
 	 * Flag to say that the repository lists traces in reverse order.
 	 * @param reverse flag value (default true)
 	 */
 	public void setReverse(boolean reverse) {
-		synchronized (this.traces) {
-			this.reverse = reverse;
-		}
+		this.reverse = reverse;
 	}
 
 	/**
-	 * Set the capacity of the in-memory repository.
+	 * Set the capacity of the in-memory repository. Changing the capacity retains the
+	 * most recent traces that fit in the new capacity. Traces that are added while the
+	 * capacity is being changed may be lost.
 	 * @param capacity the capacity
 	 */
 	public void setCapacity(int capacity) {
-		synchronized (this.traces) {
-			this.capacity = capacity;
-		}
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		RingBuffer traces = new RingBuffer(capacity);
+		this.traces.snapshot().forEach(traces::add);
+		this.traces = traces;
 	}
 
 	@Override
 	public List<HttpTrace> findAll() {
-		synchronized (this.traces) {
-			return Collections.unmodifiableList(new ArrayList<>(this.traces));
+		List<HttpTrace> traces = this.traces.snapshot();
+		if (this.reverse) {
+			Collections.reverse(traces);
 		}
+		return Collections.unmodifiableList(traces);
 	}
 
 	@Override
 	public void add(HttpTrace trace) {
-		synchronized (this.traces) {
-			while (this.traces.size() >= this.capacity) {
-				this.traces.remove(this.reverse ? this.capacity - 1 : 0);
-			}
-			if (this.reverse) {
-				this.traces.add(0, trace);
-			}
-			else {
-				this.traces.add(trace);
+		this.traces.add(trace);
+	}
+
+	/**
+	 * Fixed-size ring buffer of traces. Each slot records the sequence number of the
+	 * trace that it holds so that readers can detect, and skip, slots that have been
+	 * claimed by a writer but not yet written or that have since been overwritten.
+	 */
+	private static final class RingBuffer {
+
+		private final AtomicLong sequence = new AtomicLong();
+
+		private final AtomicReferenceArray<Slot> slots;
+
+		RingBuffer(int capacity) {
+			this.slots = new AtomicReferenceArray<>(capacity);
+		}
+
+		void add(HttpTrace trace) {
+			long sequence = this.sequence.getAndIncrement();
+			this.slots.set(index(sequence), new Slot(sequence, trace));
+		}
+
+		List<HttpTrace> snapshot() {
+			long end = this.sequence.get();
+			long start = Math.max(0, end - this.slots.length());
+			List<HttpTrace> traces = new ArrayList<>((int) (end - start));
+			for (long sequence = start; sequence < end; sequence++) {
+				Slot slot = this.slots.get(index(sequence));
+				if (slot != null && slot.sequence == sequence) {
+					traces.add(slot.trace);
+				}
 			}
+			return traces;
 		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.slots.length());
+		}
+
+	}
+
+	private static final class Slot {
+
+		private final long sequence;
+
+		private final HttpTrace trace;
+
+		Slot(long sequence, HttpTrace trace) {
+			this.sequence = sequence;
+			this.trace = trace;
+		}
+
 	}
 
 }
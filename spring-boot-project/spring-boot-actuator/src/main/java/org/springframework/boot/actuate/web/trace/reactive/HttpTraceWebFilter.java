@@ -17,10 +17,12 @@
 package org.springframework.boot.actuate.web.trace.reactive;
 
 import java.security.Principal;
+import java.time.Instant;
 import java.util.Set;
 
 import reactor.core.publisher.Mono;
 
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
@@ -29,6 +31,7 @@ import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.Assert;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
@@ -55,6 +58,8 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 
 	private final Set<Include> includes;
 
+	private HttpExchangeSampler sampler = HttpExchangeSampler.ALWAYS;
+
 	public HttpTraceWebFilter(HttpTraceRepository repository, HttpExchangeTracer tracer,
 			Set<Include> includes) {
 		this.repository = repository;
@@ -71,6 +76,16 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 		this.order = order;
 	}
 
+	/**
+	 * Set the {@link HttpExchangeSampler} used to decide whether an exchange is traced.
+	 * @param sampler the sampler
+	 * @since 2.2.0
+	 */
+	public void setSampler(HttpExchangeSampler sampler) {
+		Assert.notNull(sampler, "Sampler must not be null");
+		this.sampler = sampler;
+	}
+
 	@Override
 	public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
 		Mono<?> principal = (this.includes.contains(Include.PRINCIPAL)
@@ -95,14 +110,18 @@ public class HttpTraceWebFilter implements WebFilter, Ordered {
 			Principal principal, WebSession session) {
 		ServerWebExchangeTraceableRequest request = new ServerWebExchangeTraceableRequest(
 				exchange);
-		HttpTrace trace = this.tracer.receivedRequest(request);
+		Instant timestamp = Instant.now();
 		return chain.filter(exchange).doAfterSuccessOrError((aVoid, ex) -> {
 			TraceableServerHttpResponse response = new TraceableServerHttpResponse(
 					(ex != null) ? new CustomStatusResponseDecorator(ex,
 							exchange.getResponse()) : exchange.getResponse());
-			this.tracer.sendingResponse(trace, response, () -> principal,
-					() -> getStartedSessionId(session));
-			this.repository.add(trace);
+			long timeTaken = System.currentTimeMillis() - timestamp.toEpochMilli();
+			if (this.sampler.isSampled(request, response, timeTaken)) {
+				HttpTrace trace = this.tracer.receivedRequest(request, timestamp);
+				this.tracer.sendingResponse(trace, response, () -> principal,
+						() -> getStartedSessionId(session));
+				this.repository.add(trace);
+			}
 		});
 	}
 
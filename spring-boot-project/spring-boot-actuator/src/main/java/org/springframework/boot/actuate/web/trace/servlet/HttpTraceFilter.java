@@ -19,6 +19,7 @@ package org.springframework.boot.actuate.web.trace.servlet;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -28,11 +29,13 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpServletResponseWrapper;
 import javax.servlet.http.HttpSession;
 
+import org.springframework.boot.actuate.trace.http.HttpExchangeSampler;
 import org.springframework.boot.actuate.trace.http.HttpExchangeTracer;
 import org.springframework.boot.actuate.trace.http.HttpTrace;
 import org.springframework.boot.actuate.trace.http.HttpTraceRepository;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 /**
@@ -55,6 +58,8 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 
 	private final HttpExchangeTracer tracer;
 
+	private HttpExchangeSampler sampler = HttpExchangeSampler.ALWAYS;
+
 	/**
 	 * Create a new {@link HttpTraceFilter} instance.
 	 * @param repository the trace repository
@@ -74,6 +79,16 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 		this.order = order;
 	}
 
+	/**
+	 * Set the {@link HttpExchangeSampler} used to decide whether an exchange is traced.
+	 * @param sampler the sampler
+	 * @since 2.2.0
+	 */
+	public void setSampler(HttpExchangeSampler sampler) {
+		Assert.notNull(sampler, "Sampler must not be null");
+		this.sampler = sampler;
+	}
+
 	@Override
 	protected void doFilterInternal(HttpServletRequest request,
 			HttpServletResponse response, FilterChain filterChain)
@@ -84,7 +99,7 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 		}
 		TraceableHttpServletRequest traceableRequest = new TraceableHttpServletRequest(
 				request);
-		HttpTrace trace = this.tracer.receivedRequest(traceableRequest);
+		Instant timestamp = Instant.now();
 		int status = HttpStatus.INTERNAL_SERVER_ERROR.value();
 		try {
 			filterChain.doFilter(request, response);
@@ -95,9 +110,14 @@ public class HttpTraceFilter extends OncePerRequestFilter implements Ordered {
 					(status != response.getStatus())
 							? new CustomStatusResponseWrapper(response, status)
 							: response);
-			this.tracer.sendingResponse(trace, traceableResponse,
-					request::getUserPrincipal, () -> getSessionId(request));
-			this.repository.add(trace);
+			long timeTaken = System.currentTimeMillis() - timestamp.toEpochMilli();
+			if (this.sampler.isSampled(traceableRequest, traceableResponse, timeTaken)) {
+				HttpTrace trace = this.tracer.receivedRequest(traceableRequest,
+						timestamp);
+				this.tracer.sendingResponse(trace, traceableResponse,
+						request::getUserPrincipal, () -> getSessionId(request));
+				this.repository.add(trace);
+			}
 		}
 	}
 
@@ -28,6 +28,7 @@ import org.junit.Test;
 
 import org.springframework.boot.actuate.context.properties.ConfigurationPropertiesReportEndpoint.ConfigurationPropertiesBeanDescriptor;
 import org.springframework.boot.actuate.context.properties.ConfigurationPropertiesReportEndpoint.ContextConfigurationProperties;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
@@ -38,6 +39,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * Tests for {@link ConfigurationPropertiesReportEndpoint}.
@@ -45,6 +47,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * @author Dave Syer
  * @author Andy Wilkinson
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public class ConfigurationPropertiesReportEndpointTests {
 
@@ -197,6 +200,52 @@ public class ConfigurationPropertiesReportEndpointTests {
 		});
 	}
 
+	@Test
+	public void configurationPropertiesCanBeFilteredByPrefix() {
+		loadWithOtherProperties((endpoint,
+				id) -> assertThat(
+						endpoint.configurationProperties("oth", null, null, null)
+								.getContexts().get(id).getBeans())
+										.containsOnlyKeys("otherProperties"));
+	}
+
+	@Test
+	public void configurationPropertiesCanBeFilteredByBeanName() {
+		loadWithOtherProperties((endpoint,
+				id) -> assertThat(endpoint
+						.configurationProperties(null, "testProperties", null, null)
+						.getContexts().get(id).getBeans())
+								.containsOnlyKeys("testProperties"));
+	}
+
+	@Test
+	public void configurationPropertiesCanBePaginated() {
+		loadWithOtherProperties((endpoint, id) -> {
+			assertThat(endpoint.configurationProperties(null, null, 0, 1).getContexts()
+					.get(id).getBeans()).containsOnlyKeys("otherProperties");
+			assertThat(endpoint.configurationProperties(null, null, 1, 1).getContexts()
+					.get(id).getBeans()).containsOnlyKeys("testProperties");
+			assertThat(endpoint.configurationProperties(null, null, 2, 1).getContexts()
+					.get(id).getBeans()).isEmpty();
+		});
+	}
+
+	@Test
+	public void configurationPropertiesWithNegativePageFails() {
+		loadWithOtherProperties((endpoint, id) -> assertThatExceptionOfType(
+				InvalidEndpointRequestException.class).isThrownBy(
+						() -> endpoint.configurationProperties(null, null, -1, 1)));
+	}
+
+	private void loadWithOtherProperties(
+			BiConsumer<ConfigurationPropertiesReportEndpoint, String> endpoint) {
+		new ApplicationContextRunner()
+				.withUserConfiguration(Config.class, OtherConfig.class)
+				.run((context) -> endpoint.accept(
+						context.getBean(ConfigurationPropertiesReportEndpoint.class),
+						context.getId()));
+	}
+
 	private void load(
 			BiConsumer<ApplicationContext, ContextConfigurationProperties> properties) {
 		load(Collections.emptyList(), properties);
@@ -249,6 +298,31 @@ public class ConfigurationPropertiesReportEndpointTests {
 
 	}
 
+	@Configuration
+	public static class OtherConfig {
+
+		@Bean
+		public OtherProperties otherProperties() {
+			return new OtherProperties();
+		}
+
+	}
+
+	@ConfigurationProperties(prefix = "other")
+	public static class OtherProperties {
+
+		private String name = "other";
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+	}
+
 	@ConfigurationProperties(prefix = "test")
 	public static class TestProperties {
 
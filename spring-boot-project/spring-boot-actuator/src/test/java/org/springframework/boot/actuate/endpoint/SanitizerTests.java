@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  *
  * @author Phillip Webb
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public class SanitizerTests {
 
@@ -50,4 +51,42 @@ public class SanitizerTests {
 		assertThat(sanitizer.sanitize("veryokish", "secret")).isEqualTo("secret");
 	}
 
+	@Test
+	public void simpleKeyMatchesLikeRegex() {
+		Sanitizer sanitizer = new Sanitizer("sun.java.command", "my-key");
+		assertThat(sanitizer.sanitize("SUN_JAVA-COMMAND", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("sun\uD83D\uDE00java.command", "secret"))
+				.isEqualTo("******");
+		assertThat(sanitizer.sanitize("a.my-KEY", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("my-key.a", "secret")).isEqualTo("secret");
+		assertThat(sanitizer.sanitize("a\nmy-key", "secret")).isEqualTo("secret");
+	}
+
+	@Test
+	public void infixRegexMatchesLikeRegex() {
+		Sanitizer sanitizer = new Sanitizer(".*credentials.*");
+		assertThat(sanitizer.sanitize("myCredentialsFile", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("credentials", "secret")).isEqualTo("******");
+		assertThat(sanitizer.sanitize("credential", "secret")).isEqualTo("secret");
+		assertThat(sanitizer.sanitize("a\ncredentials", "secret")).isEqualTo("secret");
+	}
+
+	@Test
+	public void decisionIsNotAffectedByCaching() {
+		Sanitizer sanitizer = new Sanitizer();
+		for (int i = 0; i < 10000; i++) {
+			assertThat(sanitizer.sanitize("key" + i, "value")).isEqualTo("value");
+			assertThat(sanitizer.sanitize(i + "key", "value")).isEqualTo("******");
+		}
+	}
+
+	@Test
+	public void keysToSanitizeCanBeChanged() {
+		Sanitizer sanitizer = new Sanitizer();
+		assertThat(sanitizer.sanitize("password", "secret")).isEqualTo("******");
+		sanitizer.setKeysToSanitize("other");
+		assertThat(sanitizer.sanitize("password", "secret")).isEqualTo("secret");
+		assertThat(new Sanitizer().sanitize("password", "secret")).isEqualTo("******");
+	}
+
 }
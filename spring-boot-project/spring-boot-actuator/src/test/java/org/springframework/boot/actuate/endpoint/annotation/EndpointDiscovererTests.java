@@ -196,8 +196,8 @@ public class EndpointDiscovererTests {
 					TestEndpoint.class, "update", String.class, String.class));
 			assertThat(((CachingOperationInvoker) getAll.getInvoker()).getTimeToLive())
 					.isEqualTo(500);
-			assertThat(getOne.getInvoker())
-					.isNotInstanceOf(CachingOperationInvoker.class);
+			assertThat(((CachingOperationInvoker) getOne.getInvoker()).getTimeToLive())
+					.isEqualTo(500);
 			assertThat(update.getInvoker())
 					.isNotInstanceOf(CachingOperationInvoker.class);
 		});
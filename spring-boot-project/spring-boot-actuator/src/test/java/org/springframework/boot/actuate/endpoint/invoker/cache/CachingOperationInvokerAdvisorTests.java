@@ -69,12 +69,11 @@ public class CachingOperationInvokerAdvisorTests {
 	}
 
 	@Test
-	public void applyWhenHasAtLeaseOneMandatoryParameterShouldNotAddAdvise() {
+	public void applyWhenHasAtLeaseOneMandatoryParameterShouldAddAdvise() {
 		OperationParameters parameters = getParameters("getWithParameters", String.class,
 				String.class);
-		OperationInvoker advised = this.advisor.apply(EndpointId.of("foo"),
-				OperationType.READ, parameters, this.invoker);
-		assertThat(advised).isSameAs(this.invoker);
+		given(this.timeToLive.apply(any())).willReturn(100L);
+		assertAdviseIsApplied(parameters);
 	}
 
 	@Test
@@ -17,18 +17,28 @@
 package org.springframework.boot.actuate.endpoint.invoker.cache;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
 import org.springframework.boot.actuate.endpoint.InvocationContext;
 import org.springframework.boot.actuate.endpoint.SecurityContext;
 import org.springframework.boot.actuate.endpoint.invoke.OperationInvoker;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -39,6 +49,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
  * Tests for {@link CachingOperationInvoker}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public class CachingOperationInvokerTests {
 
@@ -78,34 +89,172 @@ public class CachingOperationInvokerTests {
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithParameters() {
-		OperationInvoker target = mock(OperationInvoker.class);
+	public void cacheInTtlRangeWithParameters() {
 		Map<String, Object> parameters = new HashMap<>();
 		parameters.put("test", "value");
 		parameters.put("something", null);
+		assertCacheIsUsed(parameters);
+	}
+
+	@Test
+	public void cacheInTtlRangeWithArrayParameter() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", new String[] { "a", "b" })));
+		invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", new String[] { "a", "b" })));
+		verify(target, times(1)).invoke(any());
+	}
+
+	@Test
+	public void targetInvokedForEachDistinctParameters() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willAnswer((invocation) -> invocation
+				.<InvocationContext>getArgument(0).getArguments().get("test"));
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		InvocationContext first = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "one"));
+		InvocationContext second = new InvocationContext(mock(SecurityContext.class),
+				Collections.singletonMap("test", "two"));
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		assertThat(invoker.invoke(first)).isEqualTo("one");
+		assertThat(invoker.invoke(second)).isEqualTo("two");
+		verify(target, times(1)).invoke(first);
+		verify(target, times(1)).invoke(second);
+	}
+
+	@Test
+	public void targetInvokedForEachDistinctPrincipal() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		InvocationContext alice = createContextWithPrincipal(
+				new TestPrincipal("alice", "USER"));
+		InvocationContext bob = createContextWithPrincipal(
+				new TestPrincipal("bob", "USER"));
+		invoker.invoke(alice);
+		invoker.invoke(bob);
+		invoker.invoke(alice);
+		invoker.invoke(createContextWithPrincipal(new TestPrincipal("alice", "USER")));
+		verify(target, times(1)).invoke(alice);
+		verify(target, times(1)).invoke(bob);
+		verifyNoMoreInteractions(target);
+	}
+
+	@Test
+	public void targetInvokedForPrincipalsWithSameNameAndDifferentAuthorities() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
+		InvocationContext admin = createContextWithPrincipal(
+				new TestPrincipal("alice", "ADMIN"));
+		InvocationContext user = createContextWithPrincipal(
+				new TestPrincipal("alice", "USER"));
+		invoker.invoke(admin);
+		invoker.invoke(user);
+		verify(target, times(1)).invoke(admin);
+		verify(target, times(1)).invoke(user);
+	}
+
+	@Test
+	public void concurrentInvocationsShareSingleInvocationOfTarget() throws Exception {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger invocations = new AtomicInteger();
+		OperationInvoker target = (context) -> {
+			invocations.incrementAndGet();
+			invoked.countDown();
+			await(release);
+			return "response";
+		};
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 5000L);
 		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
-				parameters);
-		given(target.invoke(context)).willReturn(new Object());
+				Collections.emptyMap());
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Object>> responses = new ArrayList<>();
+			responses.add(executor.submit(() -> invoker.invoke(context)));
+			invoked.await();
+			for (int i = 0; i < 3; i++) {
+				responses.add(executor.submit(() -> invoker.invoke(context)));
+			}
+			release.countDown();
+			for (Future<Object> response : responses) {
+				assertThat(response.get()).isEqualTo("response");
+			}
+			assertThat(invocations).hasValue(1);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void failedInvocationIsNotCached() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		InvocationContext context = new InvocationContext(mock(SecurityContext.class),
+				Collections.emptyMap());
+		given(target.invoke(context)).willThrow(new IllegalStateException("failed"))
+				.willReturn("response");
 		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		verify(target, times(3)).invoke(context);
+		assertThatIllegalStateException().isThrownBy(() -> invoker.invoke(context))
+				.withMessage("failed");
+		assertThat(invoker.invoke(context)).isEqualTo("response");
+		assertThat(invoker.invoke(context)).isEqualTo("response");
+		verify(target, times(2)).invoke(context);
 	}
 
 	@Test
-	public void targetAlwaysInvokedWithPrincipal() {
+	public void numberOfCachedResponsesIsBounded() {
 		OperationInvoker target = mock(OperationInvoker.class);
-		Map<String, Object> parameters = new HashMap<>();
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 5000L);
+		for (int i = 0; i <= CachingOperationInvoker.MAX_CACHED_RESPONSES; i++) {
+			invoker.invoke(new InvocationContext(mock(SecurityContext.class),
+					Collections.singletonMap("test", i)));
+		}
+		Map<?, ?> cachedResponses = (Map<?, ?>) ReflectionTestUtils.getField(invoker,
+				"cachedResponses");
+		assertThat(cachedResponses).hasSize(CachingOperationInvoker.MAX_CACHED_RESPONSES);
+	}
+
+	@Test
+	public void leastRecentlyUsedResponseIsEvicted() {
+		OperationInvoker target = mock(OperationInvoker.class);
+		given(target.invoke(any())).willReturn(new Object());
+		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 5000L);
+		List<InvocationContext> contexts = new ArrayList<>();
+		for (int i = 0; i <= CachingOperationInvoker.MAX_CACHED_RESPONSES; i++) {
+			contexts.add(new InvocationContext(mock(SecurityContext.class),
+					Collections.singletonMap("test", i)));
+		}
+		for (int i = 0; i < CachingOperationInvoker.MAX_CACHED_RESPONSES; i++) {
+			invoker.invoke(contexts.get(i));
+		}
+		invoker.invoke(contexts.get(0));
+		invoker.invoke(contexts.get(CachingOperationInvoker.MAX_CACHED_RESPONSES));
+		invoker.invoke(contexts.get(0));
+		invoker.invoke(contexts.get(1));
+		verify(target, times(1)).invoke(contexts.get(0));
+		verify(target, times(2)).invoke(contexts.get(1));
+	}
+
+	private InvocationContext createContextWithPrincipal(Principal principal) {
 		SecurityContext securityContext = mock(SecurityContext.class);
-		given(securityContext.getPrincipal()).willReturn(mock(Principal.class));
-		InvocationContext context = new InvocationContext(securityContext, parameters);
-		given(target.invoke(context)).willReturn(new Object());
-		CachingOperationInvoker invoker = new CachingOperationInvoker(target, 500L);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		invoker.invoke(context);
-		verify(target, times(3)).invoke(context);
+		given(securityContext.getPrincipal()).willReturn(principal);
+		return new InvocationContext(securityContext, Collections.emptyMap());
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
 	}
 
 	@Test
@@ -122,4 +271,39 @@ public class CachingOperationInvokerTests {
 		verify(target, times(2)).invoke(context);
 	}
 
+	private static final class TestPrincipal implements Principal {
+
+		private final String name;
+
+		private final String authority;
+
+		TestPrincipal(String name, String authority) {
+			this.name = name;
+			this.authority = authority;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			TestPrincipal other = (TestPrincipal) obj;
+			return this.name.equals(other.name) && this.authority.equals(other.authority);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * this.name.hashCode() + this.authority.hashCode();
+		}
+
+	}
+
 }
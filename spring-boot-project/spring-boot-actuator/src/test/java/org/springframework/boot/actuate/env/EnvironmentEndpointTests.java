@@ -17,6 +17,7 @@
 package org.springframework.boot.actuate.env;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -29,6 +30,8 @@ import org.springframework.boot.actuate.env.EnvironmentEndpoint.PropertySourceDe
 import org.springframework.boot.actuate.env.EnvironmentEndpoint.PropertySourceEntryDescriptor;
 import org.springframework.boot.actuate.env.EnvironmentEndpoint.PropertyValueDescriptor;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.env.ChangeTrackingMapPropertySource;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
 import org.springframework.boot.test.util.TestPropertyValues;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,6 +52,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * @author Stephane Nicoll
  * @author Madhura Bhave
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 public class EnvironmentEndpointTests {
 
@@ -295,6 +299,89 @@ public class EnvironmentEndpointTests {
 				.isEqualTo("apple");
 	}
 
+	@Test
+	public void propertiesFilteredByPrefix() {
+		ConfigurableEnvironment environment = emptyEnvironment();
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("server.port", 8080);
+		map.put("spring.b", "b");
+		map.put("serverless", true);
+		map.put("spring.a", "a");
+		environment.getPropertySources().addFirst(new MapPropertySource("one", map));
+		environment.getPropertySources()
+				.addLast(singleKeyPropertySource("two", "other", "value"));
+		EnvironmentDescriptor descriptor = new EnvironmentEndpoint(environment)
+				.environment(null, "spring.");
+		Map<String, PropertySourceDescriptor> sources = propertySources(descriptor);
+		assertThat(sources.keySet()).containsExactly("one", "two");
+		assertThat(sources.get("one").getProperties().keySet())
+				.containsExactly("spring.b", "spring.a");
+		assertThat(sources.get("two").getProperties()).isEmpty();
+	}
+
+	@Test
+	public void propertiesFilteredByPrefixAndPattern() {
+		ConfigurableEnvironment environment = emptyEnvironment();
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("spring.application.name", "test");
+		map.put("spring.main.banner-mode", "off");
+		map.put("logging.level.spring", "debug");
+		environment.getPropertySources().addFirst(new MapPropertySource("one", map));
+		EnvironmentDescriptor descriptor = new EnvironmentEndpoint(environment)
+				.environment("name", "spring.");
+		assertThat(propertySources(descriptor).get("one").getProperties())
+				.containsOnlyKeys("spring.application.name");
+	}
+
+	@Test
+	public void propertiesFilteredByPrefixReflectChangesToSource() {
+		ConfigurableEnvironment environment = emptyEnvironment();
+		Map<String, Object> map = new HashMap<>();
+		map.put("spring.a", "a");
+		environment.getPropertySources().addFirst(new MapPropertySource("one", map));
+		EnvironmentEndpoint endpoint = new EnvironmentEndpoint(environment);
+		assertThat(propertySources(endpoint.environment(null, "spring.")).get("one")
+				.getProperties()).containsOnlyKeys("spring.a");
+		map.put("spring.b", "b");
+		map.remove("spring.a");
+		assertThat(propertySources(endpoint.environment(null, "spring.")).get("one")
+				.getProperties()).containsOnlyKeys("spring.b");
+	}
+
+	@Test
+	public void propertiesFilteredByPrefixReflectChangesToChangeTrackingSource() {
+		ConfigurableEnvironment environment = emptyEnvironment();
+		ChangeTrackingMapPropertySource source = new ChangeTrackingMapPropertySource(
+				"one", Collections.singletonMap("spring.a", "a"));
+		environment.getPropertySources().addFirst(source);
+		EnvironmentEndpoint endpoint = new EnvironmentEndpoint(environment);
+		assertThat(propertySources(endpoint.environment(null, "spring.")).get("one")
+				.getProperties()).containsOnlyKeys("spring.a");
+		source.setProperty("spring.b", "b");
+		source.setProperty("other", "c");
+		source.removeProperty("spring.a");
+		assertThat(propertySources(endpoint.environment(null, "spring.")).get("one")
+				.getProperties()).containsOnlyKeys("spring.b");
+	}
+
+	@Test
+	public void propertiesFilteredByPrefixFromImmutableSourceAreInSourceOrder() {
+		ConfigurableEnvironment environment = emptyEnvironment();
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("spring.c", "c");
+		map.put("other", "o");
+		map.put("spring.a", "a");
+		map.put("spring.b", "b");
+		environment.getPropertySources().addFirst(new OriginTrackedMapPropertySource(
+				"one", Collections.unmodifiableMap(map), true));
+		EnvironmentEndpoint endpoint = new EnvironmentEndpoint(environment);
+		for (int i = 0; i < 2; i++) {
+			assertThat(propertySources(endpoint.environment(null, "spring.")).get("one")
+					.getProperties().keySet()).containsExactly("spring.c", "spring.a",
+							"spring.b");
+		}
+	}
+
 	private static ConfigurableEnvironment emptyEnvironment() {
 		StandardEnvironment environment = new StandardEnvironment();
 		environment.getPropertySources()
@@ -33,4 +33,10 @@ public class ApplicationHealthIndicatorTests {
 		assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
 	}
 
+	@Test
+	public void statusIsUp() {
+		ApplicationHealthIndicator healthIndicator = new ApplicationHealthIndicator();
+		assertThat(healthIndicator.status()).isEqualTo(Status.UP);
+	}
+
 }
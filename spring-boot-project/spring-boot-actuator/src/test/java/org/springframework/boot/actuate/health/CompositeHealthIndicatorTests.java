@@ -16,18 +16,28 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 /**
  * Tests for {@link CompositeHealthIndicator}
@@ -35,6 +45,7 @@ import static org.mockito.BDDMockito.given;
  * @author Tyler J. Frederick
  * @author Phillip Webb
  * @author Christian Dupuis
+ * @author Jonas Berg
  */
 public class CompositeHealthIndicatorTests {
 
@@ -46,6 +57,8 @@ public class CompositeHealthIndicatorTests {
 	@Mock
 	private HealthIndicator two;
 
+	private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
 	@Before
 	public void setup() {
 		MockitoAnnotations.initMocks(this);
@@ -57,6 +70,11 @@ public class CompositeHealthIndicatorTests {
 		this.healthAggregator = new OrderedHealthAggregator();
 	}
 
+	@After
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
 	@Test
 	public void createWithIndicators() {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -72,6 +90,116 @@ public class CompositeHealthIndicatorTests {
 				new Health.Builder().unknown().withDetail("2", "2").build());
 	}
 
+	@Test
+	public void createWithExecutorInvokesIndicatorsConcurrently() {
+		CountDownLatch latch = new CountDownLatch(2);
+		HealthIndicator first = () -> awaitOthers(latch, "1");
+		HealthIndicator second = () -> awaitOthers(latch, "2");
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", first);
+		indicators.put("two", second);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators),
+				this.executor, Duration.ofSeconds(10));
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.UP);
+		assertThat(result.getDetails()).containsOnlyKeys("one", "two");
+	}
+
+	@Test
+	public void createWithExecutorReportsSlowIndicatorAsDown() {
+		CountDownLatch latch = new CountDownLatch(2);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("slow", () -> awaitOthers(latch, "slow"));
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators),
+				this.executor, Duration.ofMillis(50));
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(result.getDetails()).containsEntry("one",
+				new Health.Builder().unknown().withDetail("1", "1").build());
+		assertThat(result.getDetails()).containsEntry("slow",
+				Health.down().withDetail("error", "Timed out after 50ms").build());
+	}
+
+	@Test
+	public void createWithExecutorReportsFailingIndicatorAsDown() {
+		given(this.two.health()).willThrow(new IllegalStateException("failure"));
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		indicators.put("two", this.two);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators),
+				this.executor, Duration.ofSeconds(10));
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(result.getDetails()).containsEntry("two",
+				Health.down(new IllegalStateException("failure")).build());
+	}
+
+	@Test
+	public void createWithExecutorReportsRejectedIndicatorAsDownWithoutInvokingIt() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", this.one);
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators),
+				(task) -> {
+					throw new RejectedExecutionException();
+				}, Duration.ofSeconds(10));
+		Health result = composite.health();
+		assertThat(result.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(result.getDetails()).containsEntry("one",
+				Health.down()
+						.withDetail("error",
+								"Health indicator invocation rejected by the executor")
+						.build());
+		verify(this.one, never()).health();
+	}
+
+	@Test
+	public void createWithExecutorAndZeroTimeoutFails() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new CompositeHealthIndicator(this.healthAggregator,
+						new DefaultHealthIndicatorRegistry(), this.executor,
+						Duration.ZERO))
+				.withMessageContaining("Timeout");
+	}
+
+	@Test
+	public void statusAggregatesStatusesOfIndicators() {
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", new StatusOnlyHealthIndicator(Status.UP));
+		indicators.put("two", new StatusOnlyHealthIndicator(Status.OUT_OF_SERVICE));
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, indicators);
+		assertThat(composite.status()).isEqualTo(Status.OUT_OF_SERVICE);
+	}
+
+	@Test
+	public void statusWithExecutorReportsSlowIndicatorAsDown() {
+		CountDownLatch latch = new CountDownLatch(2);
+		Map<String, HealthIndicator> indicators = new LinkedHashMap<>();
+		indicators.put("one", new StatusOnlyHealthIndicator(Status.UP));
+		indicators.put("two", () -> awaitOthers(latch, "2"));
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				this.healthAggregator, new DefaultHealthIndicatorRegistry(indicators),
+				this.executor, Duration.ofMillis(50));
+		assertThat(composite.status()).isEqualTo(Status.DOWN);
+	}
+
+	private Health awaitOthers(CountDownLatch latch, String name) {
+		latch.countDown();
+		try {
+			latch.await();
+			return Health.up().withDetail(name, name).build();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			return Health.down(ex).build();
+		}
+	}
+
 	@Test
 	public void testSerialization() throws Exception {
 		Map<String, HealthIndicator> indicators = new HashMap<>();
@@ -90,4 +218,27 @@ public class CompositeHealthIndicatorTests {
 						+ ":{\"2\":\"2\"}}}}}}");
 	}
 
+	/**
+	 * {@link HealthIndicator} that only provides its status.
+	 */
+	private static class StatusOnlyHealthIndicator implements HealthIndicator {
+
+		private final Status status;
+
+		StatusOnlyHealthIndicator(Status status) {
+			this.status = status;
+		}
+
+		@Override
+		public Health health() {
+			throw new IllegalStateException("Health should not be requested");
+		}
+
+		@Override
+		public Status status() {
+			return this.status;
+		}
+
+	}
+
 }
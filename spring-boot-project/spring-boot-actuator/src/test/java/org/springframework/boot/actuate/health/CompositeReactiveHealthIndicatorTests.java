@@ -19,10 +19,17 @@ package org.springframework.boot.actuate.health;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +38,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Tests for {@link CompositeReactiveHealthIndicator}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public class CompositeReactiveHealthIndicatorTests {
 
@@ -105,6 +113,116 @@ public class CompositeReactiveHealthIndicatorTests {
 				}).verifyComplete();
 	}
 
+	@Test
+	public void statusAggregatesStatusesWithTimeoutFallback() {
+		Map<String, ReactiveHealthIndicator> indicators = new HashMap<>();
+		indicators.put("slow", new TimeoutHealth(10000, Status.UP));
+		indicators.put("fast", new TimeoutHealth(10, Status.UP));
+		CompositeReactiveHealthIndicator indicator = new CompositeReactiveHealthIndicator(
+				this.healthAggregator,
+				new DefaultReactiveHealthIndicatorRegistry(indicators))
+						.timeoutStrategy("slow", 100, Health.down().build());
+		StepVerifier.create(indicator.status()).expectNext(Status.DOWN).verifyComplete();
+	}
+
+	@Test
+	public void statusUsesStatusOfEachIndicator() {
+		ReactiveHealthIndicator statusOnly = new ReactiveHealthIndicator() {
+
+			@Override
+			public Mono<Health> health() {
+				return Mono.error(
+						new IllegalStateException("Health should not be requested"));
+			}
+
+			@Override
+			public Mono<Status> status() {
+				return Mono.just(Status.OUT_OF_SERVICE);
+			}
+
+		};
+		CompositeReactiveHealthIndicator indicator = new CompositeReactiveHealthIndicator(
+				this.healthAggregator, new DefaultReactiveHealthIndicatorRegistry(
+						Collections.singletonMap("test", statusOnly)));
+		StepVerifier.create(indicator.status()).expectNext(Status.OUT_OF_SERVICE)
+				.verifyComplete();
+	}
+
+	@Test
+	public void indicatorTimeoutTakesPrecedence() {
+		Map<String, ReactiveHealthIndicator> indicators = new HashMap<>();
+		indicators.put("slow", new TimeoutHealth(10000, Status.UP));
+		indicators.put("fast", new TimeoutHealth(500, Status.UP));
+		Health slowTimeoutHealth = Health.down().withDetail("timeout", true).build();
+		CompositeReactiveHealthIndicator indicator = new CompositeReactiveHealthIndicator(
+				this.healthAggregator,
+				new DefaultReactiveHealthIndicatorRegistry(indicators))
+						.timeoutStrategy(1000, UNKNOWN_HEALTH)
+						.timeoutStrategy("slow", 100, slowTimeoutHealth);
+		StepVerifier.create(indicator.health()).consumeNextWith((h) -> {
+			assertThat(h.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(h.getDetails().get("slow")).isEqualTo(slowTimeoutHealth);
+			assertThat(h.getDetails().get("fast")).isEqualTo(HEALTHY);
+		}).verifyComplete();
+	}
+
+	@Test
+	public void timingListenerIsNotifiedOfEachIndicator() {
+		Map<String, ReactiveHealthIndicator> indicators = new HashMap<>();
+		indicators.put("slow", new TimeoutHealth(10000, Status.UP));
+		indicators.put("fast", new TimeoutHealth(10, Status.UP));
+		Map<String, Duration> timings = new ConcurrentHashMap<>();
+		CompositeReactiveHealthIndicator indicator = new CompositeReactiveHealthIndicator(
+				this.healthAggregator,
+				new DefaultReactiveHealthIndicatorRegistry(indicators))
+						.timeoutStrategy("slow", 200, UNKNOWN_HEALTH)
+						.timingListener(timings::put);
+		StepVerifier.create(indicator.health()).expectNextCount(1).verifyComplete();
+		assertThat(timings).containsOnlyKeys("slow", "fast");
+		assertThat(timings.get("slow")).isGreaterThanOrEqualTo(Duration.ofMillis(200))
+				.isLessThan(Duration.ofMillis(10000));
+		assertThat(timings.get("fast")).isGreaterThanOrEqualTo(Duration.ofMillis(10));
+	}
+
+	@Test
+	public void saturatedExecutorReportsIndicatorAsDown() throws InterruptedException {
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0,
+				TimeUnit.MILLISECONDS, new SynchronousQueue<>());
+		try {
+			CountDownLatch release = new CountDownLatch(1);
+			Map<String, ReactiveHealthIndicator> indicators = new LinkedHashMap<>();
+			indicators.put("blocking", new HealthIndicatorReactiveAdapter(() -> {
+				await(release);
+				return HEALTHY;
+			}, Schedulers.fromExecutorService(executor)));
+			indicators.put("rejected", new HealthIndicatorReactiveAdapter(
+					() -> HEALTHY, Schedulers.fromExecutorService(executor)));
+			ReactiveHealthIndicator indicator = new CompositeReactiveHealthIndicator(
+					this.healthAggregator,
+					new DefaultReactiveHealthIndicatorRegistry(indicators));
+			StepVerifier.create(indicator.health()).then(release::countDown)
+					.consumeNextWith((h) -> {
+						assertThat(h.getStatus()).isEqualTo(Status.DOWN);
+						assertThat(h.getDetails().get("blocking")).isEqualTo(HEALTHY);
+						Health rejected = (Health) h.getDetails().get("rejected");
+						assertThat(rejected.getStatus()).isEqualTo(Status.DOWN);
+						assertThat(rejected.getDetails()).containsKey("error");
+					}).verifyComplete();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
 	static class TimeoutHealth implements ReactiveHealthIndicator {
 
 		private final long timeout;
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -88,6 +89,21 @@ public class HealthEndpointTests {
 		assertThat(health.getDetails()).isEmpty();
 	}
 
+	@Test
+	public void statusForComponentInstanceOfSnapshotIsExposed() {
+		CompositeHealthIndicator compositeIndicator = new CompositeHealthIndicator(
+				new OrderedHealthAggregator(),
+				Collections.singletonMap("sub", () -> Health.down().build()));
+		SnapshotHealthIndicator snapshot = new SnapshotHealthIndicator(
+				compositeIndicator, Duration.ofMinutes(1));
+		snapshot.refresh();
+		HealthEndpoint endpoint = new HealthEndpoint(
+				createHealthIndicator(Collections.singletonMap("test", snapshot)));
+		Health health = endpoint.healthForComponentInstance("test", "sub");
+		assertThat(health).isNotNull();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+	}
+
 	@Test
 	public void statusForUnknownComponentInstanceReturnNull() {
 		CompositeHealthIndicator compositeIndicator = new CompositeHealthIndicator(
@@ -16,16 +16,32 @@
 
 package org.springframework.boot.actuate.health;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 
 /**
  * Tests for {@link HealthIndicatorReactiveAdapter}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public class HealthIndicatorReactiveAdapterTests {
 
@@ -39,6 +55,17 @@ public class HealthIndicatorReactiveAdapterTests {
 		StepVerifier.create(adapter.health()).expectNext(status).verifyComplete();
 	}
 
+	@Test
+	public void delegateReturnsStatus() {
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		HealthIndicatorReactiveAdapter adapter = new HealthIndicatorReactiveAdapter(
+				delegate);
+		given(delegate.status()).willReturn(Status.OUT_OF_SERVICE);
+		StepVerifier.create(adapter.status()).expectNext(Status.OUT_OF_SERVICE)
+				.verifyComplete();
+		verify(delegate, never()).health();
+	}
+
 	@Test
 	public void delegateThrowError() {
 		HealthIndicator delegate = mock(HealthIndicator.class);
@@ -61,4 +88,70 @@ public class HealthIndicatorReactiveAdapterTests {
 				.verifyComplete();
 	}
 
+	@Test
+	public void delegateRunsOnTheGivenScheduler() {
+		ExecutorService executor = Executors.newSingleThreadExecutor(
+				(runnable) -> new Thread(runnable, "health-test"));
+		try {
+			HealthIndicator delegate = () -> Health.up()
+					.withDetail("thread", Thread.currentThread().getName()).build();
+			HealthIndicatorReactiveAdapter adapter = new HealthIndicatorReactiveAdapter(
+					delegate, Schedulers.fromExecutorService(executor));
+			StepVerifier.create(adapter.health())
+					.expectNext(Health.up().withDetail("thread", "health-test").build())
+					.verifyComplete();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void rejectedInvocationReportsDown() {
+		HealthIndicator delegate = mock(HealthIndicator.class);
+		Scheduler scheduler = mock(Scheduler.class);
+		given(scheduler.schedule(any()))
+				.willThrow(new RejectedExecutionException("Saturated"));
+		HealthIndicatorReactiveAdapter adapter = new HealthIndicatorReactiveAdapter(
+				delegate, scheduler);
+		StepVerifier.create(adapter.health()).consumeNextWith((health) -> {
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(health.getDetails()).containsEntry("error",
+					RejectedExecutionException.class.getName() + ": Saturated");
+		}).verifyComplete();
+		StepVerifier.create(adapter.status()).expectNext(Status.DOWN).verifyComplete();
+		verifyZeroInteractions(delegate);
+	}
+
+	@Test
+	public void cancellationInterruptsDelegate() throws InterruptedException {
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch interrupted = new CountDownLatch(1);
+			HealthIndicator delegate = () -> {
+				started.countDown();
+				try {
+					Thread.sleep(10000);
+				}
+				catch (InterruptedException ex) {
+					interrupted.countDown();
+				}
+				return Health.up().build();
+			};
+			Scheduler scheduler = Schedulers.fromExecutorService(executor);
+			HealthIndicatorReactiveAdapter adapter = new HealthIndicatorReactiveAdapter(
+					delegate, scheduler);
+			StepVerifier
+					.create(adapter.health().timeout(Duration.ofMillis(100),
+							Mono.just(Health.unknown().build())))
+					.expectNext(Health.unknown().build()).verifyComplete();
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 }
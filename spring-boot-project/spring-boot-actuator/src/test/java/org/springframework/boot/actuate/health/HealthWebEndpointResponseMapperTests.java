@@ -41,6 +41,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
  * Tests for {@link HealthWebEndpointResponseMapper}.
  *
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public class HealthWebEndpointResponseMapperTests {
 
@@ -103,6 +104,43 @@ public class HealthWebEndpointResponseMapperTests {
 		verifyZeroInteractions(securityContext);
 	}
 
+	@Test
+	public void mapWithUnauthorizedUserOnlyMapsStatus() {
+		HealthWebEndpointResponseMapper mapper = createMapper(
+				ShowDetails.WHEN_AUTHORIZED);
+		SecurityContext securityContext = mockSecurityContext("USER");
+		WebEndpointResponse<Health> response = mapper
+				.map(Health.down().withDetail("test", "value").build(), securityContext);
+		assertThat(response.getStatus())
+				.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+		assertThat(response.getBody()).isEqualTo(Health.down().build());
+		assertThat(mapper.canSeeDetails(securityContext)).isFalse();
+	}
+
+	@Test
+	public void mapStatusOnlyMapsStatus() {
+		HealthWebEndpointResponseMapper mapper = createMapper(ShowDetails.NEVER);
+		WebEndpointResponse<Health> response = mapper.mapStatus(Status.UP);
+		assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+		assertThat(response.getBody()).isEqualTo(Health.up().build());
+		assertThat(mapper.mapStatus(Status.DOWN).getStatus())
+				.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+	}
+
+	@Test
+	public void mapStatusReflectsChangesToStatusMapping() {
+		HealthWebEndpointResponseMapper mapper = createMapper(ShowDetails.NEVER);
+		assertThat(mapper.mapStatus(Status.DOWN).getStatus())
+				.isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+		this.statusHttpMapper.addStatusMapping(Status.DOWN,
+				HttpStatus.INTERNAL_SERVER_ERROR.value());
+		assertThat(mapper.mapStatus(Status.DOWN).getStatus())
+				.isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR.value());
+		this.statusHttpMapper.setStatusMapping(Collections.emptyMap());
+		assertThat(mapper.mapStatus(Status.DOWN).getStatus())
+				.isEqualTo(HttpStatus.OK.value());
+	}
+
 	@SuppressWarnings("unchecked")
 	private Supplier<Health> mockSupplier() {
 		return mock(Supplier.class);
@@ -29,6 +29,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Tests for {@link OrderedHealthAggregator}.
  *
  * @author Christian Dupuis
+ * @author Jonas Berg
  */
 public class OrderedHealthAggregatorTests {
 
@@ -50,6 +51,17 @@ public class OrderedHealthAggregatorTests {
 				.isEqualTo(Status.DOWN);
 	}
 
+	@Test
+	public void aggregateStatusWithDefaultOrder() {
+		Map<String, Status> statuses = new HashMap<>();
+		statuses.put("h1", Status.DOWN);
+		statuses.put("h2", Status.UP);
+		statuses.put("h3", Status.UNKNOWN);
+		statuses.put("h4", Status.OUT_OF_SERVICE);
+		assertThat(this.healthAggregator.aggregateStatus(statuses))
+				.isEqualTo(Status.DOWN);
+	}
+
 	@Test
 	public void customOrder() {
 		this.healthAggregator.setStatusOrder(Status.UNKNOWN, Status.UP,
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SnapshotHealthIndicatorRegistry}.
+ *
+ * @author Jonas Berg
+ */
+public class SnapshotHealthIndicatorRegistryTests {
+
+	private final HealthIndicator one = () -> Health.up().build();
+
+	private final HealthIndicator two = () -> Health.down().build();
+
+	private final ScheduledExecutorService scheduler = mock(
+			ScheduledExecutorService.class);
+
+	private final ScheduledFuture<?> refresh = mock(ScheduledFuture.class);
+
+	private DefaultHealthIndicatorRegistry registry;
+
+	@Before
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void setUp() {
+		given(this.scheduler.scheduleWithFixedDelay(any(Runnable.class), anyLong(),
+				anyLong(), any(TimeUnit.class)))
+						.willReturn((ScheduledFuture) this.refresh);
+		this.registry = new DefaultHealthIndicatorRegistry(
+				Collections.singletonMap("one", this.one));
+	}
+
+	@Test
+	public void createSchedulesSnapshotOfExistingIndicators() {
+		SnapshotHealthIndicatorRegistry snapshotRegistry = createSnapshotRegistry();
+		verify(this.scheduler).scheduleWithFixedDelay(any(Runnable.class), eq(0L),
+				eq(10000L), eq(TimeUnit.MILLISECONDS));
+		HealthIndicator indicator = snapshotRegistry.get("one");
+		assertThat(indicator).isInstanceOf(SnapshotHealthIndicator.class);
+		assertThat(((SnapshotHealthIndicator) indicator).getDelegate())
+				.isSameAs(this.one);
+		assertThat(snapshotRegistry.getAll()).containsOnlyKeys("one");
+		verify(this.scheduler, times(1)).scheduleWithFixedDelay(any(Runnable.class),
+				anyLong(), anyLong(), any(TimeUnit.class));
+	}
+
+	@Test
+	public void indicatorRegisteredAfterCreationIsSnapshot() {
+		SnapshotHealthIndicatorRegistry snapshotRegistry = createSnapshotRegistry();
+		this.registry.register("two", this.two);
+		assertThat(snapshotRegistry.getAll()).containsOnlyKeys("one", "two");
+		assertThat(((SnapshotHealthIndicator) snapshotRegistry.get("two")).getDelegate())
+				.isSameAs(this.two);
+		verify(this.scheduler, times(2)).scheduleWithFixedDelay(any(Runnable.class),
+				anyLong(), anyLong(), any(TimeUnit.class));
+	}
+
+	@Test
+	public void registerDelegatesToRegistry() {
+		SnapshotHealthIndicatorRegistry snapshotRegistry = createSnapshotRegistry();
+		snapshotRegistry.register("two", this.two);
+		assertThat(this.registry.get("two")).isSameAs(this.two);
+		assertThat(snapshotRegistry.get("two"))
+				.isInstanceOf(SnapshotHealthIndicator.class);
+	}
+
+	@Test
+	public void indicatorUnregisteredAfterCreationIsNoLongerRefreshed() {
+		SnapshotHealthIndicatorRegistry snapshotRegistry = createSnapshotRegistry();
+		this.registry.unregister("one");
+		assertThat(snapshotRegistry.getAll()).isEmpty();
+		assertThat(snapshotRegistry.get("one")).isNull();
+		verify(this.refresh).cancel(false);
+	}
+
+	@Test
+	public void unregisterCancelsRefresh() {
+		SnapshotHealthIndicatorRegistry snapshotRegistry = createSnapshotRegistry();
+		assertThat(snapshotRegistry.unregister("one")).isSameAs(this.one);
+		assertThat(this.registry.get("one")).isNull();
+		verify(this.refresh).cancel(false);
+	}
+
+	@Test
+	public void replacedIndicatorIsSnapshotAgain() {
+		SnapshotHealthIndicatorRegistry snapshotRegistry = createSnapshotRegistry();
+		this.registry.unregister("one");
+		this.registry.register("one", this.two);
+		assertThat(((SnapshotHealthIndicator) snapshotRegistry.get("one")).getDelegate())
+				.isSameAs(this.two);
+		verify(this.refresh).cancel(false);
+	}
+
+	private SnapshotHealthIndicatorRegistry createSnapshotRegistry() {
+		return new SnapshotHealthIndicatorRegistry(this.registry, this.scheduler,
+				Duration.ofMinutes(1), (name) -> Duration.ofSeconds(10));
+	}
+
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.health;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link SnapshotHealthIndicator}.
+ *
+ * @author Jonas Berg
+ */
+public class SnapshotHealthIndicatorTests {
+
+	private final HealthIndicator delegate = mock(HealthIndicator.class);
+
+	private final MutableClock clock = new MutableClock();
+
+	@Test
+	public void healthIsServedFromSnapshot() {
+		given(this.delegate.health())
+				.willReturn(Health.up().withDetail("a", "b").build());
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(this.delegate,
+				Duration.ofMinutes(1), null, null, this.clock);
+		indicator.refresh();
+		this.clock.advance(Duration.ofSeconds(5));
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UP);
+		assertThat(health.getDetails()).containsOnly(entry("a", "b"),
+				entry("snapshotAge", "5000ms"));
+		indicator.health();
+		verify(this.delegate, times(1)).health();
+	}
+
+	@Test
+	public void healthWithoutSnapshotIsUnknown() {
+		given(this.delegate.health()).willReturn(Health.up().build());
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(this.delegate,
+				Duration.ofMinutes(1), null, null, this.clock);
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.UNKNOWN);
+		assertThat(health.getDetails())
+				.containsOnly(entry("reason", "No health snapshot yet"));
+		assertThat(indicator.status()).isEqualTo(Status.UNKNOWN);
+		verify(this.delegate, never()).health();
+	}
+
+	@Test
+	public void healthIsNotBlockedByRefreshInProgress() throws InterruptedException {
+		CountDownLatch invoked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		HealthIndicator delegate = () -> {
+			invoked.countDown();
+			await(release);
+			return Health.up().build();
+		};
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate,
+				Duration.ofMinutes(1));
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			indicator.schedule(scheduler, Duration.ofMinutes(1));
+			assertThat(invoked.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(indicator.health().getStatus()).isEqualTo(Status.UNKNOWN);
+			assertThat(indicator.status()).isEqualTo(Status.UNKNOWN);
+		}
+		finally {
+			release.countDown();
+			scheduler.shutdownNow();
+		}
+	}
+
+	@Test
+	public void refreshThatTimesOutIsReportedAsDown() throws InterruptedException {
+		AtomicInteger invocations = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		HealthIndicator delegate = () -> {
+			invocations.incrementAndGet();
+			await(release);
+			return Health.up().build();
+		};
+		ExecutorService executor = Executors.newCachedThreadPool();
+		try {
+			SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate,
+					Duration.ofMinutes(1), executor, Duration.ofMillis(50), this.clock);
+			indicator.refresh();
+			Health health = indicator.health();
+			assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+			assertThat(health.getDetails()).containsEntry("error",
+					"Timed out after 50ms");
+			indicator.refresh();
+			assertThat(indicator.status()).isEqualTo(Status.DOWN);
+			assertThat(invocations.get()).isEqualTo(1);
+			release.countDown();
+			this.clock.advance(Duration.ofSeconds(1));
+			indicator.refresh();
+			assertThat(indicator.status()).isEqualTo(Status.UP);
+		}
+		finally {
+			release.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void staleSnapshotIsReportedAsDown() {
+		given(this.delegate.health()).willReturn(Health.up().build());
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(this.delegate,
+				Duration.ofSeconds(30), null, null, this.clock);
+		indicator.refresh();
+		this.clock.advance(Duration.ofSeconds(31));
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsOnly(
+				entry("error", "Health snapshot is stale"),
+				entry("snapshotAge", "31000ms"));
+	}
+
+	@Test
+	public void statusOfStaleSnapshotIsDown() {
+		given(this.delegate.health()).willReturn(Health.up().build());
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(this.delegate,
+				Duration.ofSeconds(30), null, null, this.clock);
+		indicator.refresh();
+		assertThat(indicator.status()).isEqualTo(Status.UP);
+		this.clock.advance(Duration.ofSeconds(31));
+		assertThat(indicator.status()).isEqualTo(Status.DOWN);
+	}
+
+	@Test
+	public void failingDelegateIsReportedAsDown() {
+		given(this.delegate.health()).willThrow(new IllegalStateException("failure"));
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(this.delegate,
+				Duration.ofMinutes(1), null, null, this.clock);
+		indicator.refresh();
+		Health health = indicator.health();
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"java.lang.IllegalStateException: failure");
+	}
+
+	@Test
+	public void nestedHealthIsServedFromSnapshot() {
+		HealthIndicator sub = mock(HealthIndicator.class);
+		given(sub.health()).willReturn(Health.down().build());
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				new OrderedHealthAggregator(), Collections.singletonMap("sub", sub));
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(composite,
+				Duration.ofSeconds(30), null, null, this.clock);
+		indicator.refresh();
+		assertThat(indicator.getNestedHealth("sub")).isEqualTo(Health.down().build());
+		assertThat(indicator.getNestedHealth("does-not-exist")).isNull();
+		verify(sub, times(1)).health();
+		this.clock.advance(Duration.ofSeconds(31));
+		Health health = indicator.getNestedHealth("sub");
+		assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+		assertThat(health.getDetails()).containsEntry("error",
+				"Health snapshot is stale");
+	}
+
+	@Test
+	public void nestedHealthWithoutSnapshotIsUnknown() {
+		CompositeHealthIndicator composite = new CompositeHealthIndicator(
+				new OrderedHealthAggregator(),
+				Collections.singletonMap("sub", this.delegate));
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(composite,
+				Duration.ofSeconds(30), null, null, this.clock);
+		assertThat(indicator.getNestedHealth("sub").getStatus())
+				.isEqualTo(Status.UNKNOWN);
+		verify(this.delegate, never()).health();
+	}
+
+	@Test
+	public void nestedHealthOfIndicatorThatIsNotACompositeIsNull() {
+		given(this.delegate.health()).willReturn(Health.up().build());
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(this.delegate,
+				Duration.ofMinutes(1), null, null, this.clock);
+		assertThat(indicator.getNestedHealth("sub")).isNull();
+	}
+
+	@Test
+	public void scheduleRefreshesSnapshotInBackground() throws InterruptedException {
+		CountDownLatch refreshed = new CountDownLatch(3);
+		HealthIndicator delegate = () -> {
+			refreshed.countDown();
+			return Health.up().build();
+		};
+		SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(delegate,
+				Duration.ofMinutes(1));
+		ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		try {
+			indicator.schedule(scheduler, Duration.ofMillis(10));
+			assertThat(refreshed.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+		}
+		finally {
+			scheduler.shutdownNow();
+		}
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class MutableClock extends Clock {
+
+		private Instant instant = Instant.now();
+
+		void advance(Duration duration) {
+			this.instant = this.instant.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.instant;
+		}
+
+	}
+
+}
@@ -21,6 +21,7 @@ import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.MockClock;
 import io.micrometer.core.instrument.Statistic;
@@ -39,6 +40,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
  *
  * @author Andy Wilkinson
  * @author Jon Schneider
+ * @author Jonas Berg
  */
 public class MetricsEndpointTests {
 
@@ -76,6 +78,93 @@ public class MetricsEndpointTests {
 		assertThat(endpoint.listNames().getNames()).containsOnly("counter1", "counter2");
 	}
 
+	@Test
+	public void listNamesReflectsMetersAddedAndRemovedAfterFirstListing() {
+		Counter counter = this.registry.counter("com.example.foo");
+		assertThat(this.endpoint.listNames().getNames())
+				.containsExactly("com.example.foo");
+		this.registry.counter("com.example.bar");
+		this.registry.remove(counter);
+		assertThat(this.endpoint.listNames().getNames())
+				.containsExactly("com.example.bar");
+	}
+
+	@Test
+	public void listNamesIncludesRegistryAddedToCompositeAfterFirstListing() {
+		CompositeMeterRegistry composite = new CompositeMeterRegistry();
+		SimpleMeterRegistry reg1 = new SimpleMeterRegistry();
+		composite.add(reg1);
+		reg1.counter("counter1");
+		MetricsEndpoint endpoint = new MetricsEndpoint(composite);
+		assertThat(endpoint.listNames().getNames()).containsOnly("counter1");
+		SimpleMeterRegistry reg2 = new SimpleMeterRegistry();
+		reg2.counter("counter2");
+		composite.add(reg2);
+		assertThat(endpoint.listNames().getNames()).containsOnly("counter1", "counter2");
+		assertThat(endpoint.metric("counter2", Collections.emptyList())).isNotNull();
+	}
+
+	@Test
+	public void listNamesWithoutCursorHasNoCursor() {
+		this.registry.counter("com.example.foo");
+		assertThat(this.endpoint.listNames(null).getCursor()).isNull();
+	}
+
+	@Test
+	public void listNamesSinceCursorListsOnlyChangedNames() {
+		this.registry.counter("com.example.foo");
+		this.registry.counter("com.example.bar");
+		MetricsEndpoint.ListNamesResponse initial = this.endpoint.listNames("0");
+		assertThat(initial.getNames()).containsOnly("com.example.foo", "com.example.bar");
+		assertThat(initial.getRemovedNames()).isEmpty();
+		assertThat(initial.getCursor()).isNotNull();
+		Counter baz = this.registry.counter("com.example.baz");
+		this.registry.counter("com.example.foo", "a", "b");
+		MetricsEndpoint.ListNamesResponse changes = this.endpoint
+				.listNames(initial.getCursor());
+		assertThat(changes.getNames()).containsOnly("com.example.baz", "com.example.foo");
+		assertThat(changes.getRemovedNames()).isEmpty();
+		assertThat(changes.getCursor()).isNotEqualTo(initial.getCursor());
+		this.registry.remove(baz);
+		changes = this.endpoint.listNames(changes.getCursor());
+		assertThat(changes.getNames()).isEmpty();
+		assertThat(changes.getRemovedNames()).containsOnly("com.example.baz");
+		changes = this.endpoint.listNames(changes.getCursor());
+		assertThat(changes.getNames()).isEmpty();
+		assertThat(changes.getRemovedNames()).isEmpty();
+	}
+
+	@Test
+	public void listNamesSinceCursorOfAnotherEndpointListsAllNames() {
+		Counter foo = this.registry.counter("com.example.foo");
+		this.registry.counter("com.example.bar");
+		this.registry.remove(foo);
+		String cursor = new MetricsEndpoint(new SimpleMeterRegistry()).listNames("0")
+				.getCursor();
+		MetricsEndpoint.ListNamesResponse response = this.endpoint.listNames(cursor);
+		assertThat(response.getNames()).containsOnly("com.example.bar");
+		assertThat(response.getRemovedNames()).isEmpty();
+	}
+
+	@Test
+	public void listNamesSinceCursorAheadOfEndpointListsAllNames() {
+		this.registry.counter("com.example.foo");
+		String cursor = this.endpoint.listNames("0").getCursor();
+		String ahead = cursor.substring(0, cursor.lastIndexOf('-') + 1) + Long.MAX_VALUE;
+		assertThat(this.endpoint.listNames(ahead).getNames())
+				.containsOnly("com.example.foo");
+	}
+
+	@Test
+	public void listNamesSinceMalformedCursorFails() {
+		assertThatExceptionOfType(InvalidEndpointRequestException.class)
+				.isThrownBy(() -> this.endpoint.listNames("-1"));
+		assertThatExceptionOfType(InvalidEndpointRequestException.class)
+				.isThrownBy(() -> this.endpoint.listNames("abc-def"));
+		assertThatExceptionOfType(InvalidEndpointRequestException.class)
+				.isThrownBy(() -> this.endpoint.listNames("12"));
+	}
+
 	@Test
 	public void metricValuesAreTheSumOfAllTimeSeriesMatchingTags() {
 		this.registry.counter("cache", "result", "hit", "host", "1").increment(2);
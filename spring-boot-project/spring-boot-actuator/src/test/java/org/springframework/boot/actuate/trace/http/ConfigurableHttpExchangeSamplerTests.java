@@ -0,0 +1,96 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.actuate.trace.http;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link ConfigurableHttpExchangeSampler}.
+ *
+ * @author Jonas Berg
+ */
+public class ConfigurableHttpExchangeSamplerTests {
+
+	private final ConfigurableHttpExchangeSampler sampler = new ConfigurableHttpExchangeSampler();
+
+	@Test
+	public void samplesAllExchangesByDefault() {
+		assertThat(isSampled("/", 200, 0)).isTrue();
+	}
+
+	@Test
+	public void zeroRateSamplesNothing() {
+		this.sampler.setRate(0.0);
+		assertThat(isSampled("/", 200, 0)).isFalse();
+	}
+
+	@Test
+	public void pathRateOverridesDefaultRate() {
+		this.sampler.setRate(0.0);
+		this.sampler.setPathRates(Collections.singletonMap("/api/**", 1.0));
+		assertThat(isSampled("/api/orders", 200, 0)).isTrue();
+		assertThat(isSampled("/static/app.js", 200, 0)).isFalse();
+	}
+
+	@Test
+	public void errorsOnlySamplesFailedExchanges() {
+		this.sampler.setErrorsOnly(true);
+		assertThat(isSampled("/", 200, 0)).isFalse();
+		assertThat(isSampled("/", 404, 0)).isTrue();
+		assertThat(isSampled("/", 500, 0)).isTrue();
+	}
+
+	@Test
+	public void slowThresholdSamplesSlowExchanges() {
+		this.sampler.setSlowThreshold(Duration.ofMillis(100));
+		assertThat(isSampled("/", 200, 99)).isFalse();
+		assertThat(isSampled("/", 200, 100)).isTrue();
+	}
+
+	@Test
+	public void errorsOnlyAndSlowThresholdSampleFailedOrSlowExchanges() {
+		this.sampler.setErrorsOnly(true);
+		this.sampler.setSlowThreshold(Duration.ofMillis(100));
+		assertThat(isSampled("/", 200, 0)).isFalse();
+		assertThat(isSampled("/", 500, 0)).isTrue();
+		assertThat(isSampled("/", 200, 200)).isTrue();
+	}
+
+	@Test
+	public void rateMustBeValid() {
+		assertThatIllegalArgumentException().isThrownBy(() -> this.sampler.setRate(1.5))
+				.withMessageContaining("Rate must be between 0.0 and 1.0");
+	}
+
+	private boolean isSampled(String path, int status, long timeTaken) {
+		TraceableRequest request = mock(TraceableRequest.class);
+		given(request.getUri()).willReturn(URI.create("http://localhost" + path));
+		TraceableResponse response = mock(TraceableResponse.class);
+		given(response.getStatus()).willReturn(status);
+		return this.sampler.isSampled(request, response, timeTaken);
+	}
+
+}
@@ -17,6 +17,10 @@
 package org.springframework.boot.actuate.trace.http;
 
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -59,6 +63,41 @@ public class InMemoryHttpTraceRepositoryTests {
 		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("DELETE");
 	}
 
+	@Test
+	public void capacityReducedRetainsMostRecentTraces() {
+		this.repository.add(new HttpTrace(createRequest("GET")));
+		this.repository.add(new HttpTrace(createRequest("POST")));
+		this.repository.add(new HttpTrace(createRequest("DELETE")));
+		this.repository.setCapacity(2);
+		List<HttpTrace> traces = this.repository.findAll();
+		assertThat(traces).hasSize(2);
+		assertThat(traces.get(0).getRequest().getMethod()).isEqualTo("DELETE");
+		assertThat(traces.get(1).getRequest().getMethod()).isEqualTo("POST");
+	}
+
+	@Test
+	public void concurrentAddsAreBoundedByCapacity() throws Exception {
+		this.repository.setCapacity(50);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch latch = new CountDownLatch(threads);
+		try {
+			for (int i = 0; i < threads; i++) {
+				executor.execute(() -> {
+					for (int j = 0; j < 1000; j++) {
+						this.repository.add(new HttpTrace(createRequest("GET")));
+					}
+					latch.countDown();
+				});
+			}
+			assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertThat(this.repository.findAll()).hasSize(50);
+	}
+
 	private TraceableRequest createRequest(String method) {
 		TraceableRequest request = mock(TraceableRequest.class);
 		given(request.getMethod()).willReturn(method);
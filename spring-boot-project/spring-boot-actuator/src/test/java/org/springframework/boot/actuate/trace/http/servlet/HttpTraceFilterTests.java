@@ -127,6 +127,15 @@ public class HttpTraceFilterTests {
 		}
 	}
 
+	@Test
+	public void filterDoesNotTraceExchangeThatIsNotSampled()
+			throws ServletException, IOException {
+		this.filter.setSampler((request, response, timeTaken) -> false);
+		this.filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(),
+				new MockFilterChain());
+		assertThat(this.repository.findAll()).isEmpty();
+	}
+
 	@Test
 	public void filterRejectsInvalidRequests() throws ServletException, IOException {
 		MockHttpServletRequest request = new MockHttpServletRequest();
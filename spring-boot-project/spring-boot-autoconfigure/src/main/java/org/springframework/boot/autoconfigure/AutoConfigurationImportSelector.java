@@ -82,6 +82,8 @@ public class AutoConfigurationImportSelector
 
 	private static final String PROPERTY_NAME_AUTOCONFIGURE_EXCLUDE = "spring.autoconfigure.exclude";
 
+	private static final String PROPERTY_NAME_PRECOMPUTED_CONDITIONS = "spring.autoconfigure.precomputed-conditions";
+
 	private ConfigurableListableBeanFactory beanFactory;
 
 	private Environment environment;
@@ -135,7 +137,8 @@ public class AutoConfigurationImportSelector
 		configurations.removeAll(exclusions);
 		// 【3】因为从spring.factories文件获取的自动配置类太多，如果有些不必要的自动配置类都加载进内存，会造成内存浪费，因此这里需要进行过滤
 		// 注意这里会调用AutoConfigurationImportFilter的match方法来判断是否符合@ConditionalOnBean,@ConditionalOnClass或@ConditionalOnWebApplication，后面会重点分析一下
-		configurations = filter(configurations, autoConfigurationMetadata);
+		configurations = filter(configurations,
+				getFilterMetadata(autoConfigurationMetadata));
 		// 【4】获取了符合条件的自动配置类后，此时触发AutoConfigurationImportEvent事件，
 		// 目的是告诉ConditionEvaluationReport条件评估报告器对象来记录符合条件的自动配置类
 		// 该事件什么时候会被触发？--> 在刷新容器时调用invokeBeanFactoryPostProcessors后置处理器时触发
@@ -268,6 +271,16 @@ public class AutoConfigurationImportSelector
 		return (excludes != null) ? Arrays.asList(excludes) : Collections.emptyList();
 	}
 
+	private AutoConfigurationMetadata getFilterMetadata(
+			AutoConfigurationMetadata autoConfigurationMetadata) {
+		if (!getEnvironment().getProperty(PROPERTY_NAME_PRECOMPUTED_CONDITIONS,
+				Boolean.class, true)) {
+			return autoConfigurationMetadata;
+		}
+		return AutoConfigurationMetadataLoader
+				.loadPrecomputedMetadata(this.beanClassLoader, autoConfigurationMetadata);
+	}
+
 	private List<String> filter(List<String> configurations,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
 		long startTime = System.nanoTime();
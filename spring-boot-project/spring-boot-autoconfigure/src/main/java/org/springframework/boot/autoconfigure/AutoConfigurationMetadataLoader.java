@@ -36,6 +36,9 @@ final class AutoConfigurationMetadataLoader {
 	protected static final String PATH = "META-INF/"
 			+ "spring-autoconfigure-metadata.properties";
 
+	static final String PRECOMPUTED_PATH = "META-INF/"
+			+ "spring-autoconfigure-precomputed.properties";
+
 	private AutoConfigurationMetadataLoader() {
 	}
 
@@ -61,7 +64,35 @@ final class AutoConfigurationMetadataLoader {
 	}
 
 	static AutoConfigurationMetadata loadMetadata(Properties properties) {
-		return new PropertiesAutoConfigurationMetadata(properties);
+		return new PropertiesAutoConfigurationMetadata(properties, null);
+	}
+
+	/**
+	 * Load the condition outcomes that were evaluated when the application was packaged
+	 * and return metadata that consults them before the given metadata. Only the first
+	 * precomputed resource is used as it describes the class path of the packaged
+	 * application.
+	 * @param classLoader the class loader
+	 * @param metadata the metadata to use for any value that was not precomputed
+	 * @return the metadata including the precomputed outcomes, or the given metadata if
+	 * there are none
+	 */
+	public static AutoConfigurationMetadata loadPrecomputedMetadata(
+			ClassLoader classLoader, AutoConfigurationMetadata metadata) {
+		try {
+			URL url = (classLoader != null) ? classLoader.getResource(PRECOMPUTED_PATH)
+					: ClassLoader.getSystemResource(PRECOMPUTED_PATH);
+			if (url == null) {
+				return metadata;
+			}
+			return new PropertiesAutoConfigurationMetadata(
+					PropertiesLoaderUtils.loadProperties(new UrlResource(url)), metadata);
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException(
+					"Unable to load precomputed conditions [" + PRECOMPUTED_PATH + "]",
+					ex);
+		}
 	}
 
 	/**
@@ -72,13 +103,18 @@ final class AutoConfigurationMetadataLoader {
 
 		private final Properties properties;
 
-		PropertiesAutoConfigurationMetadata(Properties properties) {
+		private final AutoConfigurationMetadata parent;
+
+		PropertiesAutoConfigurationMetadata(Properties properties,
+				AutoConfigurationMetadata parent) {
 			this.properties = properties;
+			this.parent = parent;
 		}
 
 		@Override
 		public boolean wasProcessed(String className) {
-			return this.properties.containsKey(className);
+			return this.properties.containsKey(className)
+					|| (this.parent != null && this.parent.wasProcessed(className));
 		}
 
 		@Override
@@ -113,6 +149,9 @@ final class AutoConfigurationMetadataLoader {
 		@Override
 		public String get(String className, String key, String defaultValue) {
 			String value = this.properties.getProperty(className + "." + key);
+			if (value == null && this.parent != null) {
+				return this.parent.get(className, key, defaultValue);
+			}
 			return (value != null) ? value : defaultValue;
 		}
 
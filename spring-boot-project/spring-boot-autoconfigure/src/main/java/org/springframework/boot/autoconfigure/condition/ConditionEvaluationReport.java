@@ -16,11 +16,13 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +47,7 @@ import org.springframework.util.ObjectUtils;
  * @author Phillip Webb
  * @author Andy Wilkinson
  * @author Stephane Nicoll
+ * @author Jonas Berg
  */
 public final class ConditionEvaluationReport {
 
@@ -62,6 +65,8 @@ public final class ConditionEvaluationReport {
 
 	private final Set<String> unconditionalClasses = new HashSet<>();
 
+	private final SortedMap<String, Long> timings = new TreeMap<>();
+
 	/**
 	 * Private constructor.
 	 * @see #get(ConfigurableListableBeanFactory)
@@ -88,6 +93,18 @@ public final class ConditionEvaluationReport {
 		this.addedAncestorOutcomes = false;
 	}
 
+	/**
+	 * Record the time taken to evaluate a condition. Timings of the same type of
+	 * condition are accumulated.
+	 * @param condition the condition evaluated
+	 * @param nanos the time taken, in nanoseconds
+	 * @since 2.2.0
+	 */
+	public void recordConditionTiming(Condition condition, long nanos) {
+		Assert.notNull(condition, "Condition must not be null");
+		this.timings.merge(condition.getClass().getName(), nanos, Long::sum);
+	}
+
 	/**
 	 * Records the names of the classes that have been excluded from condition evaluation.
 	 * @param exclusions the names of the excluded classes
@@ -142,6 +159,19 @@ public final class ConditionEvaluationReport {
 		return Collections.unmodifiableList(this.exclusions);
 	}
 
+	/**
+	 * Returns the total time spent evaluating each type of condition, keyed by the name
+	 * of the condition's class.
+	 * @return the condition timings
+	 * @since 2.2.0
+	 */
+	public Map<String, Duration> getConditionTimings() {
+		Map<String, Duration> timings = new LinkedHashMap<>();
+		this.timings.forEach(
+				(condition, nanos) -> timings.put(condition, Duration.ofNanos(nanos)));
+		return Collections.unmodifiableMap(timings);
+	}
+
 	/**
 	 * Returns the names of the classes that were evaluated but were not conditional.
 	 * @return the names of the unconditional classes
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanClassLoaderAware;
@@ -27,22 +28,36 @@ import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 
 /**
  * Abstract base class for a {@link SpringBootCondition} that also implements
- * {@link AutoConfigurationImportFilter}.
+ * {@link AutoConfigurationImportFilter}. Subclasses can use
+ * {@link #resolveOutcomes(String[], Function)} to resolve the outcomes of the
+ * auto-configuration candidates in parallel.
  *
  * @author Phillip Webb
+ * @author Jonas Berg
  */
 abstract class FilteringSpringBootCondition extends SpringBootCondition
-		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware {
+		implements AutoConfigurationImportFilter, BeanFactoryAware, BeanClassLoaderAware,
+		EnvironmentAware {
+
+	private static final String PARALLELISM_PROPERTY = "spring.autoconfigure.condition-evaluation-parallelism";
+
+	// Using two threads seems to offer the best performance. More threads make things
+	// worse
+	private static final int DEFAULT_PARALLELISM = 2;
 
 	private BeanFactory beanFactory;
 
 	private ClassLoader beanClassLoader;
 
+	private Environment environment;
+
 	@Override
 	public boolean[] match(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
@@ -53,8 +68,12 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 		// 子类（这里指的是OnClassCondition,OnBeanCondition和OnWebApplicationCondition类）去过滤
 		// 注意outcomes数组存储的是不匹配的结果，跟autoConfigurationClasses数组一一对应
 		/*****************************【主线，重点关注】*********************************************/
+		long startTime = System.nanoTime();
 		ConditionOutcome[] outcomes = getOutcomes(autoConfigurationClasses,
 				autoConfigurationMetadata);
+		if (report != null) {
+			report.recordConditionTiming(this, System.nanoTime() - startTime);
+		}
 		boolean[] match = new boolean[outcomes.length];
 		// 遍历outcomes,这里outcomes为null则表示匹配，不为null则表示不匹配
 		for (int i = 0; i < outcomes.length; i++) {
@@ -74,6 +93,30 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 	protected abstract ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata);
 
+	/**
+	 * Resolve the outcomes of the given auto-configuration candidates, in parallel when
+	 * there are enough candidates. By default, two threads are used. The parallelism can
+	 * be configured using the
+	 * {@code spring.autoconfigure.condition-evaluation-parallelism} property, with
+	 * {@code 1} resolving all outcomes on the calling thread.
+	 * @param autoConfigurationClasses the auto-configuration candidates
+	 * @param outcomeResolver resolves the outcome of a single, non-null, candidate. Must
+	 * be thread-safe
+	 * @return the outcomes, in the same order as the candidates
+	 */
+	protected final ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			Function<String, ConditionOutcome> outcomeResolver) {
+		return new ParallelOutcomesResolver(getParallelism())
+				.resolveOutcomes(autoConfigurationClasses, outcomeResolver);
+	}
+
+	private int getParallelism() {
+		Integer parallelism = (this.environment != null)
+				? this.environment.getProperty(PARALLELISM_PROPERTY, Integer.class)
+				: null;
+		return (parallelism != null) ? parallelism : DEFAULT_PARALLELISM;
+	}
+
 	@Override
 	public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
 		this.beanFactory = beanFactory;
@@ -92,6 +135,11 @@ abstract class FilteringSpringBootCondition extends SpringBootCondition
 		this.beanClassLoader = classLoader;
 	}
 
+	@Override
+	public void setEnvironment(Environment environment) {
+		this.environment = environment;
+	}
+
 	protected List<String> filter(Collection<String> classNames,
 			ClassNameFilter classNameFilter, ClassLoader classLoader) {
 		if (CollectionUtils.isEmpty(classNames)) {
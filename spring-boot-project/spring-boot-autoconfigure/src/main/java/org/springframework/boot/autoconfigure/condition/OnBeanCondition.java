@@ -84,28 +84,33 @@ class OnBeanCondition extends FilteringSpringBootCondition
 	@Override
 	protected final ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
-		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
-		for (int i = 0; i < outcomes.length; i++) {
-			String autoConfigurationClass = autoConfigurationClasses[i];
-			if (autoConfigurationClass != null) {
-				Set<String> onBeanTypes = autoConfigurationMetadata
-						.getSet(autoConfigurationClass, "ConditionalOnBean");
-				outcomes[i] = getOutcome(onBeanTypes, ConditionalOnBean.class);
-				if (outcomes[i] == null) {
-					Set<String> onSingleCandidateTypes = autoConfigurationMetadata.getSet(
-							autoConfigurationClass, "ConditionalOnSingleCandidate");
-					outcomes[i] = getOutcome(onSingleCandidateTypes,
-							ConditionalOnSingleCandidate.class);
-				}
-			}
-		}
-		return outcomes;
+		return resolveOutcomes(autoConfigurationClasses, (autoConfigurationClass) -> {
+			ConditionOutcome outcome = getOutcome(autoConfigurationMetadata,
+					autoConfigurationClass, ConditionalOnBean.class);
+			return (outcome != null) ? outcome : getOutcome(autoConfigurationMetadata,
+					autoConfigurationClass, ConditionalOnSingleCandidate.class);
+		});
+	}
+
+	private ConditionOutcome getOutcome(
+			AutoConfigurationMetadata autoConfigurationMetadata,
+			String autoConfigurationClass, Class<? extends Annotation> annotation) {
+		String key = annotation.getSimpleName();
+		String precomputedMissing = autoConfigurationMetadata.get(autoConfigurationClass,
+				key + ".Missing");
+		if (precomputedMissing != null) {
+			return getOutcome(StringUtils.commaDelimitedListToSet(precomputedMissing),
+					annotation);
+		}
+		Set<String> requiredBeanTypes = autoConfigurationMetadata
+				.getSet(autoConfigurationClass, key);
+		return getOutcome(
+				filter(requiredBeanTypes, ClassNameFilter.MISSING, getBeanClassLoader()),
+				annotation);
 	}
 
-	private ConditionOutcome getOutcome(Set<String> requiredBeanTypes,
+	private ConditionOutcome getOutcome(Collection<String> missing,
 			Class<? extends Annotation> annotation) {
-		List<String> missing = filter(requiredBeanTypes, ClassNameFilter.MISSING,
-				getBeanClassLoader());
 		if (!missing.isEmpty()) {
 			ConditionMessage message = ConditionMessage.forCondition(annotation)
 					.didNotFind("required type", "required types")
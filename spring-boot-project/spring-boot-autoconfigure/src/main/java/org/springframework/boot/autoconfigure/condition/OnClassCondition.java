@@ -16,10 +16,10 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
-import java.security.AccessControlException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.springframework.boot.autoconfigure.AutoConfigurationImportFilter;
 import org.springframework.boot.autoconfigure.AutoConfigurationMetadata;
@@ -37,6 +37,7 @@ import org.springframework.util.StringUtils;
  * presence or absence of specific classes.
  *
  * @author Phillip Webb
+ * @author Jonas Berg
  * @see ConditionalOnClass
  * @see ConditionalOnMissingClass
  */
@@ -46,47 +47,10 @@ class OnClassCondition extends FilteringSpringBootCondition {
 	@Override
 	protected final ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
 			AutoConfigurationMetadata autoConfigurationMetadata) {
-		// Split the work and perform half in a background thread. Using a single
-		// additional thread seems to offer the best performance. More threads make
-		// things worse
-		// 这里经过测试用两个线程去跑的话性能是最好的，大于两个线程性能反而变差
-		int split = autoConfigurationClasses.length / 2;
-		// 【1】开启一个新线程去扫描判断已经加载的一半自动配置类
-		OutcomesResolver firstHalfResolver = createOutcomesResolver(
-				autoConfigurationClasses, 0, split, autoConfigurationMetadata);
-		// 【2】这里用主线程去扫描判断已经加载的一半自动配置类
-		OutcomesResolver secondHalfResolver = new StandardOutcomesResolver(
-				autoConfigurationClasses, split, autoConfigurationClasses.length,
+		StandardOutcomesResolver outcomesResolver = new StandardOutcomesResolver(
 				autoConfigurationMetadata, getBeanClassLoader());
-		// 【3】先让主线程去执行解析一半自动配置类是否匹配条件
-		ConditionOutcome[] secondHalf = secondHalfResolver.resolveOutcomes();
-		// 【4】这里用新开启的线程取解析另一半自动配置类是否匹配
-		// 注意为了防止主线程执行过快结束，resolveOutcomes方法里面调用了thread.join()来
-		// 让主线程等待新线程执行结束，因为后面要合并两个线程的解析结果
-		ConditionOutcome[] firstHalf = firstHalfResolver.resolveOutcomes();
-		// 新建一个ConditionOutcome数组来存储自动配置类的筛选结果
-		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
-		// 将前面两个线程的筛选结果分别拷贝进outcomes数组
-		System.arraycopy(firstHalf, 0, outcomes, 0, firstHalf.length);
-		System.arraycopy(secondHalf, 0, outcomes, split, secondHalf.length);
-		// 返回自动配置类的筛选结果
-		return outcomes;
-	}
-
-	private OutcomesResolver createOutcomesResolver(String[] autoConfigurationClasses,
-			int start, int end, AutoConfigurationMetadata autoConfigurationMetadata) {
-		// 新建一个StandardOutcomesResolver对象
-		OutcomesResolver outcomesResolver = new StandardOutcomesResolver(
-				autoConfigurationClasses, start, end, autoConfigurationMetadata,
-				getBeanClassLoader());
-		try {
-			// new一个ThreadedOutcomesResolver对象，并将StandardOutcomesResolver类型的outcomesResolver对象作为构造器参数传入
-			return new ThreadedOutcomesResolver(outcomesResolver);
-		}
-		// 若上面开启的线程抛出AccessControlException异常，则返回StandardOutcomesResolver对象
-		catch (AccessControlException ex) {
-			return outcomesResolver;
-		}
+		return resolveOutcomes(autoConfigurationClasses,
+				outcomesResolver::resolveOutcome);
 	}
 
 	@Override
@@ -148,99 +112,45 @@ class OnClassCondition extends FilteringSpringBootCondition {
 		}
 	}
 
-	private interface OutcomesResolver {
-
-		ConditionOutcome[] resolveOutcomes();
-
-	}
-
-	private static final class ThreadedOutcomesResolver implements OutcomesResolver {
-
-		private final Thread thread;
-
-		private volatile ConditionOutcome[] outcomes;
-
-		private ThreadedOutcomesResolver(OutcomesResolver outcomesResolver) {
-			// 这里开启一个新的线程，这个线程其实还是利用StandardOutcomesResolver的resolveOutcomes方法
-			// 对自动配置类进行解析判断是否匹配
-			this.thread = new Thread(
-					() -> this.outcomes = outcomesResolver.resolveOutcomes());
-			// 开启线程
-			this.thread.start();
-		}
-
-		@Override
-		public ConditionOutcome[] resolveOutcomes() {
-			try {
-				// 调用子线程的Join方法，让主线程等待
-				this.thread.join();
-			}
-			catch (InterruptedException ex) {
-				Thread.currentThread().interrupt();
-			}
-			// 若子线程结束后，此时返回子线程的解析结果
-			return this.outcomes;
-		}
-
-	}
-
-	private final class StandardOutcomesResolver implements OutcomesResolver {
-
-		private final String[] autoConfigurationClasses;
-
-		private final int start;
-
-		private final int end;
+	private final class StandardOutcomesResolver {
 
 		private final AutoConfigurationMetadata autoConfigurationMetadata;
 
 		private final ClassLoader beanClassLoader;
 
-		private StandardOutcomesResolver(String[] autoConfigurationClasses, int start,
-				int end, AutoConfigurationMetadata autoConfigurationMetadata,
+		private StandardOutcomesResolver(
+				AutoConfigurationMetadata autoConfigurationMetadata,
 				ClassLoader beanClassLoader) {
-			this.autoConfigurationClasses = autoConfigurationClasses;
-			this.start = start;
-			this.end = end;
 			this.autoConfigurationMetadata = autoConfigurationMetadata;
 			this.beanClassLoader = beanClassLoader;
 		}
 
-		@Override
-		public ConditionOutcome[] resolveOutcomes() {
-			// 再调用getOutcomes方法来解析
-			return getOutcomes(this.autoConfigurationClasses, this.start, this.end,
-					this.autoConfigurationMetadata);
-		}
-
-		private ConditionOutcome[] getOutcomes(String[] autoConfigurationClasses,
-				int start, int end, AutoConfigurationMetadata autoConfigurationMetadata) {// 只要autoConfigurationMetadata没有存储相关自动配置类，那么outcome默认为null，则说明匹配
-			ConditionOutcome[] outcomes = new ConditionOutcome[end - start];
-			// 遍历每一个自动配置类
-			for (int i = start; i < end; i++) {
-				String autoConfigurationClass = autoConfigurationClasses[i];
-				// TODO 对于autoConfigurationMetadata有个疑问：为何有些自动配置类的条件注解能被加载到autoConfigurationMetadata，而有些又不能，比如自己定义的一个自动配置类HelloWorldEnableAutoConfiguration就没有被存到autoConfigurationMetadata中
-				if (autoConfigurationClass != null) {
-					// 这里取出注解在AutoConfiguration自动配置类类的@ConditionalOnClass注解的指定类的全限定名，
-					// 举个栗子，看下面的KafkaStreamsAnnotationDrivenConfiguration这个自动配置类
-					/**
-					 * @ConditionalOnClass(StreamsBuilder.class)
-					 * class KafkaStreamsAnnotationDrivenConfiguration {
-					 * // 省略无关代码
-					 * }
-					 */
-					// 那么取出的就是StreamsBuilder类的全限定名即candidates = org.apache.kafka.streams.StreamsBuilder
-					String candidates = autoConfigurationMetadata
-							.get(autoConfigurationClass, "ConditionalOnClass");
-					// 若自动配置类标有ConditionalOnClass注解且有值，此时调用getOutcome判断是否存在于类路径中
-					if (candidates != null) {
-						// 拿到自动配置类注解@ConditionalOnClass的值后，再调用getOutcome方法去判断匹配结果,若该类存在于类路径，则getOutcome返回null，否则非null
-						/*******************【主线，重点关注】******************/
-						outcomes[i - start] = getOutcome(candidates);
-					}
-				}
+		private ConditionOutcome resolveOutcome(String autoConfigurationClass) {
+			// 只要autoConfigurationMetadata没有存储相关自动配置类，那么outcome默认为null，则说明匹配
+			// 这里取出注解在AutoConfiguration自动配置类类的@ConditionalOnClass注解的指定类的全限定名，
+			// 举个栗子，看下面的KafkaStreamsAnnotationDrivenConfiguration这个自动配置类
+			/**
+			 * @ConditionalOnClass(StreamsBuilder.class)
+			 * class KafkaStreamsAnnotationDrivenConfiguration {
+			 * // 省略无关代码
+			 * }
+			 */
+			// 那么取出的就是StreamsBuilder类的全限定名即candidates = org.apache.kafka.streams.StreamsBuilder
+			String missing = this.autoConfigurationMetadata.get(autoConfigurationClass,
+					"ConditionalOnClass.Missing");
+			if (missing != null) {
+				return getPrecomputedOutcome(
+						StringUtils.commaDelimitedListToSet(missing));
 			}
-			return outcomes;
+			String candidates = this.autoConfigurationMetadata.get(autoConfigurationClass,
+					"ConditionalOnClass");
+			// 若自动配置类标有ConditionalOnClass注解且有值，此时调用getOutcome判断是否存在于类路径中
+			if (candidates != null) {
+				// 拿到自动配置类注解@ConditionalOnClass的值后，再调用getOutcome方法去判断匹配结果,若该类存在于类路径，则getOutcome返回null，否则非null
+				/*******************【主线，重点关注】******************/
+				return getOutcome(candidates);
+			}
+			return null;
 		}
 
 		// 返回的outcome记录的是不匹配的情况，不为null，则说明不匹配；为null，则说明匹配
@@ -270,6 +180,22 @@ class OnClassCondition extends FilteringSpringBootCondition {
 			return null;
 		}
 
+		/**
+		 * Return the outcome of a {@code @ConditionalOnClass} condition that was evaluated
+		 * against the class path when the application was packaged.
+		 * @param missing the required classes that were missing
+		 * @return the outcome or {@code null} if the condition matched
+		 */
+		private ConditionOutcome getPrecomputedOutcome(Set<String> missing) {
+			if (missing.isEmpty()) {
+				return null;
+			}
+			return ConditionOutcome.noMatch(ConditionMessage
+					.forCondition(ConditionalOnClass.class)
+					.didNotFind("required class", "required classes")
+					.items(Style.QUOTE, missing));
+		}
+
 		private ConditionOutcome getOutcome(String className,
 				ClassNameFilter classNameFilter, ClassLoader classLoader) {
 			// 调用classNameFilter的matches方法来判断`@ConditionalOnClass`指定的类存不存在类路径中
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Resolves the {@link ConditionOutcome outcomes} of auto-configuration candidates in
+ * parallel. The candidates are recursively split into small ranges that are resolved by a
+ * work-stealing {@link ForkJoinPool} that only lives for the duration of the resolution.
+ * Outcomes are resolved on the calling thread when the parallelism is one, when there are
+ * too few candidates to benefit from parallel evaluation, or when threads cannot be
+ * created. The threads of the pool use the context class loader of the calling thread,
+ * as the outcome of a candidate can depend on it.
+ *
+ * @author Jonas Berg
+ */
+final class ParallelOutcomesResolver {
+
+	/**
+	 * The number of candidates below which a range is no longer split.
+	 */
+	static final int THRESHOLD = 8;
+
+	private final int parallelism;
+
+	private final ForkJoinWorkerThreadFactory threadFactory;
+
+	ParallelOutcomesResolver(int parallelism) {
+		this(parallelism, ParallelOutcomesResolver::createThread);
+	}
+
+	ParallelOutcomesResolver(int parallelism,
+			ForkJoinWorkerThreadFactory threadFactory) {
+		this.parallelism = parallelism;
+		this.threadFactory = threadFactory;
+	}
+
+	/**
+	 * Resolve the outcomes of the given auto-configuration candidates. {@code null}
+	 * candidates are skipped and have a {@code null} outcome.
+	 * @param autoConfigurationClasses the auto-configuration candidates
+	 * @param outcomeResolver resolves the outcome of a single candidate
+	 * @return the outcomes, in the same order as the candidates
+	 */
+	ConditionOutcome[] resolveOutcomes(String[] autoConfigurationClasses,
+			Function<String, ConditionOutcome> outcomeResolver) {
+		ConditionOutcome[] outcomes = new ConditionOutcome[autoConfigurationClasses.length];
+		ResolveAction action = new ResolveAction(autoConfigurationClasses, outcomes,
+				outcomeResolver, 0, autoConfigurationClasses.length);
+		if (this.parallelism <= 1 || autoConfigurationClasses.length <= THRESHOLD
+				|| !invokeInPool(action)) {
+			action.resolve();
+		}
+		return outcomes;
+	}
+
+	private boolean invokeInPool(ResolveAction action) {
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinWorkerThreadFactory threadFactory = (pool) -> {
+			ForkJoinWorkerThread thread = this.threadFactory.newThread(pool);
+			thread.setContextClassLoader(contextClassLoader);
+			return thread;
+		};
+		ForkJoinPool pool;
+		try {
+			pool = new ForkJoinPool(this.parallelism, threadFactory, null, false);
+		}
+		catch (SecurityException ex) {
+			return false;
+		}
+		try {
+			// Workers are created lazily, when the action is submitted
+			pool.invoke(action);
+			return true;
+		}
+		catch (SecurityException ex) {
+			pool.shutdownNow();
+			return false;
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static ForkJoinWorkerThread createThread(ForkJoinPool pool) {
+		ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+				.newThread(pool);
+		thread.setName("condition-evaluation-" + thread.getPoolIndex());
+		return thread;
+	}
+
+	/**
+	 * {@link RecursiveAction} that resolves the outcomes of a range of candidates.
+	 */
+	private static final class ResolveAction extends RecursiveAction {
+
+		private final String[] autoConfigurationClasses;
+
+		private final ConditionOutcome[] outcomes;
+
+		private final Function<String, ConditionOutcome> outcomeResolver;
+
+		private final int start;
+
+		private final int end;
+
+		private ResolveAction(String[] autoConfigurationClasses,
+				ConditionOutcome[] outcomes,
+				Function<String, ConditionOutcome> outcomeResolver, int start, int end) {
+			this.autoConfigurationClasses = autoConfigurationClasses;
+			this.outcomes = outcomes;
+			this.outcomeResolver = outcomeResolver;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (this.end - this.start <= THRESHOLD) {
+				resolve();
+				return;
+			}
+			int split = (this.start + this.end) >>> 1;
+			invokeAll(range(this.start, split), range(split, this.end));
+		}
+
+		private ResolveAction range(int start, int end) {
+			return new ResolveAction(this.autoConfigurationClasses, this.outcomes,
+					this.outcomeResolver, start, end);
+		}
+
+		private void resolve() {
+			for (int i = this.start; i < this.end; i++) {
+				String autoConfigurationClass = this.autoConfigurationClasses[i];
+				if (autoConfigurationClass != null) {
+					this.outcomes[i] = this.outcomeResolver.apply(autoConfigurationClass);
+				}
+			}
+		}
+
+	}
+
+}
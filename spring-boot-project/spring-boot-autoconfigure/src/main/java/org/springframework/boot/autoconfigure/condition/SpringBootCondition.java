@@ -47,11 +47,13 @@ public abstract class SpringBootCondition implements Condition {
 		try {
 			// 判断每个配置类的每个条件注解@ConditionalOnXXX是否满足条件，然后记录到ConditionOutcome结果中
 			// 注意getMatchOutcome是一个抽象模板方法，交给OnXXXCondition子类去实现
+			long startTime = System.nanoTime();
 			ConditionOutcome outcome = getMatchOutcome(context, metadata);
+			long nanos = System.nanoTime() - startTime;
 			// 打印condition评估的日志，哪些条件注解@ConditionalOnXXX是满足条件的，哪些是不满足条件的，这些日志都打印出来
 			logOutcome(classOrMethodName, outcome);
 			// 除了打印日志外，这些是否匹配的信息还要记录到ConditionEvaluationReport中
-			recordEvaluation(context, classOrMethodName, outcome);
+			recordEvaluation(context, classOrMethodName, outcome, nanos);
 			// 最后返回@ConditionalOnXXX是否满足条件
 			return outcome.isMatch();
 		}
@@ -115,10 +117,12 @@ public abstract class SpringBootCondition implements Condition {
 	}
 
 	private void recordEvaluation(ConditionContext context, String classOrMethodName,
-			ConditionOutcome outcome) {
+			ConditionOutcome outcome, long nanos) {
 		if (context.getBeanFactory() != null) {
-			ConditionEvaluationReport.get(context.getBeanFactory())
-					.recordConditionEvaluation(classOrMethodName, this, outcome);
+			ConditionEvaluationReport report = ConditionEvaluationReport
+					.get(context.getBeanFactory());
+			report.recordConditionEvaluation(classOrMethodName, this, outcome);
+			report.recordConditionTiming(this, nanos);
 		}
 	}
 
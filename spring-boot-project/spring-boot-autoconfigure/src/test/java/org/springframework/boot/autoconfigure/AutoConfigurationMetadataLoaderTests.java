@@ -16,9 +16,16 @@
 
 package org.springframework.boot.autoconfigure;
 
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Collections;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -26,9 +33,13 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Test for {@link AutoConfigurationMetadataLoader}.
  *
  * @author Phillip Webb
+ * @author Jonas Berg
  */
 public class AutoConfigurationMetadataLoaderTests {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@Test
 	public void loadShouldLoadProperties() {
 		assertThat(load()).isNotNull();
@@ -90,6 +101,36 @@ public class AutoConfigurationMetadataLoaderTests {
 		assertThat(load().get("test", "stringx", "xyz")).isEqualTo("xyz");
 	}
 
+	@Test
+	public void loadPrecomputedShouldPreferPrecomputedValues() throws Exception {
+		File root = this.temporaryFolder.newFolder();
+		File precomputed = new File(root,
+				AutoConfigurationMetadataLoader.PRECOMPUTED_PATH);
+		precomputed.getParentFile().mkdirs();
+		Files.write(precomputed.toPath(),
+				"test.string=def\ntest.ConditionalOnClass.Missing=a.B\n"
+						.getBytes(StandardCharsets.ISO_8859_1));
+		try (URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { root.toURI().toURL() }, null)) {
+			AutoConfigurationMetadata metadata = AutoConfigurationMetadataLoader
+					.loadPrecomputedMetadata(classLoader, load());
+			assertThat(metadata.get("test", "string")).isEqualTo("def");
+			assertThat(metadata.get("test", "ConditionalOnClass.Missing"))
+					.isEqualTo("a.B");
+			assertThat(metadata.getInteger("test", "int")).isEqualTo(123);
+			assertThat(metadata.wasProcessed("test")).isTrue();
+		}
+	}
+
+	@Test
+	public void loadPrecomputedWhenMissingShouldReturnMetadata() throws Exception {
+		AutoConfigurationMetadata metadata = load();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[0], null)) {
+			assertThat(AutoConfigurationMetadataLoader
+					.loadPrecomputedMetadata(classLoader, metadata)).isSameAs(metadata);
+		}
+	}
+
 	private AutoConfigurationMetadata load() {
 		return AutoConfigurationMetadataLoader.loadMetadata(null,
 				"META-INF/AutoConfigurationMetadataLoaderTests.properties");
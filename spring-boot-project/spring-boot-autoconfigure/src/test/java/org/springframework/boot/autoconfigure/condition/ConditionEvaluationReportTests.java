@@ -16,6 +16,7 @@
 
 package org.springframework.boot.autoconfigure.condition;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -47,6 +48,7 @@ import org.springframework.core.type.AnnotatedTypeMetadata;
 import org.springframework.util.ClassUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -119,6 +121,27 @@ public class ConditionEvaluationReportTests {
 		assertThat(this.report.getParent().getParent()).isNull();
 	}
 
+	@Test
+	public void recordConditionTimings() {
+		this.report.recordConditionTiming(new OnClassCondition(), 100);
+		this.report.recordConditionTiming(new OnClassCondition(), 50);
+		this.report.recordConditionTiming(new OnBeanCondition(), 25);
+		assertThat(this.report.getConditionTimings()).containsExactly(
+				entry(OnBeanCondition.class.getName(), Duration.ofNanos(25)),
+				entry(OnClassCondition.class.getName(), Duration.ofNanos(150)));
+	}
+
+	@Test
+	public void conditionTimingsAreRecordedWhenConditionsAreEvaluated() {
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(
+				NegativeOuterConfig.class);
+		ConditionEvaluationReport report = ConditionEvaluationReport
+				.get(context.getBeanFactory());
+		assertThat(report.getConditionTimings())
+				.containsKey(MatchParseCondition.class.getName());
+		context.close();
+	}
+
 	@Test
 	public void recordConditionEvaluations() {
 		this.outcome1 = new ConditionOutcome(false, "m1");
@@ -70,6 +70,23 @@ public class OnClassConditionAutoConfigurationImportFilterTests {
 				.containsKey("test.nomatch");
 	}
 
+	@Test
+	public void matchShouldUsePrecomputedOutcomes() {
+		String[] autoConfigurationClasses = new String[] { "test.match", "test.nomatch" };
+		AutoConfigurationMetadata metadata = getAutoConfigurationMetadata();
+		given(metadata.get("test.match", "ConditionalOnClass.Missing")).willReturn("");
+		given(metadata.get("test.nomatch", "ConditionalOnClass.Missing"))
+				.willReturn("java.io.DoesNotExist");
+		given(metadata.get("test.match", "ConditionalOnClass"))
+				.willReturn("java.io.DoesNotExist");
+		boolean[] result = this.filter.match(autoConfigurationClasses, metadata);
+		assertThat(result).containsExactly(true, false);
+		ConditionEvaluationReport report = ConditionEvaluationReport
+				.get(this.beanFactory);
+		assertThat(report.getConditionAndOutcomesBySource().get("test.nomatch").iterator()
+				.next().getOutcome().getMessage()).contains("java.io.DoesNotExist");
+	}
+
 	private AutoConfigurationMetadata getAutoConfigurationMetadata() {
 		AutoConfigurationMetadata metadata = mock(AutoConfigurationMetadata.class);
 		given(metadata.wasProcessed("test.match")).willReturn(true);
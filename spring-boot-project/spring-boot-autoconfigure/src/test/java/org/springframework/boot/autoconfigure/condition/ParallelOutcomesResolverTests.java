@@ -0,0 +1,152 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.autoconfigure.condition;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ParallelOutcomesResolver}.
+ *
+ * @author Jonas Berg
+ */
+public class ParallelOutcomesResolverTests {
+
+	private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+	@Test
+	public void outcomesAreResolvedInParallel() {
+		String[] candidates = createCandidates(100);
+		ConditionOutcome[] outcomes = new ParallelOutcomesResolver(4)
+				.resolveOutcomes(candidates, this::resolveOutcome);
+		assertOutcomes(candidates, outcomes);
+		assertThat(this.threads)
+				.allMatch((name) -> name.startsWith("condition-evaluation-"));
+	}
+
+	@Test
+	public void outcomesAreResolvedOnCallingThreadWhenParallelismIsOne() {
+		String[] candidates = createCandidates(100);
+		ConditionOutcome[] outcomes = new ParallelOutcomesResolver(1)
+				.resolveOutcomes(candidates, this::resolveOutcome);
+		assertOutcomes(candidates, outcomes);
+		assertThat(this.threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	@Test
+	public void outcomesAreResolvedOnCallingThreadWhenThereAreFewCandidates() {
+		String[] candidates = createCandidates(ParallelOutcomesResolver.THRESHOLD);
+		ConditionOutcome[] outcomes = new ParallelOutcomesResolver(4)
+				.resolveOutcomes(candidates, this::resolveOutcome);
+		assertOutcomes(candidates, outcomes);
+		assertThat(this.threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	@Test
+	public void nullCandidatesAreSkipped() {
+		String[] candidates = createCandidates(100);
+		candidates[42] = null;
+		Function<String, ConditionOutcome> resolver = (candidate) -> {
+			assertThat(candidate).isNotNull();
+			return resolveOutcome(candidate);
+		};
+		ConditionOutcome[] outcomes = new ParallelOutcomesResolver(4)
+				.resolveOutcomes(candidates, resolver);
+		assertThat(outcomes[42]).isNull();
+		assertThat(outcomes[43].getMessage()).isEqualTo("43");
+	}
+
+	@Test
+	public void poolThreadsTerminateOnceOutcomesAreResolved() throws Exception {
+		List<Thread> poolThreads = new CopyOnWriteArrayList<>();
+		String[] candidates = createCandidates(100);
+		ConditionOutcome[] outcomes = new ParallelOutcomesResolver(4, (pool) -> {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory
+					.newThread(pool);
+			poolThreads.add(thread);
+			return thread;
+		}).resolveOutcomes(candidates, this::resolveOutcome);
+		assertOutcomes(candidates, outcomes);
+		assertThat(poolThreads).isNotEmpty();
+		for (Thread thread : poolThreads) {
+			thread.join(5000);
+			assertThat(thread.isAlive()).isFalse();
+		}
+	}
+
+	@Test
+	public void poolThreadsUseContextClassLoaderOfCallingThread() throws Exception {
+		Set<ClassLoader> classLoaders = ConcurrentHashMap.newKeySet();
+		String[] candidates = createCandidates(100);
+		Thread thread = Thread.currentThread();
+		ClassLoader previous = thread.getContextClassLoader();
+		try (URLClassLoader classLoader = new URLClassLoader(new URL[0],
+				getClass().getClassLoader())) {
+			thread.setContextClassLoader(classLoader);
+			new ParallelOutcomesResolver(4).resolveOutcomes(candidates, (candidate) -> {
+				classLoaders.add(Thread.currentThread().getContextClassLoader());
+				return resolveOutcome(candidate);
+			});
+			assertThat(classLoaders).containsExactly(classLoader);
+		}
+		finally {
+			thread.setContextClassLoader(previous);
+		}
+	}
+
+	@Test
+	public void outcomesAreResolvedOnCallingThreadWhenThreadsCannotBeCreated() {
+		String[] candidates = createCandidates(100);
+		ConditionOutcome[] outcomes = new ParallelOutcomesResolver(4, (pool) -> {
+			throw new SecurityException("No threads");
+		}).resolveOutcomes(candidates, this::resolveOutcome);
+		assertOutcomes(candidates, outcomes);
+		assertThat(this.threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	private String[] createCandidates(int count) {
+		String[] candidates = new String[count];
+		for (int i = 0; i < count; i++) {
+			candidates[i] = String.valueOf(i);
+		}
+		return candidates;
+	}
+
+	private ConditionOutcome resolveOutcome(String candidate) {
+		this.threads.add(Thread.currentThread().getName());
+		return ConditionOutcome.noMatch(candidate);
+	}
+
+	private void assertOutcomes(String[] candidates, ConditionOutcome[] outcomes) {
+		assertThat(outcomes).hasSameSizeAs(candidates);
+		for (int i = 0; i < candidates.length; i++) {
+			assertThat(outcomes[i].getMessage()).isEqualTo(candidates[i]);
+		}
+	}
+
+}
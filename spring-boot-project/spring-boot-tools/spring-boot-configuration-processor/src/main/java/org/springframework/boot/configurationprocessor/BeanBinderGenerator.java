@@ -0,0 +1,571 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.configurationprocessor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * Generates a binder for a {@code @ConfigurationProperties} type so that it can be bound
+ * without reflection. The properties are collected using the same rules as the binder
+ * uses at runtime. Types whose properties cannot be described exactly that way, such as
+ * generic types, types using Lombok or types exposing wildcard or inaccessible property
+ * types, are skipped and bound using reflection.
+ *
+ * @author Jonas Berg
+ */
+class BeanBinderGenerator {
+
+	static final String BINDER_SUFFIX = "__BeanBinder";
+
+	private static final String RESOLVABLE_TYPE = "org.springframework.core.ResolvableType";
+
+	private static final String LOMBOK_PACKAGE = "lombok.";
+
+	private final ProcessingEnvironment env;
+
+	private final String binderType;
+
+	private final Set<Element> rootElements = new HashSet<>();
+
+	private final Set<String> processed = new HashSet<>();
+
+	BeanBinderGenerator(ProcessingEnvironment env, String binderType) {
+		this.env = env;
+		this.binderType = binderType;
+	}
+
+	void processing(RoundEnvironment roundEnv) {
+		this.rootElements.clear();
+		this.rootElements.addAll(roundEnv.getRootElements());
+	}
+
+	/**
+	 * Generate the binder of the given type if it is part of the sources being compiled
+	 * and its properties can be described by a generated binder.
+	 * @param element the type
+	 */
+	void generate(TypeElement element) {
+		Elements elements = this.env.getElementUtils();
+		String binderName = elements.getBinaryName(element).toString().replace('$', '_')
+				+ BINDER_SUFFIX;
+		if (!isSource(element) || !this.processed.add(binderName)
+				|| elements.getTypeElement(this.binderType) == null) {
+			return;
+		}
+		String packageName = elements.getPackageOf(element).getQualifiedName().toString();
+		String source = generateSource(element, packageName, binderName);
+		if (source != null) {
+			try (Writer writer = this.env.getFiler().createSourceFile(binderName, element)
+					.openWriter()) {
+				writer.write(source);
+			}
+			catch (IOException ex) {
+				this.env.getMessager().printMessage(Kind.WARNING,
+						"Unable to generate binder " + binderName + ": "
+								+ ex.getMessage(),
+						element);
+			}
+		}
+	}
+
+	private boolean isSource(Element element) {
+		Element current = element;
+		while (current.getEnclosingElement() != null
+				&& current.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+			current = current.getEnclosingElement();
+		}
+		return this.rootElements.contains(current);
+	}
+
+	private String generateSource(TypeElement element, String packageName,
+			String binderName) {
+		if (!isBindable(element, packageName)) {
+			return null;
+		}
+		Map<String, Property> properties = getProperties(element);
+		if (properties == null) {
+			return null;
+		}
+		String beanType = element.getQualifiedName().toString();
+		String simpleName = binderName.substring(binderName.lastIndexOf('.') + 1);
+		StringBuilder source = new StringBuilder();
+		if (!packageName.isEmpty()) {
+			source.append(String.format("package %s;%n%n", packageName));
+		}
+		source.append(String.format("/**%n * Binder for {@link %s}, generated by the "
+				+ "configuration processor.%n */%n", beanType));
+		source.append(
+				String.format("@SuppressWarnings({ \"deprecation\", \"unchecked\" })%n"));
+		source.append(String.format("public class %s%n\t\textends %s<%s> {%n%n",
+				simpleName, this.binderType, beanType));
+		source.append(String.format("\tpublic %s() {%n", simpleName));
+		source.append(String.format("\t\tsuper(%s.class, %s::new);%n", beanType,
+				beanType));
+		for (Property property : properties.values()) {
+			String code = property.generateCode(element, packageName);
+			if (code == null) {
+				return null;
+			}
+			source.append(code);
+		}
+		source.append(String.format("\t}%n%n}%n"));
+		return source.toString();
+	}
+
+	private boolean isBindable(TypeElement element, String packageName) {
+		if (element.getKind() != ElementKind.CLASS
+				|| element.getModifiers().contains(Modifier.ABSTRACT)
+				|| !isAccessible(element, packageName) || hasTypeParameters(element)
+				|| (element.getNestingKind() == NestingKind.MEMBER
+						&& !element.getModifiers().contains(Modifier.STATIC))) {
+			return false;
+		}
+		for (ExecutableElement constructor : ElementFilter
+				.constructorsIn(element.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty()
+					&& !constructor.getModifiers().contains(Modifier.PRIVATE)
+					&& constructor.getThrownTypes().isEmpty()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasTypeParameters(TypeElement element) {
+		Element current = element;
+		while (current instanceof TypeElement) {
+			if (!((TypeElement) current).getTypeParameters().isEmpty()) {
+				return true;
+			}
+			current = current.getEnclosingElement();
+		}
+		return false;
+	}
+
+	/**
+	 * Collect the properties of the given type the same way the binder does at runtime,
+	 * starting with the type itself and moving up its superclasses.
+	 * @param element the type
+	 * @return the properties or {@code null} if they cannot be collected exactly
+	 */
+	private Map<String, Property> getProperties(TypeElement element) {
+		Map<String, Property> properties = new LinkedHashMap<>();
+		TypeElement type = element;
+		while (type != null
+				&& !Object.class.getName().equals(type.getQualifiedName().toString())) {
+			if ((type != element && !type.getModifiers().contains(Modifier.PUBLIC))
+					|| usesLombok(type)) {
+				return null;
+			}
+			Set<String> getters = new HashSet<>();
+			Set<String> setters = new HashSet<>();
+			for (ExecutableElement method : ElementFilter
+					.methodsIn(type.getEnclosedElements())) {
+				if (isCandidate(method)) {
+					if (hasBridge(type, method)
+							|| !addMethod(properties, getters, setters, method)) {
+						return null;
+					}
+				}
+			}
+			for (VariableElement field : ElementFilter
+					.fieldsIn(type.getEnclosedElements())) {
+				Property property = properties.get(field.getSimpleName().toString());
+				if (property != null && property.field == null) {
+					property.field = field;
+				}
+			}
+			type = getSuperclass(type);
+		}
+		return properties;
+	}
+
+	private boolean usesLombok(TypeElement type) {
+		if (hasLombokAnnotation(type)) {
+			return true;
+		}
+		for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+			if (hasLombokAnnotation(field)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasLombokAnnotation(Element element) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			if (annotation.getAnnotationType().toString().startsWith(LOMBOK_PACKAGE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isCandidate(ExecutableElement method) {
+		Set<Modifier> modifiers = method.getModifiers();
+		return modifiers.contains(Modifier.PUBLIC)
+				&& !modifiers.contains(Modifier.ABSTRACT)
+				&& !modifiers.contains(Modifier.STATIC);
+	}
+
+	/**
+	 * Add the given method to the properties if it is an accessor.
+	 * @param properties the properties
+	 * @param getters the names of the properties with a getter in the current type
+	 * @param setters the names of the properties with a setter in the current type
+	 * @param method the method
+	 * @return {@code false} if the method makes the accessors of a property ambiguous
+	 */
+	private boolean addMethod(Map<String, Property> properties, Set<String> getters,
+			Set<String> setters, ExecutableElement method) {
+		String name = method.getSimpleName().toString();
+		int parameterCount = method.getParameters().size();
+		String propertyName = null;
+		boolean setter = false;
+		if (parameterCount == 0 && name.startsWith("get") && name.length() > 3) {
+			propertyName = decapitalize(name.substring(3));
+		}
+		else if (parameterCount == 0 && name.startsWith("is") && name.length() > 2) {
+			propertyName = decapitalize(name.substring(2));
+		}
+		else if (parameterCount == 1 && name.startsWith("set") && name.length() > 3) {
+			propertyName = decapitalize(name.substring(3));
+			setter = true;
+		}
+		if (propertyName == null) {
+			return true;
+		}
+		Property property = properties.computeIfAbsent(propertyName, Property::new);
+		if (setter) {
+			if (!setters.add(propertyName)) {
+				return false;
+			}
+			if (property.setter == null) {
+				property.setter = method;
+			}
+		}
+		else {
+			if (!getters.add(propertyName)
+					|| method.getReturnType().getKind() == TypeKind.VOID) {
+				return false;
+			}
+			if (property.getter == null) {
+				property.getter = method;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return whether the compiler generates a bridge method in the given type for the
+	 * given method, in which case reflection may find the bridge rather than the method.
+	 * @param type the type
+	 * @param method the method
+	 * @return {@code true} if a bridge method is generated
+	 */
+	private boolean hasBridge(TypeElement type, ExecutableElement method) {
+		Types types = this.env.getTypeUtils();
+		Elements elements = this.env.getElementUtils();
+		for (TypeElement supertype : getSupertypes(type)) {
+			for (ExecutableElement candidate : ElementFilter
+					.methodsIn(supertype.getEnclosedElements())) {
+				if (candidate.getSimpleName().equals(method.getSimpleName())
+						&& elements.overrides(method, candidate, type)
+						&& !hasSameErasure(types, method, candidate)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean hasSameErasure(Types types, ExecutableElement method,
+			ExecutableElement candidate) {
+		if (!types.isSameType(types.erasure(method.getReturnType()),
+				types.erasure(candidate.getReturnType()))) {
+			return false;
+		}
+		for (int i = 0; i < method.getParameters().size(); i++) {
+			if (!types.isSameType(types.erasure(method.getParameters().get(i).asType()),
+					types.erasure(candidate.getParameters().get(i).asType()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Set<TypeElement> getSupertypes(TypeElement type) {
+		Set<TypeElement> supertypes = new LinkedHashSet<>();
+		collectSupertypes(type.asType(), supertypes);
+		return supertypes;
+	}
+
+	private void collectSupertypes(TypeMirror type, Set<TypeElement> supertypes) {
+		for (TypeMirror supertype : this.env.getTypeUtils().directSupertypes(type)) {
+			Element element = this.env.getTypeUtils().asElement(supertype);
+			if (element instanceof TypeElement && supertypes.add((TypeElement) element)) {
+				collectSupertypes(supertype, supertypes);
+			}
+		}
+	}
+
+	private TypeElement getSuperclass(TypeElement type) {
+		TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		return (TypeElement) this.env.getTypeUtils().asElement(superclass);
+	}
+
+	private boolean isAccessible(TypeElement element, String packageName) {
+		Element current = element;
+		while (current instanceof TypeElement) {
+			NestingKind nestingKind = ((TypeElement) current).getNestingKind();
+			Set<Modifier> modifiers = current.getModifiers();
+			if ((nestingKind != NestingKind.TOP_LEVEL
+					&& nestingKind != NestingKind.MEMBER)
+					|| modifiers.contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			if (!modifiers.contains(Modifier.PUBLIC)
+					&& !packageName.equals(this.env.getElementUtils()
+							.getPackageOf(current).getQualifiedName().toString())) {
+				return false;
+			}
+			current = current.getEnclosingElement();
+		}
+		return true;
+	}
+
+	/**
+	 * Return the expression creating the {@code ResolvableType} of the given type.
+	 * @param type the type
+	 * @param packageName the package of the generated binder
+	 * @return the expression or {@code null} if the type cannot be expressed
+	 */
+	private String getResolvableType(TypeMirror type, String packageName) {
+		if (type.getKind().isPrimitive()) {
+			return String.format("%s.forClass(%s.class)", RESOLVABLE_TYPE,
+					getSourceType(type, packageName));
+		}
+		if (type.getKind() == TypeKind.ARRAY) {
+			String component = getResolvableType(((ArrayType) type).getComponentType(),
+					packageName);
+			return (component != null) ? String.format("%s.forArrayComponent(%s)",
+					RESOLVABLE_TYPE, component) : null;
+		}
+		String className = getClassName(type, packageName);
+		if (className == null) {
+			return null;
+		}
+		List<? extends TypeMirror> typeArguments = ((DeclaredType) type)
+				.getTypeArguments();
+		if (typeArguments.isEmpty()) {
+			return String.format("%s.forClass(%s.class)", RESOLVABLE_TYPE, className);
+		}
+		List<String> generics = new ArrayList<>();
+		for (TypeMirror typeArgument : typeArguments) {
+			String generic = getResolvableType(typeArgument, packageName);
+			if (generic == null) {
+				return null;
+			}
+			generics.add(generic);
+		}
+		return String.format("%s.forClassWithGenerics(%s.class, %s)", RESOLVABLE_TYPE,
+				className, String.join(", ", generics));
+	}
+
+	/**
+	 * Return the source representation of the given type.
+	 * @param type the type
+	 * @param packageName the package of the generated binder
+	 * @return the source representation or {@code null} if the type cannot be expressed
+	 */
+	private String getSourceType(TypeMirror type, String packageName) {
+		if (type.getKind().isPrimitive()) {
+			return type.getKind().name().toLowerCase(Locale.ENGLISH);
+		}
+		if (type.getKind() == TypeKind.ARRAY) {
+			String component = getSourceType(((ArrayType) type).getComponentType(),
+					packageName);
+			return (component != null) ? component + "[]" : null;
+		}
+		String className = getClassName(type, packageName);
+		if (className == null) {
+			return null;
+		}
+		List<? extends TypeMirror> typeArguments = ((DeclaredType) type)
+				.getTypeArguments();
+		if (typeArguments.isEmpty()) {
+			return className;
+		}
+		List<String> generics = new ArrayList<>();
+		for (TypeMirror typeArgument : typeArguments) {
+			String generic = getSourceType(typeArgument, packageName);
+			if (generic == null) {
+				return null;
+			}
+			generics.add(generic);
+		}
+		return className + "<" + String.join(", ", generics) + ">";
+	}
+
+	private String getClassName(TypeMirror type, String packageName) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		DeclaredType declaredType = (DeclaredType) type;
+		TypeMirror enclosingType = declaredType.getEnclosingType();
+		if (enclosingType.getKind() == TypeKind.DECLARED
+				&& !((DeclaredType) enclosingType).getTypeArguments().isEmpty()) {
+			return null;
+		}
+		TypeElement element = (TypeElement) declaredType.asElement();
+		if (!isAccessible(element, packageName)) {
+			return null;
+		}
+		return element.getQualifiedName().toString();
+	}
+
+	private static String decapitalize(String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1))
+				&& Character.isUpperCase(name.charAt(0))) {
+			return name;
+		}
+		char[] chars = name.toCharArray();
+		chars[0] = Character.toLowerCase(chars[0]);
+		return new String(chars);
+	}
+
+	private static String toDashedForm(String name) {
+		StringBuilder result = new StringBuilder();
+		for (char ch : name.replace("_", "-").toCharArray()) {
+			if (Character.isUpperCase(ch) && result.length() > 0
+					&& result.charAt(result.length() - 1) != '-') {
+				result.append("-");
+			}
+			result.append(Character.toLowerCase(ch));
+		}
+		return result.toString();
+	}
+
+	/**
+	 * A property of the type for which a binder is generated.
+	 */
+	private final class Property {
+
+		private final String name;
+
+		private ExecutableElement getter;
+
+		private ExecutableElement setter;
+
+		private VariableElement field;
+
+		Property(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Return the code adding this property to the generated binder.
+		 * @param element the bean type
+		 * @param packageName the package of the generated binder
+		 * @return the code or {@code null} if the property cannot be expressed
+		 */
+		String generateCode(TypeElement element, String packageName) {
+			Types types = BeanBinderGenerator.this.env.getTypeUtils();
+			DeclaredType beanType = (DeclaredType) element.asType();
+			ExecutableElement typeSource = (this.setter != null) ? this.setter
+					: this.getter;
+			if (!isUsable(typeSource)) {
+				return null;
+			}
+			ExecutableType methodType = (ExecutableType) types.asMemberOf(beanType,
+					typeSource);
+			TypeMirror type = (this.setter != null)
+					? methodType.getParameterTypes().get(0) : methodType.getReturnType();
+			String resolvableType = getResolvableType(type, packageName);
+			String sourceType = getSourceType(type, packageName);
+			if (resolvableType == null || sourceType == null) {
+				return null;
+			}
+			String getter = "null";
+			if (this.getter != null) {
+				if (!isUsable(this.getter)) {
+					return null;
+				}
+				getter = String.format("(bean) -> bean.%s()",
+						this.getter.getSimpleName());
+			}
+			String setter = "null";
+			if (this.setter != null) {
+				setter = String.format("(bean, value) -> bean.%s((%s) value)",
+						this.setter.getSimpleName(), sourceType);
+			}
+			String field = "null, null";
+			if (this.field != null && !this.field.getAnnotationMirrors().isEmpty()) {
+				TypeElement declaringClass = (TypeElement) this.field
+						.getEnclosingElement();
+				if (!isAccessible(declaringClass, packageName)) {
+					return null;
+				}
+				field = String.format("%s.class, \"%s\"",
+						declaringClass.getQualifiedName(), this.field.getSimpleName());
+			}
+			return String.format(
+					"\t\taddProperty(\"%s\", %s,%n\t\t\t\t%s,%n\t\t\t\t%s,%n"
+							+ "\t\t\t\t%s);%n",
+					toDashedForm(this.name), resolvableType, getter, setter, field);
+		}
+
+		private boolean isUsable(ExecutableElement method) {
+			return method.getTypeParameters().isEmpty()
+					&& method.getThrownTypes().isEmpty();
+		}
+
+	}
+
+}
@@ -20,8 +20,10 @@ import java.io.FileNotFoundException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -62,6 +64,7 @@ import org.springframework.boot.configurationprocessor.metadata.ItemMetadata;
  * @author Phillip Webb
  * @author Kris De Volder
  * @author Jonas Keßler
+ * @author Jonas Berg
  * @since 1.2.0
  */
 @SupportedAnnotationTypes({ "*" })
@@ -70,6 +73,9 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 	static final String ADDITIONAL_METADATA_LOCATIONS_OPTION = "org.springframework.boot."
 			+ "configurationprocessor.additionalMetadataLocations";
 
+	static final String GENERATE_BINDERS_OPTION = "org.springframework.boot."
+			+ "configurationprocessor.generateBinders";
+
 	static final String CONFIGURATION_PROPERTIES_ANNOTATION = "org.springframework.boot."
 			+ "context.properties.ConfigurationProperties";
 
@@ -85,6 +91,9 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 	static final String READ_OPERATION_ANNOTATION = "org.springframework.boot.actuate."
 			+ "endpoint.annotation.ReadOperation";
 
+	static final String GENERATED_BEAN_BINDER_TYPE = "org.springframework.boot."
+			+ "context.properties.bind.GeneratedBeanBinder";
+
 	static final String NULLABLE_ANNOTATION = "org.springframework.lang.Nullable";
 
 	static final String LOMBOK_DATA_ANNOTATION = "lombok.Data";
@@ -95,8 +104,9 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 
 	static final String LOMBOK_ACCESS_LEVEL_PUBLIC = "PUBLIC";
 
-	private static final Set<String> SUPPORTED_OPTIONS = Collections
-			.unmodifiableSet(Collections.singleton(ADDITIONAL_METADATA_LOCATIONS_OPTION));
+	private static final Set<String> SUPPORTED_OPTIONS = Collections.unmodifiableSet(
+			new LinkedHashSet<>(Arrays.asList(ADDITIONAL_METADATA_LOCATIONS_OPTION,
+					GENERATE_BINDERS_OPTION)));
 
 	private MetadataStore metadataStore;
 
@@ -108,6 +118,8 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 
 	private TypeExcludeFilter typeExcludeFilter = new TypeExcludeFilter();
 
+	private BeanBinderGenerator beanBinderGenerator;
+
 	protected String configurationPropertiesAnnotation() {
 		return CONFIGURATION_PROPERTIES_ANNOTATION;
 	}
@@ -128,6 +140,21 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 		return READ_OPERATION_ANNOTATION;
 	}
 
+	protected String generatedBeanBinderType() {
+		return GENERATED_BEAN_BINDER_TYPE;
+	}
+
+	/**
+	 * Return whether binders should be generated for {@code @ConfigurationProperties}
+	 * types so that they can be bound without reflection.
+	 * @return {@code true} if binders should be generated
+	 * @since 2.2.0
+	 */
+	protected boolean isGenerateBinders() {
+		return Boolean.parseBoolean(
+				this.processingEnv.getOptions().get(GENERATE_BINDERS_OPTION));
+	}
+
 	@Override
 	public SourceVersion getSupportedSourceVersion() {
 		return SourceVersion.latestSupported();
@@ -145,6 +172,10 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 		this.metadataStore = new MetadataStore(env);
 		this.metadataCollector = new MetadataCollector(env,
 				this.metadataStore.readMetadata());
+		if (isGenerateBinders()) {
+			this.beanBinderGenerator = new BeanBinderGenerator(env,
+					generatedBeanBinderType());
+		}
 		try {
 			this.fieldValuesParser = new JavaCompilerFieldValuesParser(env);
 		}
@@ -159,6 +190,9 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 	public boolean process(Set<? extends TypeElement> annotations,
 			RoundEnvironment roundEnv) {
 		this.metadataCollector.processing(roundEnv);
+		if (this.beanBinderGenerator != null) {
+			this.beanBinderGenerator.processing(roundEnv);
+		}
 		Elements elementUtils = this.processingEnv.getElementUtils();
 		TypeElement annotationType = elementUtils
 				.getTypeElement(configurationPropertiesAnnotation());
@@ -277,6 +311,9 @@ public class ConfigurationMetadataAnnotationProcessor extends AbstractProcessor
 		processSimpleLombokTypes(prefix, element, source, members, fieldValues);
 		processNestedTypes(prefix, element, source, members);
 		processNestedLombokTypes(prefix, element, source, members);
+		if (this.beanBinderGenerator != null) {
+			this.beanBinderGenerator.generate(element);
+		}
 	}
 
 	private void processSimpleTypes(String prefix, TypeElement element,
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.configurationprocessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.configurationsample.GeneratedBeanBinder;
+import org.springframework.boot.configurationsample.GeneratedBeanBinder.Property;
+import org.springframework.boot.configurationsample.lombok.LombokSimpleProperties;
+import org.springframework.boot.configurationsample.simple.HierarchicalProperties;
+import org.springframework.boot.configurationsample.simple.SimpleArrayProperties;
+import org.springframework.boot.configurationsample.simple.SimpleCollectionProperties;
+import org.springframework.boot.configurationsample.simple.SimpleProperties;
+import org.springframework.boot.configurationsample.specific.GenericConfig;
+import org.springframework.boot.configurationsample.specific.InnerClassProperties;
+import org.springframework.boot.testsupport.compiler.TestCompiler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link BeanBinderGenerator}.
+ *
+ * @author Jonas Berg
+ */
+public class BeanBinderGeneratorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private TestCompiler compiler;
+
+	@Before
+	public void createCompiler() throws IOException {
+		this.compiler = new TestCompiler(this.temporaryFolder);
+	}
+
+	@Test
+	public void bindersAreNotGeneratedByDefault() {
+		this.compiler.getTask(SimpleCollectionProperties.class)
+				.call(new TestConfigurationMetadataAnnotationProcessor(
+						this.compiler.getOutputLocation()));
+		assertThat(getBinderSource(SimpleCollectionProperties.class)).doesNotExist();
+	}
+
+	@Test
+	public void binderOfSimpleCollectionProperties() throws Exception {
+		GeneratedBeanBinder<SimpleCollectionProperties> binder = compileAndLoadBinder(
+				SimpleCollectionProperties.class);
+		assertThat(getNames(binder)).containsExactly("integers-to-names", "longs",
+				"floats", "names-to-integers", "bytes", "doubles", "names-to-holders");
+		assertThat(getProperty(binder, "integers-to-names").getType())
+				.hasToString("java.util.Map<java.lang.Integer, java.lang.String>");
+		assertThat(getProperty(binder, "names-to-holders").getType())
+				.hasToString("java.util.Map<java.lang.String, org.springframework.boot."
+						+ "configurationsample.simple.SimpleCollectionProperties$Holder"
+						+ "<java.lang.String>>");
+		SimpleCollectionProperties bean = binder.createBean();
+		Property<SimpleCollectionProperties> longs = getProperty(binder, "longs");
+		longs.getSetter().accept(bean, Arrays.asList(1L, 2L));
+		assertThat(bean.getLongs()).containsExactly(1L, 2L);
+		assertThat(longs.getGetter().apply(bean)).isSameAs(bean.getLongs());
+		assertThat(getProperty(binder, "doubles").getSetter()).isNull();
+		assertThat(getProperty(binder, "doubles").getFieldDeclaringClass()).isNull();
+	}
+
+	@Test
+	public void binderOfArrayProperties() throws Exception {
+		GeneratedBeanBinder<SimpleArrayProperties> binder = compileAndLoadBinder(
+				SimpleArrayProperties.class);
+		assertThat(getNames(binder)).containsExactly("primitive", "simple", "inner",
+				"name-to-integer");
+		assertThat(getProperty(binder, "primitive").getType().resolve())
+				.isEqualTo(int[].class);
+		assertThat(getProperty(binder, "name-to-integer").getType())
+				.hasToString("java.util.Map<java.lang.String, java.lang.Integer>[]");
+		SimpleArrayProperties bean = binder.createBean();
+		getProperty(binder, "primitive").getSetter().accept(bean, new int[] { 1, 2 });
+		assertThat(bean.getPrimitive()).containsExactly(1, 2);
+	}
+
+	@Test
+	public void binderOfHierarchicalProperties() throws Exception {
+		GeneratedBeanBinder<HierarchicalProperties> binder = compileAndLoadBinder(
+				HierarchicalProperties.class);
+		assertThat(getNames(binder)).containsExactly("third", "second", "first");
+		HierarchicalProperties bean = binder.createBean();
+		getProperty(binder, "first").getSetter().accept(bean, "one");
+		assertThat(bean.getFirst()).isEqualTo("one");
+	}
+
+	@Test
+	public void bindersOfNestedTypes() throws Exception {
+		GeneratedBeanBinder<InnerClassProperties> binder = compileAndLoadBinder(
+				InnerClassProperties.class);
+		assertThat(binder.getType()).isEqualTo(InnerClassProperties.class);
+		assertThat(getNames(binder)).containsExactly("first", "the-second", "third",
+				"fourth");
+		assertThat(getProperty(binder, "first").getSetter()).isNull();
+		Property<InnerClassProperties> third = getProperty(binder, "third");
+		assertThat(third.getFieldDeclaringClass()).isEqualTo(InnerClassProperties.class);
+		assertThat(third.getFieldName()).isEqualTo("third");
+		GeneratedBeanBinder<InnerClassProperties.Foo> fooBinder = loadBinder(
+				InnerClassProperties.Foo.class);
+		assertThat(getNames(fooBinder)).containsExactly("name", "bar");
+		GeneratedBeanBinder<InnerClassProperties.Foo.Bar> barBinder = loadBinder(
+				InnerClassProperties.Foo.Bar.class);
+		assertThat(barBinder.getType()).isEqualTo(InnerClassProperties.Foo.Bar.class);
+		assertThat(getNames(barBinder)).containsExactly("name");
+	}
+
+	@Test
+	public void binderIsNotGeneratedForWildcardPropertyType() {
+		compile(SimpleProperties.class);
+		assertThat(getBinderSource(SimpleProperties.class)).doesNotExist();
+	}
+
+	@Test
+	public void binderIsNotGeneratedForGenericType() {
+		compile(GenericConfig.class);
+		assertThat(getBinderSource(GenericConfig.class)).doesNotExist();
+		assertThat(getBinderSource(GenericConfig.Foo.class)).doesNotExist();
+	}
+
+	@Test
+	public void binderIsNotGeneratedForLombokType() {
+		compile(LombokSimpleProperties.class);
+		assertThat(getBinderSource(LombokSimpleProperties.class)).doesNotExist();
+	}
+
+	private void compile(Class<?>... types) {
+		this.compiler.getTask(types)
+				.call(new TestConfigurationMetadataAnnotationProcessor(
+						this.compiler.getOutputLocation(), true));
+	}
+
+	private <T> GeneratedBeanBinder<T> compileAndLoadBinder(Class<T> type)
+			throws Exception {
+		compile(type);
+		return loadBinder(type);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> GeneratedBeanBinder<T> loadBinder(Class<T> type) throws Exception {
+		assertThat(getBinderSource(type)).isFile();
+		URLClassLoader classLoader = new URLClassLoader(
+				new URL[] { this.compiler.getOutputLocation().toURI().toURL() },
+				getClass().getClassLoader());
+		Class<?> binderType = classLoader.loadClass(getBinderName(type));
+		return (GeneratedBeanBinder<T>) binderType.newInstance();
+	}
+
+	private File getBinderSource(Class<?> type) {
+		return new File(this.compiler.getOutputLocation(),
+				getBinderName(type).replace('.', '/') + ".java");
+	}
+
+	private String getBinderName(Class<?> type) {
+		return type.getName().replace('$', '_') + BeanBinderGenerator.BINDER_SUFFIX;
+	}
+
+	private List<String> getNames(GeneratedBeanBinder<?> binder) {
+		return binder.getProperties().stream().map(Property::getName)
+				.collect(Collectors.toList());
+	}
+
+	private <T> Property<T> getProperty(GeneratedBeanBinder<T> binder, String name) {
+		return binder.getProperties().stream()
+				.filter((property) -> property.getName().equals(name)).findFirst()
+				.orElseThrow(() -> new AssertionError("No property " + name));
+	}
+
+}
@@ -34,6 +34,7 @@ import org.springframework.boot.configurationprocessor.metadata.JsonMarshaller;
  * @author Phillip Webb
  * @author Andy Wilkinson
  * @author Kris De Volder
+ * @author Jonas Berg
  */
 @SupportedAnnotationTypes({ "*" })
 @SupportedSourceVersion(SourceVersion.RELEASE_6)
@@ -50,12 +51,22 @@ public class TestConfigurationMetadataAnnotationProcessor
 
 	static final String READ_OPERATION_ANNOTATION = "org.springframework.boot.configurationsample.ReadOperation";
 
+	static final String GENERATED_BEAN_BINDER_TYPE = "org.springframework.boot.configurationsample.GeneratedBeanBinder";
+
 	private ConfigurationMetadata metadata;
 
 	private final File outputLocation;
 
+	private final boolean generateBinders;
+
 	public TestConfigurationMetadataAnnotationProcessor(File outputLocation) {
+		this(outputLocation, false);
+	}
+
+	public TestConfigurationMetadataAnnotationProcessor(File outputLocation,
+			boolean generateBinders) {
 		this.outputLocation = outputLocation;
+		this.generateBinders = generateBinders;
 	}
 
 	@Override
@@ -83,6 +94,16 @@ public class TestConfigurationMetadataAnnotationProcessor
 		return READ_OPERATION_ANNOTATION;
 	}
 
+	@Override
+	protected String generatedBeanBinderType() {
+		return GENERATED_BEAN_BINDER_TYPE;
+	}
+
+	@Override
+	protected boolean isGenerateBinders() {
+		return this.generateBinders;
+	}
+
 	@Override
 	protected ConfigurationMetadata writeMetaData() throws Exception {
 		super.writeMetaData();
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2012-2017 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.configurationsample;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * Alternative to Spring Boot's {@code GeneratedBeanBinder} for testing (removes the need
+ * for a dependency on the real class).
+ *
+ * @param <T> the bean type
+ * @author Jonas Berg
+ */
+public abstract class GeneratedBeanBinder<T> {
+
+	private final Class<T> type;
+
+	private final Supplier<T> factory;
+
+	private final List<Property<T>> properties = new ArrayList<>();
+
+	protected GeneratedBeanBinder(Class<T> type, Supplier<T> factory) {
+		this.type = type;
+		this.factory = factory;
+	}
+
+	protected final void addProperty(String name, ResolvableType type,
+			Function<T, Object> getter, BiConsumer<T, Object> setter,
+			Class<?> fieldDeclaringClass, String fieldName) {
+		this.properties.add(new Property<>(name, type, getter, setter,
+				fieldDeclaringClass, fieldName));
+	}
+
+	public Class<T> getType() {
+		return this.type;
+	}
+
+	public T createBean() {
+		return this.factory.get();
+	}
+
+	public List<Property<T>> getProperties() {
+		return this.properties;
+	}
+
+	/**
+	 * A property added by a generated binder.
+	 *
+	 * @param <T> the bean type
+	 */
+	public static class Property<T> {
+
+		private final String name;
+
+		private final ResolvableType type;
+
+		private final Function<T, Object> getter;
+
+		private final BiConsumer<T, Object> setter;
+
+		private final Class<?> fieldDeclaringClass;
+
+		private final String fieldName;
+
+		Property(String name, ResolvableType type, Function<T, Object> getter,
+				BiConsumer<T, Object> setter, Class<?> fieldDeclaringClass,
+				String fieldName) {
+			this.name = name;
+			this.type = type;
+			this.getter = getter;
+			this.setter = setter;
+			this.fieldDeclaringClass = fieldDeclaringClass;
+			this.fieldName = fieldName;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public ResolvableType getType() {
+			return this.type;
+		}
+
+		public Function<T, Object> getGetter() {
+			return this.getter;
+		}
+
+		public BiConsumer<T, Object> getSetter() {
+			return this.setter;
+		}
+
+		public Class<?> getFieldDeclaringClass() {
+			return this.fieldDeclaringClass;
+		}
+
+		public String getFieldName() {
+			return this.fieldName;
+		}
+
+	}
+
+}
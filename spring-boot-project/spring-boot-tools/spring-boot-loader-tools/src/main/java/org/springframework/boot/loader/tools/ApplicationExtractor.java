@@ -0,0 +1,173 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Utility class that can be used to extract an executable jar created by the
+ * {@link Repackager} into a directory from which the application can be launched on a
+ * plain class path, without the need for the nested jar support of the launcher. The
+ * application classes are written to an {@code application.jar} file whose manifest
+ * declares the main class and a {@code Class-Path} that lists the libraries held in the
+ * {@code lib} directory. Such a layout can be run with {@code java -jar application.jar}
+ * and, as every class is loaded by the JVM's application class loader, is suitable for
+ * class data sharing.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ * @see ClassDataSharingArchiveGenerator
+ */
+public class ApplicationExtractor {
+
+	/**
+	 * The name of the jar file that holds the application classes.
+	 */
+	public static final String APPLICATION_JAR = "application.jar";
+
+	/**
+	 * The name of the directory that holds the libraries.
+	 */
+	public static final String LIB_DIRECTORY = "lib";
+
+	private static final String START_CLASS_ATTRIBUTE = "Start-Class";
+
+	private static final String BOOT_CLASSES_ATTRIBUTE = "Spring-Boot-Classes";
+
+	private static final String BOOT_ATTRIBUTE_PREFIX = "Spring-Boot-";
+
+	private final File source;
+
+	/**
+	 * Create a new {@link ApplicationExtractor} instance.
+	 * @param source the executable jar to extract
+	 */
+	public ApplicationExtractor(File source) {
+		Assert.notNull(source, "Source file must not be null");
+		Assert.isTrue(source.exists() && source.isFile(),
+				"Source must refer to an existing file");
+		this.source = source;
+	}
+
+	/**
+	 * Extract the application to the given directory.
+	 * @param destination the destination directory
+	 * @return the extracted {@code application.jar} file
+	 * @throws IOException if the application cannot be extracted
+	 */
+	public File extract(File destination) throws IOException {
+		Assert.notNull(destination, "Destination must not be null");
+		File lib = new File(destination, LIB_DIRECTORY);
+		if (!lib.isDirectory() && !lib.mkdirs()) {
+			throw new IOException("Unable to create directory " + lib);
+		}
+		File application = new File(destination, APPLICATION_JAR);
+		try (JarFile jarFile = new JarFile(this.source)) {
+			Manifest manifest = jarFile.getManifest();
+			String classesLocation = getRequiredAttribute(manifest,
+					BOOT_CLASSES_ATTRIBUTE);
+			List<String> classPath = extractLibraries(jarFile, classesLocation, lib);
+			try (JarWriter writer = new JarWriter(application)) {
+				writer.writeManifest(createManifest(manifest, classPath));
+				writeApplicationClasses(jarFile, classesLocation, writer);
+			}
+		}
+		return application;
+	}
+
+	private String getRequiredAttribute(Manifest manifest, String name) {
+		String value = (manifest != null) ? manifest.getMainAttributes().getValue(name)
+				: null;
+		Assert.state(value != null, () -> "Unable to extract " + this.source
+				+ " as its manifest has no '" + name + "' attribute");
+		return value;
+	}
+
+	private List<String> extractLibraries(JarFile jarFile, String classesLocation,
+			File lib) throws IOException {
+		List<String> classPath = new ArrayList<>();
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			if (isLibrary(entry, classesLocation)) {
+				String name = entry.getName()
+						.substring(entry.getName().lastIndexOf('/') + 1);
+				try (InputStream inputStream = jarFile.getInputStream(entry);
+						OutputStream outputStream = new FileOutputStream(
+								new File(lib, name))) {
+					StreamUtils.copy(inputStream, outputStream);
+				}
+				classPath.add(LIB_DIRECTORY + "/" + name);
+			}
+		}
+		return classPath;
+	}
+
+	private boolean isLibrary(JarEntry entry, String classesLocation) {
+		String name = entry.getName();
+		return !entry.isDirectory() && name.endsWith(".jar")
+				&& !name.startsWith(classesLocation)
+				&& name.substring(0, name.lastIndexOf('/') + 1).endsWith("/lib/");
+	}
+
+	private Manifest createManifest(Manifest source, List<String> classPath) {
+		Manifest manifest = new Manifest(source);
+		Attributes attributes = manifest.getMainAttributes();
+		Iterator<Object> names = attributes.keySet().iterator();
+		while (names.hasNext()) {
+			if (names.next().toString().startsWith(BOOT_ATTRIBUTE_PREFIX)) {
+				names.remove();
+			}
+		}
+		attributes.putValue("Main-Class",
+				getRequiredAttribute(source, START_CLASS_ATTRIBUTE));
+		attributes.remove(new Attributes.Name(START_CLASS_ATTRIBUTE));
+		if (!classPath.isEmpty()) {
+			attributes.put(Attributes.Name.CLASS_PATH, String.join(" ", classPath));
+		}
+		return manifest;
+	}
+
+	private void writeApplicationClasses(JarFile jarFile, String classesLocation,
+			JarWriter writer) throws IOException {
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			String name = entry.getName();
+			if (!entry.isDirectory() && name.startsWith(classesLocation)) {
+				writer.writeEntry(name.substring(classesLocation.length()),
+						jarFile.getInputStream(entry));
+			}
+		}
+	}
+
+}
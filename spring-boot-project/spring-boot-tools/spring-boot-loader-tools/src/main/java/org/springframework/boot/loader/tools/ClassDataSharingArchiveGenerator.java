@@ -0,0 +1,172 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Generates an application class data sharing (AppCDS) archive for an application that
+ * has been extracted by an {@link ApplicationExtractor}. The application is first run
+ * until its context has been refreshed, recording the list of the classes that it loaded.
+ * The class list is then used to dump a shared archive that is written alongside the
+ * extracted application, together with an argument file that launches the application
+ * with the archive: {@code java @application.args}.
+ * <p>
+ * Application class data sharing requires Java 11 or later and the archive can only be
+ * used by the same JVM that created it.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public class ClassDataSharingArchiveGenerator {
+
+	/**
+	 * The name of the file to which the list of loaded classes is written.
+	 */
+	public static final String CLASS_LIST = "application.classlist";
+
+	/**
+	 * The name of the shared archive file.
+	 */
+	public static final String ARCHIVE = "application.jsa";
+
+	/**
+	 * The name of the argument file that launches the application with the archive.
+	 */
+	public static final String ARGUMENTS_FILE = "application.args";
+
+	private static final String EXIT_ON_REFRESH = "-Dspring.context.exit=onRefresh";
+
+	private final File directory;
+
+	private final JavaExecutable javaExecutable;
+
+	private List<String> jvmArguments = Collections.emptyList();
+
+	private List<String> arguments = Collections.emptyList();
+
+	/**
+	 * Create a new {@link ClassDataSharingArchiveGenerator} instance.
+	 * @param directory the directory to which the application was extracted
+	 */
+	public ClassDataSharingArchiveGenerator(File directory) {
+		this(directory, new JavaExecutable());
+	}
+
+	/**
+	 * Create a new {@link ClassDataSharingArchiveGenerator} instance.
+	 * @param directory the directory to which the application was extracted
+	 * @param javaExecutable the java executable used to run the application and to create
+	 * the archive
+	 */
+	public ClassDataSharingArchiveGenerator(File directory,
+			JavaExecutable javaExecutable) {
+		Assert.notNull(directory, "Directory must not be null");
+		Assert.notNull(javaExecutable, "JavaExecutable must not be null");
+		this.directory = directory;
+		this.javaExecutable = javaExecutable;
+	}
+
+	/**
+	 * Sets the JVM arguments to use when running the application to record the classes
+	 * that it loads.
+	 * @param jvmArguments the JVM arguments
+	 */
+	public void setJvmArguments(List<String> jvmArguments) {
+		this.jvmArguments = (jvmArguments != null) ? jvmArguments
+				: Collections.emptyList();
+	}
+
+	/**
+	 * Sets the application arguments to use when running the application to record the
+	 * classes that it loads.
+	 * @param arguments the application arguments
+	 */
+	public void setArguments(List<String> arguments) {
+		this.arguments = (arguments != null) ? arguments : Collections.emptyList();
+	}
+
+	/**
+	 * Generate the archive.
+	 * @return the archive file
+	 * @throws IOException if the archive cannot be generated
+	 */
+	public File generate() throws IOException {
+		File application = new File(this.directory, ApplicationExtractor.APPLICATION_JAR);
+		Assert.state(application.isFile(),
+				() -> "Unable to find " + application + ". Has it been extracted?");
+		File classList = new File(this.directory, CLASS_LIST);
+		File archive = new File(this.directory, ARCHIVE);
+		Files.deleteIfExists(classList.toPath());
+		Files.deleteIfExists(archive.toPath());
+		run(getClassListArguments(), "record the classes loaded by the application");
+		Assert.state(classList.isFile(), "No class list was recorded");
+		run(getDumpArguments(), "dump the shared archive");
+		Assert.state(archive.isFile(), "No shared archive was created");
+		Files.write(new File(this.directory, ARGUMENTS_FILE).toPath(),
+				getLaunchArguments(), StandardCharsets.UTF_8);
+		return archive;
+	}
+
+	List<String> getClassListArguments() {
+		List<String> arguments = new ArrayList<>();
+		arguments.add("-Xshare:off");
+		arguments.add("-XX:DumpLoadedClassList=" + CLASS_LIST);
+		arguments.add(EXIT_ON_REFRESH);
+		arguments.addAll(this.jvmArguments);
+		arguments.add("-jar");
+		arguments.add(ApplicationExtractor.APPLICATION_JAR);
+		arguments.addAll(this.arguments);
+		return arguments;
+	}
+
+	List<String> getDumpArguments() {
+		return Arrays.asList("-Xshare:dump", "-XX:SharedClassListFile=" + CLASS_LIST,
+				"-XX:SharedArchiveFile=" + ARCHIVE, "-cp",
+				ApplicationExtractor.APPLICATION_JAR);
+	}
+
+	/**
+	 * Returns the arguments that launch the application with the archive. The arguments
+	 * are relative to the directory to which the application was extracted.
+	 * @return the launch arguments
+	 */
+	public List<String> getLaunchArguments() {
+		return Arrays.asList("-XX:SharedArchiveFile=" + ARCHIVE, "-Xshare:auto", "-jar",
+				ApplicationExtractor.APPLICATION_JAR);
+	}
+
+	private void run(List<String> arguments, String description) throws IOException {
+		RunProcess process = new RunProcess(this.directory,
+				this.javaExecutable.toString());
+		int exitCode = process.run(true, arguments, Collections.emptyMap());
+		if (exitCode != 0) {
+			throw new IOException("Failed to " + description
+					+ ". Process exited with code " + exitCode);
+		}
+	}
+
+}
@@ -27,14 +27,24 @@ import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.jar.JarInputStream;
@@ -65,6 +75,10 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	private final Set<String> writtenEntries = new HashSet<>();
 
+	private final NestedLibraryIndex nestedLibraryIndex = new NestedLibraryIndex();
+
+	private final long lastModifiedTime;
+
 	/**
 	 * Create a new {@link JarWriter} instance.
 	 * @param file the file to write
@@ -84,6 +98,23 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	public JarWriter(File file, LaunchScript launchScript)
 			throws FileNotFoundException, IOException {
+		this(file, launchScript, null);
+	}
+
+	/**
+	 * Create a new {@link JarWriter} instance.
+	 * @param file the file to write
+	 * @param launchScript an optional launch script to prepend to the front of the jar
+	 * @param lastModifiedTime an optional last modified time to apply to all of the
+	 * entries, allowing the same content to always produce the same jar
+	 * @throws IOException if the file cannot be opened
+	 * @throws FileNotFoundException if the file cannot be found
+	 * @since 2.2.0
+	 */
+	public JarWriter(File file, LaunchScript launchScript, FileTime lastModifiedTime)
+			throws FileNotFoundException, IOException {
+		this.lastModifiedTime = (lastModifiedTime != null)
+				? toDosTime(lastModifiedTime.toMillis()) : -1;
 		FileOutputStream fileOutputStream = new FileOutputStream(file);
 		if (launchScript != null) {
 			fileOutputStream.write(launchScript.toByteArray());
@@ -93,6 +124,11 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		this.jarOutput.setEncoding("UTF-8");
 	}
 
+	private long toDosTime(long time) {
+		// Zip entries hold local time so adjust to produce the same entries in any zone
+		return time - TimeZone.getDefault().getOffset(time);
+	}
+
 	private void setExecutableFilePermission(File file) {
 		try {
 			Path path = file.toPath();
@@ -178,15 +214,116 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 	 */
 	public void writeNestedLibrary(String destination, Library library)
 			throws IOException {
+		writeNestedLibrary(
+				prepareNestedLibrary(destination + library.getName(), library));
+	}
+
+	/**
+	 * Write nested libraries in the iteration order of the given map. When
+	 * {@code parallel} is {@code true} the CRC, size, timestamp and index of each library
+	 * are computed concurrently, by a pool with a thread per available processor that
+	 * only lives for the duration of the call, and each library is streamed into the jar
+	 * as soon as it, and every library before it, is ready.
+	 * @param libraries the libraries to write, keyed by entry name
+	 * @param parallel if libraries should be prepared concurrently
+	 * @throws IOException if the write fails
+	 */
+	void writeNestedLibraries(Map<String, Library> libraries, boolean parallel)
+			throws IOException {
+		if (!parallel) {
+			for (Map.Entry<String, Library> entry : libraries.entrySet()) {
+				writeNestedLibrary(
+						prepareNestedLibrary(entry.getKey(), entry.getValue()));
+			}
+			return;
+		}
+		int threads = Math.max(1, Math.min(libraries.size(),
+				Runtime.getRuntime().availableProcessors()));
+		ExecutorService executor = Executors.newFixedThreadPool(threads,
+				this::createLibraryThread);
+		List<CompletableFuture<NestedLibrary>> preparedLibraries = new ArrayList<>();
+		try {
+			for (Map.Entry<String, Library> entry : libraries.entrySet()) {
+				preparedLibraries.add(CompletableFuture.supplyAsync(() -> {
+					try {
+						return prepareNestedLibrary(entry.getKey(), entry.getValue());
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+				}, executor));
+			}
+			for (CompletableFuture<NestedLibrary> preparedLibrary : preparedLibraries) {
+				writeNestedLibrary(join(preparedLibrary));
+			}
+		}
+		finally {
+			preparedLibraries.forEach((preparedLibrary) -> preparedLibrary.cancel(false));
+			executor.shutdownNow();
+		}
+	}
+
+	private Thread createLibraryThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, "nested-library-preparation");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	private NestedLibrary join(CompletableFuture<NestedLibrary> preparedLibrary)
+			throws IOException {
+		try {
+			return preparedLibrary.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof UncheckedIOException) {
+				throw ((UncheckedIOException) ex.getCause()).getCause();
+			}
+			throw ex;
+		}
+	}
+
+	private NestedLibrary prepareNestedLibrary(String name, Library library)
+			throws IOException {
 		File file = library.getFile();
-		JarArchiveEntry entry = new JarArchiveEntry(destination + library.getName());
+		JarArchiveEntry entry = new JarArchiveEntry(name);
 		entry.setTime(getNestedLibraryTime(file));
 		new CrcAndSize(file).setupStoredEntry(entry);
-		writeEntry(entry, new InputStreamEntryWriter(new FileInputStream(file), true),
-				new LibraryUnpackHandler(library));
+		if (library.isUnpackRequired()) {
+			entry.setComment("UNPACK:" + FileUtils.sha1Hash(file));
+		}
+		return new NestedLibrary(entry, file,
+				NestedLibraryIndex.read(entry.getCrc(), file));
+	}
+
+	private void writeNestedLibrary(NestedLibrary library) throws IOException {
+		JarArchiveEntry entry = library.getEntry();
+		this.nestedLibraryIndex.add(entry.getName(), library.getIndexEntry());
+		writeEntry(entry,
+				new InputStreamEntryWriter(new FileInputStream(library.getFile()), true));
+	}
+
+	/**
+	 * Write an index of the central directories of the nested libraries that have been
+	 * written. The index allows the launcher to open nested libraries without parsing
+	 * their central directory. Nothing is written if no libraries have been indexed.
+	 * @throws IOException if the write fails
+	 * @since 2.2.0
+	 */
+	public void writeNestedLibraryIndex() throws IOException {
+		if (this.nestedLibraryIndex.isEmpty()) {
+			return;
+		}
+		byte[] bytes = this.nestedLibraryIndex.toByteArray();
+		JarArchiveEntry entry = new JarArchiveEntry(NestedLibraryIndex.ENTRY_NAME);
+		new CrcAndSize(new ByteArrayInputStream(bytes)).setupStoredEntry(entry);
+		writeEntry(entry,
+				new InputStreamEntryWriter(new ByteArrayInputStream(bytes), true));
 	}
 
 	private long getNestedLibraryTime(File file) {
+		if (this.lastModifiedTime != -1) {
+			return this.lastModifiedTime;
+		}
 		try {
 			try (JarFile jarFile = new JarFile(file)) {
 				Enumeration<JarEntry> entries = jarFile.entries();
@@ -274,6 +411,9 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 		}
 
 		if (this.writtenEntries.add(entry.getName())) {
+			if (this.lastModifiedTime != -1) {
+				entry.setTime(this.lastModifiedTime);
+			}
 			entryWriter = addUnpackCommentIfNecessary(entry, entryWriter, unpackHandler);
 			this.jarOutput.putArchiveEntry(entry);
 			if (entryWriter != null) {
@@ -413,6 +553,38 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	}
 
+	/**
+	 * A nested library that is ready to be written.
+	 */
+	private static final class NestedLibrary {
+
+		private final JarArchiveEntry entry;
+
+		private final File file;
+
+		private final NestedLibraryIndex.Entry indexEntry;
+
+		private NestedLibrary(JarArchiveEntry entry, File file,
+				NestedLibraryIndex.Entry indexEntry) {
+			this.entry = entry;
+			this.file = file;
+			this.indexEntry = indexEntry;
+		}
+
+		JarArchiveEntry getEntry() {
+			return this.entry;
+		}
+
+		File getFile() {
+			return this.file;
+		}
+
+		NestedLibraryIndex.Entry getIndexEntry() {
+			return this.indexEntry;
+		}
+
+	}
+
 	/**
 	 * Data holder for CRC and Size.
 	 */
@@ -498,24 +670,4 @@ public class JarWriter implements LoaderClassesWriter, AutoCloseable {
 
 	}
 
-	private static final class LibraryUnpackHandler implements UnpackHandler {
-
-		private final Library library;
-
-		private LibraryUnpackHandler(Library library) {
-			this.library = library;
-		}
-
-		@Override
-		public boolean requiresUnpack(String name) {
-			return this.library.isUnpackRequired();
-		}
-
-		@Override
-		public String sha1Hash(String name) throws IOException {
-			return FileUtils.sha1Hash(this.library.getFile());
-		}
-
-	}
-
 }
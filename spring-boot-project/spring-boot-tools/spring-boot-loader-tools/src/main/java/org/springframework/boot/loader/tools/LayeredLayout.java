@@ -0,0 +1,49 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A specialization of {@link RepackagingLayout} that splits the content of an archive
+ * into layers, each held in its own directory, so that an extracted archive can be added
+ * to a container image one layer at a time. The layers are described by an index that is
+ * written to the archive.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public interface LayeredLayout extends RepackagingLayout {
+
+	/**
+	 * Returns the location of the layer index within the archive.
+	 * @return the layer index location
+	 */
+	String getLayerIndexLocation();
+
+	/**
+	 * Returns the layers of the archive, keyed by name, with the locations of the
+	 * content that each one holds. A location that ends with {@code /} is a directory,
+	 * any other location is a single entry. Every entry of the archive belongs to
+	 * exactly one layer: the layer of the longest location that matches it. Layers are returned in the order in which they should be added
+	 * to an image, from the least to the most frequently changed.
+	 * @return the layers
+	 */
+	Map<String, List<String>> getLayers();
+
+}
@@ -17,8 +17,11 @@
 package org.springframework.boot.loader.tools;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 
@@ -88,6 +91,70 @@ public final class Layouts {
 
 	}
 
+	/**
+	 * Executable layered JAR layout. Dependencies, snapshot dependencies and application
+	 * classes are each held in their own directory beneath {@code BOOT-INF/layers/}. The
+	 * loader classes remain at the root of the archive and form the first layer, so that
+	 * an archive that has been extracted one layer at a time can still be launched. The
+	 * layer index belongs to the dependencies, the index of the nested jars changes with
+	 * any dependency and belongs to the snapshot dependencies, and the rest of the
+	 * {@code META-INF} directory belongs to the application.
+	 */
+	public static class LayeredJar extends Jar implements LayeredLayout {
+
+		private static final String LAYERS_LOCATION = "BOOT-INF/layers/";
+
+		private static final String LAYER_INDEX_LOCATION = "BOOT-INF/layers.idx";
+
+		private static final String LOADER = "spring-boot-loader";
+
+		private static final String DEPENDENCIES = "dependencies";
+
+		private static final String SNAPSHOT_DEPENDENCIES = "snapshot-dependencies";
+
+		private static final String APPLICATION = "application";
+
+		private static final Map<String, List<String>> LAYERS;
+
+		static {
+			Map<String, List<String>> layers = new LinkedHashMap<>();
+			layers.put(LOADER,
+					Collections.singletonList("org/springframework/boot/loader/"));
+			layers.put(DEPENDENCIES, Collections.unmodifiableList(Arrays.asList(
+					LAYERS_LOCATION + DEPENDENCIES + "/", LAYER_INDEX_LOCATION)));
+			layers.put(SNAPSHOT_DEPENDENCIES,
+					Collections.unmodifiableList(
+							Arrays.asList(LAYERS_LOCATION + SNAPSHOT_DEPENDENCIES + "/",
+									NestedLibraryIndex.ENTRY_NAME)));
+			layers.put(APPLICATION, Collections.unmodifiableList(
+					Arrays.asList(LAYERS_LOCATION + APPLICATION + "/", "META-INF/")));
+			LAYERS = Collections.unmodifiableMap(layers);
+		}
+
+		@Override
+		public String getLibraryDestination(String libraryName, LibraryScope scope) {
+			String layer = libraryName.contains("SNAPSHOT") ? SNAPSHOT_DEPENDENCIES
+					: DEPENDENCIES;
+			return LAYERS_LOCATION + layer + "/lib/";
+		}
+
+		@Override
+		public String getRepackagedClassesLocation() {
+			return LAYERS_LOCATION + APPLICATION + "/classes/";
+		}
+
+		@Override
+		public String getLayerIndexLocation() {
+			return LAYER_INDEX_LOCATION;
+		}
+
+		@Override
+		public Map<String, List<String>> getLayers() {
+			return LAYERS;
+		}
+
+	}
+
 	/**
 	 * Executable expanded archive layout.
 	 */
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Index of the central directories of nested libraries, written to a repackaged archive
+ * so that the launcher can open nested jars without parsing their central directory. For
+ * each library the index records the hash code of each entry name, the offset of its
+ * central directory record and its original position, sorted by hash code in the same way
+ * as the loader's {@code JarFileEntries}.
+ *
+ * @author Jonas Berg
+ */
+class NestedLibraryIndex {
+
+	static final String ENTRY_NAME = "META-INF/spring-boot-nested-jars.idx";
+
+	private static final int MAGIC = 0x53424E4A;
+
+	private static final int VERSION = 1;
+
+	private static final int END_RECORD_SIGNATURE = 0x06054b50;
+
+	private static final int END_RECORD_MINIMUM_SIZE = 22;
+
+	private static final int END_RECORD_MAXIMUM_SIZE = END_RECORD_MINIMUM_SIZE + 0xFFFF;
+
+	private static final int CENTRAL_DIRECTORY_HEADER_BASE_SIZE = 46;
+
+	private static final int[] INITIAL_BYTE_BITMASK = { 0x7F, 0x1F, 0x0F, 0x07 };
+
+	private static final int SUBSEQUENT_BYTE_BITMASK = 0x3F;
+
+	private static final byte[] SIGNATURE_FILE_PREFIX = "META-INF/".getBytes();
+
+	private static final byte[] SIGNATURE_FILE_SUFFIX = ".SF".getBytes();
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	/**
+	 * Add the library with the given name to the index. Libraries that cannot be indexed,
+	 * for example because they have prefix bytes or use Zip64, are ignored.
+	 * @param name the name of the library's entry
+	 * @param crc the CRC of the library
+	 * @param file the library file
+	 */
+	void add(String name, long crc, File file) {
+		add(name, read(crc, file));
+	}
+
+	/**
+	 * Add a library that has already been {@link #read(long, File) read} to the index.
+	 * @param name the name of the library's entry
+	 * @param entry the index entry or {@code null} if the library could not be indexed
+	 */
+	void add(String name, Entry entry) {
+		if (entry != null) {
+			this.entries.put(name, entry);
+		}
+	}
+
+	/**
+	 * Read the index entry of the given library. May be called concurrently.
+	 * @param crc the CRC of the library
+	 * @param file the library file
+	 * @return the index entry or {@code null} if the library cannot be indexed
+	 */
+	static Entry read(long crc, File file) {
+		try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+			return Entry.read(crc, input);
+		}
+		catch (IOException | RuntimeException ex) {
+			// Ignore and let the launcher parse the central directory
+			return null;
+		}
+	}
+
+	boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	byte[] toByteArray() throws IOException {
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream headerOutput = new DataOutputStream(header);
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		DataOutputStream dataOutput = new DataOutputStream(data);
+		headerOutput.writeInt(this.entries.size());
+		for (Map.Entry<String, Entry> entry : this.entries.entrySet()) {
+			headerOutput.writeUTF(entry.getKey());
+			entry.getValue().write(headerOutput, dataOutput);
+		}
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(result);
+		output.writeInt(MAGIC);
+		output.writeInt(VERSION);
+		output.writeInt(header.size());
+		header.writeTo(output);
+		data.writeTo(output);
+		output.flush();
+		return result.toByteArray();
+	}
+
+	private static int getNumberOfUtfBytes(int b) {
+		if ((b & 0x80) == 0) {
+			return 1;
+		}
+		int numberOfUtfBytes = 0;
+		while ((b & 0x80) != 0) {
+			b <<= 1;
+			numberOfUtfBytes++;
+		}
+		return numberOfUtfBytes;
+	}
+
+	private static int hashCode(byte[] bytes, int offset, int length) {
+		// Must remain compatible with the loader's AsciiBytes.hashCode()
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) {
+			int b = bytes[i];
+			int remainingUtfBytes = getNumberOfUtfBytes(b) - 1;
+			b &= INITIAL_BYTE_BITMASK[remainingUtfBytes];
+			for (int j = 0; j < remainingUtfBytes; j++) {
+				b = (b << 6) + (bytes[++i] & SUBSEQUENT_BYTE_BITMASK);
+			}
+			if (b <= 0xFFFF) {
+				hash = 31 * hash + b;
+			}
+			else {
+				hash = 31 * hash + ((b >> 0xA) + 0xD7C0);
+				hash = 31 * hash + ((b & 0x3FF) + 0xDC00);
+			}
+		}
+		return hash;
+	}
+
+	private static int littleEndianValue(byte[] bytes, int offset, int length) {
+		int value = 0;
+		for (int i = length - 1; i >= 0; i--) {
+			value = ((value << 8) | (bytes[offset + i] & 0xFF));
+		}
+		return value;
+	}
+
+	private static boolean regionMatches(byte[] bytes, int offset, byte[] other) {
+		if (offset < 0 || offset + other.length > bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < other.length; i++) {
+			if (bytes[offset + i] != other[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The indexed central directory of a single library.
+	 */
+	static final class Entry {
+
+		private final long crc;
+
+		private final int numberOfRecords;
+
+		private final int centralDirectorySize;
+
+		private final boolean signed;
+
+		private final int[] hashCodes;
+
+		private final int[] centralDirectoryOffsets;
+
+		private final int[] positions;
+
+		private Entry(long crc, int numberOfRecords, int centralDirectorySize,
+				boolean signed, int[] hashCodes, int[] centralDirectoryOffsets,
+				int[] positions) {
+			this.crc = crc;
+			this.numberOfRecords = numberOfRecords;
+			this.centralDirectorySize = centralDirectorySize;
+			this.signed = signed;
+			this.hashCodes = hashCodes;
+			this.centralDirectoryOffsets = centralDirectoryOffsets;
+			this.positions = positions;
+		}
+
+		private void write(DataOutputStream header, DataOutputStream data)
+				throws IOException {
+			header.writeLong(this.crc);
+			header.writeInt(this.numberOfRecords);
+			header.writeInt(this.centralDirectorySize);
+			header.writeBoolean(this.signed);
+			header.writeInt(this.hashCodes.length);
+			write(data, this.hashCodes);
+			write(data, this.centralDirectoryOffsets);
+			write(data, this.positions);
+		}
+
+		private void write(DataOutputStream output, int[] values) throws IOException {
+			for (int value : values) {
+				output.writeInt(value);
+			}
+		}
+
+		private static Entry read(long crc, RandomAccessFile input) throws IOException {
+			int length = (int) Math.min(input.length(), END_RECORD_MAXIMUM_SIZE);
+			byte[] block = new byte[length];
+			input.seek(input.length() - length);
+			input.readFully(block);
+			int endRecordOffset = findEndRecord(block);
+			if (endRecordOffset == -1) {
+				return null;
+			}
+			int numberOfRecords = littleEndianValue(block, endRecordOffset + 10, 2);
+			int centralDirectorySize = littleEndianValue(block, endRecordOffset + 12, 4);
+			long centralDirectoryOffset = littleEndianValue(block, endRecordOffset + 16,
+					4) & 0xFFFFFFFFL;
+			long actualOffset = input.length() - (length - endRecordOffset)
+					- centralDirectorySize;
+			if (numberOfRecords == 0xFFFF || centralDirectorySize < 0
+					|| actualOffset != centralDirectoryOffset) {
+				return null;
+			}
+			byte[] centralDirectory = new byte[centralDirectorySize];
+			input.seek(centralDirectoryOffset);
+			input.readFully(centralDirectory);
+			return read(crc, numberOfRecords, centralDirectory);
+		}
+
+		private static int findEndRecord(byte[] block) {
+			for (int size = END_RECORD_MINIMUM_SIZE; size <= block.length; size++) {
+				int offset = block.length - size;
+				if (littleEndianValue(block, offset, 4) == END_RECORD_SIGNATURE
+						&& size == END_RECORD_MINIMUM_SIZE
+								+ littleEndianValue(block, offset + 20, 2)) {
+					return offset;
+				}
+			}
+			return -1;
+		}
+
+		private static Entry read(long crc, int numberOfRecords,
+				byte[] centralDirectory) {
+			int[] hashCodes = new int[numberOfRecords];
+			int[] centralDirectoryOffsets = new int[numberOfRecords];
+			boolean signed = false;
+			int dataOffset = 0;
+			for (int i = 0; i < numberOfRecords; i++) {
+				int nameLength = littleEndianValue(centralDirectory, dataOffset + 28, 2);
+				int extraLength = littleEndianValue(centralDirectory, dataOffset + 30, 2);
+				int commentLength = littleEndianValue(centralDirectory, dataOffset + 32,
+						2);
+				int nameOffset = dataOffset + CENTRAL_DIRECTORY_HEADER_BASE_SIZE;
+				hashCodes[i] = NestedLibraryIndex.hashCode(centralDirectory, nameOffset,
+						nameLength);
+				centralDirectoryOffsets[i] = dataOffset;
+				signed = signed || (regionMatches(centralDirectory, nameOffset,
+						SIGNATURE_FILE_PREFIX)
+						&& regionMatches(centralDirectory,
+								nameOffset + nameLength - SIGNATURE_FILE_SUFFIX.length,
+								SIGNATURE_FILE_SUFFIX));
+				dataOffset = nameOffset + nameLength + extraLength + commentLength;
+			}
+			Integer[] order = new Integer[numberOfRecords];
+			for (int i = 0; i < numberOfRecords; i++) {
+				order[i] = i;
+			}
+			Arrays.sort(order, Comparator.comparingInt((Integer i) -> hashCodes[i]));
+			int[] sortedHashCodes = new int[numberOfRecords];
+			int[] sortedCentralDirectoryOffsets = new int[numberOfRecords];
+			int[] positions = new int[numberOfRecords];
+			for (int i = 0; i < numberOfRecords; i++) {
+				sortedHashCodes[i] = hashCodes[order[i]];
+				sortedCentralDirectoryOffsets[i] = centralDirectoryOffsets[order[i]];
+				positions[order[i]] = i;
+			}
+			return new Entry(crc, numberOfRecords, centralDirectory.length, signed,
+					sortedHashCodes, sortedCentralDirectoryOffsets, positions);
+		}
+
+	}
+
+}
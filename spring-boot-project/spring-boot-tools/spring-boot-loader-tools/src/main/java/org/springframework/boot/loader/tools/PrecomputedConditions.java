@@ -0,0 +1,223 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * The outcomes of the class presence checks of auto-configuration conditions, evaluated
+ * against the class path of a repackaged archive. For each auto-configuration candidate
+ * whose {@code @ConditionalOnClass}, {@code @ConditionalOnBean} or
+ * {@code @ConditionalOnSingleCandidate} types are recorded in the auto-configuration
+ * metadata, the types that are missing from the archive are written beneath a
+ * {@code <condition>.Missing} key. At runtime, the auto-configuration import filters use
+ * these outcomes rather than checking the presence of each type.
+ * <p>
+ * Whether the JDK supplies a type depends on the JVM that runs the application rather
+ * than on the one that packages it. A condition that names a type that is not in the
+ * archive and that the JDK might supply is therefore not precomputed and is left to be
+ * evaluated at runtime.
+ *
+ * @author Jonas Berg
+ */
+class PrecomputedConditions {
+
+	static final String ENTRY_NAME = "META-INF/spring-autoconfigure-precomputed.properties";
+
+	private static final String FACTORIES = "META-INF/spring.factories";
+
+	private static final String METADATA = "META-INF/spring-autoconfigure-metadata.properties";
+
+	private static final String AUTO_CONFIGURATION_KEY = "org.springframework.boot.autoconfigure.EnableAutoConfiguration";
+
+	private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+	private static final String[] CONDITIONS = { "ConditionalOnClass",
+			"ConditionalOnBean", "ConditionalOnSingleCandidate" };
+
+	private static final String[] JDK_PACKAGE_PREFIXES = { "java.", "javax.", "jdk.",
+			"sun.", "com.sun.", "org.ietf.", "org.omg.", "org.w3c.", "org.xml." };
+
+	private final Set<String> classes = new HashSet<>();
+
+	private final Set<String> candidates = new LinkedHashSet<>();
+
+	private final Properties metadata = new Properties();
+
+	private final ClassLoader jdkClassLoader;
+
+	PrecomputedConditions() {
+		this(ClassLoader.getSystemClassLoader().getParent());
+	}
+
+	PrecomputedConditions(ClassLoader jdkClassLoader) {
+		Assert.notNull(jdkClassLoader, "JdkClassLoader must not be null");
+		this.jdkClassLoader = jdkClassLoader;
+	}
+
+	/**
+	 * Add the content of the given jar file, found beneath the given location.
+	 * @param jarFile the jar file
+	 * @param location the location of the class path root within the jar file
+	 * @throws IOException if the jar file cannot be read
+	 */
+	void add(JarFile jarFile, String location) throws IOException {
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			if (entry.getName().startsWith(location)) {
+				add(jarFile, entry, entry.getName().substring(location.length()));
+			}
+		}
+	}
+
+	/**
+	 * Add the content of the given library.
+	 * @param library the library file
+	 * @throws IOException if the library cannot be read
+	 */
+	void add(File library) throws IOException {
+		try (JarFile jarFile = new JarFile(library)) {
+			add(jarFile, "");
+		}
+	}
+
+	private void add(JarFile jarFile, JarEntry entry, String name) throws IOException {
+		if (name.endsWith(".class")) {
+			this.classes.add(getClassName(name));
+		}
+		else if (name.equals(FACTORIES)) {
+			String candidates = load(jarFile, entry).getProperty(AUTO_CONFIGURATION_KEY);
+			for (String candidate : StringUtils
+					.commaDelimitedListToStringArray(candidates)) {
+				this.candidates.add(candidate.trim());
+			}
+		}
+		else if (name.equals(METADATA)) {
+			this.metadata.putAll(load(jarFile, entry));
+		}
+	}
+
+	private String getClassName(String name) {
+		if (name.startsWith(VERSIONS_PREFIX)) {
+			name = name.substring(name.indexOf('/', VERSIONS_PREFIX.length()) + 1);
+		}
+		return name.substring(0, name.length() - ".class".length()).replace('/', '.');
+	}
+
+	private Properties load(JarFile jarFile, JarEntry entry) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream inputStream = jarFile.getInputStream(entry)) {
+			properties.load(inputStream);
+		}
+		return properties;
+	}
+
+	/**
+	 * Return if any outcomes can be precomputed.
+	 * @return if there are outcomes
+	 */
+	boolean hasOutcomes() {
+		return !getOutcomes().isEmpty();
+	}
+
+	/**
+	 * Return the content of the properties file that holds the outcomes.
+	 * @return an input stream of the outcomes
+	 */
+	InputStream getOutcomesInputStream() {
+		StringBuilder content = new StringBuilder();
+		getOutcomes().forEach((key, missing) -> content.append(key).append('=')
+				.append(missing).append('\n'));
+		return new ByteArrayInputStream(
+				content.toString().getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	private Map<String, String> getOutcomes() {
+		Map<String, String> outcomes = new TreeMap<>();
+		for (String candidate : this.candidates) {
+			for (String condition : CONDITIONS) {
+				String types = this.metadata.getProperty(candidate + "." + condition);
+				String missing = (types != null) ? getMissing(types) : null;
+				if (missing != null) {
+					outcomes.put(candidate + "." + condition + ".Missing", missing);
+				}
+			}
+		}
+		return outcomes;
+	}
+
+	/**
+	 * Return the types that are missing from the archive or {@code null} if the outcome
+	 * cannot be precomputed as a missing type might be supplied by the JDK.
+	 * @param types the comma-separated types
+	 * @return the comma-separated missing types or {@code null}
+	 */
+	private String getMissing(String types) {
+		Set<String> missing = new LinkedHashSet<>();
+		for (String type : StringUtils.commaDelimitedListToStringArray(types)) {
+			type = type.trim();
+			if (!isPresent(type)) {
+				if (mightBeSuppliedByJdk(type)) {
+					return null;
+				}
+				missing.add(type);
+			}
+		}
+		return StringUtils.collectionToCommaDelimitedString(missing);
+	}
+
+	private boolean isPresent(String className) {
+		if (this.classes.contains(className)) {
+			return true;
+		}
+		int lastDot = className.lastIndexOf('.');
+		if (lastDot != -1) {
+			// Try a nested class that was referenced using its canonical name
+			return isPresent(className.substring(0, lastDot) + "$"
+					+ className.substring(lastDot + 1));
+		}
+		return false;
+	}
+
+	private boolean mightBeSuppliedByJdk(String className) {
+		for (String prefix : JDK_PACKAGE_PREFIXES) {
+			if (className.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return this.jdkClassLoader
+				.getResource(className.replace('.', '/') + ".class") != null;
+	}
+
+}
@@ -16,15 +16,18 @@
 
 package org.springframework.boot.loader.tools;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -57,6 +60,8 @@ public class Repackager {
 
 	private static final String BOOT_CLASSES_ATTRIBUTE = "Spring-Boot-Classes";
 
+	private static final String BOOT_LAYERS_INDEX_ATTRIBUTE = "Spring-Boot-Layers-Index";
+
 	private static final byte[] ZIP_FILE_HEADER = new byte[] { 'P', 'K', 3, 4 };
 
 	private static final long FIND_WARNING_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
@@ -69,6 +74,10 @@ public class Repackager {
 
 	private boolean backupSource = true;
 
+	private boolean parallel;
+
+	private boolean precomputeConditions;
+
 	private final File source;
 
 	private Layout layout;
@@ -119,6 +128,28 @@ public class Repackager {
 		this.backupSource = backupSource;
 	}
 
+	/**
+	 * Sets if nested libraries should be prepared in parallel. When {@code true}, the
+	 * CRC, size and index of each library are computed concurrently. The libraries are
+	 * always written in the same order.
+	 * @param parallel if libraries should be prepared in parallel
+	 * @since 2.2.0
+	 */
+	public void setParallel(boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/**
+	 * Sets if the class presence checks of the auto-configuration conditions should be
+	 * evaluated against the libraries of the archive and their outcomes written to it.
+	 * Allows the application to skip these checks when it starts.
+	 * @param precomputeConditions if conditions should be precomputed
+	 * @since 2.2.0
+	 */
+	public void setPrecomputeConditions(boolean precomputeConditions) {
+		this.precomputeConditions = precomputeConditions;
+	}
+
 	/**
 	 * Sets the layout to use for the jar. Defaults to {@link Layouts#forFile(File)}.
 	 * @param layout the layout
@@ -170,6 +201,22 @@ public class Repackager {
 	 */
 	public void repackage(File destination, Libraries libraries,
 			LaunchScript launchScript) throws IOException {
+		repackage(destination, libraries, launchScript, null);
+	}
+
+	/**
+	 * Repackage to the given destination so that it can be launched using '
+	 * {@literal java -jar}'.
+	 * @param destination the destination file (may be the same as the source)
+	 * @param libraries the libraries required to run the archive
+	 * @param launchScript an optional launch script prepended to the front of the jar
+	 * @param lastModifiedTime an optional last modified time to apply to the archive and
+	 * its contents, allowing the same source to always produce the same archive
+	 * @throws IOException if the file cannot be repackaged
+	 * @since 2.2.0
+	 */
+	public void repackage(File destination, Libraries libraries,
+			LaunchScript launchScript, FileTime lastModifiedTime) throws IOException {
 		if (destination == null || destination.isDirectory()) {
 			throw new IllegalArgumentException("Invalid destination");
 		}
@@ -192,7 +239,11 @@ public class Repackager {
 		destination.delete();
 		try {
 			try (JarFile jarFileSource = new JarFile(workingSource)) {
-				repackage(jarFileSource, destination, libraries, launchScript);
+				repackage(jarFileSource, destination, libraries, launchScript,
+						lastModifiedTime);
+			}
+			if (lastModifiedTime != null) {
+				Files.setLastModifiedTime(destination.toPath(), lastModifiedTime);
 			}
 		}
 		finally {
@@ -232,9 +283,10 @@ public class Repackager {
 	}
 
 	private void repackage(JarFile sourceJar, File destination, Libraries libraries,
-			LaunchScript launchScript) throws IOException {
+			LaunchScript launchScript, FileTime lastModifiedTime) throws IOException {
 		WritableLibraries writeableLibraries = new WritableLibraries(libraries);
-		try (JarWriter writer = new JarWriter(destination, launchScript)) {
+		try (JarWriter writer = new JarWriter(destination, launchScript,
+				lastModifiedTime)) {
 			writer.writeManifest(buildManifest(sourceJar));
 			writeLoaderClasses(writer);
 			if (this.layout instanceof RepackagingLayout) {
@@ -246,9 +298,47 @@ public class Repackager {
 				writer.writeEntries(sourceJar, writeableLibraries);
 			}
 			writeableLibraries.write(writer);
+			writer.writeNestedLibraryIndex();
+			if (this.precomputeConditions) {
+				writePrecomputedConditions(writer, sourceJar, writeableLibraries);
+			}
+			if (this.layout instanceof LayeredLayout) {
+				writeLayerIndex(writer, (LayeredLayout) this.layout);
+			}
+		}
+	}
+
+	private void writePrecomputedConditions(JarWriter writer, JarFile sourceJar,
+			WritableLibraries libraries) throws IOException {
+		PrecomputedConditions conditions = new PrecomputedConditions();
+		if (this.layout instanceof RepackagingLayout) {
+			conditions.add(sourceJar, "");
+		}
+		else {
+			conditions.add(sourceJar, this.layout.getClassesLocation());
+		}
+		for (Library library : libraries.libraryEntryNames.values()) {
+			conditions.add(library.getFile());
+		}
+		if (conditions.hasOutcomes()) {
+			String classesLocation = (this.layout instanceof RepackagingLayout)
+					? ((RepackagingLayout) this.layout).getRepackagedClassesLocation()
+					: this.layout.getClassesLocation();
+			writer.writeEntry(classesLocation + PrecomputedConditions.ENTRY_NAME,
+					conditions.getOutcomesInputStream());
 		}
 	}
 
+	private void writeLayerIndex(JarWriter writer, LayeredLayout layout)
+			throws IOException {
+		StringBuilder index = new StringBuilder();
+		layout.getLayers().forEach((name, locations) -> index.append(name).append('=')
+				.append(StringUtils.collectionToCommaDelimitedString(locations))
+				.append('\n'));
+		writer.writeEntry(layout.getLayerIndexLocation(), new ByteArrayInputStream(
+				index.toString().getBytes(StandardCharsets.UTF_8)));
+	}
+
 	private void writeLoaderClasses(JarWriter writer) throws IOException {
 		if (this.layout instanceof CustomLoaderLayout) {
 			((CustomLoaderLayout) this.layout).writeLoadedClasses(writer);
@@ -314,6 +404,10 @@ public class Repackager {
 		if (StringUtils.hasLength(lib)) {
 			manifest.getMainAttributes().putValue(BOOT_LIB_ATTRIBUTE, lib);
 		}
+		if (this.layout instanceof LayeredLayout) {
+			manifest.getMainAttributes().putValue(BOOT_LAYERS_INDEX_ATTRIBUTE,
+					((LayeredLayout) this.layout).getLayerIndexLocation());
+		}
 		return manifest;
 	}
 
@@ -453,11 +547,7 @@ public class Repackager {
 		}
 
 		private void write(JarWriter writer) throws IOException {
-			for (Entry<String, Library> entry : this.libraryEntryNames.entrySet()) {
-				writer.writeNestedLibrary(
-						entry.getKey().substring(0, entry.getKey().lastIndexOf('/') + 1),
-						entry.getValue());
-			}
+			writer.writeNestedLibraries(this.libraryEntryNames, Repackager.this.parallel);
 		}
 
 	}
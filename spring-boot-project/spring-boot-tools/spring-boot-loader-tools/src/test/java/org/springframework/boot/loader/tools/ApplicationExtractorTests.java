@@ -0,0 +1,118 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
+import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ApplicationExtractor}.
+ *
+ * @author Jonas Berg
+ */
+public class ApplicationExtractorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private TestJarFile testJarFile;
+
+	@Before
+	public void setup() throws IOException {
+		this.testJarFile = new TestJarFile(this.temporaryFolder);
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+	}
+
+	@Test
+	public void extractJar() throws IOException {
+		File source = repackage(new Layouts.Jar());
+		File destination = this.temporaryFolder.newFolder();
+		File application = new ApplicationExtractor(source).extract(destination);
+		assertExtracted(destination, application);
+	}
+
+	@Test
+	public void extractLayeredJar() throws IOException {
+		File source = repackage(new Layouts.LayeredJar());
+		File destination = this.temporaryFolder.newFolder();
+		File application = new ApplicationExtractor(source).extract(destination);
+		assertExtracted(destination, application);
+	}
+
+	@Test
+	public void extractPlainJarFails() throws IOException {
+		File source = this.testJarFile.getFile();
+		assertThatIllegalStateException()
+				.isThrownBy(() -> new ApplicationExtractor(source)
+						.extract(this.temporaryFolder.newFolder()))
+				.withMessageContaining("Spring-Boot-Classes");
+	}
+
+	private File repackage(Layout layout) throws IOException {
+		File source = this.testJarFile.getFile();
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.setLayout(layout);
+		repackager.repackage((callback) -> {
+			callback.library(new Library("a.jar", library, LibraryScope.COMPILE, false));
+			callback.library(new Library("b-1.0.0-SNAPSHOT.jar", library,
+					LibraryScope.COMPILE, false));
+		});
+		return source;
+	}
+
+	private void assertExtracted(File destination, File application) throws IOException {
+		assertThat(application).isEqualTo(new File(destination, "application.jar"));
+		assertThat(new File(destination, "lib/a.jar")).isFile();
+		assertThat(new File(destination, "lib/b-1.0.0-SNAPSHOT.jar")).isFile();
+		try (JarFile jarFile = new JarFile(application)) {
+			Attributes attributes = jarFile.getManifest().getMainAttributes();
+			assertThat(attributes.getValue("Main-Class"))
+					.isEqualTo("com.example.Application");
+			assertThat(attributes.getValue("Class-Path"))
+					.isEqualTo("lib/a.jar lib/b-1.0.0-SNAPSHOT.jar");
+			assertThat(attributes.getValue("Start-Class")).isNull();
+			assertThat(attributes.getValue("Spring-Boot-Classes")).isNull();
+			assertThat(jarFile.getEntry("com/example/Application.class")).isNotNull();
+			assertThat(
+					jarFile.getEntry("org/springframework/boot/loader/JarLauncher.class"))
+							.isNull();
+		}
+	}
+
+	private File createLibrary() throws IOException {
+		TestJarFile library = new TestJarFile(this.temporaryFolder);
+		library.addClass("com/example/library/Library.class",
+				ClassWithoutMainMethod.class);
+		return library.getFile();
+	}
+
+}
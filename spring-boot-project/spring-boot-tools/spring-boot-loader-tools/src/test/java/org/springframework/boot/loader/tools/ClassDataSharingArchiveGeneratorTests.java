@@ -0,0 +1,71 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.tools;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link ClassDataSharingArchiveGenerator}.
+ *
+ * @author Jonas Berg
+ */
+public class ClassDataSharingArchiveGeneratorTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Test
+	public void classListArgumentsRunApplicationUntilRefreshed() {
+		ClassDataSharingArchiveGenerator generator = new ClassDataSharingArchiveGenerator(
+				this.temporaryFolder.getRoot());
+		generator.setJvmArguments(Collections.singletonList("-Xmx128m"));
+		generator.setArguments(Arrays.asList("--a", "--b"));
+		assertThat(generator.getClassListArguments()).containsExactly("-Xshare:off",
+				"-XX:DumpLoadedClassList=application.classlist",
+				"-Dspring.context.exit=onRefresh", "-Xmx128m", "-jar", "application.jar",
+				"--a", "--b");
+	}
+
+	@Test
+	public void dumpAndLaunchArgumentsUseSameClassPathAndArchive() {
+		ClassDataSharingArchiveGenerator generator = new ClassDataSharingArchiveGenerator(
+				this.temporaryFolder.getRoot());
+		assertThat(generator.getDumpArguments()).containsExactly("-Xshare:dump",
+				"-XX:SharedClassListFile=application.classlist",
+				"-XX:SharedArchiveFile=application.jsa", "-cp", "application.jar");
+		assertThat(generator.getLaunchArguments()).containsExactly(
+				"-XX:SharedArchiveFile=application.jsa", "-Xshare:auto", "-jar",
+				"application.jar");
+	}
+
+	@Test
+	public void generateWhenApplicationHasNotBeenExtractedFails() {
+		ClassDataSharingArchiveGenerator generator = new ClassDataSharingArchiveGenerator(
+				this.temporaryFolder.getRoot());
+		assertThatIllegalStateException().isThrownBy(generator::generate)
+				.withMessageContaining("Has it been extracted?");
+	}
+
+}
@@ -82,4 +82,28 @@ public class LayoutsTests {
 				.isEqualTo("WEB-INF/lib/");
 	}
 
+	@Test
+	public void layeredJarLayout() {
+		Layouts.LayeredJar layout = new Layouts.LayeredJar();
+		assertThat(layout.getLibraryDestination("lib.jar", LibraryScope.COMPILE))
+				.isEqualTo("BOOT-INF/layers/dependencies/lib/");
+		assertThat(layout.getLibraryDestination("lib-1.0.0-SNAPSHOT.jar",
+				LibraryScope.RUNTIME))
+						.isEqualTo("BOOT-INF/layers/snapshot-dependencies/lib/");
+		assertThat(layout.getRepackagedClassesLocation())
+				.isEqualTo("BOOT-INF/layers/application/classes/");
+		assertThat(layout.getLayers()).containsOnlyKeys("spring-boot-loader",
+				"dependencies", "snapshot-dependencies", "application");
+		assertThat(layout.getLayers().keySet()).startsWith("spring-boot-loader");
+		assertThat(layout.getLayers().get("spring-boot-loader"))
+				.containsExactly("org/springframework/boot/loader/");
+		assertThat(layout.getLayers().get("dependencies")).containsExactly(
+				"BOOT-INF/layers/dependencies/", "BOOT-INF/layers.idx");
+		assertThat(layout.getLayers().get("snapshot-dependencies")).containsExactly(
+				"BOOT-INF/layers/snapshot-dependencies/",
+				"META-INF/spring-boot-nested-jars.idx");
+		assertThat(layout.getLayers().get("application"))
+				.containsExactly("BOOT-INF/layers/application/", "META-INF/");
+	}
+
 }
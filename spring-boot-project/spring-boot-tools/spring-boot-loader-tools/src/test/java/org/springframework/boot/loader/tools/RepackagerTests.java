@@ -20,13 +20,22 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFilePermission;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -46,6 +55,7 @@ import org.zeroturnaround.zip.ZipUtil;
 import org.springframework.boot.loader.tools.sample.ClassWithMainMethod;
 import org.springframework.boot.loader.tools.sample.ClassWithoutMainMethod;
 import org.springframework.util.FileCopyUtils;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -60,6 +70,7 @@ import static org.mockito.Mockito.mock;
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 public class RepackagerTests {
 
@@ -601,6 +612,232 @@ public class RepackagerTests {
 				"BOOT-INF/lib/" + libraryThree.getName());
 	}
 
+	@Test
+	public void nestedLibrariesAreIndexed() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.repackage(dest, (callback) -> callback
+				.library(new Library(library, LibraryScope.COMPILE)));
+		JarEntry indexEntry = getEntry(dest, NestedLibraryIndex.ENTRY_NAME);
+		assertThat(indexEntry).isNotNull();
+		assertThat(indexEntry.getMethod()).isEqualTo(ZipEntry.STORED);
+		try (org.springframework.boot.loader.jar.JarFile jarFile = new org.springframework.boot.loader.jar.JarFile(
+				dest)) {
+			org.springframework.boot.loader.jar.JarFile nestedJarFile = jarFile
+					.getNestedJarFile(
+							jarFile.getEntry("BOOT-INF/lib/" + library.getName()));
+			assertThat(nestedJarFile.getEntry("com/example/library/Library.class"))
+					.isNotNull();
+			List<String> nestedEntryNames = new ArrayList<>();
+			Enumeration<JarEntry> entries = nestedJarFile.entries();
+			while (entries.hasMoreElements()) {
+				nestedEntryNames.add(entries.nextElement().getName());
+			}
+			assertThat(nestedEntryNames).isEqualTo(getEntryNames(library));
+		}
+	}
+
+	@Test
+	public void parallelRepackagingWritesLibrariesInOrder() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.setParallel(true);
+		repackager.repackage(dest, (callback) -> {
+			callback.library(new Library("c.jar", library, LibraryScope.COMPILE, false));
+			callback.library(new Library("a.jar", library, LibraryScope.COMPILE, true));
+			callback.library(new Library("b.jar", library, LibraryScope.COMPILE, false));
+		});
+		List<String> libraryNames = new ArrayList<>();
+		for (String name : getEntryNames(dest)) {
+			if (name.startsWith("BOOT-INF/lib/") && name.endsWith(".jar")) {
+				libraryNames.add(name);
+			}
+		}
+		assertThat(libraryNames).containsExactly("BOOT-INF/lib/c.jar",
+				"BOOT-INF/lib/a.jar", "BOOT-INF/lib/b.jar");
+		assertThat(getEntry(dest, "BOOT-INF/lib/a.jar").getComment())
+				.isEqualTo("UNPACK:" + FileUtils.sha1Hash(library));
+		assertThat(getEntry(dest, "BOOT-INF/lib/b.jar").getComment()).isNull();
+	}
+
+	@Test
+	public void repackagingWithLastModifiedTimeIsReproducible() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File library = createLibrary();
+		Libraries libraries = (callback) -> callback
+				.library(new Library(library, LibraryScope.COMPILE));
+		FileTime lastModifiedTime = FileTime.from(
+				OffsetDateTime.of(2018, 10, 30, 12, 0, 0, 0, ZoneOffset.UTC).toInstant());
+		File first = this.temporaryFolder.newFile("first.jar");
+		new Repackager(source).repackage(first, libraries, null, lastModifiedTime);
+		File second = this.temporaryFolder.newFile("second.jar");
+		Repackager repackager = new Repackager(source);
+		repackager.setParallel(true);
+		repackager.repackage(second, libraries, null, lastModifiedTime);
+		assertThat(second).hasBinaryContent(Files.readAllBytes(first.toPath()));
+		assertThat(Files.getLastModifiedTime(first.toPath())).isEqualTo(lastModifiedTime);
+		assertThat(Files.getLastModifiedTime(second.toPath()))
+				.isEqualTo(lastModifiedTime);
+		long expectedTime = lastModifiedTime.toMillis()
+				- TimeZone.getDefault().getOffset(lastModifiedTime.toMillis());
+		try (JarFile jarFile = new JarFile(first)) {
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				assertThat(entries.nextElement().getTime()).isEqualTo(expectedTime);
+			}
+		}
+	}
+
+	@Test
+	public void layeredLayoutWritesLayersAndLayerIndex() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.setLayout(new Layouts.LayeredJar());
+		repackager.repackage(dest, (callback) -> {
+			callback.library(new Library("a.jar", library, LibraryScope.COMPILE, false));
+			callback.library(new Library("b-1.0.0-SNAPSHOT.jar", library,
+					LibraryScope.COMPILE, false));
+		});
+		assertThat(hasEntry(dest,
+				"BOOT-INF/layers/application/classes/com/example/Application.class"))
+						.isTrue();
+		assertThat(hasEntry(dest, "BOOT-INF/layers/dependencies/lib/a.jar")).isTrue();
+		assertThat(hasEntry(dest,
+				"BOOT-INF/layers/snapshot-dependencies/lib/b-1.0.0-SNAPSHOT.jar"))
+						.isTrue();
+		assertThat(hasLauncherClasses(dest)).isTrue();
+		assertThat(getManifest(dest).getMainAttributes()
+				.getValue("Spring-Boot-Layers-Index")).isEqualTo("BOOT-INF/layers.idx");
+		try (JarFile jarFile = new JarFile(dest)) {
+			String index = StreamUtils.copyToString(
+					jarFile.getInputStream(jarFile.getEntry("BOOT-INF/layers.idx")),
+					StandardCharsets.UTF_8);
+			assertThat(index).isEqualTo("spring-boot-loader="
+					+ "org/springframework/boot/loader/\n" + "dependencies="
+					+ "BOOT-INF/layers/dependencies/,BOOT-INF/layers.idx\n"
+					+ "snapshot-dependencies=BOOT-INF/layers/snapshot-dependencies/,"
+					+ "META-INF/spring-boot-nested-jars.idx\n" + "application="
+					+ "BOOT-INF/layers/application/,META-INF/\n");
+		}
+	}
+
+	@Test
+	public void layeredJarCanBeLaunchedOnceItsLayersHaveBeenExtracted()
+			throws Exception {
+		this.testJarFile.addClass(
+				"org/springframework/boot/loader/tools/sample/ClassWithMainMethod.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.setLayout(new Layouts.LayeredJar());
+		repackager.repackage(dest, (callback) -> {
+			callback.library(new Library("a.jar", library, LibraryScope.COMPILE, false));
+			callback.library(new Library("b-1.0.0-SNAPSHOT.jar", library,
+					LibraryScope.COMPILE, false));
+		});
+		File extracted = this.temporaryFolder.newFolder();
+		List<String> extractedEntries = new ArrayList<>();
+		try (JarFile jarFile = new JarFile(dest)) {
+			String index = StreamUtils.copyToString(
+					jarFile.getInputStream(jarFile.getEntry("BOOT-INF/layers.idx")),
+					StandardCharsets.UTF_8);
+			Map<String, String[]> layers = new LinkedHashMap<>();
+			for (String layer : index.split("\n")) {
+				layers.put(layer.substring(0, layer.indexOf('=')),
+						layer.substring(layer.indexOf('=') + 1).split(","));
+			}
+			for (String layer : layers.keySet()) {
+				extractedEntries.addAll(extractLayer(jarFile, layers, layer, extracted));
+			}
+			List<String> fileEntries = new ArrayList<>();
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				JarEntry entry = entries.nextElement();
+				if (!entry.isDirectory()) {
+					fileEntries.add(entry.getName());
+				}
+			}
+			assertThat(extractedEntries).containsExactlyInAnyOrderElementsOf(fileEntries);
+		}
+		Process process = new JavaExecutable()
+				.processBuilder("-cp", extracted.getAbsolutePath(),
+						"org.springframework.boot.loader.JarLauncher")
+				.redirectErrorStream(true).start();
+		String output = StreamUtils.copyToString(process.getInputStream(),
+				StandardCharsets.UTF_8);
+		assertThat(process.waitFor(30, TimeUnit.SECONDS)).isTrue();
+		assertThat(process.exitValue()).as(output).isEqualTo(0);
+		assertThat(output).contains("Hello World");
+	}
+
+	@Test
+	public void precomputedConditionsAreWritten() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		this.testJarFile.addFile("META-INF/spring.factories",
+				createFile(
+						"org.springframework.boot.autoconfigure.EnableAutoConfiguration="
+								+ "com.example.AConfiguration,com.example.BConfiguration,"
+								+ "com.example.CConfiguration"));
+		this.testJarFile.addFile("META-INF/spring-autoconfigure-metadata.properties",
+				createFile("com.example.AConfiguration.ConditionalOnClass="
+						+ "com.example.library.Library\n"
+						+ "com.example.BConfiguration.ConditionalOnClass="
+						+ "com.example.Missing\n"
+						+ "com.example.BConfiguration.ConditionalOnBean="
+						+ "com.example.Application\n"
+						+ "com.example.CConfiguration.ConditionalOnClass="
+						+ "com.example.library.Library,java.io.InputStream\n"
+						+ "com.example.CConfiguration.ConditionalOnBean="
+						+ "javax.sql.DataSource\n"));
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		File library = createLibrary();
+		Repackager repackager = new Repackager(source);
+		repackager.setPrecomputeConditions(true);
+		repackager.repackage(dest, (callback) -> callback
+				.library(new Library(library, LibraryScope.COMPILE)));
+		try (JarFile jarFile = new JarFile(dest)) {
+			String conditions = StreamUtils.copyToString(
+					jarFile.getInputStream(jarFile.getEntry(
+							"BOOT-INF/classes/META-INF/spring-autoconfigure-precomputed.properties")),
+					StandardCharsets.ISO_8859_1);
+			assertThat(conditions)
+					.isEqualTo("com.example.AConfiguration.ConditionalOnClass.Missing=\n"
+							+ "com.example.BConfiguration.ConditionalOnBean.Missing=\n"
+							+ "com.example.BConfiguration.ConditionalOnClass.Missing="
+							+ "com.example.Missing\n");
+		}
+	}
+
+	@Test
+	public void conditionsAreNotPrecomputedByDefault() throws IOException {
+		this.testJarFile.addClass("com/example/Application.class",
+				ClassWithMainMethod.class);
+		File source = this.testJarFile.getFile();
+		File dest = this.temporaryFolder.newFile("dest.jar");
+		new Repackager(source).repackage(dest, NO_LIBRARIES);
+		assertThat(hasEntry(dest,
+				"BOOT-INF/classes/META-INF/spring-autoconfigure-precomputed.properties"))
+						.isFalse();
+	}
+
 	@Test
 	public void existingEntryThatMatchesUnpackLibraryIsMarkedForUnpack()
 			throws IOException {
@@ -661,6 +898,12 @@ public class RepackagerTests {
 		repackager.repackage(dest, NO_LIBRARIES);
 	}
 
+	private File createFile(String content) throws IOException {
+		File file = this.temporaryFolder.newFile();
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.ISO_8859_1));
+		return file;
+	}
+
 	private File createLibrary() throws IOException {
 		TestJarFile library = new TestJarFile(this.temporaryFolder);
 		library.addClass("com/example/library/Library.class",
@@ -668,6 +911,40 @@ public class RepackagerTests {
 		return library.getFile();
 	}
 
+	private List<String> extractLayer(JarFile jarFile, Map<String, String[]> layers,
+			String layer, File destination) throws IOException {
+		List<String> extracted = new ArrayList<>();
+		Enumeration<JarEntry> entries = jarFile.entries();
+		while (entries.hasMoreElements()) {
+			JarEntry entry = entries.nextElement();
+			if (!entry.isDirectory()
+					&& layer.equals(getLayer(entry.getName(), layers))) {
+				File file = new File(destination, entry.getName());
+				file.getParentFile().mkdirs();
+				try (InputStream inputStream = jarFile.getInputStream(entry)) {
+					Files.copy(inputStream, file.toPath());
+				}
+				extracted.add(entry.getName());
+			}
+		}
+		return extracted;
+	}
+
+	private String getLayer(String name, Map<String, String[]> layers) {
+		String layer = null;
+		int matchLength = 0;
+		for (Map.Entry<String, String[]> candidate : layers.entrySet()) {
+			for (String location : candidate.getValue()) {
+				if ((location.endsWith("/") ? name.startsWith(location)
+						: name.equals(location)) && location.length() > matchLength) {
+					layer = candidate.getKey();
+					matchLength = location.length();
+				}
+			}
+		}
+		return layer;
+	}
+
 	private boolean hasLauncherClasses(File file) throws IOException {
 		return hasEntry(file, "org/springframework/boot/")
 				&& hasEntry(file, "org/springframework/boot/loader/JarLauncher.class");
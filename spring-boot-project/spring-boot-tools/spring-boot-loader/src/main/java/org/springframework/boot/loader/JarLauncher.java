@@ -21,10 +21,13 @@ import org.springframework.boot.loader.archive.Archive;
 /**
  * {@link Launcher} for JAR based archives. This launcher assumes that dependency jars are
  * included inside a {@code /BOOT-INF/lib} directory and that application classes are
- * included inside a {@code /BOOT-INF/classes} directory.
+ * included inside a {@code /BOOT-INF/classes} directory. Layered archives, where each
+ * layer beneath {@code /BOOT-INF/layers} has its own {@code lib} and {@code classes}
+ * directories, are also supported, either packaged or extracted to a directory.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 public class JarLauncher extends ExecutableArchiveLauncher {
 
@@ -32,6 +35,8 @@ public class JarLauncher extends ExecutableArchiveLauncher {
 
 	static final String BOOT_INF_LIB = "BOOT-INF/lib/";
 
+	static final String BOOT_INF_LAYERS = "BOOT-INF/layers/";
+
 	public JarLauncher() {
 	}
 
@@ -41,12 +46,28 @@ public class JarLauncher extends ExecutableArchiveLauncher {
 
 	@Override
 	protected boolean isNestedArchive(Archive.Entry entry) {
+		if (entry.getName().startsWith(BOOT_INF_LAYERS)) {
+			return isNestedLayerArchive(entry,
+					entry.getName().substring(BOOT_INF_LAYERS.length()));
+		}
 		if (entry.isDirectory()) {
 			return entry.getName().equals(BOOT_INF_CLASSES);
 		}
 		return entry.getName().startsWith(BOOT_INF_LIB);
 	}
 
+	private boolean isNestedLayerArchive(Archive.Entry entry, String name) {
+		int layerEnd = name.indexOf('/');
+		if (layerEnd <= 0) {
+			return false;
+		}
+		String location = name.substring(layerEnd + 1);
+		if (entry.isDirectory()) {
+			return location.equals("classes/");
+		}
+		return location.startsWith("lib/");
+	}
+
 	public static void main(String[] args) throws Exception {
 		new JarLauncher().launch(args);
 	}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2012-2017 the original author or authors.
+ * Copyright 2012-2018 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,24 +16,38 @@
 
 package org.springframework.boot.loader;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.JarURLConnection;
+import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.security.AccessController;
+import java.security.CodeSource;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 import org.springframework.boot.loader.jar.Handler;
 
 /**
- * {@link ClassLoader} used by the {@link Launcher}.
+ * {@link ClassLoader} used by the {@link Launcher}. When all of the URLs are backed by
+ * archives, classes and resources are found using a {@link PackageIndex} that maps each
+ * directory to the archives that contain it, rather than by searching every URL in turn.
  *
  * @author Phillip Webb
  * @author Dave Syer
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 public class LaunchedURLClassLoader extends URLClassLoader {
 
@@ -41,6 +55,20 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		ClassLoader.registerAsParallelCapable();
 	}
 
+	private static final int BUFFER_SIZE = 4096;
+
+	private static final long PACKAGE_INDEX_RETRY_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+	private final Object packageIndexMonitor = new Object();
+
+	private volatile boolean packageIndexLoaded;
+
+	private volatile PackageIndex packageIndex;
+
+	private boolean packageIndexFailed;
+
+	private long packageIndexRetryTime;
+
 	/**
 	 * Create a new {@link LaunchedURLClassLoader} instance.
 	 * @param urls the URLs from which to load classes and resources
@@ -52,6 +80,15 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 
 	@Override
 	public URL findResource(String name) {
+		PackageIndex index = getPackageIndex(name);
+		if (index != null) {
+			for (int candidate : index.getCandidates(name)) {
+				if (index.getJarFile(candidate).getEntry(name) != null) {
+					return getResourceUrl(index, candidate, name);
+				}
+			}
+			return null;
+		}
 		Handler.setUseFastConnectionExceptions(true);
 		try {
 			return super.findResource(name);
@@ -63,6 +100,16 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 
 	@Override
 	public Enumeration<URL> findResources(String name) throws IOException {
+		PackageIndex index = getPackageIndex(name);
+		if (index != null) {
+			List<URL> resources = new ArrayList<>();
+			for (int candidate : index.getCandidates(name)) {
+				if (index.getJarFile(candidate).getEntry(name) != null) {
+					resources.add(getResourceUrl(index, candidate, name));
+				}
+			}
+			return Collections.enumeration(resources);
+		}
 		Handler.setUseFastConnectionExceptions(true);
 		try {
 			return new UseFastConnectionExceptionsEnumeration(super.findResources(name));
@@ -97,6 +144,163 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		String entryName = name.replace('.', '/') + ".class";
+		PackageIndex index = getPackageIndex(entryName);
+		if (index == null) {
+			return super.findClass(name);
+		}
+		for (int candidate : index.getCandidates(entryName)) {
+			JarFile jarFile = index.getJarFile(candidate);
+			JarEntry entry = jarFile.getJarEntry(entryName);
+			if (entry != null) {
+				try {
+					return defineClass(name, index.getUrl(candidate), jarFile, entry);
+				}
+				catch (IOException ex) {
+					throw new ClassNotFoundException(name, ex);
+				}
+			}
+		}
+		throw new ClassNotFoundException(name);
+	}
+
+	private Class<?> defineClass(String name, URL url, JarFile jarFile, JarEntry entry)
+			throws IOException {
+		int lastDot = name.lastIndexOf('.');
+		if (lastDot >= 0) {
+			defineOrVerifyPackage(name.substring(0, lastDot), jarFile.getManifest(), url);
+		}
+		byte[] bytes;
+		try (InputStream inputStream = jarFile.getInputStream(entry)) {
+			bytes = readBytes(inputStream, entry.getSize());
+		}
+		CodeSource codeSource = new CodeSource(url, entry.getCodeSigners());
+		return defineClass(name, bytes, 0, bytes.length, codeSource);
+	}
+
+	/**
+	 * Define a package using the given manifest, as {@link URLClassLoader} does when it
+	 * defines a class, or verify that an existing package does not violate sealing.
+	 * @param packageName the name of the package
+	 * @param manifest the manifest of the archive or {@code null}
+	 * @param url the URL of the archive
+	 */
+	private void defineOrVerifyPackage(String packageName, Manifest manifest, URL url) {
+		if (getAndVerifyPackage(packageName, manifest, url) != null) {
+			return;
+		}
+		try {
+			if (manifest != null) {
+				definePackage(packageName, manifest, url);
+			}
+			else {
+				definePackage(packageName, null, null, null, null, null, null, null);
+			}
+		}
+		catch (IllegalArgumentException ex) {
+			// Tolerate race condition due to being parallel capable
+			if (getAndVerifyPackage(packageName, manifest, url) == null) {
+				throw new AssertionError("Package " + packageName
+						+ " has already been defined but it could not be found");
+			}
+		}
+	}
+
+	private Package getAndVerifyPackage(String packageName, Manifest manifest, URL url) {
+		Package pkg = getPackage(packageName);
+		if (pkg != null) {
+			if (pkg.isSealed()) {
+				if (!pkg.isSealed(url)) {
+					throw new SecurityException(
+							"sealing violation: package " + packageName + " is sealed");
+				}
+			}
+			else if (manifest != null && isSealed(packageName, manifest)) {
+				throw new SecurityException("sealing violation: can't seal package "
+						+ packageName + ": already loaded");
+			}
+		}
+		return pkg;
+	}
+
+	private boolean isSealed(String packageName, Manifest manifest) {
+		Attributes attributes = manifest
+				.getAttributes(packageName.replace('.', '/') + "/");
+		String sealed = (attributes != null) ? attributes.getValue(Attributes.Name.SEALED)
+				: null;
+		if (sealed == null) {
+			sealed = manifest.getMainAttributes().getValue(Attributes.Name.SEALED);
+		}
+		return "true".equalsIgnoreCase(sealed);
+	}
+
+	private byte[] readBytes(InputStream inputStream, long size) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+				(size > 0) ? (int) size : BUFFER_SIZE);
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int bytesRead;
+		while ((bytesRead = inputStream.read(buffer)) != -1) {
+			outputStream.write(buffer, 0, bytesRead);
+		}
+		return outputStream.toByteArray();
+	}
+
+	private URL getResourceUrl(PackageIndex index, int candidate, String name) {
+		try {
+			return new URL(index.getUrl(candidate), name);
+		}
+		catch (MalformedURLException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Override
+	protected void addURL(URL url) {
+		synchronized (this.packageIndexMonitor) {
+			super.addURL(url);
+			this.packageIndex = null;
+			this.packageIndexLoaded = false;
+			this.packageIndexFailed = false;
+		}
+	}
+
+	/**
+	 * Return the {@link PackageIndex} that can be used to find the given entry or
+	 * {@code null} if the URLs must be searched. The index is built again when a URL is
+	 * added. If an archive cannot be read the URLs are searched and building the index is
+	 * attempted again later.
+	 * @param name the name of the entry
+	 * @return the package index or {@code null}
+	 */
+	private PackageIndex getPackageIndex(String name) {
+		if (!PackageIndex.isIndexable(name)) {
+			return null;
+		}
+		if (!this.packageIndexLoaded) {
+			synchronized (this.packageIndexMonitor) {
+				if (!this.packageIndexLoaded && (!this.packageIndexFailed
+						|| System.nanoTime() - this.packageIndexRetryTime >= 0)) {
+					loadPackageIndex();
+				}
+			}
+		}
+		return this.packageIndex;
+	}
+
+	private void loadPackageIndex() {
+		try {
+			this.packageIndex = PackageIndex.build(getURLs());
+			this.packageIndexLoaded = true;
+		}
+		catch (IOException ex) {
+			this.packageIndex = null;
+			this.packageIndexFailed = true;
+			this.packageIndexRetryTime = System.nanoTime() + PACKAGE_INDEX_RETRY_INTERVAL;
+		}
+	}
+
 	/**
 	 * Define a package before a {@code findClass} call is made. This is necessary to
 	 * ensure that the appropriate manifest for nested JARs is associated with the
@@ -131,16 +335,25 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 			AccessController.doPrivileged((PrivilegedExceptionAction<Object>) () -> {
 				String packageEntryName = packageName.replace('.', '/') + "/";
 				String classEntryName = className.replace('.', '/') + ".class";
+				PackageIndex index = getPackageIndex(classEntryName);
+				if (index != null) {
+					for (int candidate : index.getCandidates(classEntryName)) {
+						if (definePackage(packageName, index.getJarFile(candidate),
+								index.getUrl(candidate), packageEntryName,
+								classEntryName)) {
+							return null;
+						}
+					}
+					return null;
+				}
 				for (URL url : getURLs()) {
 					try {
 						URLConnection connection = url.openConnection();
 						if (connection instanceof JarURLConnection) {
 							JarFile jarFile = ((JarURLConnection) connection)
 									.getJarFile();
-							if (jarFile.getEntry(classEntryName) != null
-									&& jarFile.getEntry(packageEntryName) != null
-									&& jarFile.getManifest() != null) {
-								definePackage(packageName, jarFile.getManifest(), url);
+							if (definePackage(packageName, jarFile, url, packageEntryName,
+									classEntryName)) {
 								return null;
 							}
 						}
@@ -157,6 +370,17 @@ public class LaunchedURLClassLoader extends URLClassLoader {
 		}
 	}
 
+	private boolean definePackage(String packageName, JarFile jarFile, URL url,
+			String packageEntryName, String classEntryName) throws IOException {
+		if (jarFile.getEntry(classEntryName) != null
+				&& jarFile.getEntry(packageEntryName) != null
+				&& jarFile.getManifest() != null) {
+			definePackage(packageName, jarFile.getManifest(), url);
+			return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Clear URL caches.
 	 */
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader;
+
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.Manifest;
+
+import org.springframework.boot.loader.jar.JarFile;
+
+/**
+ * Index of the directories (packages) of a set of archive URLs. Allows a class or
+ * resource to be found by only searching the archives that contain its directory rather
+ * than every URL of the class path.
+ * <p>
+ * An index can only be built when every URL is backed by a {@link JarFile} that does not
+ * declare a {@code Class-Path} manifest attribute. In all other cases the index cannot be
+ * used to rule out a URL and {@link #build(URL[])} returns {@code null}.
+ *
+ * @author Jonas Berg
+ * @see LaunchedURLClassLoader
+ */
+final class PackageIndex {
+
+	private static final int[] NONE = {};
+
+	private final URL[] urls;
+
+	private final JarFile[] jarFiles;
+
+	private final Map<String, int[]> directories;
+
+	private PackageIndex(URL[] urls, JarFile[] jarFiles, Map<String, int[]> directories) {
+		this.urls = urls;
+		this.jarFiles = jarFiles;
+		this.directories = directories;
+	}
+
+	/**
+	 * Return the positions of the archives that may contain the given entry, in class
+	 * path order.
+	 * @param name the entry name
+	 * @return the positions of the candidate archives
+	 */
+	int[] getCandidates(String name) {
+		int[] candidates = this.directories.get(getDirectory(name));
+		return (candidates != null) ? candidates : NONE;
+	}
+
+	URL getUrl(int position) {
+		return this.urls[position];
+	}
+
+	JarFile getJarFile(int position) {
+		return this.jarFiles[position];
+	}
+
+	/**
+	 * Return if the given entry name can be looked up using the index. Names that require
+	 * URL encoding or that refer to nested archives are not supported.
+	 * @param name the entry name
+	 * @return if the name can be looked up
+	 */
+	static boolean isIndexable(String name) {
+		if (name.isEmpty() || name.charAt(0) == '/') {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			char ch = name.charAt(i);
+			if (!isIndexable(ch)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isIndexable(char ch) {
+		return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z')
+				|| (ch >= '0' && ch <= '9') || ch == '/' || ch == '.' || ch == '-'
+				|| ch == '_' || ch == '$';
+	}
+
+	private static String getDirectory(String name) {
+		int end = name.length();
+		if (end > 0 && name.charAt(end - 1) == '/') {
+			end--;
+		}
+		int lastSlash = name.lastIndexOf('/', end - 1);
+		return (lastSlash > 0) ? name.substring(0, lastSlash) : "";
+	}
+
+	/**
+	 * Build a new index for the given URLs.
+	 * @param urls the URLs to index
+	 * @return the index or {@code null} if the URLs cannot be indexed
+	 * @throws IOException if an archive cannot be read
+	 */
+	static PackageIndex build(URL[] urls) throws IOException {
+		JarFile[] jarFiles = new JarFile[urls.length];
+		Map<String, int[]> directories = new HashMap<>();
+		for (int i = 0; i < urls.length; i++) {
+			JarFile jarFile = getJarFile(urls[i]);
+			if (jarFile == null || hasClassPath(jarFile.getManifest())) {
+				return null;
+			}
+			jarFiles[i] = jarFile;
+			Enumeration<JarEntry> entries = jarFile.entries();
+			while (entries.hasMoreElements()) {
+				add(directories, getDirectory(entries.nextElement().getName()), i);
+			}
+		}
+		return new PackageIndex(urls, jarFiles, directories);
+	}
+
+	private static JarFile getJarFile(URL url) throws IOException {
+		URLConnection connection = url.openConnection();
+		if (connection instanceof JarURLConnection) {
+			Object jarFile = ((JarURLConnection) connection).getJarFile();
+			if (jarFile instanceof JarFile) {
+				return (JarFile) jarFile;
+			}
+		}
+		return null;
+	}
+
+	private static boolean hasClassPath(Manifest manifest) {
+		return manifest != null
+				&& manifest.getMainAttributes().get(Attributes.Name.CLASS_PATH) != null;
+	}
+
+	private static void add(Map<String, int[]> directories, String directory,
+			int position) {
+		int[] positions = directories.get(directory);
+		if (positions == null) {
+			directories.put(directory, new int[] { position });
+		}
+		else if (positions[positions.length - 1] != position) {
+			int[] extended = new int[positions.length + 1];
+			System.arraycopy(positions, 0, extended, 0, positions.length);
+			extended[positions.length] = position;
+			directories.put(directory, extended);
+		}
+	}
+
+}
@@ -22,15 +22,26 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
 
 /**
- * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}.
+ * {@link RandomAccessData} implementation backed by a {@link RandomAccessFile}, a
+ * {@link FileChannel} or a {@link MappedByteBuffer}. The {@link Access} that is used can
+ * be configured using the {@code loader.fileAccess} system property.
  *
  * @author Phillip Webb
  * @author Andy Wilkinson
  */
 public class RandomAccessDataFile implements RandomAccessData {
 
+	private static final String ACCESS_PROPERTY = "loader.fileAccess";
+
 	private final FileAccess fileAccess;
 
 	private final long offset;
@@ -43,10 +54,22 @@ public class RandomAccessDataFile implements RandomAccessData {
 	 * @throws IllegalArgumentException if the file is null or does not exist
 	 */
 	public RandomAccessDataFile(File file) {
+		this(file, Access.get());
+	}
+
+	/**
+	 * Create a new {@link RandomAccessDataFile} backed by the specified file using the
+	 * specified {@link Access}.
+	 * @param file the underlying file
+	 * @param access the strategy used to access the file
+	 * @throws IllegalArgumentException if the file is null or does not exist
+	 * @since 2.2.0
+	 */
+	public RandomAccessDataFile(File file, Access access) {
 		if (file == null) {
 			throw new IllegalArgumentException("File must not be null");
 		}
-		this.fileAccess = new FileAccess(file);
+		this.fileAccess = FileAccess.get(file, access);
 		this.offset = 0L;
 		this.length = file.length();
 	}
@@ -203,20 +226,94 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	}
 
-	private static final class FileAccess {
+	/**
+	 * The strategy used to access the underlying file.
+	 */
+	public enum Access {
 
-		private final Object monitor = new Object();
+		/**
+		 * A single {@link RandomAccessFile} with reads serialized by a monitor.
+		 */
+		RANDOM_ACCESS_FILE,
 
-		private final File file;
+		/**
+		 * A {@link FileChannel} using lock-free positional reads. Reads performed by an
+		 * interrupted thread fail with a {@link ClosedChannelException}.
+		 */
+		CHANNEL,
 
-		private RandomAccessFile randomAccessFile;
+		/**
+		 * A read-only {@link MappedByteBuffer}. Files that are too large to be mapped use
+		 * a {@link #CHANNEL} instead.
+		 */
+		MAPPED;
+
+		/**
+		 * Return the {@link Access} configured using the {@code loader.fileAccess} system
+		 * property, defaulting to {@link #RANDOM_ACCESS_FILE}.
+		 * @return the configured access
+		 */
+		static Access get() {
+			String value = System.getProperty(ACCESS_PROPERTY);
+			if (value == null || value.isEmpty()) {
+				return RANDOM_ACCESS_FILE;
+			}
+			return valueOf(value.trim().toUpperCase(Locale.ENGLISH).replace('-', '_'));
+		}
+
+	}
+
+	/**
+	 * Provides access to the underlying file.
+	 */
+	private abstract static class FileAccess {
 
-		private FileAccess(File file) {
+		protected final File file;
+
+		protected FileAccess(File file) {
 			this.file = file;
+		}
+
+		protected abstract int read(byte[] bytes, long position, int offset, int length)
+				throws IOException;
+
+		protected abstract int readByte(long position) throws IOException;
+
+		protected abstract void close() throws IOException;
+
+		protected final IllegalArgumentException fileMustExist() {
+			return new IllegalArgumentException(
+					String.format("File %s must exist", this.file.getAbsolutePath()));
+		}
+
+		static FileAccess get(File file, Access access) {
+			if (access == Access.MAPPED && file.length() <= Integer.MAX_VALUE) {
+				return new MappedFileAccess(file);
+			}
+			if (access == Access.MAPPED || access == Access.CHANNEL) {
+				return new ChannelFileAccess(file);
+			}
+			return new RandomAccessFileAccess(file);
+		}
+
+	}
+
+	/**
+	 * {@link FileAccess} backed by a {@link RandomAccessFile}.
+	 */
+	private static final class RandomAccessFileAccess extends FileAccess {
+
+		private final Object monitor = new Object();
+
+		private RandomAccessFile randomAccessFile;
+
+		private RandomAccessFileAccess(File file) {
+			super(file);
 			openIfNecessary();
 		}
 
-		private int read(byte[] bytes, long position, int offset, int length)
+		@Override
+		protected int read(byte[] bytes, long position, int offset, int length)
 				throws IOException {
 			synchronized (this.monitor) {
 				openIfNecessary();
@@ -231,13 +328,13 @@ public class RandomAccessDataFile implements RandomAccessData {
 					this.randomAccessFile = new RandomAccessFile(this.file, "r");
 				}
 				catch (FileNotFoundException ex) {
-					throw new IllegalArgumentException(String.format("File %s must exist",
-							this.file.getAbsolutePath()));
+					throw fileMustExist();
 				}
 			}
 		}
 
-		private void close() throws IOException {
+		@Override
+		protected void close() throws IOException {
 			synchronized (this.monitor) {
 				if (this.randomAccessFile != null) {
 					this.randomAccessFile.close();
@@ -246,7 +343,8 @@ public class RandomAccessDataFile implements RandomAccessData {
 			}
 		}
 
-		private int readByte(long position) throws IOException {
+		@Override
+		protected int readByte(long position) throws IOException {
 			synchronized (this.monitor) {
 				openIfNecessary();
 				this.randomAccessFile.seek(position);
@@ -256,4 +354,122 @@ public class RandomAccessDataFile implements RandomAccessData {
 
 	}
 
+	/**
+	 * {@link FileAccess} backed by a {@link FileChannel}. Positional reads do not change
+	 * the channel's position so they can be performed concurrently without locking. A
+	 * channel that has been closed, for example because a reading thread was interrupted,
+	 * is reopened.
+	 */
+	private static final class ChannelFileAccess extends FileAccess {
+
+		private final Object monitor = new Object();
+
+		private volatile FileChannel channel;
+
+		private ChannelFileAccess(File file) {
+			super(file);
+			getChannel();
+		}
+
+		@Override
+		protected int read(byte[] bytes, long position, int offset, int length)
+				throws IOException {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+			while (true) {
+				try {
+					return getChannel().read(buffer, position);
+				}
+				catch (ClosedChannelException ex) {
+					if (Thread.currentThread().isInterrupted()) {
+						throw ex;
+					}
+				}
+			}
+		}
+
+		@Override
+		protected int readByte(long position) throws IOException {
+			byte[] bytes = new byte[1];
+			int read = read(bytes, position, 0, 1);
+			return (read > 0) ? bytes[0] & 0xFF : -1;
+		}
+
+		private FileChannel getChannel() {
+			FileChannel channel = this.channel;
+			if (channel != null && channel.isOpen()) {
+				return channel;
+			}
+			synchronized (this.monitor) {
+				if (this.channel == null || !this.channel.isOpen()) {
+					try {
+						this.channel = FileChannel.open(this.file.toPath(),
+								StandardOpenOption.READ);
+					}
+					catch (IOException ex) {
+						throw fileMustExist();
+					}
+				}
+				return this.channel;
+			}
+		}
+
+		@Override
+		protected void close() throws IOException {
+			synchronized (this.monitor) {
+				if (this.channel != null) {
+					this.channel.close();
+					this.channel = null;
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * {@link FileAccess} backed by a read-only {@link MappedByteBuffer}. Each read
+	 * operates on a duplicate of the buffer so reads can be performed concurrently
+	 * without locking.
+	 */
+	private static final class MappedFileAccess extends FileAccess {
+
+		private final ByteBuffer buffer;
+
+		private MappedFileAccess(File file) {
+			super(file);
+			try (FileChannel channel = FileChannel.open(file.toPath(),
+					StandardOpenOption.READ)) {
+				this.buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			}
+			catch (IOException ex) {
+				throw fileMustExist();
+			}
+		}
+
+		@Override
+		protected int read(byte[] bytes, long position, int offset, int length) {
+			if (position >= this.buffer.capacity()) {
+				return -1;
+			}
+			ByteBuffer buffer = this.buffer.duplicate();
+			buffer.position((int) position);
+			int read = Math.min(length, buffer.remaining());
+			buffer.get(bytes, offset, read);
+			return read;
+		}
+
+		@Override
+		protected int readByte(long position) {
+			if (position >= this.buffer.capacity()) {
+				return -1;
+			}
+			return this.buffer.get((int) position) & 0xFF;
+		}
+
+		@Override
+		protected void close() {
+			// The mapping is released when the buffer is garbage collected
+		}
+
+	}
+
 }
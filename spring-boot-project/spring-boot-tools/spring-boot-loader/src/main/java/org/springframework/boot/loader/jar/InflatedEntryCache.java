@@ -0,0 +1,232 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.loader.data.RandomAccessDataFile;
+
+/**
+ * A size-limited, least recently used cache of the inflated content of small compressed
+ * entries. Allows frequently read resources, such as {@code META-INF/spring.factories} or
+ * static web content, to be returned without inflating them again each time they are
+ * opened.
+ * <p>
+ * The cache is disabled by default. It is enabled by setting the
+ * {@code loader.entryCacheSize} system property to the maximum number of bytes that it
+ * may hold. Only entries whose uncompressed size does not exceed
+ * {@code loader.entryCacheMaxEntrySize} (64KB by default) are cached.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public final class InflatedEntryCache {
+
+	private static final String SIZE_PROPERTY = "loader.entryCacheSize";
+
+	private static final String MAX_ENTRY_SIZE_PROPERTY = "loader.entryCacheMaxEntrySize";
+
+	private static final long DEFAULT_MAX_ENTRY_SIZE = 64 * 1024;
+
+	private static final InflatedEntryCache INSTANCE = new InflatedEntryCache(
+			Long.getLong(SIZE_PROPERTY, 0),
+			Long.getLong(MAX_ENTRY_SIZE_PROPERTY, DEFAULT_MAX_ENTRY_SIZE));
+
+	private final long maxSize;
+
+	private final long maxEntrySize;
+
+	private final Map<Key, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long size;
+
+	private long hitCount;
+
+	private long missCount;
+
+	InflatedEntryCache(long maxSize, long maxEntrySize) {
+		this.maxSize = maxSize;
+		this.maxEntrySize = Math.min(maxSize, maxEntrySize);
+	}
+
+	/**
+	 * Return the cache instance used by all {@link JarFile JarFiles}.
+	 * @return the cache
+	 */
+	public static InflatedEntryCache get() {
+		return INSTANCE;
+	}
+
+	/**
+	 * Return if the cache is enabled.
+	 * @return {@code true} if the cache is enabled
+	 */
+	public boolean isEnabled() {
+		return this.maxSize > 0;
+	}
+
+	/**
+	 * Return the number of times that the inflated content of an entry was found in the
+	 * cache.
+	 * @return the hit count
+	 */
+	public synchronized long getHitCount() {
+		return this.hitCount;
+	}
+
+	/**
+	 * Return the number of times that a cacheable entry had to be inflated.
+	 * @return the miss count
+	 */
+	public synchronized long getMissCount() {
+		return this.missCount;
+	}
+
+	/**
+	 * Return the total number of inflated bytes held by the cache.
+	 * @return the size in bytes
+	 */
+	public synchronized long getSize() {
+		return this.size;
+	}
+
+	/**
+	 * Remove all entries from the cache.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.size = 0;
+	}
+
+	/**
+	 * Return if the inflated content of the given entry may be cached.
+	 * @param entry the entry
+	 * @return {@code true} if the entry is cacheable
+	 */
+	boolean isCacheable(FileHeader entry) {
+		return isEnabled() && entry.getSize() >= 0
+				&& entry.getSize() <= this.maxEntrySize;
+	}
+
+	/**
+	 * Return the cached inflated content of the given entry.
+	 * @param jarFile the jar file that contains the entry
+	 * @param entry the entry
+	 * @return the inflated content or {@code null} if it is not cached
+	 */
+	synchronized byte[] get(JarFile jarFile, FileHeader entry) {
+		byte[] content = this.entries.get(new Key(jarFile, entry));
+		if (content != null) {
+			this.hitCount++;
+		}
+		else {
+			this.missCount++;
+		}
+		return content;
+	}
+
+	/**
+	 * Read the inflated content of the given entry and add it to the cache.
+	 * @param jarFile the jar file that contains the entry
+	 * @param entry the entry
+	 * @param inflated a stream of the inflated content that will be closed once read
+	 * @return the inflated content
+	 * @throws IOException if the content cannot be read
+	 */
+	byte[] put(JarFile jarFile, FileHeader entry, InputStream inflated)
+			throws IOException {
+		byte[] content;
+		try {
+			content = read(inflated, (int) entry.getSize());
+		}
+		finally {
+			inflated.close();
+		}
+		put(new Key(jarFile, entry), content);
+		return content;
+	}
+
+	private byte[] read(InputStream inputStream, int size) throws IOException {
+		byte[] content = new byte[size];
+		int offset = 0;
+		while (offset < size) {
+			int read = inputStream.read(content, offset, size - offset);
+			if (read == -1) {
+				throw new IOException("Unexpected end of entry data");
+			}
+			offset += read;
+		}
+		return content;
+	}
+
+	private synchronized void put(Key key, byte[] content) {
+		byte[] previous = this.entries.put(key, content);
+		this.size += content.length - ((previous != null) ? previous.length : 0);
+		Iterator<byte[]> iterator = this.entries.values().iterator();
+		while (this.size > this.maxSize && iterator.hasNext()) {
+			this.size -= iterator.next().length;
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Identifies an entry by the root file, the nested jar that contains it and the
+	 * offset of its local header.
+	 */
+	private static final class Key {
+
+		private final RandomAccessDataFile rootFile;
+
+		private final String pathFromRoot;
+
+		private final long localHeaderOffset;
+
+		Key(JarFile jarFile, FileHeader entry) {
+			this.rootFile = jarFile.getRootJarFile();
+			this.pathFromRoot = jarFile.getPathFromRoot();
+			this.localHeaderOffset = entry.getLocalHeaderOffset();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return this.rootFile == other.rootFile
+					&& this.localHeaderOffset == other.localHeaderOffset
+					&& this.pathFromRoot.equals(other.pathFromRoot);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(this.rootFile);
+			result = 31 * result + this.pathFromRoot.hashCode();
+			result = 31 * result + Long.hashCode(this.localHeaderOffset);
+			return result;
+		}
+
+	}
+
+}
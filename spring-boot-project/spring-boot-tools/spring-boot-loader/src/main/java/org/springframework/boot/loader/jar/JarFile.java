@@ -79,6 +79,8 @@ public class JarFile extends java.util.jar.JarFile {
 
 	private boolean signed;
 
+	private NestedJarIndex nestedJarIndex;
+
 	/**
 	 * Create a new {@link JarFile} backed by the specified file.
 	 * @param file the root jar file
@@ -114,13 +116,18 @@ public class JarFile extends java.util.jar.JarFile {
 	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
 			RandomAccessData data, JarEntryFilter filter, JarFileType type,
 			Supplier<Manifest> manifestSupplier) throws IOException {
+		this(rootFile, pathFromRoot, data, filter, type, manifestSupplier, null);
+	}
+
+	private JarFile(RandomAccessDataFile rootFile, String pathFromRoot,
+			RandomAccessData data, JarEntryFilter filter, JarFileType type,
+			Supplier<Manifest> manifestSupplier, NestedJarIndex.Entry indexEntry)
+			throws IOException {
 		super(rootFile.getFile());
 		this.rootFile = rootFile;
 		this.pathFromRoot = pathFromRoot;
-		CentralDirectoryParser parser = new CentralDirectoryParser();
-		this.entries = parser.addVisitor(new JarFileEntries(this, filter));
-		parser.addVisitor(centralDirectoryVisitor());
-		this.data = parser.parse(data, filter == null);
+		this.entries = new JarFileEntries(this, filter);
+		this.data = loadEntries(data, filter, indexEntry);
 		this.type = type;
 		this.manifestSupplier = (manifestSupplier != null) ? manifestSupplier : () -> {
 			try (InputStream inputStream = getInputStream(MANIFEST_NAME)) {
@@ -135,6 +142,18 @@ public class JarFile extends java.util.jar.JarFile {
 		};
 	}
 
+	private RandomAccessData loadEntries(RandomAccessData data, JarEntryFilter filter,
+			NestedJarIndex.Entry indexEntry) throws IOException {
+		if (indexEntry != null && indexEntry.load(data, this.entries)) {
+			this.signed = indexEntry.isSigned();
+			return data;
+		}
+		CentralDirectoryParser parser = new CentralDirectoryParser();
+		parser.addVisitor(this.entries);
+		parser.addVisitor(centralDirectoryVisitor());
+		return parser.parse(data, filter == null);
+	}
+
 	private CentralDirectoryVisitor centralDirectoryVisitor() {
 		return new CentralDirectoryVisitor() {
 
@@ -287,7 +306,16 @@ public class JarFile extends java.util.jar.JarFile {
 		}
 		RandomAccessData entryData = this.entries.getEntryData(entry.getName());
 		return new JarFile(this.rootFile, this.pathFromRoot + "!/" + entry.getName(),
-				entryData, JarFileType.NESTED_JAR);
+				entryData, null, JarFileType.NESTED_JAR, null,
+				getNestedJarIndex().get(entry.getName(), entry.getCrc()));
+	}
+
+	private NestedJarIndex getNestedJarIndex() {
+		if (this.nestedJarIndex == null) {
+			this.nestedJarIndex = (this.type != JarFileType.DIRECT) ? NestedJarIndex.NONE
+					: NestedJarIndex.load(this.entries);
+		}
+		return this.nestedJarIndex;
 	}
 
 	@Override
@@ -16,6 +16,7 @@
 
 package org.springframework.boot.loader.jar;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
@@ -120,6 +121,24 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		}
 	}
 
+	/**
+	 * Load entries from pre-computed arrays rather than by visiting the central
+	 * directory.
+	 * @param centralDirectoryData the central directory data
+	 * @param hashCodes the hash codes of the entry names, in hash code order
+	 * @param centralDirectoryOffsets the offsets of the central directory records
+	 * @param positions the original order positions of the entries
+	 * @see NestedJarIndex
+	 */
+	void load(RandomAccessData centralDirectoryData, int[] hashCodes,
+			int[] centralDirectoryOffsets, int[] positions) {
+		this.centralDirectoryData = centralDirectoryData;
+		this.hashCodes = hashCodes;
+		this.centralDirectoryOffsets = centralDirectoryOffsets;
+		this.positions = positions;
+		this.size = hashCodes.length;
+	}
+
 	int getSize() {
 		return this.size;
 	}
@@ -186,6 +205,14 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		if (entry == null) {
 			return null;
 		}
+		InflatedEntryCache cache = InflatedEntryCache.get();
+		if (entry.getMethod() == ZipEntry.DEFLATED && cache.isCacheable(entry)) {
+			byte[] content = cache.get(this.jarFile, entry);
+			if (content == null) {
+				content = cache.put(this.jarFile, entry, inflate(entry));
+			}
+			return new ByteArrayInputStream(content);
+		}
 		InputStream inputStream = getEntryData(entry).getInputStream();
 		if (entry.getMethod() == ZipEntry.DEFLATED) {
 			inputStream = new ZipInflaterInputStream(inputStream, (int) entry.getSize());
@@ -193,6 +220,11 @@ class JarFileEntries implements CentralDirectoryVisitor, Iterable<JarEntry> {
 		return inputStream;
 	}
 
+	private InputStream inflate(FileHeader entry) throws IOException {
+		return new ZipInflaterInputStream(getEntryData(entry).getInputStream(),
+				(int) entry.getSize());
+	}
+
 	public RandomAccessData getEntryData(String name) throws IOException {
 		FileHeader entry = getEntry(name, FileHeader.class, false);
 		if (entry == null) {
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+
+import org.springframework.boot.loader.data.RandomAccessData;
+
+/**
+ * A pre-computed index of the central directories of the jars that are nested within a
+ * {@link JarFile}. The index is written when the jar is repackaged and allows a nested
+ * jar to be opened without parsing, hashing and sorting its central directory. The index
+ * holds, for each nested jar, the same {@code hashCodes}, {@code centralDirectoryOffsets}
+ * and {@code positions} arrays that {@link JarFileEntries} would otherwise build.
+ * <p>
+ * An index entry is only used when the nested jar's CRC and central directory end record
+ * match those recorded in the index. In all other cases the central directory is parsed
+ * as usual.
+ *
+ * @author Jonas Berg
+ */
+final class NestedJarIndex {
+
+	/**
+	 * The name of the entry that holds the index.
+	 */
+	static final String ENTRY_NAME = "META-INF/spring-boot-nested-jars.idx";
+
+	static final int MAGIC = 0x53424E4A;
+
+	static final int VERSION = 1;
+
+	static final NestedJarIndex NONE = new NestedJarIndex(Collections.emptyMap());
+
+	private final Map<String, Entry> entries;
+
+	private NestedJarIndex(Map<String, Entry> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * Return the index entry for the nested jar with the given name and CRC.
+	 * @param name the name of the nested jar
+	 * @param crc the CRC of the nested jar
+	 * @return the index entry or {@code null}
+	 */
+	Entry get(String name, long crc) {
+		Entry entry = this.entries.get(name);
+		return (entry != null && entry.crc == crc) ? entry : null;
+	}
+
+	/**
+	 * Load the index from the given entries, returning {@link #NONE} if the entries do
+	 * not contain a valid index.
+	 * @param entries the entries of the jar that contains the nested jars
+	 * @return the index
+	 */
+	static NestedJarIndex load(JarFileEntries entries) {
+		try {
+			JarEntry entry = entries.getEntry(ENTRY_NAME);
+			if (entry == null || entry.getMethod() != ZipEntry.STORED) {
+				return NONE;
+			}
+			return load(entries.getEntryData(ENTRY_NAME));
+		}
+		catch (IOException ex) {
+			return NONE;
+		}
+	}
+
+	private static NestedJarIndex load(RandomAccessData data) throws IOException {
+		try (DataInputStream input = new DataInputStream(data.getInputStream())) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+				return NONE;
+			}
+			long offset = 12 + input.readInt();
+			int count = input.readInt();
+			Map<String, Entry> entries = new HashMap<>(count * 2);
+			for (int i = 0; i < count; i++) {
+				String name = input.readUTF();
+				Entry entry = new Entry(data, offset, input.readLong(), input.readInt(),
+						input.readInt(), input.readBoolean(), input.readInt());
+				entries.put(name, entry);
+				offset += entry.size * 12L;
+			}
+			return new NestedJarIndex(entries);
+		}
+	}
+
+	/**
+	 * The index of a single nested jar.
+	 */
+	static final class Entry {
+
+		private final RandomAccessData data;
+
+		private final long offset;
+
+		private final long crc;
+
+		private final int numberOfRecords;
+
+		private final int centralDirectorySize;
+
+		private final boolean signed;
+
+		private final int size;
+
+		private Entry(RandomAccessData data, long offset, long crc, int numberOfRecords,
+				int centralDirectorySize, boolean signed, int size) {
+			this.data = data;
+			this.offset = offset;
+			this.crc = crc;
+			this.numberOfRecords = numberOfRecords;
+			this.centralDirectorySize = centralDirectorySize;
+			this.signed = signed;
+			this.size = size;
+		}
+
+		boolean isSigned() {
+			return this.signed;
+		}
+
+		/**
+		 * Load the indexed entries of the given nested jar data into the given
+		 * {@link JarFileEntries}.
+		 * @param jarData the data of the nested jar
+		 * @param entries the entries to load
+		 * @return {@code true} if the entries were loaded or {@code false} if the index
+		 * does not match the nested jar
+		 * @throws IOException on error
+		 */
+		boolean load(RandomAccessData jarData, JarFileEntries entries)
+				throws IOException {
+			CentralDirectoryEndRecord endRecord = new CentralDirectoryEndRecord(jarData);
+			if (endRecord.getStartOfArchive(jarData) != 0
+					|| endRecord.getNumberOfRecords() != this.numberOfRecords) {
+				return false;
+			}
+			RandomAccessData centralDirectoryData = endRecord
+					.getCentralDirectory(jarData);
+			if (centralDirectoryData.getSize() != this.centralDirectorySize) {
+				return false;
+			}
+			IntBuffer buffer = ByteBuffer
+					.wrap(this.data.read(this.offset, this.size * 12L)).asIntBuffer();
+			int[] hashCodes = new int[this.size];
+			int[] centralDirectoryOffsets = new int[this.size];
+			int[] positions = new int[this.size];
+			buffer.get(hashCodes);
+			buffer.get(centralDirectoryOffsets);
+			buffer.get(positions);
+			entries.load(centralDirectoryData, hashCodes, centralDirectoryOffsets,
+					positions);
+			return true;
+		}
+
+	}
+
+}
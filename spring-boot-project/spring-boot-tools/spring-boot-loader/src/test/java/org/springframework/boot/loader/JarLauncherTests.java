@@ -32,6 +32,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * Tests for {@link JarLauncher}.
  *
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 public class JarLauncherTests extends AbstractExecutableArchiveLauncherTests {
 
@@ -61,4 +62,33 @@ public class JarLauncherTests extends AbstractExecutableArchiveLauncherTests {
 				new URL("jar:" + jarRoot.toURI().toURL() + "!/BOOT-INF/lib/foo.jar!/"));
 	}
 
+	@Test
+	public void explodedLayeredJarHasLayerClassesAndLibsOnClasspath() throws Exception {
+		File explodedRoot = explode(
+				createJarArchive("archive.jar", "BOOT-INF/layers/application"));
+		JarLauncher launcher = new JarLauncher(new ExplodedArchive(explodedRoot, true));
+		List<Archive> archives = launcher.getClassPathArchives();
+		assertThat(archives).hasSize(2);
+		assertThat(getUrls(archives)).containsOnly(
+				new File(explodedRoot, "BOOT-INF/layers/application/classes").toURI()
+						.toURL(),
+				new URL("jar:"
+						+ new File(explodedRoot,
+								"BOOT-INF/layers/application/lib/foo.jar").toURI().toURL()
+						+ "!/"));
+	}
+
+	@Test
+	public void archivedLayeredJarHasLayerClassesAndLibsOnClasspath() throws Exception {
+		File jarRoot = createJarArchive("archive.jar", "BOOT-INF/layers/application");
+		JarLauncher launcher = new JarLauncher(new JarFileArchive(jarRoot));
+		List<Archive> archives = launcher.getClassPathArchives();
+		assertThat(archives).hasSize(2);
+		assertThat(getUrls(archives)).containsOnly(
+				new URL("jar:" + jarRoot.toURI().toURL()
+						+ "!/BOOT-INF/layers/application/classes!/"),
+				new URL("jar:" + jarRoot.toURI().toURL()
+						+ "!/BOOT-INF/layers/application/lib/foo.jar!/"));
+	}
+
 }
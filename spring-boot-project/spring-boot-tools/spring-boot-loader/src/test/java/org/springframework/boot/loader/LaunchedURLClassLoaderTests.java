@@ -17,15 +17,25 @@
 package org.springframework.boot.loader;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import org.springframework.boot.loader.jar.JarFile;
+import org.springframework.util.StreamUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 /**
  * Tests for {@link LaunchedURLClassLoader}.
@@ -33,6 +43,7 @@ import static org.assertj.core.api.Assertions.assertThat;
  * @author Dave Syer
  * @author Phillip Webb
  * @author Andy Wilkinson
+ * @author Jonas Berg
  */
 @SuppressWarnings("resource")
 public class LaunchedURLClassLoaderTests {
@@ -105,4 +116,89 @@ public class LaunchedURLClassLoaderTests {
 		}
 	}
 
+	@Test
+	public void resolveResourcesFromIndexedNestedArchives() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		JarFile jarFile = new JarFile(file);
+		URL nested = jarFile.getNestedJarFile(jarFile.getEntry("nested.jar")).getUrl();
+		URL anotherNested = jarFile
+				.getNestedJarFile(jarFile.getEntry("another-nested.jar")).getUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				new URL[] { jarFile.getUrl(), nested, anotherNested }, null);
+		assertThat(loader.getResource("d/9.dat"))
+				.isEqualTo(new URL(jarFile.getUrl(), "d/9.dat"));
+		assertThat(loader.getResource("d/missing.dat")).isNull();
+		List<URL> resources = Collections.list(loader.getResources("3.dat"));
+		assertThat(resources).containsExactly(new URL(nested, "3.dat"),
+				new URL(anotherNested, "3.dat"));
+		assertThat(resources.get(1).openConnection().getInputStream().read())
+				.isEqualTo(3);
+	}
+
+	@Test
+	public void loadClassFromIndexedArchive() throws Exception {
+		URL url = new JarFile(createExampleJar(null)).getUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null);
+		Class<?> loaded = loader.loadClass(Example.class.getName());
+		assertThat(loaded.getClassLoader()).isSameAs(loader);
+		assertThat(loaded.getProtectionDomain().getCodeSource().getLocation())
+				.isEqualTo(url);
+		assertThat(loaded.getPackage().getName())
+				.isEqualTo(getClass().getPackage().getName());
+		assertThatExceptionOfType(ClassNotFoundException.class)
+				.isThrownBy(() -> loader.loadClass("com.example.Missing"));
+	}
+
+	@Test
+	public void loadClassFromIndexedArchiveDefinesPackageFromManifest() throws Exception {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_VERSION, "1.2.3");
+		manifest.getMainAttributes().put(Attributes.Name.SEALED, "true");
+		URL url = new JarFile(createExampleJar(manifest)).getUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(new URL[] { url },
+				null);
+		Package loadedPackage = loader.loadClass(Example.class.getName()).getPackage();
+		assertThat(loadedPackage.getImplementationVersion()).isEqualTo("1.2.3");
+		assertThat(loadedPackage.isSealed(url)).isTrue();
+	}
+
+	@Test
+	public void loadClassFromAddedUrl() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		URL url = new JarFile(createExampleJar(null)).getUrl();
+		LaunchedURLClassLoader loader = new LaunchedURLClassLoader(
+				new URL[] { new JarFile(file).getUrl() }, null);
+		assertThat(loader.getResource("d/9.dat")).isNotNull();
+		assertThatExceptionOfType(ClassNotFoundException.class)
+				.isThrownBy(() -> loader.loadClass(Example.class.getName()));
+		loader.addURL(url);
+		assertThat(loader.loadClass(Example.class.getName()).getClassLoader())
+				.isSameAs(loader);
+		assertThat(loader.getResource("d/9.dat")).isNotNull();
+	}
+
+	private File createExampleJar(Manifest manifest) throws Exception {
+		File file = this.temporaryFolder.newFile();
+		String entryName = Example.class.getName().replace('.', '/') + ".class";
+		try (JarOutputStream jarOutputStream = (manifest != null)
+				? new JarOutputStream(new FileOutputStream(file), manifest)
+				: new JarOutputStream(new FileOutputStream(file))) {
+			jarOutputStream.putNextEntry(new ZipEntry(entryName));
+			try (InputStream inputStream = getClass().getClassLoader()
+					.getResourceAsStream(entryName)) {
+				StreamUtils.copy(inputStream, jarOutputStream);
+			}
+			jarOutputStream.closeEntry();
+		}
+		return file;
+	}
+
+	public static class Example {
+
+	}
+
 }
@@ -33,6 +33,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import org.springframework.boot.loader.data.RandomAccessDataFile.Access;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
@@ -70,10 +72,14 @@ public class RandomAccessDataFileTests {
 		FileOutputStream outputStream = new FileOutputStream(this.tempFile);
 		outputStream.write(BYTES);
 		outputStream.close();
-		this.file = new RandomAccessDataFile(this.tempFile);
+		this.file = createFile(this.tempFile);
 		this.inputStream = this.file.getInputStream();
 	}
 
+	protected RandomAccessDataFile createFile(File file) {
+		return new RandomAccessDataFile(file, Access.RANDOM_ACCESS_FILE);
+	}
+
 	@After
 	public void cleanup() throws Exception {
 		this.inputStream.close();
@@ -90,8 +96,8 @@ public class RandomAccessDataFileTests {
 	@Test
 	public void fileExists() {
 		File file = new File("/does/not/exist");
-		assertThatIllegalArgumentException()
-				.isThrownBy(() -> new RandomAccessDataFile(file)).withMessageContaining(
+		assertThatIllegalArgumentException().isThrownBy(() -> createFile(file))
+				.withMessageContaining(
 						String.format("File %s must exist", file.getAbsolutePath()));
 	}
 
@@ -288,6 +294,12 @@ public class RandomAccessDataFileTests {
 		assertThat(this.file.getFile()).isEqualTo(this.tempFile);
 	}
 
+	@Test
+	public void readAfterCloseShouldReopen() throws Exception {
+		this.file.close();
+		assertThat(this.file.read(2, 3)).isEqualTo(new byte[] { 2, 3, 4 });
+	}
+
 	@Test
 	public void concurrentReads() throws Exception {
 		ExecutorService executorService = Executors.newFixedThreadPool(20);
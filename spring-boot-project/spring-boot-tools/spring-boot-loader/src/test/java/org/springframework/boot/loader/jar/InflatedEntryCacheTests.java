@@ -0,0 +1,128 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.loader.jar;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import org.springframework.boot.loader.TestJarCreator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link InflatedEntryCache}.
+ *
+ * @author Jonas Berg
+ */
+public class InflatedEntryCacheTests {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private JarFile jarFile;
+
+	@Before
+	public void setup() throws Exception {
+		File file = this.temporaryFolder.newFile();
+		TestJarCreator.createTestJar(file);
+		this.jarFile = new JarFile(file);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		this.jarFile.close();
+	}
+
+	@Test
+	public void disabledWhenSizeIsZero() {
+		InflatedEntryCache cache = new InflatedEntryCache(0, 1024);
+		assertThat(cache.isEnabled()).isFalse();
+		assertThat(cache.isCacheable(getEntry("1.dat"))).isFalse();
+	}
+
+	@Test
+	public void entryLargerThanMaxEntrySizeIsNotCacheable() {
+		InflatedEntryCache cache = new InflatedEntryCache(1024, 0);
+		assertThat(cache.isEnabled()).isTrue();
+		assertThat(cache.isCacheable(getEntry("1.dat"))).isFalse();
+	}
+
+	@Test
+	public void getAfterPutIsHit() throws Exception {
+		InflatedEntryCache cache = new InflatedEntryCache(1024, 1024);
+		JarEntry entry = getEntry("1.dat");
+		assertThat(cache.get(this.jarFile, entry)).isNull();
+		assertThat(put(cache, entry)).containsExactly(1);
+		assertThat(cache.get(this.jarFile, entry)).containsExactly(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getSize()).isEqualTo(1);
+	}
+
+	@Test
+	public void leastRecentlyUsedEntryIsEvicted() throws Exception {
+		InflatedEntryCache cache = new InflatedEntryCache(2, 1024);
+		JarEntry one = getEntry("1.dat");
+		JarEntry two = getEntry("2.dat");
+		JarEntry nine = getEntry("d/9.dat");
+		put(cache, one);
+		put(cache, two);
+		cache.get(this.jarFile, one);
+		put(cache, nine);
+		assertThat(cache.getSize()).isEqualTo(2);
+		assertThat(cache.get(this.jarFile, one)).isNotNull();
+		assertThat(cache.get(this.jarFile, two)).isNull();
+		assertThat(cache.get(this.jarFile, nine)).isNotNull();
+	}
+
+	@Test
+	public void entriesOfDifferentJarFilesAreDistinct() throws Exception {
+		InflatedEntryCache cache = new InflatedEntryCache(1024, 1024);
+		put(cache, getEntry("1.dat"));
+		JarFile nested = this.jarFile.getNestedJarFile(getEntry("nested.jar"));
+		JarEntry nestedEntry = nested.getJarEntry("3.dat");
+		assertThat(cache.get(nested, nestedEntry)).isNull();
+		assertThat(cache.put(nested, nestedEntry, nested.getInputStream(nestedEntry)))
+				.containsExactly(3);
+		assertThat(cache.get(this.jarFile, getEntry("1.dat"))).containsExactly(1);
+	}
+
+	@Test
+	public void clearRemovesEntries() throws Exception {
+		InflatedEntryCache cache = new InflatedEntryCache(1024, 1024);
+		JarEntry entry = getEntry("1.dat");
+		put(cache, entry);
+		cache.clear();
+		assertThat(cache.getSize()).isEqualTo(0);
+		assertThat(cache.get(this.jarFile, entry)).isNull();
+	}
+
+	private JarEntry getEntry(String name) {
+		return this.jarFile.getJarEntry(name);
+	}
+
+	private byte[] put(InflatedEntryCache cache, JarEntry entry) throws IOException {
+		return cache.put(this.jarFile, entry, this.jarFile.getInputStream(entry));
+	}
+
+}
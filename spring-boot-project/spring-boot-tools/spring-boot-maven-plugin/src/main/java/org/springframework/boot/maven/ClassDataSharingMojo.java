@@ -0,0 +1,140 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+import org.springframework.boot.loader.tools.ApplicationExtractor;
+import org.springframework.boot.loader.tools.ClassDataSharingArchiveGenerator;
+
+/**
+ * Extract a repackaged jar into a directory from which it can be launched on a plain
+ * class path and generate an application class data sharing (AppCDS) archive for it. The
+ * application is run until its context has been refreshed to record the classes that it
+ * loads. The generated {@code application.args} file can then be used to launch the
+ * application with the archive: {@code java @application.args}. Requires the build to run
+ * on Java 11 or later, using the same JVM as the one that will run the application.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+@Mojo(name = "build-cds-archive", defaultPhase = LifecyclePhase.PACKAGE, threadSafe = true)
+public class ClassDataSharingMojo extends AbstractMojo {
+
+	/**
+	 * The Maven project.
+	 */
+	@Parameter(defaultValue = "${project}", readonly = true, required = true)
+	private MavenProject project;
+
+	/**
+	 * Directory containing the repackaged archive.
+	 */
+	@Parameter(defaultValue = "${project.build.directory}", required = true)
+	private File outputDirectory;
+
+	/**
+	 * Name of the repackaged archive.
+	 */
+	@Parameter(defaultValue = "${project.build.finalName}", readonly = true)
+	private String finalName;
+
+	/**
+	 * Classifier of the repackaged archive, if one was used when repackaging.
+	 */
+	@Parameter
+	private String classifier;
+
+	/**
+	 * Directory to which the application is extracted and the archive is written.
+	 */
+	@Parameter(defaultValue = "${project.build.directory}/cds", required = true)
+	private File cdsDirectory;
+
+	/**
+	 * JVM arguments that should be used when running the application to record the
+	 * classes that it loads. On command line, make sure to wrap multiple values between
+	 * quotes.
+	 */
+	@Parameter(property = "spring-boot.cds.jvmArguments")
+	private String jvmArguments;
+
+	/**
+	 * Arguments that should be passed to the application when running it to record the
+	 * classes that it loads.
+	 */
+	@Parameter(property = "spring-boot.cds.arguments")
+	private String[] arguments;
+
+	/**
+	 * Skip the execution.
+	 */
+	@Parameter(property = "spring-boot.cds.skip", defaultValue = "false")
+	private boolean skip;
+
+	@Override
+	public void execute() throws MojoExecutionException, MojoFailureException {
+		if (this.project.getPackaging().equals("pom")) {
+			getLog().debug("build-cds-archive goal could not be applied to pom project.");
+			return;
+		}
+		if (this.skip) {
+			getLog().debug("skipping class data sharing archive as per configuration.");
+			return;
+		}
+		File source = getSourceFile();
+		if (!source.isFile()) {
+			throw new MojoExecutionException("Unable to find repackaged archive " + source
+					+ ". Has the repackage goal been run?");
+		}
+		try {
+			new ApplicationExtractor(source).extract(this.cdsDirectory);
+			ClassDataSharingArchiveGenerator generator = new ClassDataSharingArchiveGenerator(
+					this.cdsDirectory);
+			generator.setJvmArguments(
+					new ArrayList<>(new RunArguments(this.jvmArguments).getArgs()));
+			generator.setArguments(
+					(this.arguments != null) ? Arrays.asList(this.arguments) : null);
+			File archive = generator.generate();
+			getLog().info("Class data sharing archive written to " + archive);
+		}
+		catch (IOException | IllegalStateException ex) {
+			throw new MojoExecutionException(ex.getMessage(), ex);
+		}
+	}
+
+	private File getSourceFile() {
+		String classifier = (this.classifier != null) ? this.classifier.trim() : "";
+		if (!classifier.isEmpty() && !classifier.startsWith("-")) {
+			classifier = "-" + classifier;
+		}
+		return new File(this.outputDirectory, this.finalName + classifier + "."
+				+ this.project.getArtifact().getArtifactHandler().getExtension());
+	}
+
+}
@@ -18,10 +18,14 @@ package org.springframework.boot.maven;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.attribute.FileTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.apache.maven.artifact.Artifact;
@@ -44,6 +48,7 @@ import org.springframework.boot.loader.tools.Layout;
 import org.springframework.boot.loader.tools.LayoutFactory;
 import org.springframework.boot.loader.tools.Layouts.Expanded;
 import org.springframework.boot.loader.tools.Layouts.Jar;
+import org.springframework.boot.loader.tools.Layouts.LayeredJar;
 import org.springframework.boot.loader.tools.Layouts.None;
 import org.springframework.boot.loader.tools.Layouts.War;
 import org.springframework.boot.loader.tools.Libraries;
@@ -132,8 +137,8 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 
 	/**
 	 * The type of archive (which corresponds to how the dependencies are laid out inside
-	 * it). Possible values are JAR, WAR, ZIP, DIR, NONE. Defaults to a guess based on the
-	 * archive type.
+	 * it). Possible values are JAR, LAYERED_JAR, WAR, ZIP, DIR, NONE. Defaults to a guess
+	 * based on the archive type.
 	 * @since 1.0
 	 */
 	@Parameter
@@ -200,6 +205,33 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 	@Parameter(defaultValue = "false")
 	public boolean includeSystemScope;
 
+	/**
+	 * Compute the CRC, size and index of nested libraries in parallel. The content of the
+	 * repackaged archive is the same whether or not this is enabled.
+	 * @since 2.2.0
+	 */
+	@Parameter(property = "spring-boot.repackage.parallel", defaultValue = "false")
+	private boolean parallel;
+
+	/**
+	 * Evaluate the class presence checks of the auto-configuration conditions against the
+	 * libraries of the repackaged archive and write their outcomes to it, so that they do
+	 * not have to be checked each time the application starts. Conditions on types that
+	 * may be provided by the JDK are still checked at runtime.
+	 * @since 2.2.0
+	 */
+	@Parameter(property = "spring-boot.repackage.precomputeConditions", defaultValue = "false")
+	private boolean precomputeConditions;
+
+	/**
+	 * Timestamp for reproducible output archive entries, either formatted as ISO 8601
+	 * (<code>yyyy-MM-dd'T'HH:mm:ssXXX</code>) or an {@code int} representing seconds
+	 * since the epoch.
+	 * @since 2.2.0
+	 */
+	@Parameter(defaultValue = "${project.build.outputTimestamp}")
+	private String outputTimestamp;
+
 	@Override
 	public void execute() throws MojoExecutionException, MojoFailureException {
 		if (this.project.getPackaging().equals("pom")) {
@@ -223,7 +255,7 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 				getLog());
 		try {
 			LaunchScript launchScript = getLaunchScript();
-			repackager.repackage(target, libraries, launchScript);
+			repackager.repackage(target, libraries, launchScript, parseOutputTimestamp());
 		}
 		catch (IOException ex) {
 			throw new MojoExecutionException(ex.getMessage(), ex);
@@ -270,6 +302,8 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		repackager.addMainClassTimeoutWarningListener(
 				new LoggingMainClassTimeoutWarningListener());
 		repackager.setMainClass(this.mainClass);
+		repackager.setParallel(this.parallel);
+		repackager.setPrecomputeConditions(this.precomputeConditions);
 		if (this.layout != null) {
 			getLog().info("Layout: " + this.layout);
 			repackager.setLayout(this.layout.layout());
@@ -277,6 +311,24 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		return repackager;
 	}
 
+	private FileTime parseOutputTimestamp() throws MojoExecutionException {
+		// Maven ignores a single-character timestamp as it is "useful to override a full
+		// value during pom inheritance"
+		if (this.outputTimestamp == null || this.outputTimestamp.length() < 2) {
+			return null;
+		}
+		if (this.outputTimestamp.chars().allMatch(Character::isDigit)) {
+			return FileTime.from(Long.parseLong(this.outputTimestamp), TimeUnit.SECONDS);
+		}
+		try {
+			return FileTime.from(OffsetDateTime.parse(this.outputTimestamp).toInstant());
+		}
+		catch (DateTimeParseException ex) {
+			throw new MojoExecutionException(
+					"Invalid output timestamp '" + this.outputTimestamp + "'", ex);
+		}
+	}
+
 	private ArtifactsFilter[] getAdditionalFilters() {
 		List<ArtifactsFilter> filters = new ArrayList<>();
 		if (this.excludeDevtools) {
@@ -377,6 +429,11 @@ public class RepackageMojo extends AbstractDependencyFilterMojo {
 		 */
 		JAR(new Jar()),
 
+		/**
+		 * Layered Jar Layout.
+		 */
+		LAYERED_JAR(new LayeredJar()),
+
 		/**
 		 * War Layout.
 		 */
@@ -189,6 +189,14 @@ public class SpringApplication {
 	 */
 	public static final String BANNER_LOCATION_PROPERTY = SpringApplicationBannerPrinter.BANNER_LOCATION_PROPERTY;
 
+	/**
+	 * System property that, when set to {@code onRefresh}, closes the context and returns
+	 * from {@link #run(String...)} as soon as the context has been refreshed. Used to
+	 * record the classes that an application loads during startup.
+	 * @since 2.2.0
+	 */
+	public static final String CONTEXT_EXIT_PROPERTY = "spring.context.exit";
+
 	private static final String SYSTEM_PROPERTY_JAVA_AWT_HEADLESS = "java.awt.headless";
 
 	private static final Log logger = LogFactory.getLog(SpringApplication.class);
@@ -418,6 +426,10 @@ public class SpringApplication {
 			refreshContext(context);
 			// 【8】执行刷新容器后的后置处理逻辑，注意这里为空方法
 			afterRefresh(context, applicationArguments);
+			if (isExitOnRefresh()) {
+				context.close();
+				return context;
+			}
 			// 停止stopWatch计时
 			stopWatch.stop();
 			// 打印日志
@@ -904,6 +916,10 @@ public class SpringApplication {
 			ApplicationArguments args) {
 	}
 
+	private boolean isExitOnRefresh() {
+		return "onRefresh".equalsIgnoreCase(System.getProperty(CONTEXT_EXIT_PROPERTY));
+	}
+
 	private void callRunners(ApplicationContext context, ApplicationArguments args) {
 		List<Object> runners = new ArrayList<>();
 		runners.addAll(context.getBeansOfType(ApplicationRunner.class).values());
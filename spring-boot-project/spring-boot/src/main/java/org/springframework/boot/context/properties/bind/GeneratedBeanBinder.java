@@ -0,0 +1,222 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Base class for binders of a specific Java Bean type that are generated at build time,
+ * typically by the configuration processor, so that the bean can be bound without
+ * reflection. A generated binder describes the same properties that would otherwise be
+ * found by introspecting the bean and is picked up automatically when binding a bean of
+ * the exact type it was generated for.
+ * <p>
+ * The binder of a bean type must be named after the type, with any {@code $} replaced by
+ * {@code _}, followed by {@value #SUFFIX}, and have a public no-arg constructor. As such a
+ * name can be shared by a nested type and a top-level type, for instance {@code a.Foo$Bar}
+ * and {@code a.Foo_Bar}, a binder is only used for the exact type it declares.
+ *
+ * @param <T> the bean type
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public abstract class GeneratedBeanBinder<T> {
+
+	/**
+	 * The suffix of the name of a generated binder.
+	 */
+	public static final String SUFFIX = "__BeanBinder";
+
+	private final Class<T> type;
+
+	private final Supplier<T> factory;
+
+	private final List<Property<T>> properties = new ArrayList<>();
+
+	/**
+	 * Create a new {@link GeneratedBeanBinder} instance.
+	 * @param type the bean type
+	 * @param factory the factory used to create a new bean
+	 */
+	protected GeneratedBeanBinder(Class<T> type, Supplier<T> factory) {
+		Assert.notNull(type, "Type must not be null");
+		Assert.notNull(factory, "Factory must not be null");
+		this.type = type;
+		this.factory = factory;
+	}
+
+	/**
+	 * Add a property to bind.
+	 * @param name the name of the property in dashed form
+	 * @param type the type of the property
+	 * @param getter the getter of the property or {@code null}
+	 * @param setter the setter of the property or {@code null}
+	 * @param fieldDeclaringClass the class declaring the field whose annotations should
+	 * be used when binding the property or {@code null}
+	 * @param fieldName the name of the field or {@code null}
+	 */
+	protected final void addProperty(String name, ResolvableType type,
+			Function<T, Object> getter, BiConsumer<T, Object> setter,
+			Class<?> fieldDeclaringClass, String fieldName) {
+		Assert.notNull(name, "Name must not be null");
+		Assert.notNull(type, "Type must not be null");
+		this.properties.add(new Property<>(name, type, getter, setter,
+				fieldDeclaringClass, fieldName));
+	}
+
+	Class<T> getType() {
+		return this.type;
+	}
+
+	T createBean() {
+		return this.factory.get();
+	}
+
+	List<Property<T>> getProperties() {
+		return Collections.unmodifiableList(this.properties);
+	}
+
+	/**
+	 * Return the generated binder for the given type, if any. A binder with the expected
+	 * name that was generated for another type is ignored.
+	 * @param type the bean type
+	 * @return the generated binder or {@code null}
+	 */
+	static GeneratedBeanBinder<?> get(Class<?> type) {
+		ClassLoader classLoader = type.getClassLoader();
+		String name = type.getName().replace('$', '_') + SUFFIX;
+		if (classLoader == null || !ClassUtils.isPresent(name, classLoader)) {
+			return null;
+		}
+		try {
+			Class<?> binderType = ClassUtils.forName(name, classLoader);
+			Assert.state(GeneratedBeanBinder.class.isAssignableFrom(binderType),
+					() -> "Generated binder " + name + " must extend "
+							+ GeneratedBeanBinder.class.getName());
+			GeneratedBeanBinder<?> binder = (GeneratedBeanBinder<?>) BeanUtils
+					.instantiateClass(binderType);
+			return (binder.getType() == type) ? binder : null;
+		}
+		catch (ClassNotFoundException | LinkageError ex) {
+			throw new IllegalStateException("Unable to load generated binder " + name,
+					ex);
+		}
+	}
+
+	/**
+	 * A property of a bean bound by a generated binder.
+	 *
+	 * @param <T> the bean type
+	 */
+	static final class Property<T> {
+
+		private final String name;
+
+		private final ResolvableType type;
+
+		private final Function<T, Object> getter;
+
+		private final BiConsumer<T, Object> setter;
+
+		private final Class<?> fieldDeclaringClass;
+
+		private final String fieldName;
+
+		private volatile Annotation[] annotations;
+
+		private Property(String name, ResolvableType type, Function<T, Object> getter,
+				BiConsumer<T, Object> setter, Class<?> fieldDeclaringClass,
+				String fieldName) {
+			this.name = name;
+			this.type = type;
+			this.getter = getter;
+			this.setter = setter;
+			this.fieldDeclaringClass = fieldDeclaringClass;
+			this.fieldName = fieldName;
+		}
+
+		String getName() {
+			return this.name;
+		}
+
+		ResolvableType getType() {
+			return this.type;
+		}
+
+		Annotation[] getAnnotations() {
+			if (this.fieldDeclaringClass == null) {
+				return null;
+			}
+			Annotation[] annotations = this.annotations;
+			if (annotations == null) {
+				try {
+					annotations = ReflectionUtils
+							.findField(this.fieldDeclaringClass, this.fieldName)
+							.getDeclaredAnnotations();
+				}
+				catch (Exception ex) {
+					annotations = new Annotation[0];
+				}
+				this.annotations = annotations;
+			}
+			return annotations;
+		}
+
+		Supplier<Object> getValue(Supplier<T> instance) {
+			if (this.getter == null) {
+				return null;
+			}
+			return () -> {
+				try {
+					return this.getter.apply(instance.get());
+				}
+				catch (Exception ex) {
+					throw new IllegalStateException(
+							"Unable to get value for property " + this.name, ex);
+				}
+			};
+		}
+
+		boolean isSettable() {
+			return this.setter != null;
+		}
+
+		void setValue(Supplier<T> instance, Object value) {
+			try {
+				this.setter.accept(instance.get(), value);
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(
+						"Unable to set value for property " + this.name, ex);
+			}
+		}
+
+	}
+
+}
@@ -41,6 +41,7 @@ import org.springframework.util.StringUtils;
  * @param <T> the type being bound
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  */
 abstract class IndexedElementsBinder<T> extends AggregateBinder<T> {
 
@@ -126,8 +127,8 @@ abstract class IndexedElementsBinder<T> extends AggregateBinder<T> {
 		if (!(source instanceof IterableConfigurationPropertySource)) {
 			return children;
 		}
-		for (ConfigurationPropertyName name : (IterableConfigurationPropertySource) source
-				.filter(root::isAncestorOf)) {
+		for (ConfigurationPropertyName name : ((IterableConfigurationPropertySource) source)
+				.filterDescendantsOf(root)) {
 			ConfigurationPropertyName choppedName = name
 					.chop(root.getNumberOfElements() + 1);
 			if (choppedName.isLastElementIndexed()) {
@@ -21,9 +21,12 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.springframework.beans.BeanUtils;
@@ -33,12 +36,14 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyS
 import org.springframework.boot.context.properties.source.ConfigurationPropertyState;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ResolvableType;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * {@link BeanBinder} for mutable Java Beans.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  */
 class JavaBeanBinder implements BeanBinder {
 
@@ -68,6 +73,18 @@ class JavaBeanBinder implements BeanBinder {
 	private <T> boolean bind(BeanPropertyBinder propertyBinder, Bean<T> bean,
 			BeanSupplier<T> beanSupplier) {
 		boolean bound = false;
+		GeneratedBeanBinder<T> generatedBinder = bean.getGeneratedBinder();
+		if (generatedBinder != null) {
+			for (GeneratedBeanBinder.Property<T> property : generatedBinder
+					.getProperties()) {
+				bound |= bind(propertyBinder, property.getName(), property.getType(),
+						property.getValue(beanSupplier), property.getAnnotations(),
+						property.isSettable()
+								? (value) -> property.setValue(beanSupplier, value)
+								: null);
+			}
+			return bound;
+		}
 		for (Map.Entry<String, BeanProperty> entry : bean.getProperties().entrySet()) {
 			bound |= bind(beanSupplier, propertyBinder, entry.getValue());
 		}
@@ -76,42 +93,62 @@ class JavaBeanBinder implements BeanBinder {
 
 	private <T> boolean bind(BeanSupplier<T> beanSupplier,
 			BeanPropertyBinder propertyBinder, BeanProperty property) {
-		String propertyName = property.getName();
-		ResolvableType type = property.getType();
-		Supplier<Object> value = property.getValue(beanSupplier);
-		Annotation[] annotations = property.getAnnotations();
+		return bind(propertyBinder, property.getName(), property.getType(),
+				property.getValue(beanSupplier), property.getAnnotations(),
+				property.isSettable() ? (value) -> property.setValue(beanSupplier, value)
+						: null);
+	}
+
+	private boolean bind(BeanPropertyBinder propertyBinder, String propertyName,
+			ResolvableType type, Supplier<Object> value, Annotation[] annotations,
+			Consumer<Object> setter) {
 		Object bound = propertyBinder.bindProperty(propertyName,
 				Bindable.of(type).withSuppliedValue(value).withAnnotations(annotations));
 		if (bound == null) {
 			return false;
 		}
-		if (property.isSettable()) {
-			property.setValue(beanSupplier, bound);
+		if (setter != null) {
+			setter.accept(bound);
 		}
 		else if (value == null || !bound.equals(value.get())) {
 			throw new IllegalStateException(
-					"No setter found for property: " + property.getName());
+					"No setter found for property: " + propertyName);
 		}
 		return true;
 	}
 
 	/**
-	 * The bean being bound.
+	 * The bean being bound. Introspection results are cached per bean type and generics
+	 * so that binding the same type again does not repeat the reflection. The cache uses
+	 * soft references so that it does not prevent class loaders from being collected.
+	 * Beans with a {@link GeneratedBeanBinder} are not introspected, the properties
+	 * described by the generated binder are used instead.
 	 */
 	private static class Bean<T> {
 
-		private static Bean<?> cached;
+		private static final int MAX_CACHED_BEANS = 1024;
+
+		private static final Map<BeanKey, Bean<?>> cache = new ConcurrentReferenceHashMap<>();
 
 		private final Class<?> type;
 
 		private final ResolvableType resolvableType;
 
+		private final boolean instantiable;
+
+		private final GeneratedBeanBinder<T> generatedBinder;
+
 		private final Map<String, BeanProperty> properties = new LinkedHashMap<>();
 
+		@SuppressWarnings("unchecked")
 		Bean(ResolvableType resolvableType, Class<?> type) {
 			this.resolvableType = resolvableType;
 			this.type = type;
-			putProperties(type);
+			this.instantiable = isInstantiable(type);
+			this.generatedBinder = (GeneratedBeanBinder<T>) GeneratedBeanBinder.get(type);
+			if (this.generatedBinder == null) {
+				putProperties(type);
+			}
 		}
 
 		private void putProperties(Class<?> type) {
@@ -169,6 +206,10 @@ class JavaBeanBinder implements BeanBinder {
 			return this.type;
 		}
 
+		public GeneratedBeanBinder<T> getGeneratedBinder() {
+			return this.generatedBinder;
+		}
+
 		public Map<String, BeanProperty> getProperties() {
 			return this.properties;
 		}
@@ -181,7 +222,9 @@ class JavaBeanBinder implements BeanBinder {
 					instance = target.getValue().get();
 				}
 				if (instance == null) {
-					instance = (T) BeanUtils.instantiateClass(this.type);
+					instance = (this.generatedBinder != null)
+							? this.generatedBinder.createBean()
+							: (T) BeanUtils.instantiateClass(this.type);
 				}
 				return instance;
 			});
@@ -196,13 +239,20 @@ class JavaBeanBinder implements BeanBinder {
 				instance = value.get();
 				type = (instance != null) ? instance.getClass() : type;
 			}
-			if (instance == null && !isInstantiable(type)) {
-				return null;
-			}
-			Bean<?> bean = Bean.cached;
-			if (bean == null || !type.equals(bean.getType())) {
+			BeanKey key = new BeanKey(bindable.getType(), type);
+			Bean<?> bean = cache.get(key);
+			if (bean == null) {
+				if (instance == null && !isInstantiable(type)) {
+					return null;
+				}
 				bean = new Bean<>(bindable.getType(), type);
-				cached = bean;
+				if (cache.size() >= MAX_CACHED_BEANS) {
+					cache.clear();
+				}
+				cache.put(key, bean);
+			}
+			else if (instance == null && !bean.instantiable) {
+				return null;
 			}
 			return (Bean<T>) bean;
 		}
@@ -222,6 +272,57 @@ class JavaBeanBinder implements BeanBinder {
 
 	}
 
+	/**
+	 * Key of a cached {@link Bean}. Made of the bean type and of the classes that the
+	 * bound type and its generics resolve to, compared by identity.
+	 */
+	private static final class BeanKey {
+
+		private static final int MAX_GENERICS_DEPTH = 8;
+
+		private final Class<?> type;
+
+		private final List<Object> resolvableType = new ArrayList<>();
+
+		private final int hashCode;
+
+		BeanKey(ResolvableType resolvableType, Class<?> type) {
+			this.type = type;
+			addResolved(resolvableType, 0);
+			this.hashCode = 31 * type.hashCode() + this.resolvableType.hashCode();
+		}
+
+		private void addResolved(ResolvableType resolvableType, int depth) {
+			this.resolvableType.add(resolvableType.resolve());
+			if (depth < MAX_GENERICS_DEPTH) {
+				ResolvableType[] generics = resolvableType.getGenerics();
+				this.resolvableType.add(generics.length);
+				for (ResolvableType generic : generics) {
+					addResolved(generic, depth + 1);
+				}
+			}
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			BeanKey other = (BeanKey) obj;
+			return this.type == other.type
+					&& this.resolvableType.equals(other.resolvableType);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+	}
+
 	private static class BeanSupplier<T> implements Supplier<T> {
 
 		private final Supplier<T> factory;
@@ -257,6 +358,8 @@ class JavaBeanBinder implements BeanBinder {
 
 		private Field field;
 
+		private volatile ResolvableType type;
+
 		BeanProperty(String name, ResolvableType declaringClassType) {
 			this.name = BeanPropertyName.toDashedForm(name);
 			this.declaringClassType = declaringClassType;
@@ -285,6 +388,15 @@ class JavaBeanBinder implements BeanBinder {
 		}
 
 		public ResolvableType getType() {
+			ResolvableType type = this.type;
+			if (type == null) {
+				type = resolveType();
+				this.type = type;
+			}
+			return type;
+		}
+
+		private ResolvableType resolveType() {
 			if (this.setter != null) {
 				MethodParameter methodParameter = new MethodParameter(this.setter, 0);
 				return ResolvableType.forMethodParameter(methodParameter,
@@ -36,6 +36,7 @@ import org.springframework.core.ResolvableType;
  *
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  */
 class MapBinder extends AggregateBinder<Map<Object, Object>> {
 
@@ -65,7 +66,7 @@ class MapBinder extends AggregateBinder<Map<Object, Object>> {
 					return getContext().getConverter().convert(property.getValue(),
 							target);
 				}
-				source = source.filter(name::isAncestorOf);
+				source = source.filterDescendantsOf(name);
 			}
 			new EntryBinder(name, resolvedTarget, elementBinder).bindEntries(source, map);
 		}
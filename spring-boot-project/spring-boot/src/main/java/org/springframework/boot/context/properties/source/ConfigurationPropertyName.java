@@ -21,9 +21,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * A configuration property name composed of elements separated by dots. User created
@@ -42,9 +44,14 @@ import org.springframework.util.Assert;
  * <li>{@code server.hosts[0].name}</li>
  * <li>{@code log[org.springboot].level}</li>
  * </ul>
+ * <p>
+ * Names created from a {@link String} are cached so that parsing the same name again
+ * returns the same instance. The hash code of a name is computed once and is used to
+ * quickly tell different names apart.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  * @since 2.0.0
  * @see #of(CharSequence)
  * @see ConfigurationPropertySource
@@ -60,12 +67,20 @@ public final class ConfigurationPropertyName
 	public static final ConfigurationPropertyName EMPTY = new ConfigurationPropertyName(
 			Elements.EMPTY);
 
-	private Elements elements;
+	private static final int MAX_CACHED_NAMES = 8192;
+
+	private static final Map<String, ConfigurationPropertyName> parsedNames = new ConcurrentReferenceHashMap<>();
+
+	private static final Map<Character, Map<String, ConfigurationPropertyName>> adaptedNames = new ConcurrentHashMap<>();
+
+	private final Elements elements;
 
 	private final CharSequence[] uniformElements;
 
 	private String string;
 
+	private int hashCode;
+
 	private ConfigurationPropertyName(Elements elements) {
 		this.elements = elements;
 		this.uniformElements = new CharSequence[elements.getSize()];
@@ -305,6 +320,10 @@ public final class ConfigurationPropertyName
 		if (getNumberOfElements() != other.getNumberOfElements()) {
 			return false;
 		}
+		if (this.hashCode != 0 && other.hashCode != 0
+				&& this.hashCode != other.hashCode) {
+			return false;
+		}
 		if (this.elements.canShortcutWithSource(ElementType.UNIFORM)
 				&& other.elements.canShortcutWithSource(ElementType.UNIFORM)) {
 			return toString().equals(other.toString());
@@ -357,7 +376,28 @@ public final class ConfigurationPropertyName
 
 	@Override
 	public int hashCode() {
-		return 0;
+		int hashCode = this.hashCode;
+		if (hashCode == 0) {
+			for (int i = 0; i < this.elements.getSize(); i++) {
+				hashCode = 31 * hashCode + elementHashCode(this.elements, i);
+			}
+			this.hashCode = hashCode;
+		}
+		return hashCode;
+	}
+
+	private int elementHashCode(Elements elements, int i) {
+		int length = elements.getLength(i);
+		boolean indexed = elements.getType(i).isIndexed();
+		int hashCode = 1;
+		for (int j = 0; j < length; j++) {
+			char ch = indexed ? elements.charAt(i, j)
+					: Character.toLowerCase(elements.charAt(i, j));
+			if (indexed || ElementsParser.isAlphaNumeric(ch)) {
+				hashCode = 31 * hashCode + ch;
+			}
+		}
+		return hashCode;
 	}
 
 	@Override
@@ -420,6 +460,21 @@ public final class ConfigurationPropertyName
 	 * {@code returnNullIfInvalid} is {@code false}
 	 */
 	static ConfigurationPropertyName of(CharSequence name, boolean returnNullIfInvalid) {
+		if (name instanceof String) {
+			ConfigurationPropertyName cached = parsedNames.get(name);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		ConfigurationPropertyName result = parse(name, returnNullIfInvalid);
+		if (result != null && name instanceof String) {
+			cache(parsedNames, (String) name, result);
+		}
+		return result;
+	}
+
+	private static ConfigurationPropertyName parse(CharSequence name,
+			boolean returnNullIfInvalid) {
 		if (name == null) {
 			Assert.isTrue(returnNullIfInvalid, "Name must not be null");
 			return null;
@@ -466,7 +521,25 @@ public final class ConfigurationPropertyName
 	 * @return a {@link ConfigurationPropertyName}
 	 */
 	static ConfigurationPropertyName adapt(CharSequence name, char separator) {
-		return adapt(name, separator, null);
+		if (!(name instanceof String)) {
+			return adapt(name, separator, null);
+		}
+		Map<String, ConfigurationPropertyName> cache = adaptedNames
+				.computeIfAbsent(separator, (key) -> new ConcurrentReferenceHashMap<>());
+		ConfigurationPropertyName adapted = cache.get(name);
+		if (adapted == null) {
+			adapted = adapt(name, separator, null);
+			cache(cache, (String) name, adapted);
+		}
+		return adapted;
+	}
+
+	private static void cache(Map<String, ConfigurationPropertyName> cache, String name,
+			ConfigurationPropertyName configurationPropertyName) {
+		if (cache.size() >= MAX_CACHED_NAMES) {
+			cache.clear();
+		}
+		cache.put(name, configurationPropertyName);
 	}
 
 	/**
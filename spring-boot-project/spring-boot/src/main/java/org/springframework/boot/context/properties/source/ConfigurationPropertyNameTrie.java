@@ -0,0 +1,116 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.source.ConfigurationPropertyName.Form;
+
+/**
+ * Prefix tree of {@link ConfigurationPropertyName names} keyed by the {@link Form#UNIFORM
+ * uniform} form of their elements, used to find the descendants of a name without testing
+ * every name. Elements match in the tree exactly when they are equal in the names.
+ *
+ * @author Jonas Berg
+ */
+class ConfigurationPropertyNameTrie {
+
+	private final List<ConfigurationPropertyName> names;
+
+	private final Node root = new Node();
+
+	/**
+	 * Create a new {@link ConfigurationPropertyNameTrie} instance.
+	 * @param names the names to index
+	 */
+	ConfigurationPropertyNameTrie(List<ConfigurationPropertyName> names) {
+		this.names = names;
+		for (int i = 0; i < names.size(); i++) {
+			ConfigurationPropertyName name = names.get(i);
+			Node node = this.root;
+			for (int element = 0; element < name.getNumberOfElements(); element++) {
+				node = node.children.computeIfAbsent(
+						name.getElement(element, Form.UNIFORM), (key) -> new Node());
+			}
+			node.positions.add(i);
+		}
+	}
+
+	/**
+	 * Return whether any name is a descendant of the given name.
+	 * @param name the ancestor name
+	 * @return {@code true} if there is a descendant
+	 */
+	boolean hasDescendantsOf(ConfigurationPropertyName name) {
+		Node node = find(name);
+		return node != null && !node.children.isEmpty();
+	}
+
+	/**
+	 * Return the names that are descendants of the given name, in the order of the
+	 * indexed names.
+	 * @param name the ancestor name
+	 * @return the descendant names
+	 */
+	List<ConfigurationPropertyName> getDescendantsOf(ConfigurationPropertyName name) {
+		Node node = find(name);
+		if (node == null || node.children.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Integer> positions = new ArrayList<>();
+		for (Node child : node.children.values()) {
+			child.collectPositions(positions);
+		}
+		Collections.sort(positions);
+		List<ConfigurationPropertyName> descendants = new ArrayList<>(positions.size());
+		for (int position : positions) {
+			descendants.add(this.names.get(position));
+		}
+		return descendants;
+	}
+
+	private Node find(ConfigurationPropertyName name) {
+		Node node = this.root;
+		for (int i = 0; i < name.getNumberOfElements() && node != null; i++) {
+			node = node.children.get(name.getElement(i, Form.UNIFORM));
+		}
+		return node;
+	}
+
+	/**
+	 * A node of the tree.
+	 */
+	private static final class Node {
+
+		private final Map<String, Node> children = new HashMap<>();
+
+		private final List<Integer> positions = new ArrayList<>(1);
+
+		private void collectPositions(List<Integer> result) {
+			result.addAll(this.positions);
+			for (Node child : this.children.values()) {
+				child.collectPositions(result);
+			}
+		}
+
+	}
+
+}
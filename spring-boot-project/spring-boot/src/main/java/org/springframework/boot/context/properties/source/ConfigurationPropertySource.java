@@ -25,6 +25,7 @@ import org.springframework.boot.origin.OriginTrackedValue;
  *
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  * @since 2.0.0
  * @see ConfigurationPropertyName
  * @see OriginTrackedValue
@@ -65,6 +66,19 @@ public interface ConfigurationPropertySource {
 		return new FilteredConfigurationPropertiesSource(this, filter);
 	}
 
+	/**
+	 * Return a filtered variant of this source, containing only names that are
+	 * descendants of the given name. Equivalent to {@code filter(name::isAncestorOf)} but
+	 * may be implemented more efficiently by sources that index their names.
+	 * @param name the name whose descendants should be retained
+	 * @return a filtered {@link ConfigurationPropertySource} instance
+	 * @since 2.2.0
+	 */
+	default ConfigurationPropertySource filterDescendantsOf(
+			ConfigurationPropertyName name) {
+		return filter(name::isAncestorOf);
+	}
+
 	/**
 	 * Return a variant of this source that supports name aliases.
 	 * @param aliases a function that returns a stream of aliases for any given name
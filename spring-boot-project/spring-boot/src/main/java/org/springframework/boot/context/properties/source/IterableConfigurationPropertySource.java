@@ -31,6 +31,7 @@ import org.springframework.boot.origin.OriginTrackedValue;
  *
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  * @since 2.0.0
  * @see ConfigurationPropertyName
  * @see OriginTrackedValue
@@ -70,6 +71,12 @@ public interface IterableConfigurationPropertySource
 		return new FilteredIterableConfigurationPropertiesSource(this, filter);
 	}
 
+	@Override
+	default IterableConfigurationPropertySource filterDescendantsOf(
+			ConfigurationPropertyName name) {
+		return filter(name::isAncestorOf);
+	}
+
 	@Override
 	default IterableConfigurationPropertySource withAliases(
 			ConfigurationPropertyNameAliases aliases) {
@@ -20,10 +20,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Stream;
 
+import org.springframework.boot.env.ChangeTrackingPropertySource;
+import org.springframework.boot.env.ChangeTrackingPropertySource.PropertyNameChange;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
 import org.springframework.core.env.EnumerablePropertySource;
 import org.springframework.core.env.MapPropertySource;
 import org.springframework.core.env.PropertySource;
@@ -36,9 +41,16 @@ import org.springframework.util.ObjectUtils;
  * In order to use this adapter the underlying {@link PropertySource} must be fully
  * enumerable. A security restricted {@link SystemEnvironmentPropertySource} cannot be
  * adapted.
+ * <p>
+ * The mappings of the names of the source are cached until the names change. Sources that
+ * implement {@link ChangeTrackingPropertySource} are checked using the version of their
+ * names and only the names that were added or removed are mapped again. The names of
+ * immutable sources, such as the system environment, are mapped once and never checked
+ * again.
  *
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  * @see PropertyMapper
  */
 class SpringIterableConfigurationPropertySource extends SpringConfigurationPropertySource
@@ -90,7 +102,27 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	@Override
 	public ConfigurationPropertyState containsDescendantOf(
 			ConfigurationPropertyName name) {
-		return ConfigurationPropertyState.search(this, name::isAncestorOf);
+		return getTrie().hasDescendantsOf(name) ? ConfigurationPropertyState.PRESENT
+				: ConfigurationPropertyState.ABSENT;
+	}
+
+	@Override
+	public IterableConfigurationPropertySource filterDescendantsOf(
+			ConfigurationPropertyName name) {
+		return new DescendantsConfigurationPropertySource(this, name);
+	}
+
+	private ConfigurationPropertyNameTrie getTrie() {
+		Cache cache = getCache();
+		ConfigurationPropertyNameTrie trie = (cache != null) ? cache.getTrie() : null;
+		if (trie != null) {
+			return trie;
+		}
+		trie = new ConfigurationPropertyNameTrie(getConfigurationPropertyNames());
+		if (cache != null) {
+			cache.setTrie(trie);
+		}
+		return trie;
 	}
 
 	private List<ConfigurationPropertyName> getConfigurationPropertyNames() {
@@ -131,6 +163,17 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 	}
 
 	private Cache getCache() {
+		if (isImmutable(getPropertySource())) {
+			Cache cache = this.cache;
+			if (cache == null) {
+				cache = new Cache();
+				this.cache = cache;
+			}
+			return cache;
+		}
+		if (getPropertySource() instanceof ChangeTrackingPropertySource) {
+			return getCache((ChangeTrackingPropertySource) getPropertySource());
+		}
 		CacheKey cacheKey = CacheKey.get(getPropertySource());
 		if (cacheKey == null) {
 			return null;
@@ -143,6 +186,47 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 		return this.cache;
 	}
 
+	private Cache getCache(ChangeTrackingPropertySource source) {
+		long version = source.getPropertyNamesVersion();
+		Cache cache = this.cache;
+		if (cache != null && cache.getVersion() == version) {
+			return cache;
+		}
+		List<PropertyNameChange> changes = (cache != null)
+				? source.getPropertyNameChanges(cache.getVersion()) : null;
+		Map<String, PropertyMapping[]> entries;
+		if (changes != null) {
+			entries = new LinkedHashMap<>(cache.getEntries());
+			for (PropertyNameChange change : changes) {
+				// Re-adding moves the name last, as it would be in the source
+				entries.remove(change.getName());
+				if (change.isAdded()) {
+					entries.put(change.getName(), getMapper().map(change.getName()));
+				}
+			}
+		}
+		else {
+			entries = new LinkedHashMap<>();
+			for (String name : getPropertySource().getPropertyNames()) {
+				entries.put(name, getMapper().map(name));
+			}
+		}
+		cache = new Cache(version, entries);
+		this.cache = cache;
+		return cache;
+	}
+
+	private boolean isImmutable(EnumerablePropertySource<?> source) {
+		if (source instanceof OriginTrackedMapPropertySource) {
+			return ((OriginTrackedMapPropertySource) source).isImmutable();
+		}
+		if (source instanceof SystemEnvironmentPropertySource) {
+			return ((SystemEnvironmentPropertySource) source).getSource() == System
+					.getenv();
+		}
+		return false;
+	}
+
 	@Override
 	protected EnumerablePropertySource<?> getPropertySource() {
 		return (EnumerablePropertySource<?>) super.getPropertySource();
@@ -150,10 +234,44 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 
 	private static class Cache {
 
+		private final long version;
+
+		private final Map<String, PropertyMapping[]> entries;
+
 		private List<ConfigurationPropertyName> names;
 
 		private PropertyMapping[] mappings;
 
+		private ConfigurationPropertyNameTrie trie;
+
+		Cache() {
+			this.version = -1;
+			this.entries = null;
+		}
+
+		/**
+		 * Create a cache of the mappings of a {@link ChangeTrackingPropertySource}.
+		 * @param version the version of the names of the source that the entries include
+		 * @param entries the mappings of each name of the source
+		 */
+		Cache(long version, Map<String, PropertyMapping[]> entries) {
+			this.version = version;
+			this.entries = entries;
+			List<PropertyMapping> mappings = new ArrayList<>(entries.size() * 2);
+			for (PropertyMapping[] mappingsOfName : entries.values()) {
+				Collections.addAll(mappings, mappingsOfName);
+			}
+			this.mappings = mappings.toArray(new PropertyMapping[0]);
+		}
+
+		public long getVersion() {
+			return this.version;
+		}
+
+		public Map<String, PropertyMapping[]> getEntries() {
+			return this.entries;
+		}
+
 		public List<ConfigurationPropertyName> getNames() {
 			return this.names;
 		}
@@ -170,6 +288,42 @@ class SpringIterableConfigurationPropertySource extends SpringConfigurationPrope
 			this.mappings = mappings;
 		}
 
+		public ConfigurationPropertyNameTrie getTrie() {
+			return this.trie;
+		}
+
+		public void setTrie(ConfigurationPropertyNameTrie trie) {
+			this.trie = trie;
+		}
+
+	}
+
+	/**
+	 * The descendants of a name, found using the trie of the source rather than by
+	 * testing every name.
+	 */
+	private static class DescendantsConfigurationPropertySource
+			extends FilteredIterableConfigurationPropertiesSource {
+
+		private final ConfigurationPropertyName name;
+
+		DescendantsConfigurationPropertySource(
+				SpringIterableConfigurationPropertySource source,
+				ConfigurationPropertyName name) {
+			super(source, name::isAncestorOf);
+			this.name = name;
+		}
+
+		@Override
+		public Stream<ConfigurationPropertyName> stream() {
+			return getSource().getTrie().getDescendantsOf(this.name).stream();
+		}
+
+		@Override
+		protected SpringIterableConfigurationPropertySource getSource() {
+			return (SpringIterableConfigurationPropertySource) super.getSource();
+		}
+
 	}
 
 	private static final class CacheKey {
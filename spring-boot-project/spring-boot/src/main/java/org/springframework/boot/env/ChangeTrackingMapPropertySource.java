@@ -0,0 +1,168 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Mutable {@link MapPropertySource} that tracks the property names that are added and
+ * removed. Properties are changed using {@link #setProperty(String, Object)},
+ * {@link #setProperties(Map)} and {@link #removeProperty(String)}, each of which replaces
+ * the properties with an updated copy so that the source can safely be read while it is
+ * being changed. The {@link #getSource() source} is an unmodifiable view of the current
+ * properties.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ */
+public class ChangeTrackingMapPropertySource extends MapPropertySource
+		implements ChangeTrackingPropertySource {
+
+	private static final int MAX_TRACKED_CHANGES = 1024;
+
+	private final Object monitor = new Object();
+
+	private final Deque<PropertyNameChange> changes = new ArrayDeque<>();
+
+	private volatile Map<String, Object> properties;
+
+	private volatile long version;
+
+	/**
+	 * Create a new {@link ChangeTrackingMapPropertySource} instance.
+	 * @param name the name of the property source
+	 * @param source the initial properties, copied by the property source
+	 */
+	public ChangeTrackingMapPropertySource(String name, Map<String, Object> source) {
+		super(name, Collections.emptyMap());
+		Assert.notNull(source, "Source must not be null");
+		this.properties = Collections.unmodifiableMap(new LinkedHashMap<>(source));
+	}
+
+	@Override
+	public Map<String, Object> getSource() {
+		return this.properties;
+	}
+
+	@Override
+	public Object getProperty(String name) {
+		return this.properties.get(name);
+	}
+
+	@Override
+	public boolean containsProperty(String name) {
+		return this.properties.containsKey(name);
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return StringUtils.toStringArray(this.properties.keySet());
+	}
+
+	/**
+	 * Set the value of a property, adding it if necessary.
+	 * @param name the name of the property
+	 * @param value the value of the property
+	 */
+	public void setProperty(String name, Object value) {
+		setProperties(Collections.singletonMap(name, value));
+	}
+
+	/**
+	 * Set the values of the given properties, adding them if necessary.
+	 * @param properties the properties to set
+	 */
+	public void setProperties(Map<String, ?> properties) {
+		Assert.notNull(properties, "Properties must not be null");
+		synchronized (this.monitor) {
+			Map<String, Object> updated = new LinkedHashMap<>(this.properties);
+			List<String> added = new ArrayList<>();
+			properties.forEach((name, value) -> {
+				Assert.notNull(name, "Name must not be null");
+				if (!updated.containsKey(name)) {
+					added.add(name);
+				}
+				updated.put(name, value);
+			});
+			this.properties = Collections.unmodifiableMap(updated);
+			added.forEach((name) -> addChange(name, true));
+		}
+	}
+
+	/**
+	 * Remove a property.
+	 * @param name the name of the property
+	 */
+	public void removeProperty(String name) {
+		synchronized (this.monitor) {
+			if (this.properties.containsKey(name)) {
+				Map<String, Object> updated = new LinkedHashMap<>(this.properties);
+				updated.remove(name);
+				this.properties = Collections.unmodifiableMap(updated);
+				addChange(name, false);
+			}
+		}
+	}
+
+	private void addChange(String name, boolean added) {
+		// The version is only incremented once the properties have been updated so
+		// that the names read at a given version always include its changes
+		long version = this.version + 1;
+		if (this.changes.size() >= MAX_TRACKED_CHANGES) {
+			this.changes.removeFirst();
+		}
+		this.changes.addLast(new PropertyNameChange(name, added, version));
+		this.version = version;
+	}
+
+	@Override
+	public long getPropertyNamesVersion() {
+		return this.version;
+	}
+
+	@Override
+	public List<PropertyNameChange> getPropertyNameChanges(long version) {
+		synchronized (this.monitor) {
+			if (version == this.version) {
+				return Collections.emptyList();
+			}
+			PropertyNameChange oldest = this.changes.peekFirst();
+			if (version > this.version || oldest == null
+					|| oldest.getVersion() > version + 1) {
+				return null;
+			}
+			List<PropertyNameChange> changes = new ArrayList<>();
+			for (PropertyNameChange change : this.changes) {
+				if (change.getVersion() > version) {
+					changes.add(change);
+				}
+			}
+			return changes;
+		}
+	}
+
+}
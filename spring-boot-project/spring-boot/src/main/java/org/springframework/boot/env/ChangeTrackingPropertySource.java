@@ -0,0 +1,110 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.List;
+
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.util.Assert;
+
+/**
+ * Interface that can be implemented by a mutable {@link EnumerablePropertySource} to
+ * track the property names that are added and removed. Each change increments the version
+ * of the names, allowing callers that cache information derived from the names to detect
+ * that nothing changed without comparing them, and to apply only the names that changed
+ * since the version they cached.
+ * <p>
+ * Changes to the values of existing properties do not change the version.
+ *
+ * @author Jonas Berg
+ * @since 2.2.0
+ * @see ChangeTrackingMapPropertySource
+ */
+public interface ChangeTrackingPropertySource {
+
+	/**
+	 * Return the current version of the property names, incremented each time a name is
+	 * added or removed.
+	 * @return the version of the property names
+	 */
+	long getPropertyNamesVersion();
+
+	/**
+	 * Return the names that have been added or removed after the given version, in the
+	 * order in which the changes were made.
+	 * @param version a version previously returned by {@link #getPropertyNamesVersion()}
+	 * @return the changes or {@code null} if they are no longer tracked and the names
+	 * should be read again
+	 */
+	List<PropertyNameChange> getPropertyNameChanges(long version);
+
+	/**
+	 * The addition or removal of a property name.
+	 */
+	final class PropertyNameChange {
+
+		private final String name;
+
+		private final boolean added;
+
+		private final long version;
+
+		/**
+		 * Create a new {@link PropertyNameChange} instance.
+		 * @param name the property name
+		 * @param added if the name was added rather than removed
+		 * @param version the version of the names following the change
+		 */
+		public PropertyNameChange(String name, boolean added, long version) {
+			Assert.notNull(name, "Name must not be null");
+			this.name = name;
+			this.added = added;
+			this.version = version;
+		}
+
+		/**
+		 * Return the property name.
+		 * @return the property name
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return if the name was added rather than removed.
+		 * @return if the name was added
+		 */
+		public boolean isAdded() {
+			return this.added;
+		}
+
+		/**
+		 * Return the version of the names following the change.
+		 * @return the version
+		 */
+		public long getVersion() {
+			return this.version;
+		}
+
+		@Override
+		public String toString() {
+			return (this.added ? "+" : "-") + this.name;
+		}
+
+	}
+
+}
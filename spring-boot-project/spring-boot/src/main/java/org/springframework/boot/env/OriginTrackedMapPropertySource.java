@@ -25,7 +25,8 @@ import org.springframework.core.env.MapPropertySource;
 
 /**
  * {@link OriginLookup} backed by a {@link Map} containing {@link OriginTrackedValue
- * OriginTrackedValues}.
+ * OriginTrackedValues}. A source can be flagged as immutable, allowing callers to cache
+ * information derived from its property names without checking them again.
  *
  * @author Madhura Bhave
  * @author Phillip Webb
@@ -35,9 +36,30 @@ import org.springframework.core.env.MapPropertySource;
 public final class OriginTrackedMapPropertySource extends MapPropertySource
 		implements OriginLookup<String> {
 
-	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private final boolean immutable;
+
+	/**
+	 * Create a new {@link OriginTrackedMapPropertySource} instance.
+	 * @param name the property source name
+	 * @param source the underlying map source
+	 */
+	@SuppressWarnings("rawtypes")
 	public OriginTrackedMapPropertySource(String name, Map source) {
+		this(name, source, false);
+	}
+
+	/**
+	 * Create a new {@link OriginTrackedMapPropertySource} instance.
+	 * @param name the property source name
+	 * @param source the underlying map source
+	 * @param immutable if the underlying source is immutable and guaranteed not to
+	 * change
+	 * @since 2.2.0
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public OriginTrackedMapPropertySource(String name, Map source, boolean immutable) {
 		super(name, source);
+		this.immutable = immutable;
 	}
 
 	@Override
@@ -58,4 +80,13 @@ public final class OriginTrackedMapPropertySource extends MapPropertySource
 		return null;
 	}
 
+	/**
+	 * Return if the underlying source is immutable and guaranteed not to change.
+	 * @return if the underlying source is immutable
+	 * @since 2.2.0
+	 */
+	public boolean isImmutable() {
+		return this.immutable;
+	}
+
 }
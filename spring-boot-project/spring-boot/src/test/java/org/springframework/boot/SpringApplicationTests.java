@@ -108,6 +108,7 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.atLeastOnce;
@@ -170,6 +171,7 @@ public class SpringApplicationTests {
 		}
 		System.clearProperty("spring.main.banner-mode");
 		System.clearProperty(CachedIntrospectionResults.IGNORE_BEANINFO_PROPERTY_NAME);
+		System.clearProperty(SpringApplication.CONTEXT_EXIT_PROPERTY);
 	}
 
 	@Test
@@ -660,6 +662,26 @@ public class SpringApplicationTests {
 		assertThat(this.context).has(runTestRunnerBean("runnerC"));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void contextIsClosedAfterRefreshWhenExitOnRefreshIsRequested()
+			throws Exception {
+		System.setProperty(SpringApplication.CONTEXT_EXIT_PROPERTY, "onRefresh");
+		SpringApplication application = new SpringApplication(ExampleConfig.class);
+		CommandLineRunner commandLineRunner = mock(CommandLineRunner.class);
+		application.addInitializers((context) -> context.getBeanFactory()
+				.registerSingleton("commandLineRunner", commandLineRunner));
+		application.setWebApplicationType(WebApplicationType.NONE);
+		ApplicationListener<ApplicationReadyEvent> eventListener = mock(
+				ApplicationListener.class);
+		application.addListeners(eventListener);
+		this.context = application.run();
+		assertThat(this.context.isActive()).isFalse();
+		verify(commandLineRunner, never()).run(any(String[].class));
+		verify(eventListener, never())
+				.onApplicationEvent(isA(ApplicationReadyEvent.class));
+	}
+
 	@Test
 	@SuppressWarnings("unchecked")
 	public void runnersAreCalledAfterStartedIsLoggedAndBeforeApplicationReadyEventIsPublished()
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.util.List;
+
+import org.springframework.boot.convert.Delimiter;
+
+/**
+ * Bean bound by {@link ExampleGeneratedBinderBean__BeanBinder}. The counter is only
+ * exposed through the generated binder.
+ *
+ * @author Jonas Berg
+ */
+public class ExampleGeneratedBinderBean {
+
+	private int counter;
+
+	@Delimiter(";")
+	private List<String> items;
+
+	public int currentCounter() {
+		return this.counter;
+	}
+
+	public void applyCounter(int counter) {
+		this.counter = counter;
+	}
+
+	public List<String> getItems() {
+		return this.items;
+	}
+
+	public void setItems(List<String> items) {
+		this.items = items;
+	}
+
+	/**
+	 * Nested bean bound by {@link ExampleGeneratedBinderBean_Nested__BeanBinder}, whose
+	 * name is shared by the top-level {@link ExampleGeneratedBinderBean_Nested}.
+	 */
+	public static class Nested {
+
+		private String name;
+
+		public String currentName() {
+			return this.name;
+		}
+
+		public void applyName(String name) {
+			this.name = name;
+		}
+
+	}
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * Hand-written equivalent of a generated binder for
+ * {@link ExampleGeneratedBinderBean.Nested}.
+ *
+ * @author Jonas Berg
+ */
+public class ExampleGeneratedBinderBean_Nested__BeanBinder
+		extends GeneratedBeanBinder<ExampleGeneratedBinderBean.Nested> {
+
+	public ExampleGeneratedBinderBean_Nested__BeanBinder() {
+		super(ExampleGeneratedBinderBean.Nested.class,
+				ExampleGeneratedBinderBean.Nested::new);
+		addProperty("name", ResolvableType.forClass(String.class),
+				ExampleGeneratedBinderBean.Nested::currentName,
+				(bean, value) -> bean.applyName((String) value), null, null);
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.bind;
+
+import java.util.List;
+
+import org.springframework.core.ResolvableType;
+
+/**
+ * Hand-written equivalent of a generated binder for {@link ExampleGeneratedBinderBean}.
+ *
+ * @author Jonas Berg
+ */
+public class ExampleGeneratedBinderBean__BeanBinder
+		extends GeneratedBeanBinder<ExampleGeneratedBinderBean> {
+
+	@SuppressWarnings("unchecked")
+	public ExampleGeneratedBinderBean__BeanBinder() {
+		super(ExampleGeneratedBinderBean.class, ExampleGeneratedBinderBean::new);
+		addProperty("counter", ResolvableType.forClass(int.class),
+				ExampleGeneratedBinderBean::currentCounter,
+				(bean, value) -> bean.applyCounter((int) value), null, null);
+		addProperty("items",
+				ResolvableType.forClassWithGenerics(List.class, String.class),
+				ExampleGeneratedBinderBean::getItems,
+				(bean, value) -> bean.setItems((List<String>) value),
+				ExampleGeneratedBinderBean.class, "items");
+	}
+
+}
@@ -33,6 +33,7 @@ import org.springframework.boot.context.properties.source.ConfigurationPropertyN
 import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
 import org.springframework.boot.context.properties.source.MockConfigurationPropertySource;
 import org.springframework.boot.convert.Delimiter;
+import org.springframework.core.ResolvableType;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -44,6 +45,7 @@ import static org.assertj.core.api.Assertions.entry;
  *
  * @author Phillip Webb
  * @author Madhura Bhave
+ * @author Jonas Berg
  */
 public class JavaBeanBinderTests {
 
@@ -492,6 +494,105 @@ public class JavaBeanBinderTests {
 		assertThat(bean.getCounter()).isEqualTo(42);
 	}
 
+	@Test
+	public void bindToGenericClassShouldUseGenericsOfEachBindable() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.value", "123");
+		this.sources.add(source);
+		for (int i = 0; i < 2; i++) {
+			GenericBean<?> integerBean = this.binder
+					.bind("foo", Bindable.<GenericBean<?>>of(ResolvableType
+							.forClassWithGenerics(GenericBean.class, Integer.class)))
+					.get();
+			assertThat(integerBean.getValue()).isEqualTo(123);
+			GenericBean<?> stringBean = this.binder
+					.bind("foo", Bindable.<GenericBean<?>>of(ResolvableType
+							.forClassWithGenerics(GenericBean.class, String.class)))
+					.get();
+			assertThat(stringBean.getValue()).isEqualTo("123");
+		}
+	}
+
+	@Test
+	public void bindToAlternatingClassesShouldBindEachClass() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.int-value", "12");
+		source.put("foo.value", "bar");
+		this.sources.add(source);
+		for (int i = 0; i < 3; i++) {
+			ExampleValueBean valueBean = this.binder
+					.bind("foo", Bindable.of(ExampleValueBean.class)).get();
+			assertThat(valueBean.getIntValue()).isEqualTo(12);
+			ExampleWithNonDefaultConstructor otherBean = this.binder
+					.bind("foo", Bindable.of(ExampleWithNonDefaultConstructor.class)
+							.withExistingValue(new ExampleWithNonDefaultConstructor("x")))
+					.get();
+			assertThat(otherBean.getValue()).isEqualTo("bar");
+			assertThat(this.binder
+					.bind("foo", Bindable.of(ExampleWithNonDefaultConstructor.class))
+					.isBound()).isFalse();
+		}
+	}
+
+	@Test
+	public void bindToClassWithGeneratedBinderShouldUseGeneratedBinder() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.counter", "42");
+		source.put("foo.items", "a;b");
+		this.sources.add(source);
+		ExampleGeneratedBinderBean bean = this.binder
+				.bind("foo", Bindable.of(ExampleGeneratedBinderBean.class)).get();
+		assertThat(bean.currentCounter()).isEqualTo(42);
+		assertThat(bean.getItems()).containsExactly("a", "b");
+	}
+
+	@Test
+	public void bindToExistingValueWithGeneratedBinderShouldUseGeneratedBinder() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.counter", "42");
+		this.sources.add(source);
+		ExampleGeneratedBinderBean existing = new ExampleGeneratedBinderBean();
+		ExampleGeneratedBinderBean bean = this.binder.bind("foo",
+				Bindable.of(ExampleGeneratedBinderBean.class).withExistingValue(existing))
+				.get();
+		assertThat(bean).isSameAs(existing);
+		assertThat(bean.currentCounter()).isEqualTo(42);
+	}
+
+	@Test
+	public void bindToNestedClassWithGeneratedBinderShouldUseGeneratedBinder() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.name", "bar");
+		this.sources.add(source);
+		ExampleGeneratedBinderBean.Nested bean = this.binder
+				.bind("foo", Bindable.of(ExampleGeneratedBinderBean.Nested.class)).get();
+		assertThat(bean.currentName()).isEqualTo("bar");
+	}
+
+	@Test
+	public void bindToClassSharingTheNameOfGeneratedBinderOfOtherClassShouldNotUseIt() {
+		MockConfigurationPropertySource source = new MockConfigurationPropertySource();
+		source.put("foo.value", "bar");
+		this.sources.add(source);
+		ExampleGeneratedBinderBean_Nested bean = this.binder
+				.bind("foo", Bindable.of(ExampleGeneratedBinderBean_Nested.class)).get();
+		assertThat(bean.getValue()).isEqualTo("bar");
+	}
+
+	public static class GenericBean<T> {
+
+		private T value;
+
+		public T getValue() {
+			return this.value;
+		}
+
+		public void setValue(T value) {
+			this.value = value;
+		}
+
+	}
+
 	public static class ExampleValueBean {
 
 		private int intValue;
@@ -36,6 +36,7 @@ import static org.assertj.core.api.Assertions.fail;
  * @author Phillip Webb
  * @author Madhura Bhave
  * @author Eddú Meléndez
+ * @author Jonas Berg
  */
 public class ConfigurationPropertyNameTests {
 
@@ -600,6 +601,64 @@ public class ConfigurationPropertyNameTests {
 		assertThat((Object) n14).isNotEqualTo(n15);
 	}
 
+	@Test
+	public void hashCodeWhenEqualShouldBeEqual() {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.of("foo[bar].baz");
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.adapt("FOO_BAR_BAZ",
+				'_');
+		ConfigurationPropertyName n3 = ConfigurationPropertyName.of("foo").append("[bar]")
+				.append("baz");
+		ConfigurationPropertyName n4 = ConfigurationPropertyName.of("foo.bar.baz.qux")
+				.chop(3);
+		assertThat((Object) n1).isEqualTo(n2).isEqualTo(n3).isEqualTo(n4);
+		assertThat(n1.hashCode()).isEqualTo(n2.hashCode()).isEqualTo(n3.hashCode())
+				.isEqualTo(n4.hashCode());
+	}
+
+	@Test
+	public void hashCodeWhenDifferentShouldBeDifferent() {
+		assertThat(ConfigurationPropertyName.of("foo.bar").hashCode())
+				.isNotEqualTo(ConfigurationPropertyName.of("foo.baz").hashCode());
+		assertThat(ConfigurationPropertyName.of("foo.bar").hashCode())
+				.isNotEqualTo(ConfigurationPropertyName.of("foob.ar").hashCode());
+		assertThat(ConfigurationPropertyName.of("foo[BAR]").hashCode())
+				.isNotEqualTo(ConfigurationPropertyName.of("foo[bar]").hashCode());
+	}
+
+	@Test
+	public void equalsWhenHashCodesDifferShouldNotBeEqual() {
+		ConfigurationPropertyName n1 = ConfigurationPropertyName.of("foo.bar");
+		ConfigurationPropertyName n2 = ConfigurationPropertyName.of("foo.baz");
+		n1.hashCode();
+		n2.hashCode();
+		assertThat((Object) n1).isNotEqualTo(n2);
+	}
+
+	@Test
+	public void ofWhenSameStringShouldReturnSameInstance() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.of("foo.bar[baz]");
+		assertThat(ConfigurationPropertyName.of("foo.bar[baz]")).isSameAs(name);
+		assertThat(ConfigurationPropertyName.of(new StringBuilder("foo.bar[baz]")))
+				.isNotSameAs(name).isEqualTo(name);
+	}
+
+	@Test
+	public void ofWhenCachedInvalidShouldStillThrowException() {
+		assertThat(ConfigurationPropertyName.isValid("foo.Bar")).isFalse();
+		assertThatExceptionOfType(InvalidConfigurationPropertyNameException.class)
+				.isThrownBy(() -> ConfigurationPropertyName.of("foo.Bar"));
+	}
+
+	@Test
+	public void adaptWhenSameStringAndSeparatorShouldReturnSameInstance() {
+		ConfigurationPropertyName name = ConfigurationPropertyName.adapt("foo.Bar", '.');
+		assertThat(ConfigurationPropertyName.adapt("foo.Bar", '.')).isSameAs(name);
+		assertThat(ConfigurationPropertyName.adapt("foo.Bar", '_')).isNotSameAs(name)
+				.isNotEqualTo(name);
+		assertThat(ConfigurationPropertyName.adapt("FOO_BAR", '_', (value) -> value))
+				.isNotSameAs(ConfigurationPropertyName.adapt("FOO_BAR", '_'));
+	}
+
 	@Test
 	public void equalsWhenStartsWith() {
 		// gh-14665
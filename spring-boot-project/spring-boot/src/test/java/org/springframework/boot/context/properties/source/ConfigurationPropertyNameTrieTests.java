@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.context.properties.source;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ConfigurationPropertyNameTrie}.
+ *
+ * @author Jonas Berg
+ */
+public class ConfigurationPropertyNameTrieTests {
+
+	private final ConfigurationPropertyNameTrie trie = new ConfigurationPropertyNameTrie(
+			names("foo.bar[0]", "foo", "baz.qux", "foo.bar[1].name", "foo.baz"));
+
+	@Test
+	public void hasDescendantsOfWhenDescendantsShouldReturnTrue() {
+		assertThat(this.trie.hasDescendantsOf(ConfigurationPropertyName.EMPTY)).isTrue();
+		assertThat(this.trie.hasDescendantsOf(ConfigurationPropertyName.of("foo")))
+				.isTrue();
+		assertThat(this.trie.hasDescendantsOf(ConfigurationPropertyName.of("foo.bar")))
+				.isTrue();
+	}
+
+	@Test
+	public void hasDescendantsOfWhenNoDescendantsShouldReturnFalse() {
+		assertThat(this.trie.hasDescendantsOf(ConfigurationPropertyName.of("foo.baz")))
+				.isFalse();
+		assertThat(this.trie.hasDescendantsOf(ConfigurationPropertyName.of("fo")))
+				.isFalse();
+		assertThat(this.trie.hasDescendantsOf(ConfigurationPropertyName.of("qux")))
+				.isFalse();
+	}
+
+	@Test
+	public void getDescendantsOfShouldReturnNamesInOriginalOrder() {
+		assertThat(this.trie.getDescendantsOf(ConfigurationPropertyName.of("foo")))
+				.extracting(Object::toString)
+				.containsExactly("foo.bar[0]", "foo.bar[1].name", "foo.baz");
+		assertThat(this.trie.getDescendantsOf(ConfigurationPropertyName.of("foo.bar")))
+				.extracting(Object::toString)
+				.containsExactly("foo.bar[0]", "foo.bar[1].name");
+		assertThat(this.trie.getDescendantsOf(ConfigurationPropertyName.of("baz.qux")))
+				.isEmpty();
+	}
+
+	@Test
+	public void getDescendantsOfShouldMatchEquivalentElements() {
+		ConfigurationPropertyNameTrie trie = new ConfigurationPropertyNameTrie(
+				Arrays.asList(ConfigurationPropertyName.adapt("FOO_BAR_BAZ", '_'),
+						ConfigurationPropertyName.of("foo[bar].qux"),
+						ConfigurationPropertyName.of("foo[BAR].quux")));
+		assertThat(trie.getDescendantsOf(ConfigurationPropertyName.of("foo.bar")))
+				.extracting(Object::toString)
+				.containsExactly("foo.bar.baz", "foo[bar].qux");
+		assertThat(trie.getDescendantsOf(ConfigurationPropertyName.of("foo[BAR]")))
+				.extracting(Object::toString).containsExactly("foo[BAR].quux");
+	}
+
+	private static List<ConfigurationPropertyName> names(String... names) {
+		return Arrays.asList(Arrays.stream(names).map(ConfigurationPropertyName::of)
+				.toArray(ConfigurationPropertyName[]::new));
+	}
+
+}
@@ -16,11 +16,17 @@
 
 package org.springframework.boot.context.properties.source;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.junit.Test;
 
+import org.springframework.boot.env.ChangeTrackingMapPropertySource;
+import org.springframework.boot.env.OriginTrackedMapPropertySource;
 import org.springframework.boot.origin.Origin;
 import org.springframework.boot.origin.OriginLookup;
 import org.springframework.core.env.EnumerablePropertySource;
@@ -37,6 +43,7 @@ import static org.mockito.Mockito.mock;
  * @author Phillip Webb
  * @author Madhura Bhave
  * @author Fahim Farook
+ * @author Jonas Berg
  */
 public class SpringIterableConfigurationPropertySourceTests {
 
@@ -169,6 +176,111 @@ public class SpringIterableConfigurationPropertySourceTests {
 		assertThat(adapter.stream().count()).isEqualTo(3);
 	}
 
+	@Test
+	public void containsDescendantOfWhenSourceChangesShouldUseNewNames() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("foo", "value");
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				new MapPropertySource("test", map), DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		map.put("foo.bar", "value");
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("foo")))
+				.isEqualTo(ConfigurationPropertyState.PRESENT);
+	}
+
+	@Test
+	public void filterDescendantsOfShouldReturnDescendantsInSourceOrder() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("foo.b", "1");
+		map.put("bar", "2");
+		map.put("foo.a[0]", "3");
+		map.put("foo", "4");
+		map.put("fooBar.baz", "5");
+		map.put("foo.Bar", "6");
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				new MapPropertySource("test", map), DefaultPropertyMapper.INSTANCE);
+		IterableConfigurationPropertySource descendants = adapter
+				.filterDescendantsOf(ConfigurationPropertyName.of("foo"));
+		assertThat(descendants.stream()).extracting(Object::toString)
+				.containsExactly("foo.b", "foo.a[0]", "foo.bar");
+		assertThat(descendants.stream()).containsExactlyElementsOf(
+				adapter.filter(ConfigurationPropertyName.of("foo")::isAncestorOf).stream()
+						.collect(Collectors.toList()));
+		assertThat(adapter.filterDescendantsOf(ConfigurationPropertyName.of("foo[a]")))
+				.extracting(Object::toString).containsExactly("foo.a[0]");
+		assertThat(descendants
+				.getConfigurationProperty(ConfigurationPropertyName.of("foo.b"))
+				.getValue()).isEqualTo("1");
+		assertThat(
+				descendants.getConfigurationProperty(ConfigurationPropertyName.of("bar")))
+						.isNull();
+	}
+
+	@Test
+	public void changeTrackingSourceShouldOnlyMapChangedNames() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("key1", "value1");
+		map.put("key2", "value2");
+		ChangeTrackingMapPropertySource source = new ChangeTrackingMapPropertySource(
+				"test", map);
+		RecordingPropertyMapper mapper = new RecordingPropertyMapper();
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				source, mapper);
+		assertThat(adapter.stream()).extracting(Object::toString).containsExactly("key1",
+				"key2");
+		assertThat(mapper.mappedNames).containsExactly("key1", "key2");
+		mapper.mappedNames.clear();
+		source.setProperty("key1", "changed");
+		assertThat(adapter.stream()).hasSize(2);
+		assertThat(mapper.mappedNames).isEmpty();
+		source.setProperty("key3", "value3");
+		source.removeProperty("key2");
+		assertThat(adapter.stream()).extracting(Object::toString).containsExactly("key1",
+				"key3");
+		assertThat(adapter.containsDescendantOf(ConfigurationPropertyName.of("key2")))
+				.isEqualTo(ConfigurationPropertyState.ABSENT);
+		assertThat(adapter.getConfigurationProperty(ConfigurationPropertyName.of("key3"))
+				.getValue()).isEqualTo("value3");
+		assertThat(mapper.mappedNames).containsExactly("key3");
+	}
+
+	@Test
+	public void changeTrackingSourceWhenNameIsAddedAgainShouldMoveItLast() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("key1", "value1");
+		map.put("key2", "value2");
+		ChangeTrackingMapPropertySource source = new ChangeTrackingMapPropertySource(
+				"test", map);
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				source, DefaultPropertyMapper.INSTANCE);
+		assertThat(adapter.stream()).hasSize(2);
+		source.removeProperty("key1");
+		source.setProperty("key1", "value3");
+		assertThat(adapter.stream()).extracting(Object::toString).containsExactly("key2",
+				"key1");
+		assertThat(adapter.stream()).extracting(Object::toString)
+				.containsExactlyElementsOf(Arrays.asList(source.getPropertyNames()));
+	}
+
+	@Test
+	public void immutableSourceShouldOnlyMapNamesOnce() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("key1", "value1");
+		map.put("key2", "value2");
+		OriginTrackedMapPropertySource source = new OriginTrackedMapPropertySource(
+				"test", map, true);
+		RecordingPropertyMapper mapper = new RecordingPropertyMapper();
+		SpringIterableConfigurationPropertySource adapter = new SpringIterableConfigurationPropertySource(
+				source, mapper);
+		assertThat(adapter.stream()).extracting(Object::toString).containsExactly("key1",
+				"key2");
+		map.put("key3", "value3");
+		assertThat(adapter.stream()).extracting(Object::toString).containsExactly("key1",
+				"key2");
+		assertThat(mapper.mappedNames).containsExactly("key1", "key2");
+	}
+
 	/**
 	 * Test {@link PropertySource} that's also an {@link OriginLookup}.
 	 */
@@ -206,4 +318,25 @@ public class SpringIterableConfigurationPropertySourceTests {
 
 	}
 
+	/**
+	 * {@link PropertyMapper} that records the property source names that it maps.
+	 */
+	private static class RecordingPropertyMapper implements PropertyMapper {
+
+		private final List<String> mappedNames = new ArrayList<>();
+
+		@Override
+		public PropertyMapping[] map(
+				ConfigurationPropertyName configurationPropertyName) {
+			return DefaultPropertyMapper.INSTANCE.map(configurationPropertyName);
+		}
+
+		@Override
+		public PropertyMapping[] map(String propertySourceName) {
+			this.mappedNames.add(propertySourceName);
+			return DefaultPropertyMapper.INSTANCE.map(propertySourceName);
+		}
+
+	}
+
 }
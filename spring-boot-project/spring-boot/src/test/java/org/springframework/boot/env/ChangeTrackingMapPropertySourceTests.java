@@ -0,0 +1,94 @@
+/*
+ * Copyright 2012-2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.boot.env;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ChangeTrackingMapPropertySource}.
+ *
+ * @author Jonas Berg
+ */
+public class ChangeTrackingMapPropertySourceTests {
+
+	private Map<String, Object> map = new LinkedHashMap<>();
+
+	@Test
+	public void createShouldCopySource() {
+		this.map.put("a", "1");
+		ChangeTrackingMapPropertySource source = new ChangeTrackingMapPropertySource(
+				"test", this.map);
+		this.map.put("b", "2");
+		assertThat(source.getPropertyNames()).containsExactly("a");
+		assertThat(source.getPropertyNamesVersion()).isEqualTo(0);
+		assertThatExceptionOfType(UnsupportedOperationException.class)
+				.isThrownBy(() -> source.getSource().put("c", "3"));
+	}
+
+	@Test
+	public void setPropertyShouldTrackAddedNames() {
+		this.map.put("a", "1");
+		ChangeTrackingMapPropertySource source = new ChangeTrackingMapPropertySource(
+				"test", this.map);
+		source.setProperty("a", "2");
+		assertThat(source.getProperty("a")).isEqualTo("2");
+		assertThat(source.getPropertyNamesVersion()).isEqualTo(0);
+		source.setProperty("b", "3");
+		assertThat(source.getPropertyNames()).containsExactly("a", "b");
+		assertThat(source.getPropertyNamesVersion()).isEqualTo(1);
+		assertThat(source.getPropertyNameChanges(0)).extracting(Object::toString)
+				.containsExactly("+b");
+		assertThat(source.getPropertyNameChanges(1)).isEmpty();
+	}
+
+	@Test
+	public void removePropertyShouldTrackRemovedNames() {
+		this.map.put("a", "1");
+		this.map.put("b", "2");
+		ChangeTrackingMapPropertySource source = new ChangeTrackingMapPropertySource(
+				"test", this.map);
+		source.removeProperty("c");
+		assertThat(source.getPropertyNamesVersion()).isEqualTo(0);
+		source.removeProperty("a");
+		source.setProperty("a", "3");
+		assertThat(source.getPropertyNames()).containsExactly("b", "a");
+		assertThat(source.containsProperty("a")).isTrue();
+		assertThat(source.getPropertyNameChanges(0)).extracting(Object::toString)
+				.containsExactly("-a", "+a");
+		assertThat(source.getPropertyNameChanges(1)).extracting(Object::toString)
+				.containsExactly("+a");
+	}
+
+	@Test
+	public void getPropertyNameChangesWhenNoLongerTrackedShouldReturnNull() {
+		ChangeTrackingMapPropertySource source = new ChangeTrackingMapPropertySource(
+				"test", this.map);
+		for (int i = 0; i < 1025; i++) {
+			source.setProperty("key" + i, i);
+		}
+		assertThat(source.getPropertyNameChanges(0)).isNull();
+		assertThat(source.getPropertyNameChanges(1)).hasSize(1024);
+		assertThat(source.getPropertyNameChanges(2000)).isNull();
+	}
+
+}
@@ -76,4 +76,15 @@ public class OriginTrackedMapPropertySourceTests {
 		assertThat(this.source.getOrigin("test")).isEqualTo(this.origin);
 	}
 
+	@Test
+	public void isImmutableWhenNotSpecifiedShouldReturnFalse() {
+		assertThat(this.source.isImmutable()).isFalse();
+	}
+
+	@Test
+	public void isImmutableWhenSpecifiedShouldReturnTrue() {
+		assertThat(new OriginTrackedMapPropertySource("test", this.map, true)
+				.isImmutable()).isTrue();
+	}
+
 }
@@ -57,4 +57,12 @@ public class PropertiesPropertySourceLoaderTests {
 		assertThat(source.getProperty("test")).isEqualTo("xml");
 	}
 
+	@Test
+	public void loadedSourceIsImmutable() throws Exception {
+		List<PropertySource<?>> loaded = this.loader.load("test.properties",
+				new ClassPathResource("test-properties.properties", getClass()));
+		PropertySource<?> source = loaded.get(0);
+		assertThat(((OriginTrackedMapPropertySource) source).isImmutable()).isTrue();
+	}
+
 }
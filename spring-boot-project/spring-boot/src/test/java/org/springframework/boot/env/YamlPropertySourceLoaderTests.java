@@ -50,6 +50,14 @@ public class YamlPropertySourceLoaderTests {
 		assertThat(source.getProperty("foo.bar")).isEqualTo("spam");
 	}
 
+	@Test
+	public void loadedSourceIsImmutable() throws Exception {
+		ByteArrayResource resource = new ByteArrayResource(
+				"foo:\n  bar: spam".getBytes());
+		PropertySource<?> source = this.loader.load("resource", resource).get(0);
+		assertThat(((OriginTrackedMapPropertySource) source).isImmutable()).isTrue();
+	}
+
 	@Test
 	public void orderedItems() throws Exception {
 		StringBuilder yaml = new StringBuilder();